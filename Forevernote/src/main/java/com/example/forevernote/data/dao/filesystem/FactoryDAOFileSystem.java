@@ -1,7 +1,15 @@
 package com.example.forevernote.data.dao.filesystem;
 
+import java.nio.file.Paths;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
 import com.example.forevernote.data.dao.interfaces.FactoryDAO;
 import com.example.forevernote.data.dao.interfaces.FolderDAO;
+import com.example.forevernote.data.dao.interfaces.LinkDAO;
 import com.example.forevernote.data.dao.interfaces.NoteDAO;
 import com.example.forevernote.data.dao.interfaces.TagDAO;
 
@@ -10,12 +18,17 @@ public class FactoryDAOFileSystem extends FactoryDAO {
     private NoteDAOFileSystem noteDAO;
     private FolderDAOFileSystem folderDAO;
     private TagDAOFileSystem tagDAO;
+    private final LinkDAOFileSystem linkDAO;
+    private final VaultWatcher vaultWatcher;
+    private final List<Consumer<List<VaultWatcher.Change>>> vaultListeners = new CopyOnWriteArrayList<>();
 
     public FactoryDAOFileSystem(String rootDirectory) {
         // Ideally we should cache instances to share caches
         this.noteDAO = new NoteDAOFileSystem(rootDirectory);
         this.folderDAO = new FolderDAOFileSystem(rootDirectory);
         this.tagDAO = new TagDAOFileSystem(this.noteDAO);
+        this.linkDAO = new LinkDAOFileSystem(LinkDAOFileSystem.defaultLocation(Paths.get(rootDirectory)));
+        this.vaultWatcher = new VaultWatcher(Paths.get(rootDirectory), this::applyVaultChanges);
     }
 
     @Override
@@ -32,4 +45,54 @@ public class FactoryDAOFileSystem extends FactoryDAO {
     public TagDAO getLabelDAO() {
         return tagDAO;
     }
+
+    @Override
+    public LinkDAO getLinkDAO() {
+        return linkDAO;
+    }
+
+    /**
+     * Starts watching the vault so external edits reach the DAO caches without
+     * rescans. Without a watcher the DAOs fall back to periodic pruning.
+     *
+     * @return true if the platform supports watching this vault.
+     */
+    public boolean startWatching() {
+        boolean started = vaultWatcher.start();
+        noteDAO.setWatching(started);
+        return started;
+    }
+
+    /**
+     * Registers a listener for vault changes made outside this application. It
+     * is called on the watcher thread after the DAO caches were updated.
+     *
+     * @param listener Receives each batch of external changes.
+     */
+    public void addVaultListener(Consumer<List<VaultWatcher.Change>> listener) {
+        if (listener != null) {
+            vaultListeners.add(listener);
+        }
+    }
+
+    @Override
+    public void close() {
+        vaultWatcher.close();
+        noteDAO.setWatching(false);
+        noteDAO.saveMetadataSnapshot();
+        linkDAO.flush();
+    }
+
+    private void applyVaultChanges(List<VaultWatcher.Change> changes) {
+        Set<VaultWatcher.Change> external = new LinkedHashSet<>();
+        external.addAll(folderDAO.applyVaultChanges(changes));
+        external.addAll(noteDAO.applyVaultChanges(changes));
+        if (external.isEmpty()) {
+            return;
+        }
+        List<VaultWatcher.Change> batch = List.copyOf(external);
+        for (Consumer<List<VaultWatcher.Change>> listener : vaultListeners) {
+            listener.accept(batch);
+        }
+    }
 }
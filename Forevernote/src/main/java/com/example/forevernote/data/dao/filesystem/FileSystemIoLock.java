@@ -1,14 +1,198 @@
 package com.example.forevernote.data.dao.filesystem;
 
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
- * Shared lock for mutating filesystem DAO operations.
- * Keeps note/folder/tag writes and cache refreshes serialized.
+ * Hierarchical path locks for mutating filesystem DAO operations.
+ *
+ * <p>
+ * Paths are vault-relative ids such as {@code Work/Plan.md}. Locking a path
+ * takes it exclusively and every ancestor directory (including the vault root)
+ * shared, so writes to different notes run in parallel while an operation on a
+ * folder excludes everything below it. {@link #vault()} takes the root
+ * exclusively and therefore excludes every other operation; it is used for
+ * structural changes and cache swaps.
+ * </p>
+ *
+ * <p>
+ * Directories and files are mapped onto a fixed set of lock stripes, always
+ * acquired in stripe order, so scopes cannot deadlock each other. A thread
+ * holding the vault lock may open nested scopes freely. Any other nesting must
+ * already be covered by the locks the thread holds. Reads never lock: the DAO
+ * caches are concurrent maps and files are replaced as a whole.
+ * </p>
  */
-final class FileSystemIoLock {
-    static final ReentrantLock LOCK = new ReentrantLock(true);
+public final class FileSystemIoLock {
+
+    private static final int STRIPES = 64;
+    private static final ReentrantReadWriteLock ROOT = new ReentrantReadWriteLock(true);
+    private static final ReentrantReadWriteLock[] LOCKS = new ReentrantReadWriteLock[STRIPES];
+    private static final Scope NESTED = new Scope(List.of());
+
+    static {
+        for (int i = 0; i < STRIPES; i++) {
+            LOCKS[i] = new ReentrantReadWriteLock(true);
+        }
+    }
 
     private FileSystemIoLock() {
     }
+
+    /**
+     * Locks the whole vault exclusively.
+     *
+     * @return The held scope.
+     */
+    public static Scope vault() {
+        if (ROOT.isWriteLockedByCurrentThread()) {
+            return NESTED;
+        }
+        if (ROOT.getReadHoldCount() > 0) {
+            throw new IllegalStateException("Cannot lock the vault while holding a path lock");
+        }
+        Lock lock = ROOT.writeLock();
+        lock.lock();
+        return new Scope(List.of(lock));
+    }
+
+    /**
+     * Locks the whole vault exclusively if that is possible right away.
+     *
+     * @return The held scope, or null if another operation is running.
+     */
+    public static Scope tryVault() {
+        if (ROOT.isWriteLockedByCurrentThread()) {
+            return NESTED;
+        }
+        if (ROOT.getReadHoldCount() > 0) {
+            return null;
+        }
+        Lock lock = ROOT.writeLock();
+        return lock.tryLock() ? new Scope(List.of(lock)) : null;
+    }
+
+    /**
+     * Locks the given vault-relative paths exclusively and their ancestor
+     * directories shared. A directory path excludes every operation below it.
+     *
+     * @param relativePaths Note or folder ids; null and blank entries are ignored.
+     * @return The held scope.
+     */
+    public static Scope paths(String... relativePaths) {
+        if (ROOT.isWriteLockedByCurrentThread()) {
+            return NESTED;
+        }
+        // Stripe index -> exclusive?; a stripe needed in both modes is taken
+        // exclusively because read locks cannot be upgraded.
+        TreeMap<Integer, Boolean> stripes = new TreeMap<>();
+        for (String path : relativePaths) {
+            String normalized = normalize(path);
+            if (normalized.isEmpty()) {
+                continue;
+            }
+            int slash = normalized.indexOf('/');
+            while (slash > 0) {
+                stripes.putIfAbsent(stripeOf(normalized.substring(0, slash)), false);
+                slash = normalized.indexOf('/', slash + 1);
+            }
+            stripes.put(stripeOf(normalized), true);
+        }
+
+        if (ROOT.getReadHoldCount() > 0) {
+            if (isCovered(stripes)) {
+                return NESTED;
+            }
+            throw new IllegalStateException("Nested path lock is not covered by the locks already held");
+        }
+
+        List<Lock> acquired = new ArrayList<>(stripes.size() + 1);
+        try {
+            acquire(ROOT.readLock(), acquired);
+            for (var stripe : stripes.entrySet()) {
+                ReentrantReadWriteLock lock = LOCKS[stripe.getKey()];
+                acquire(stripe.getValue() ? lock.writeLock() : lock.readLock(), acquired);
+            }
+        } catch (RuntimeException e) {
+            new Scope(acquired).unlock();
+            throw e;
+        }
+        return new Scope(acquired);
+    }
+
+    /**
+     * @return true if the current thread holds the vault lock.
+     */
+    public static boolean holdsVault() {
+        return ROOT.isWriteLockedByCurrentThread();
+    }
+
+    private static void acquire(Lock lock, List<Lock> acquired) {
+        lock.lock();
+        acquired.add(lock);
+    }
+
+    private static boolean isCovered(TreeMap<Integer, Boolean> stripes) {
+        for (var stripe : stripes.entrySet()) {
+            ReentrantReadWriteLock lock = LOCKS[stripe.getKey()];
+            boolean held = lock.isWriteLockedByCurrentThread()
+                    || (!stripe.getValue() && lock.getReadHoldCount() > 0);
+            if (!held) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int stripeOf(String normalizedPath) {
+        return Math.floorMod(normalizedPath.hashCode() * 0x9E3779B9, STRIPES);
+    }
+
+    private static String normalize(String path) {
+        if (path == null) {
+            return "";
+        }
+        String normalized = path.replace('\\', '/');
+        while (normalized.startsWith("/")) {
+            normalized = normalized.substring(1);
+        }
+        while (normalized.endsWith("/")) {
+            normalized = normalized.substring(0, normalized.length() - 1);
+        }
+        return normalized;
+    }
+
+    /**
+     * Locks held by one operation, released in reverse order.
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private final List<Lock> locks;
+        private boolean released = false;
+
+        private Scope(List<Lock> locks) {
+            this.locks = locks;
+        }
+
+        /**
+         * Releases the scope's locks. Safe to call more than once.
+         */
+        public void unlock() {
+            if (released || locks.isEmpty()) {
+                return;
+            }
+            released = true;
+            for (int i = locks.size() - 1; i >= 0; i--) {
+                locks.get(i).unlock();
+            }
+        }
+
+        @Override
+        public void close() {
+            unlock();
+        }
+    }
 }
@@ -2,9 +2,12 @@ package com.example.forevernote.data.dao.filesystem;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -52,50 +55,128 @@ public class FolderDAOFileSystem implements FolderDAO {
     }
 
     public void refreshCache() {
-        FileSystemIoLock.LOCK.lock();
+        if (FileSystemIoLock.holdsVault()) {
+            installScan(scanFolders());
+            return;
+        }
+        // Walk without the vault lock; only the swap excludes writers.
+        Map<String, Path> scanned = scanFolders();
+        FileSystemIoLock.Scope lock = FileSystemIoLock.vault();
         try {
-        idToPathMap.clear();
+            installScan(scanned);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Map<String, Path> scanFolders() {
+        Map<String, Path> scanned = new HashMap<>();
         // ID "" (empty string) or "ROOT" maps to rootPath
-        idToPathMap.put(ROOT_ID, rootPath);
+        scanned.put(ROOT_ID, rootPath);
 
         try (Stream<Path> walk = Files.walk(rootPath)) {
             walk.filter(Files::isDirectory)
                     .filter(p -> !p.equals(rootPath))
                     // Exclude any directory that is inside a hidden folder (e.g. .trash, .git)
-                    .filter(p -> !p.toString().contains(File.separator + "."))
+                    .filter(p -> !VaultWatcher.isHidden(normalizeId(rootPath.relativize(p).toString())))
                     .forEach(path -> {
                         String relativePath = normalizeId(rootPath.relativize(path).toString());
-                        idToPathMap.put(relativePath, path);
+                        scanned.put(relativePath, path);
                     });
-        } catch (IOException e) {
+        } catch (IOException | UncheckedIOException e) {
             logger.log(Level.SEVERE, "Failed to walk directory for folder cache refresh", e);
         }
+        return scanned;
+    }
+
+    /**
+     * Replaces the cache with a scan. Callers must hold the vault lock; folders
+     * created while the scan ran are kept if they still exist.
+     */
+    private void installScan(Map<String, Path> scanned) {
+        idToPathMap.putAll(scanned);
+        idToPathMap.entrySet()
+                .removeIf(e -> !scanned.containsKey(e.getKey()) && !Files.isDirectory(e.getValue()));
+    }
+
+    /**
+     * Applies a batch of vault changes to the folder cache.
+     *
+     * @param changes Changes reported by the watcher.
+     * @return The directory changes that altered the cache, i.e. those not caused
+     *         by this DAO's own writes.
+     */
+    public List<VaultWatcher.Change> applyVaultChanges(List<VaultWatcher.Change> changes) {
+        for (VaultWatcher.Change change : changes) {
+            if (change.kind() == VaultWatcher.Kind.OVERFLOW) {
+                refreshCache();
+                return List.of(change);
+            }
+        }
+        List<VaultWatcher.Change> applied = new ArrayList<>();
+        FileSystemIoLock.Scope lock = FileSystemIoLock.vault();
+        try {
+            for (VaultWatcher.Change change : changes) {
+                if (change.directory() || change.kind() == VaultWatcher.Kind.DELETED) {
+                    boolean changed = false;
+                    if (change.kind() == VaultWatcher.Kind.DELETED || change.kind() == VaultWatcher.Kind.RENAMED) {
+                        String removed = normalizeId(change.kind() == VaultWatcher.Kind.RENAMED
+                                ? change.previousPath()
+                                : change.path());
+                        changed = idToPathMap.keySet()
+                                .removeIf(id -> id.equals(removed) || id.startsWith(removed + "/"));
+                    }
+                    if (change.kind() != VaultWatcher.Kind.DELETED) {
+                        changed |= registerDirectoryTree(change.path());
+                    }
+                    if (changed) {
+                        applied.add(change);
+                    }
+                }
+            }
         } finally {
-            FileSystemIoLock.LOCK.unlock();
+            lock.unlock();
         }
+        return applied;
+    }
+
+    private boolean registerDirectoryTree(String relativePath) {
+        Path start = rootPath.resolve(relativePath.replace("/", File.separator));
+        boolean changed = false;
+        try (Stream<Path> walk = Files.walk(start)) {
+            for (Path dir : (Iterable<Path>) walk.filter(Files::isDirectory)::iterator) {
+                String id = normalizeId(rootPath.relativize(dir).toString());
+                if (!id.isEmpty() && !VaultWatcher.isHidden(id)) {
+                    changed |= idToPathMap.putIfAbsent(id, dir) == null;
+                }
+            }
+        } catch (IOException e) {
+            logger.log(Level.FINE, "Failed to scan new directory: " + start, e);
+        }
+        return changed;
     }
 
     @Override
     public String createFolder(Folder folder) {
-        FileSystemIoLock.LOCK.lock();
-        try {
-            if (folder == null)
-                throw new InvalidParameterException("Folder cannot be null");
-
-            // Logic: ID is path. If ID is provided, use it. If not, use Title as name in
-            // root.
-            String parentId = ROOT_ID;
-            if (folder.getParent() != null) {
-                parentId = folder.getParent().getId();
-            }
+        if (folder == null)
+            throw new InvalidParameterException("Folder cannot be null");
+
+        // Logic: ID is path. If ID is provided, use it. If not, use Title as name in
+        // root.
+        String parentId = ROOT_ID;
+        if (folder.getParent() != null) {
+            parentId = folder.getParent().getId();
+        }
 
-            Path parentPath = resolveFolderPath(parentId);
-            if (parentPath == null)
-                parentPath = rootPath;
+        Path parentPath = resolveFolderPath(parentId);
+        if (parentPath == null)
+            parentPath = rootPath;
 
-            String folderName = sanitizeFilename(folder.getTitle());
-            Path dirPath = parentPath.resolve(folderName);
+        String folderName = sanitizeFilename(folder.getTitle());
+        Path dirPath = parentPath.resolve(folderName);
 
+        FileSystemIoLock.Scope lock = FileSystemIoLock.paths(normalizeId(rootPath.relativize(dirPath).toString()));
+        try {
             // Handle duplication
             int counter = 1;
             while (Files.exists(dirPath)) {
@@ -114,13 +195,13 @@ public class FolderDAOFileSystem implements FolderDAO {
                 return null;
             }
         } finally {
-            FileSystemIoLock.LOCK.unlock();
+            lock.unlock();
         }
     }
 
     @Override
     public void updateFolder(Folder folder) {
-        FileSystemIoLock.LOCK.lock();
+        FileSystemIoLock.Scope lock = FileSystemIoLock.vault();
         try {
         // Rename logic
         Path currentPath = resolveFolderPath(folder.getId());
@@ -146,18 +227,19 @@ public class FolderDAOFileSystem implements FolderDAO {
             }
         }
         } finally {
-            FileSystemIoLock.LOCK.unlock();
+            lock.unlock();
         }
     }
 
     @Override
     public void deleteFolder(String id) {
-        FileSystemIoLock.LOCK.lock();
-        try {
         if (id == null || id.isBlank()) {
             return;
         }
         String normalizedId = id.replace("\\", "/");
+        // Exclusive on the folder excludes every operation inside it.
+        FileSystemIoLock.Scope lock = FileSystemIoLock.paths(normalizedId, ".trash/" + normalizedId);
+        try {
 
         Path path = idToPathMap.get(id);
         if (path == null) {
@@ -212,13 +294,13 @@ public class FolderDAOFileSystem implements FolderDAO {
             }
         }
         } finally {
-            FileSystemIoLock.LOCK.unlock();
+            lock.unlock();
         }
     }
 
     @Override
     public Folder fetchTrashFolders() {
-        FileSystemIoLock.LOCK.lock();
+        FileSystemIoLock.Scope lock = FileSystemIoLock.paths(".trash");
         try {
             // Title should be a localized string or just "Trash", not ".trash"
             Folder trashRootFolder = new Folder(".trash", "Trash");
@@ -229,7 +311,7 @@ public class FolderDAOFileSystem implements FolderDAO {
             }
             return trashRootFolder;
         } finally {
-            FileSystemIoLock.LOCK.unlock();
+            lock.unlock();
         }
     }
 
@@ -260,7 +342,7 @@ public class FolderDAOFileSystem implements FolderDAO {
 
     @Override
     public void restoreFolder(String id) {
-        FileSystemIoLock.LOCK.lock();
+        FileSystemIoLock.Scope lock = FileSystemIoLock.vault();
         try {
         if (id == null || id.isBlank()) {
             return;
@@ -305,13 +387,13 @@ public class FolderDAOFileSystem implements FolderDAO {
             throw new DataAccessException("Failed to restore folder", e);
         }
         } finally {
-            FileSystemIoLock.LOCK.unlock();
+            lock.unlock();
         }
     }
 
     @Override
     public void permanentlyDeleteFolder(String id) {
-        FileSystemIoLock.LOCK.lock();
+        FileSystemIoLock.Scope lock = FileSystemIoLock.paths(".trash");
         try {
         if (id == null || id.isBlank()) {
             return;
@@ -335,7 +417,7 @@ public class FolderDAOFileSystem implements FolderDAO {
             }
         }
         } finally {
-            FileSystemIoLock.LOCK.unlock();
+            lock.unlock();
         }
     }
 
@@ -385,12 +467,14 @@ public class FolderDAOFileSystem implements FolderDAO {
 
     @Override
     public void addNote(Folder folder, Note note) {
-        FileSystemIoLock.LOCK.lock();
-        try {
         if (folder == null || note == null)
             return;
 
         String normalizedNoteId = normalizeId(note.getId());
+        String targetFolderId = ROOT_ID.equals(folder.getId()) ? "" : normalizeId(folder.getId()) + "/";
+        FileSystemIoLock.Scope lock = FileSystemIoLock.paths(normalizedNoteId,
+                targetFolderId + Paths.get(normalizedNoteId).getFileName());
+        try {
         Path sourcePath = rootPath.resolve(normalizedNoteId.replace("/", File.separator));
         if (!Files.exists(sourcePath))
             return;
@@ -418,19 +502,20 @@ public class FolderDAOFileSystem implements FolderDAO {
             logger.log(Level.SEVERE, "Failed to move note file to folder: " + folder.getId(), e);
         }
         } finally {
-            FileSystemIoLock.LOCK.unlock();
+            lock.unlock();
         }
     }
 
     @Override
     public void removeNote(Folder folder, Note note) {
-        FileSystemIoLock.LOCK.lock();
-        try {
         if (folder == null || note == null || note.getId() == null) {
             return;
         }
 
         String normalizedNoteId = normalizeId(note.getId());
+        FileSystemIoLock.Scope lock = FileSystemIoLock.paths(normalizedNoteId,
+                Paths.get(normalizedNoteId).getFileName().toString());
+        try {
         Path sourcePath = rootPath.resolve(normalizedNoteId.replace("/", File.separator));
         if (!Files.exists(sourcePath)) {
             return;
@@ -451,7 +536,7 @@ public class FolderDAOFileSystem implements FolderDAO {
             logger.log(Level.SEVERE, "Failed to remove note from folder: " + folder.getId(), e);
         }
         } finally {
-            FileSystemIoLock.LOCK.unlock();
+            lock.unlock();
         }
     }
 
@@ -490,7 +575,7 @@ public class FolderDAOFileSystem implements FolderDAO {
 
     @Override
     public void addSubFolder(Folder parent, Folder subFolder) {
-        FileSystemIoLock.LOCK.lock();
+        FileSystemIoLock.Scope lock = FileSystemIoLock.vault();
         try {
         if (parent == null || subFolder == null || subFolder.getId() == null) {
             return;
@@ -522,7 +607,7 @@ public class FolderDAOFileSystem implements FolderDAO {
             logger.warning("Failed to move subfolder under parent: " + e.getMessage());
         }
         } finally {
-            FileSystemIoLock.LOCK.unlock();
+            lock.unlock();
         }
     }
 
@@ -0,0 +1,200 @@
+package com.example.forevernote.data.dao.filesystem;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.example.forevernote.config.LoggerConfig;
+import com.example.forevernote.data.dao.interfaces.LinkDAO;
+
+/**
+ * Sidecar store for the link graph of a filesystem vault.
+ *
+ * <p>
+ * The graph lives in one file under the vault's hidden directory. It is read on
+ * first use and held in memory; changes are buffered and written atomically by
+ * {@link #flush()}. Backlink lookups use an inverted map built on demand.
+ * </p>
+ */
+public final class LinkDAOFileSystem implements LinkDAO {
+
+    private static final Logger logger = LoggerConfig.getLogger(LinkDAOFileSystem.class);
+    private static final int FILE_MAGIC = 0x464E4C4B; // "FNLK"
+    private static final int FILE_VERSION = 1;
+
+    /** Link store file name inside the vault's hidden directory. */
+    public static final String FILE_NAME = "links.bin";
+
+    private final Path file;
+    private Map<String, SourceLinks> sources;
+    private Map<String, List<StoredLink>> incomingByTarget;
+    private boolean dirty = false;
+
+    /**
+     * @param file Location of the link store file.
+     */
+    public LinkDAOFileSystem(Path file) {
+        if (file == null) {
+            throw new IllegalArgumentException("Link store file cannot be null");
+        }
+        this.file = file;
+    }
+
+    /**
+     * @param vaultRoot The vault root directory.
+     * @return The default store location, {@code <vault>/.forevernote/}.
+     */
+    public static Path defaultLocation(Path vaultRoot) {
+        return vaultRoot.resolve(".forevernote").resolve(FILE_NAME);
+    }
+
+    @Override
+    public synchronized Map<String, SourceLinks> fetchAllSources() {
+        return new HashMap<>(sources());
+    }
+
+    @Override
+    public synchronized List<StoredLink> fetchOutgoing(String sourceNoteId) {
+        SourceLinks source = sources().get(sourceNoteId);
+        return source != null ? source.links() : List.of();
+    }
+
+    @Override
+    public synchronized List<StoredLink> fetchIncoming(String targetNoteId) {
+        if (incomingByTarget == null) {
+            Map<String, List<StoredLink>> incoming = new HashMap<>();
+            for (SourceLinks source : sources().values()) {
+                for (StoredLink link : source.links()) {
+                    if (link.targetNoteId() != null) {
+                        incoming.computeIfAbsent(link.targetNoteId(), k -> new ArrayList<>()).add(link);
+                    }
+                }
+            }
+            incoming.replaceAll((target, links) -> List.copyOf(links));
+            incomingByTarget = incoming;
+        }
+        return incomingByTarget.getOrDefault(targetNoteId, List.of());
+    }
+
+    @Override
+    public synchronized void saveSources(Collection<SourceLinks> updated) {
+        if (updated == null || updated.isEmpty()) {
+            return;
+        }
+        Map<String, SourceLinks> current = sources();
+        for (SourceLinks source : updated) {
+            current.put(source.sourceNoteId(), source);
+        }
+        incomingByTarget = null;
+        dirty = true;
+    }
+
+    @Override
+    public synchronized void deleteSources(Collection<String> sourceNoteIds) {
+        if (sourceNoteIds == null || sourceNoteIds.isEmpty()) {
+            return;
+        }
+        if (sources().keySet().removeAll(sourceNoteIds)) {
+            incomingByTarget = null;
+            dirty = true;
+        }
+    }
+
+    /**
+     * Replaces the store file atomically if anything changed since the last
+     * flush.
+     */
+    @Override
+    public synchronized void flush() {
+        if (!dirty) {
+            return;
+        }
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(FILE_MAGIC);
+                out.writeInt(FILE_VERSION);
+                out.writeInt(sources.size());
+                for (SourceLinks source : sources.values()) {
+                    out.writeUTF(source.sourceNoteId());
+                    out.writeUTF(source.contentHash());
+                    out.writeInt(source.links().size());
+                    for (StoredLink link : source.links()) {
+                        out.writeBoolean(link.targetNoteId() != null);
+                        if (link.targetNoteId() != null) {
+                            out.writeUTF(link.targetNoteId());
+                        }
+                        out.writeUTF(link.rawTarget());
+                        out.writeUTF(link.alias() != null ? link.alias() : "");
+                        out.writeByte((link.embed() ? 1 : 0) | (link.unresolved() ? 2 : 0)
+                                | (link.ambiguous() ? 4 : 0));
+                    }
+                }
+            }
+            try {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException atomicMoveFailure) {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            dirty = false;
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Failed to save link store: " + file, e);
+        }
+    }
+
+    private Map<String, SourceLinks> sources() {
+        if (sources == null) {
+            sources = load();
+        }
+        return sources;
+    }
+
+    private Map<String, SourceLinks> load() {
+        if (!Files.isRegularFile(file)) {
+            return new HashMap<>();
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != FILE_MAGIC || in.readInt() != FILE_VERSION) {
+                logger.info("Ignoring link store with unknown format: " + file);
+                return new HashMap<>();
+            }
+            int count = in.readInt();
+            Map<String, SourceLinks> loaded = new HashMap<>(Math.max(16, count * 2));
+            for (int i = 0; i < count; i++) {
+                String sourceNoteId = in.readUTF();
+                String contentHash = in.readUTF();
+                int linkCount = in.readInt();
+                List<StoredLink> links = new ArrayList<>(linkCount);
+                for (int l = 0; l < linkCount; l++) {
+                    String targetNoteId = in.readBoolean() ? in.readUTF() : null;
+                    String rawTarget = in.readUTF();
+                    String alias = in.readUTF();
+                    int flags = in.readUnsignedByte();
+                    links.add(new StoredLink(sourceNoteId, targetNoteId, rawTarget, alias, (flags & 1) != 0,
+                            (flags & 2) != 0, (flags & 4) != 0));
+                }
+                loaded.put(sourceNoteId, new SourceLinks(sourceNoteId, contentHash, links));
+            }
+            return loaded;
+        } catch (IOException | RuntimeException e) {
+            logger.log(Level.WARNING, "Failed to load link store, links will be reparsed: " + file, e);
+            return new HashMap<>();
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.forevernote.data.dao.filesystem;
+
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Least-recently-used cache of decoded note file contents, bounded by an
+ * approximate memory budget.
+ *
+ * <p>
+ * Entries are keyed by the absolute file path and remember the size and mtime
+ * the text was read at, so a lookup with a different stamp is a miss and the
+ * stale entry is dropped. Each entry weighs roughly the bytes of its UTF-16
+ * text; entries larger than the whole budget are not cached.
+ * </p>
+ */
+public final class NoteContentCache {
+
+    /** Budget used when {@code forevernote.noteContentCache.maxBytes} is not set. */
+    public static final long DEFAULT_MAX_BYTES = 16L * 1024 * 1024;
+    private static final long ENTRY_OVERHEAD_BYTES = 96L;
+
+    private record Entry(long size, long modifiedMillis, String text, long weight) {
+    }
+
+    private final LinkedHashMap<Path, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long maxBytes;
+    private long weightBytes = 0L;
+    private long hits = 0L;
+    private long misses = 0L;
+    private long evictions = 0L;
+
+    /**
+     * @param maxBytes Memory budget in bytes; 0 disables caching.
+     */
+    public NoteContentCache(long maxBytes) {
+        this.maxBytes = Math.max(0L, maxBytes);
+    }
+
+    /**
+     * @return A cache sized from the {@code forevernote.noteContentCache.maxBytes}
+     *         system property, or {@link #DEFAULT_MAX_BYTES}.
+     */
+    public static NoteContentCache fromSystemProperties() {
+        return new NoteContentCache(Long.getLong("forevernote.noteContentCache.maxBytes", DEFAULT_MAX_BYTES));
+    }
+
+    /**
+     * @param path           The note file.
+     * @param size           Its current size.
+     * @param modifiedMillis Its current modification time.
+     * @return The cached text, or null if absent or read at a different stamp.
+     */
+    public synchronized String get(Path path, long size, long modifiedMillis) {
+        Path key = key(path);
+        Entry entry = entries.get(key);
+        if (entry != null && entry.size() == size && entry.modifiedMillis() == modifiedMillis) {
+            hits++;
+            return entry.text();
+        }
+        if (entry != null) {
+            remove(key);
+        }
+        misses++;
+        return null;
+    }
+
+    /**
+     * Caches the text read from a file at the given stamp.
+     */
+    public synchronized void put(Path path, long size, long modifiedMillis, String text) {
+        if (text == null) {
+            return;
+        }
+        Path key = key(path);
+        remove(key);
+        long weight = ENTRY_OVERHEAD_BYTES + 2L * text.length();
+        if (weight > maxBytes) {
+            return;
+        }
+        entries.put(key, new Entry(size, modifiedMillis, text, weight));
+        weightBytes += weight;
+        evictToBudget();
+    }
+
+    /**
+     * Drops the entry of a file that was written, moved or deleted.
+     */
+    public synchronized void invalidate(Path path) {
+        if (path != null) {
+            remove(key(path));
+        }
+    }
+
+    /**
+     * Drops every entry.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        weightBytes = 0L;
+    }
+
+    /**
+     * Changes the memory budget, evicting entries if it shrank.
+     */
+    public synchronized void setMaxBytes(long maxBytes) {
+        this.maxBytes = Math.max(0L, maxBytes);
+        evictToBudget();
+    }
+
+    public synchronized long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * @return Approximate bytes held by cached entries.
+     */
+    public synchronized long getWeightBytes() {
+        return weightBytes;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictions;
+    }
+
+    /**
+     * @return Hits divided by lookups, or 0 before the first lookup.
+     */
+    public synchronized double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+
+    private void evictToBudget() {
+        Iterator<Map.Entry<Path, Entry>> eldest = entries.entrySet().iterator();
+        while (weightBytes > maxBytes && eldest.hasNext()) {
+            weightBytes -= eldest.next().getValue().weight();
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    private void remove(Path key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            weightBytes -= removed.weight();
+        }
+    }
+
+    private static Path key(Path path) {
+        return path.toAbsolutePath().normalize();
+    }
+}
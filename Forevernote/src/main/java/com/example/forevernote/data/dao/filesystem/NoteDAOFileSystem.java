@@ -10,17 +10,23 @@ import java.nio.charset.Charset;
 import java.nio.charset.CharsetDecoder;
 import java.nio.charset.CodingErrorAction;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
 import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.time.Instant;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Stream;
@@ -52,12 +58,41 @@ public class NoteDAOFileSystem implements NoteDAO {
     private final Map<String, Note> cachedNotes = new ConcurrentHashMap<>();
     // Index: folderId -> notes (direct children only)
     private final Map<String, List<Note>> notesByFolderIndex = new ConcurrentHashMap<>();
+    // Size and mtime of each note file as last read or written by this DAO, so
+    // watcher events caused by our own writes can be recognized and skipped.
+    private final Map<String, FileStamp> fileStamps = new ConcurrentHashMap<>();
     private static final long PRUNE_INTERVAL_MS = 3000L;
     private volatile long lastPruneTimestampMs = 0L;
     private volatile boolean notesByFolderIndexDirty = true;
+    // When a VaultWatcher feeds this DAO, caches are kept current incrementally
+    // and the periodic prune is skipped.
+    private volatile boolean watching = false;
+
+    private final VaultMetadataSnapshot metadataSnapshot;
+    private volatile boolean metadataSnapshotDirty = false;
+    private volatile int lastRefreshParsedCount = 0;
+    private volatile int lastRefreshReusedCount = 0;
+    // Decoded file text for getNoteById, keyed by path and validated by stamp.
+    private final NoteContentCache contentCache = NoteContentCache.fromSystemProperties();
+
+    // Serializes refresh scans; writes are not blocked by it.
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    // Ids written while a refresh scan runs, or null when none is running.
+    private volatile Set<String> touchedDuringRefresh = null;
+    // Bumped whenever the caches are changed under the vault lock, so a refresh
+    // can tell that its scan predates a structural change.
+    private volatile long cacheGeneration = 0L;
+
+    private record FileStamp(long size, long modifiedMillis) {
+    }
+
+    private record VaultScan(Map<String, Path> paths, Map<String, Note> notes, Map<String, FileStamp> stamps,
+            AtomicInteger parsed, int knownCount) {
+    }
 
     public NoteDAOFileSystem(String rootDirectory) {
         this.rootPath = Paths.get(rootDirectory);
+        this.metadataSnapshot = new VaultMetadataSnapshot(VaultMetadataSnapshot.defaultLocation(rootPath));
         if (!Files.exists(rootPath)) {
             try {
                 Files.createDirectories(rootPath);
@@ -70,39 +105,224 @@ public class NoteDAOFileSystem implements NoteDAO {
     }
 
     public void refreshCache() {
-        FileSystemIoLock.LOCK.lock();
+        if (FileSystemIoLock.holdsVault()) {
+            // Called from a structural operation: nothing else can write meanwhile.
+            installScan(scanVault(), Set.of());
+        } else {
+            refreshLock.lock();
+            try {
+                Set<String> touched = ConcurrentHashMap.newKeySet();
+                long generation = cacheGeneration;
+                touchedDuringRefresh = touched;
+                // The walk runs without the vault lock so saves are not stalled.
+                // Notes written meanwhile are recorded in touched and keep their
+                // live cache entries when the scan is installed.
+                VaultScan scan = scanVault();
+                FileSystemIoLock.Scope lock = FileSystemIoLock.vault();
+                try {
+                    touchedDuringRefresh = null;
+                    if (generation != cacheGeneration) {
+                        // A structural change was applied meanwhile; scan again under the lock.
+                        scan = scanVault();
+                        touched = Set.of();
+                    }
+                    installScan(scan, touched);
+                } finally {
+                    lock.unlock();
+                }
+            } finally {
+                touchedDuringRefresh = null;
+                refreshLock.unlock();
+            }
+        }
+        if (metadataSnapshotDirty) {
+            saveMetadataSnapshot();
+        }
+    }
+
+    private VaultScan scanVault() {
+        // On a cold start the on-disk snapshot stands in for the cache, so only
+        // files changed since the last session have their headers read again.
+        Map<String, VaultMetadataSnapshot.Entry> known = cachedNotes.isEmpty() ? metadataSnapshot.load()
+                : currentMetadata();
+        Map<Path, BasicFileAttributes> files = listNoteFiles();
+        VaultScan scan = new VaultScan(new ConcurrentHashMap<>(), new ConcurrentHashMap<>(),
+                new ConcurrentHashMap<>(), new AtomicInteger(), known.size());
+        // Using parallel stream for faster initial load of thousands of headers
+        files.entrySet().parallelStream().forEach(file -> {
+            Path path = file.getKey();
+            String relativePath = normalizeId(rootPath.relativize(path).toString());
+            FileStamp stamp = new FileStamp(file.getValue().size(), file.getValue().lastModifiedTime().toMillis());
+            VaultMetadataSnapshot.Entry entry = known.get(relativePath);
+            Note note;
+            if (entry != null && entry.size() == stamp.size() && entry.modifiedMillis() == stamp.modifiedMillis()) {
+                note = createNoteFromMetadata(relativePath, path, entry);
+            } else {
+                note = createLightweightNote(relativePath, path);
+                scan.parsed().incrementAndGet();
+            }
+            scan.paths().put(relativePath, path);
+            scan.notes().put(relativePath, note);
+            scan.stamps().put(relativePath, stamp);
+        });
+        return scan;
+    }
+
+    /**
+     * Replaces the caches with a scan. Callers must hold the vault lock.
+     */
+    private void installScan(VaultScan scan, Set<String> touched) {
+        int scanned = scan.notes().size();
+        for (String id : touched) {
+            Note live = cachedNotes.get(id);
+            Path livePath = idToPathMap.get(id);
+            FileStamp liveStamp = fileStamps.get(id);
+            scan.notes().remove(id);
+            scan.paths().remove(id);
+            scan.stamps().remove(id);
+            if (live != null && livePath != null) {
+                scan.notes().put(id, live);
+                scan.paths().put(id, livePath);
+                if (liveStamp != null) {
+                    scan.stamps().put(id, liveStamp);
+                }
+            }
+        }
+        // Put before removing so lock-free readers never observe an empty cache.
+        replaceContents(idToPathMap, scan.paths());
+        replaceContents(cachedNotes, scan.notes());
+        replaceContents(fileStamps, scan.stamps());
+        cacheGeneration++;
+
+        lastRefreshParsedCount = scan.parsed().get();
+        lastRefreshReusedCount = scanned - lastRefreshParsedCount;
+        if (lastRefreshParsedCount > 0 || scan.knownCount() != lastRefreshReusedCount) {
+            metadataSnapshotDirty = true;
+        }
+        notesByFolderIndexDirty = true;
+    }
+
+    private static <K, V> void replaceContents(Map<K, V> target, Map<K, V> source) {
+        target.putAll(source);
+        target.keySet().retainAll(source.keySet());
+    }
+
+    /**
+     * Records a note id written while a refresh scan is running.
+     */
+    private void touch(String noteId) {
+        Set<String> touched = touchedDuringRefresh;
+        if (touched != null && noteId != null) {
+            touched.add(noteId);
+        }
+    }
+
+    /**
+     * Writes the metadata snapshot used for the next cold start, if the cache
+     * changed since it was last written.
+     */
+    public void saveMetadataSnapshot() {
+        if (!metadataSnapshotDirty) {
+            return;
+        }
+        metadataSnapshotDirty = false;
+        if (!metadataSnapshot.save(currentMetadata())) {
+            metadataSnapshotDirty = true;
+        }
+    }
+
+    /**
+     * @return Number of note headers read from disk by the last cache refresh.
+     */
+    public int getLastRefreshParsedCount() {
+        return lastRefreshParsedCount;
+    }
+
+    /**
+     * @return Number of notes the last cache refresh took from the snapshot.
+     */
+    public int getLastRefreshReusedCount() {
+        return lastRefreshReusedCount;
+    }
+
+    private Map<String, VaultMetadataSnapshot.Entry> currentMetadata() {
+        Map<String, VaultMetadataSnapshot.Entry> entries = new HashMap<>(cachedNotes.size() * 2);
+        for (Map.Entry<String, Note> cached : cachedNotes.entrySet()) {
+            FileStamp stamp = fileStamps.get(cached.getKey());
+            Note note = cached.getValue();
+            if (stamp == null || note == null) {
+                continue;
+            }
+            List<String> tags = new ArrayList<>();
+            for (Tag tag : note.getTags()) {
+                if (tag != null && tag.getTitle() != null) {
+                    tags.add(tag.getTitle());
+                }
+            }
+            entries.put(cached.getKey(), new VaultMetadataSnapshot.Entry(stamp.size(), stamp.modifiedMillis(),
+                    note.isFavorite(), note.isPinned(), note.isDeleted(), tags));
+        }
+        return entries;
+    }
+
+    /**
+     * Lists the visible note files of the vault with their attributes, without
+     * descending into hidden directories.
+     */
+    private Map<Path, BasicFileAttributes> listNoteFiles() {
+        Map<Path, BasicFileAttributes> files = new HashMap<>();
         try {
-        idToPathMap.clear();
-        cachedNotes.clear();
-        try (Stream<Path> walk = Files.walk(rootPath)) {
-            // Using parallel stream for faster initial load of thousands of headers
-            walk.filter(Files::isRegularFile)
-                    .filter(p -> p.toString().endsWith(".md"))
-                    .filter(p -> !p.toString().contains(File.separator + ".")) // Exclude hidden files and folders
-                                                                               // (.trash, .git)
-                    .parallel()
-                    .forEach(path -> {
-                        String relativePath = normalizeId(rootPath.relativize(path).toString());
-                        idToPathMap.put(relativePath, path);
-                        // Accessing created note immediately creates race condition if not thread safe
-                        // NoteDAOFileSystem methods are synchronized or use concurrent maps
-                        Note note = createLightweightNote(relativePath, path);
-                        cachedNotes.put(relativePath, note);
-                    });
+            Files.walkFileTree(rootPath, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                    if (!dir.equals(rootPath) && dir.getFileName().toString().startsWith(".")) {
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    String name = file.getFileName().toString();
+                    if (attrs.isRegularFile() && name.endsWith(".md") && !name.startsWith(".")) {
+                        files.put(file, attrs);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException e) {
+                    logger.log(Level.FINE, "Skipping unreadable path: " + file, e);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
         } catch (IOException e) {
             logger.log(Level.SEVERE, "Failed to walk directory for cache refresh", e);
         }
-        notesByFolderIndexDirty = true;
-        } finally {
-            FileSystemIoLock.LOCK.unlock();
+        return files;
+    }
+
+    private Note createNoteFromMetadata(String id, Path path, VaultMetadataSnapshot.Entry entry) {
+        Note note = new Note(id, titleFromFileName(path), "");
+        note.setFavorite(entry.favorite());
+        note.setPinned(entry.pinned());
+        note.setDeleted(entry.deleted());
+        for (String tagName : entry.tags()) {
+            Tag tag = new Tag(tagName);
+            tag.setId(tagName);
+            note.addTag(tag);
         }
+        return note;
+    }
+
+    private static String titleFromFileName(Path path) {
+        String filename = path.getFileName().toString();
+        return filename.endsWith(".md") ? filename.substring(0, filename.length() - 3) : filename;
     }
 
     private Note createLightweightNote(String id, Path path) {
         // Create Note object
-        String filename = path.getFileName().toString();
-        String title = filename.endsWith(".md") ? filename.substring(0, filename.length() - 3) : filename;
-        Note note = new Note(id, title, "");
+        Note note = new Note(id, titleFromFileName(path), "");
 
         // Lightweight Header Reading: Read only frontmatter to get metadata
         if (Files.exists(path)) {
@@ -169,6 +389,32 @@ public class NoteDAOFileSystem implements NoteDAO {
         return "";
     }
 
+    /**
+     * Reads a note file through the content cache; a stat decides whether the
+     * cached text is still current.
+     */
+    private String readNoteText(Path path) throws IOException {
+        FileStamp stamp = readStamp(path);
+        if (stamp != null) {
+            String cached = contentCache.get(path, stamp.size(), stamp.modifiedMillis());
+            if (cached != null) {
+                return cached;
+            }
+        }
+        String content = readTextFileWithFallback(path);
+        if (stamp != null) {
+            contentCache.put(path, stamp.size(), stamp.modifiedMillis(), content);
+        }
+        return content;
+    }
+
+    /**
+     * @return The cache of note file contents used by {@link #getNoteById}.
+     */
+    public NoteContentCache getContentCache() {
+        return contentCache;
+    }
+
     private String readTextFileWithFallback(Path path) throws IOException {
         byte[] bytes = Files.readAllBytes(path);
         if (bytes.length == 0) {
@@ -210,36 +456,38 @@ public class NoteDAOFileSystem implements NoteDAO {
 
     @Override
     public String createNote(Note note) {
-        FileSystemIoLock.LOCK.lock();
-        try {
-            if (note == null)
-                throw new InvalidParameterException("Note cannot be null");
-            if (note.getTitle() == null || note.getTitle().isBlank()) {
-                note.setTitle("Untitled");
-            }
-
-            // Determine parent directory
-            Path parentDir = rootPath;
-            String suggestedId = normalizeId(note.getId());
-
-            if (!suggestedId.isEmpty()) {
-                // Check if the ID implies a folder path (e.g. "Folder/Note.md" or just
-                // "Folder/")
-                // If the ID comes from MainController as "Folder/New Note", we want to use
-                // "Folder" as parent.
-                if (suggestedId.contains("/")) {
-                    int lastSeparator = suggestedId.lastIndexOf('/');
-                    String folderPath = suggestedId.substring(0, lastSeparator);
-                    Path potentialDir = rootPath.resolve(folderPath.replace("/", File.separator));
-                    if (Files.exists(potentialDir) && Files.isDirectory(potentialDir)) {
-                        parentDir = potentialDir;
-                    }
+        if (note == null)
+            throw new InvalidParameterException("Note cannot be null");
+        if (note.getTitle() == null || note.getTitle().isBlank()) {
+            note.setTitle("Untitled");
+        }
+
+        // Determine parent directory
+        Path parentDir = rootPath;
+        String suggestedId = normalizeId(note.getId());
+
+        if (!suggestedId.isEmpty()) {
+            // Check if the ID implies a folder path (e.g. "Folder/Note.md" or just
+            // "Folder/")
+            // If the ID comes from MainController as "Folder/New Note", we want to use
+            // "Folder" as parent.
+            if (suggestedId.contains("/")) {
+                int lastSeparator = suggestedId.lastIndexOf('/');
+                String folderPath = suggestedId.substring(0, lastSeparator);
+                Path potentialDir = rootPath.resolve(folderPath.replace("/", File.separator));
+                if (Files.exists(potentialDir) && Files.isDirectory(potentialDir)) {
+                    parentDir = potentialDir;
                 }
             }
+        }
 
-            String filename = sanitizeFilename(note.getTitle()) + ".md";
+        String filename = sanitizeFilename(note.getTitle()) + ".md";
 
-            Path filePath = parentDir.resolve(filename);
+        Path filePath = parentDir.resolve(filename);
+        // Numbered duplicates derive from the same base name, so locking it
+        // serializes every creator of this title.
+        FileSystemIoLock.Scope lock = FileSystemIoLock.paths(relativeId(filePath));
+        try {
             // Handle duplicate filenames
             int counter = 1;
             while (Files.exists(filePath)) {
@@ -259,8 +507,11 @@ public class NoteDAOFileSystem implements NoteDAO {
             try {
                 String fileContent = FrontmatterHandler.generate(note);
                 Files.writeString(filePath, fileContent, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+                contentCache.invalidate(filePath);
                 idToPathMap.put(relativePath, filePath);
                 cachedNotes.put(relativePath, note);
+                recordStamp(relativePath, filePath);
+                touch(relativePath);
                 notesByFolderIndexDirty = true;
                 return relativePath;
             } catch (IOException e) {
@@ -268,7 +519,7 @@ public class NoteDAOFileSystem implements NoteDAO {
                 return null;
             }
         } finally {
-            FileSystemIoLock.LOCK.unlock();
+            lock.unlock();
         }
     }
 
@@ -303,7 +554,7 @@ public class NoteDAOFileSystem implements NoteDAO {
         }
 
         try {
-            String content = readTextFileWithFallback(path);
+            String content = readNoteText(path);
             Note note = FrontmatterHandler.parse(content);
             // Override ID with our path-based ID
             note.setId(normalizedId);
@@ -321,10 +572,59 @@ public class NoteDAOFileSystem implements NoteDAO {
         }
     }
 
+    /**
+     * Size and modification time of the note file. Lightweight notes carry no
+     * modified date, and external editors do not update the frontmatter, so the
+     * file itself is checked.
+     */
+    @Override
+    public String getChangeSignature(Note note) {
+        if (note == null || note.getId() == null) {
+            return "";
+        }
+        String id = normalizeId(note.getId());
+        Path path = idToPathMap.get(id);
+        if (path == null) {
+            path = rootPath.resolve(id.replace("/", File.separator));
+        }
+        FileStamp stamp = readStamp(path);
+        return stamp != null ? stamp.size() + ":" + stamp.modifiedMillis() : "";
+    }
+
     @Override
     public void updateNote(Note note) {
-        FileSystemIoLock.LOCK.lock();
+        FileSystemIoLock.Scope lock = lockForUpdate(note);
         try {
+            writeNoteUpdate(note);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Locks a note's file together with the file it is renamed to if its title
+     * changed.
+     */
+    private FileSystemIoLock.Scope lockForUpdate(Note note) {
+        if (note == null || note.getId() == null) {
+            return FileSystemIoLock.paths();
+        }
+        String id = normalizeId(note.getId());
+        if (note.getTitle() == null) {
+            return FileSystemIoLock.paths(id);
+        }
+        int slash = id.lastIndexOf('/');
+        String renamed = (slash >= 0 ? id.substring(0, slash + 1) : "") + sanitizeFilename(note.getTitle()) + ".md";
+        return FileSystemIoLock.paths(id, renamed);
+    }
+
+    /**
+     * Writes an updated note to disk, renaming its file if the title changed.
+     * Callers must hold the lock from {@link #lockForUpdate(Note)}.
+     *
+     * @return false if the note file does not exist or could not be written.
+     */
+    private boolean writeNoteUpdate(Note note) {
         if (note == null || note.getId() == null)
             throw new InvalidParameterException("Invalid note");
 
@@ -339,7 +639,7 @@ public class NoteDAOFileSystem implements NoteDAO {
             path = rootPath.resolve(normalizedId.replace("/", File.separator));
             if (!Files.exists(path)) {
                 logger.warning("Attempted to update non-existent note: " + note.getId());
-                return;
+                return false;
             }
         }
 
@@ -352,6 +652,7 @@ public class NoteDAOFileSystem implements NoteDAO {
             if (!Files.exists(newPath)) {
                 try {
                     Files.move(path, newPath);
+                    contentCache.invalidate(path);
                     // Update ID map and Cache
                     String oldId = normalizedId;
                     idToPathMap.remove(oldId);
@@ -362,6 +663,8 @@ public class NoteDAOFileSystem implements NoteDAO {
                     note.setId(newId); // Update object ID
                     path = newPath;
                     cachedNotes.put(newId, note);
+                    touch(oldId);
+                    touch(newId);
                     notesByFolderIndexDirty = true;
                 } catch (IOException e) {
                     logger.warning("Failed to rename note file during update: " + e.getMessage());
@@ -374,31 +677,82 @@ public class NoteDAOFileSystem implements NoteDAO {
         try {
             String fileContent = FrontmatterHandler.generate(note);
             Files.writeString(path, fileContent, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+            contentCache.invalidate(path);
             String currentId = normalizeId(note.getId());
             if (!normalizedId.equals(currentId)) {
                 cachedNotes.remove(normalizedId);
                 idToPathMap.remove(normalizedId);
+                fileStamps.remove(normalizedId);
             }
             cachedNotes.put(currentId, note);
             idToPathMap.put(currentId, path);
+            recordStamp(currentId, path);
+            touch(normalizedId);
+            touch(currentId);
             notesByFolderIndexDirty = true;
+            return true;
         } catch (IOException e) {
             logger.log(Level.SEVERE, "Failed to update note file: " + path, e);
+            return false;
         }
-        } finally {
-            FileSystemIoLock.LOCK.unlock();
+    }
+
+    @Override
+    public BatchResult createNotes(List<Note> notes) {
+        if (notes == null) {
+            throw new IllegalArgumentException("Note list cannot be null");
+        }
+        List<String> created = new ArrayList<>(notes.size());
+        List<String> failures = new ArrayList<>();
+        // Each note locks only its own file, so a large import does not hold up
+        // saves elsewhere in the vault.
+        for (Note note : notes) {
+            try {
+                String id = createNote(note);
+                if (id == null) {
+                    failures.add("Failed to create note '" + note.getTitle() + "'");
+                } else {
+                    created.add(id);
+                }
+            } catch (RuntimeException e) {
+                failures.add("Failed to create note: " + e.getMessage());
+            }
         }
+        return new BatchResult(created, failures.size(), failures);
+    }
+
+    @Override
+    public BatchResult updateNotes(List<Note> notes) {
+        if (notes == null) {
+            throw new IllegalArgumentException("Note list cannot be null");
+        }
+        List<String> updated = new ArrayList<>(notes.size());
+        List<String> failures = new ArrayList<>();
+        for (Note note : notes) {
+            FileSystemIoLock.Scope lock = lockForUpdate(note);
+            try {
+                if (writeNoteUpdate(note)) {
+                    updated.add(note.getId());
+                } else {
+                    failures.add("Failed to update note '" + note.getTitle() + "'");
+                }
+            } catch (RuntimeException e) {
+                failures.add("Failed to update note: " + e.getMessage());
+            } finally {
+                lock.unlock();
+            }
+        }
+        return new BatchResult(updated, failures.size(), failures);
     }
 
     @Override
     public void deleteNote(String id) {
-        FileSystemIoLock.LOCK.lock();
-        try {
         if (id == null || id.isBlank()) {
             return;
         }
         String normalizedId = normalizeId(id);
-
+        FileSystemIoLock.Scope lock = FileSystemIoLock.paths(normalizedId, ".trash/" + normalizedId);
+        try {
         Path sourcePath = idToPathMap.get(id);
         if (sourcePath == null) {
             sourcePath = idToPathMap.get(normalizedId);
@@ -437,6 +791,7 @@ public class NoteDAOFileSystem implements NoteDAO {
                 }
 
                 Files.move(sourcePath, targetPath);
+                contentCache.invalidate(sourcePath);
 
                 // Remove from cache (by exact and normalized key/path)
                 idToPathMap.remove(id);
@@ -454,6 +809,7 @@ public class NoteDAOFileSystem implements NoteDAO {
                     return key.equals(normalizedId) || (note != null && note.getId() != null
                             && note.getId().replace("\\", "/").equals(normalizedId));
                 });
+                touch(normalizedId);
                 notesByFolderIndexDirty = true;
 
             } catch (IOException e) {
@@ -469,13 +825,15 @@ public class NoteDAOFileSystem implements NoteDAO {
             }
         }
         } finally {
-            FileSystemIoLock.LOCK.unlock();
+            lock.unlock();
         }
     }
 
     @Override
     public List<Note> fetchTrashNotes() {
-        FileSystemIoLock.LOCK.lock();
+        // Exclusive on the trash directory: moves into or out of the trash wait,
+        // other notes do not.
+        FileSystemIoLock.Scope lock = FileSystemIoLock.paths(".trash");
         try {
             List<Note> deletedNotes = new ArrayList<>();
             Path trashPath = rootPath.resolve(".trash");
@@ -503,18 +861,20 @@ public class NoteDAOFileSystem implements NoteDAO {
             }
             return deletedNotes;
         } finally {
-            FileSystemIoLock.LOCK.unlock();
+            lock.unlock();
         }
     }
 
     @Override
     public void restoreNote(String id) {
-        FileSystemIoLock.LOCK.lock();
-        try {
         if (id == null || id.isBlank()) {
             return;
         }
         String normalizedId = id.replace("\\", "/");
+        String originalPath = originalPathOfTrashed(normalizedId);
+        FileSystemIoLock.Scope lock = FileSystemIoLock.paths(".trash", originalPath,
+                Paths.get(originalPath).getFileName().toString());
+        try {
         // ID is relative path like .trash/note.md or .trash/Folder/note.md
         try {
             Path source = rootPath.resolve(normalizedId.replace("/", File.separator));
@@ -533,15 +893,7 @@ public class NoteDAOFileSystem implements NoteDAO {
 
             if (Files.exists(source)) {
                 // Calculate original relative path
-                String originalRelPath = normalizedId;
-                if (normalizedId.startsWith(".trash/")) {
-                    originalRelPath = normalizedId.substring(".trash/".length());
-                } else if (normalizedId.startsWith(".trash")) {
-                    originalRelPath = normalizedId.substring(6);
-                    if (originalRelPath.startsWith("/")) {
-                        originalRelPath = originalRelPath.substring(1);
-                    }
-                }
+                String originalRelPath = originalPath;
 
                 Path target = rootPath.resolve(originalRelPath.replace("/", File.separator));
 
@@ -565,21 +917,39 @@ public class NoteDAOFileSystem implements NoteDAO {
                 }
 
                 Files.move(source, target);
+                contentCache.invalidate(source);
 
-                // Update cache
-                refreshCache();
+                // Update cache for the restored file only
+                String restoredId = normalizeId(rootPath.relativize(target).toString());
+                loadCachedNote(restoredId, target);
+                touch(restoredId);
+                notesByFolderIndexDirty = true;
             }
         } catch (IOException e) {
             logger.log(Level.SEVERE, "Failed to restore note: " + id, e);
         }
         } finally {
-            FileSystemIoLock.LOCK.unlock();
+            lock.unlock();
         }
     }
 
+    /**
+     * @param trashedId A trash id such as {@code .trash/Folder/note.md}.
+     * @return The path the note had before it was trashed.
+     */
+    private static String originalPathOfTrashed(String trashedId) {
+        if (trashedId.startsWith(".trash/")) {
+            return trashedId.substring(".trash/".length());
+        } else if (trashedId.startsWith(".trash")) {
+            String originalPath = trashedId.substring(6);
+            return originalPath.startsWith("/") ? originalPath.substring(1) : originalPath;
+        }
+        return trashedId;
+    }
+
     @Override
     public void permanentlyDeleteNote(String id) {
-        FileSystemIoLock.LOCK.lock();
+        FileSystemIoLock.Scope lock = FileSystemIoLock.paths(".trash");
         try {
         try {
             String normalizedId = normalizeId(id);
@@ -587,6 +957,7 @@ public class NoteDAOFileSystem implements NoteDAO {
 
             if (Files.exists(path)) {
                 Files.delete(path);
+                contentCache.invalidate(path);
                 idToPathMap.remove(id);
                 idToPathMap.remove(normalizedId);
                 cachedNotes.remove(id);
@@ -598,6 +969,7 @@ public class NoteDAOFileSystem implements NoteDAO {
                 Path fallback = rootPath.resolve(".trash").resolve(filename);
                 if (Files.exists(fallback)) {
                     Files.delete(fallback);
+                    contentCache.invalidate(fallback);
                 }
             }
             // Also remove from cache
@@ -608,14 +980,14 @@ public class NoteDAOFileSystem implements NoteDAO {
             logger.log(Level.SEVERE, "Failed to permanently delete note: " + id, e);
         }
         } finally {
-            FileSystemIoLock.LOCK.unlock();
+            lock.unlock();
         }
     }
 
     @Override
     public List<Note> fetchNotesByFolderId(String folderId) {
         pruneStaleCacheEntriesIfNeeded();
-        if (cachedNotes.isEmpty()) {
+        if (cachedNotes.isEmpty() && !watching) {
             refreshCache();
         }
         ensureFolderIndex();
@@ -641,12 +1013,31 @@ public class NoteDAOFileSystem implements NoteDAO {
     @Override
     public List<Note> fetchAllNotes() {
         pruneStaleCacheEntriesIfNeeded();
-        if (cachedNotes.isEmpty()) {
+        if (cachedNotes.isEmpty() && !watching) {
             refreshCache();
         }
         return new ArrayList<>(cachedNotes.values());
     }
 
+    /**
+     * Returns the cached lightweight notes, like {@link #fetchAllNotes()}, so
+     * resolving search hits reads no files.
+     */
+    @Override
+    public List<Note> fetchNotesByIds(List<String> ids) {
+        if (cachedNotes.isEmpty() && !watching) {
+            refreshCache();
+        }
+        List<Note> notes = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            Note note = id != null ? cachedNotes.get(normalizeId(id)) : null;
+            if (note != null) {
+                notes.add(note);
+            }
+        }
+        return notes;
+    }
+
     @Override
     public Folder getFolderOfNote(String noteId) {
         if (noteId == null || noteId.isEmpty()) {
@@ -681,13 +1072,38 @@ public class NoteDAOFileSystem implements NoteDAO {
 
     @Override
     public void addTag(Note note, Tag tag) {
-        FileSystemIoLock.LOCK.lock();
+        note.addTag(tag);
+        updateNote(note);
+    }
+
+    @Override
+    public BatchResult addTags(Note note, List<Tag> tags) {
+        if (note == null || tags == null) {
+            throw new InvalidParameterException("Note object or tag list are null");
+        }
+        List<String> added = new ArrayList<>(tags.size());
+        List<String> failures = new ArrayList<>();
+        FileSystemIoLock.Scope lock = lockForUpdate(note);
         try {
-            note.addTag(tag);
-            updateNote(note);
+            for (Tag tag : tags) {
+                if (tag == null || tag.getTitle() == null) {
+                    failures.add("Failed to add tag: tag is null");
+                } else {
+                    note.addTag(tag);
+                    added.add(tag.getId());
+                }
+            }
+            // Tags live in the note's frontmatter, so the whole batch is one file write.
+            if (!added.isEmpty() && !writeNoteUpdate(note)) {
+                for (String tagId : added) {
+                    failures.add("Failed to add tag '" + tagId + "' to note '" + note.getTitle() + "'");
+                }
+                added.clear();
+            }
         } finally {
-            FileSystemIoLock.LOCK.unlock();
+            lock.unlock();
         }
+        return new BatchResult(added, tags.size() - added.size(), failures);
     }
 
     @Override
@@ -707,13 +1123,8 @@ public class NoteDAOFileSystem implements NoteDAO {
 
     @Override
     public void removeTag(Note note, Tag tag) {
-        FileSystemIoLock.LOCK.lock();
-        try {
-            note.removeTag(tag);
-            updateNote(note);
-        } finally {
-            FileSystemIoLock.LOCK.unlock();
-        }
+        note.removeTag(tag);
+        updateNote(note);
     }
 
     @Override
@@ -740,7 +1151,7 @@ public class NoteDAOFileSystem implements NoteDAO {
 
     @Override
     public List<Note> fetchNotesByTagId(String tagId) {
-        if (cachedNotes.isEmpty()) {
+        if (cachedNotes.isEmpty() && !watching) {
             refreshCache();
         }
         List<Note> all = new ArrayList<>();
@@ -759,6 +1170,10 @@ public class NoteDAOFileSystem implements NoteDAO {
         return title.replaceAll("[^\\p{L}\\p{N}\\.\\-_ ]", "_");
     }
 
+    private String relativeId(Path path) {
+        return normalizeId(rootPath.relativize(path).toString());
+    }
+
     private String normalizeId(String id) {
         if (id == null) {
             return "";
@@ -766,8 +1181,185 @@ public class NoteDAOFileSystem implements NoteDAO {
         return id.replace("\\", "/");
     }
 
+    /**
+     * Marks whether a {@link VaultWatcher} is feeding this DAO. While watching,
+     * the caches are updated from change batches instead of periodic pruning and
+     * rescans.
+     *
+     * @param watching true once the watcher has started.
+     */
+    public void setWatching(boolean watching) {
+        this.watching = watching;
+    }
+
+    /**
+     * Applies a batch of vault changes to the caches.
+     *
+     * @param changes Changes reported by the watcher.
+     * @return The changes that altered the caches, i.e. those not caused by this
+     *         DAO's own writes.
+     */
+    public List<VaultWatcher.Change> applyVaultChanges(List<VaultWatcher.Change> changes) {
+        for (VaultWatcher.Change change : changes) {
+            if (change.kind() == VaultWatcher.Kind.OVERFLOW) {
+                // Rescan without holding the vault lock so saves keep going.
+                refreshCache();
+                return List.of(change);
+            }
+        }
+        List<VaultWatcher.Change> applied = new ArrayList<>();
+        FileSystemIoLock.Scope lock = FileSystemIoLock.vault();
+        try {
+            for (VaultWatcher.Change change : changes) {
+                boolean changed;
+                switch (change.kind()) {
+                    case DELETED:
+                        changed = removeCachedPath(change.path());
+                        break;
+                    case RENAMED:
+                        changed = removeCachedPath(change.previousPath());
+                        changed |= loadCachedPath(change.path(), change.directory());
+                        break;
+                    default:
+                        changed = loadCachedPath(change.path(), change.directory());
+                        break;
+                }
+                if (changed) {
+                    applied.add(change);
+                }
+            }
+            if (!applied.isEmpty()) {
+                cacheGeneration++;
+            }
+        } finally {
+            lock.unlock();
+        }
+        return applied;
+    }
+
+    /**
+     * Re-reads a note file, or every note below a directory, if it differs from
+     * what is cached.
+     */
+    private boolean loadCachedPath(String relativePath, boolean directory) {
+        Path path = rootPath.resolve(relativePath.replace("/", File.separator));
+        if (!directory) {
+            return loadCachedNote(normalizeId(relativePath), path);
+        }
+        boolean changed = false;
+        try (Stream<Path> walk = Files.walk(path)) {
+            for (Path file : (Iterable<Path>) walk.filter(Files::isRegularFile)
+                    .filter(p -> p.toString().endsWith(".md"))::iterator) {
+                String noteId = normalizeId(rootPath.relativize(file).toString());
+                if (!VaultWatcher.isHidden(noteId)) {
+                    changed |= loadCachedNote(noteId, file);
+                }
+            }
+        } catch (IOException e) {
+            logger.log(Level.FINE, "Failed to scan new directory: " + path, e);
+        }
+        return changed;
+    }
+
+    private boolean loadCachedNote(String noteId, Path path) {
+        FileStamp stamp = readStamp(path);
+        if (stamp == null) {
+            return false;
+        }
+        if (stamp.equals(fileStamps.get(noteId)) && cachedNotes.containsKey(noteId)) {
+            return false;
+        }
+        Note note = createLightweightNote(noteId, path);
+        contentCache.invalidate(path);
+        indexRemove(noteId);
+        idToPathMap.put(noteId, path);
+        cachedNotes.put(noteId, note);
+        fileStamps.put(noteId, stamp);
+        metadataSnapshotDirty = true;
+        indexAdd(note);
+        return true;
+    }
+
+    /**
+     * Drops a note, or every note below a directory, from the caches.
+     */
+    private boolean removeCachedPath(String relativePath) {
+        String id = normalizeId(relativePath);
+        String prefix = id + "/";
+        List<String> removed = new ArrayList<>();
+        for (String noteId : cachedNotes.keySet()) {
+            if (noteId.equals(id) || noteId.startsWith(prefix)) {
+                removed.add(noteId);
+            }
+        }
+        for (String noteId : removed) {
+            contentCache.invalidate(idToPathMap.get(noteId));
+            indexRemove(noteId);
+            cachedNotes.remove(noteId);
+            idToPathMap.remove(noteId);
+            fileStamps.remove(noteId);
+            metadataSnapshotDirty = true;
+        }
+        idToPathMap.keySet().removeIf(noteId -> noteId.equals(id) || noteId.startsWith(prefix));
+        return !removed.isEmpty();
+    }
+
+    private void indexAdd(Note note) {
+        if (notesByFolderIndexDirty || note.isDeleted()) {
+            return;
+        }
+        synchronized (notesByFolderIndex) {
+            String folderKey = extractFolderKeyFromNoteId(normalizeId(note.getId()));
+            // Lists are replaced rather than mutated so readers never see a partial update.
+            notesByFolderIndex.compute(folderKey, (key, notes) -> {
+                List<Note> updated = notes != null ? new ArrayList<>(notes) : new ArrayList<>();
+                updated.add(note);
+                return updated;
+            });
+        }
+    }
+
+    private void indexRemove(String noteId) {
+        if (notesByFolderIndexDirty) {
+            return;
+        }
+        synchronized (notesByFolderIndex) {
+            String folderKey = extractFolderKeyFromNoteId(noteId);
+            notesByFolderIndex.computeIfPresent(folderKey, (key, notes) -> {
+                List<Note> updated = new ArrayList<>(notes);
+                updated.removeIf(note -> note != null && noteId.equals(normalizeId(note.getId())));
+                return updated.isEmpty() ? null : updated;
+            });
+        }
+    }
+
+    private void recordStamp(String noteId, Path path) {
+        FileStamp stamp = readStamp(path);
+        if (stamp != null) {
+            fileStamps.put(noteId, stamp);
+            metadataSnapshotDirty = true;
+        }
+    }
+
+    private static FileStamp readStamp(Path path) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            if (!attributes.isRegularFile()) {
+                return null;
+            }
+            return new FileStamp(attributes.size(), attributes.lastModifiedTime().toMillis());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
     private void pruneStaleCacheEntries() {
-        FileSystemIoLock.LOCK.lock();
+        // Best effort: skipped if a write holds part of the vault, retried on
+        // the next interval.
+        FileSystemIoLock.Scope lock = FileSystemIoLock.tryVault();
+        if (lock == null) {
+            return;
+        }
         try {
             idToPathMap.entrySet().removeIf(e -> e.getValue() == null || !Files.exists(e.getValue()));
 
@@ -793,15 +1385,18 @@ public class NoteDAOFileSystem implements NoteDAO {
                 reindexed.put(noteId, note);
             }
 
-            cachedNotes.clear();
-            cachedNotes.putAll(reindexed);
+            replaceContents(cachedNotes, reindexed);
+            cacheGeneration++;
             notesByFolderIndexDirty = true;
         } finally {
-            FileSystemIoLock.LOCK.unlock();
+            lock.unlock();
         }
     }
 
     private void pruneStaleCacheEntriesIfNeeded() {
+        if (watching) {
+            return;
+        }
         long now = System.currentTimeMillis();
         if (now - lastPruneTimestampMs < PRUNE_INTERVAL_MS) {
             return;
@@ -814,23 +1409,23 @@ public class NoteDAOFileSystem implements NoteDAO {
         if (!notesByFolderIndexDirty) {
             return;
         }
-        FileSystemIoLock.LOCK.lock();
-        try {
+        // The index is in-memory only, so it has its own monitor instead of a
+        // path lock; readers of an up-to-date index take no lock at all.
+        synchronized (notesByFolderIndex) {
             if (!notesByFolderIndexDirty) {
                 return;
             }
-            notesByFolderIndex.clear();
+            notesByFolderIndexDirty = false;
+            Map<String, List<Note>> rebuilt = new HashMap<>();
             for (Note note : cachedNotes.values()) {
                 if (note == null || note.getId() == null || note.getId().isBlank() || note.isDeleted()) {
                     continue;
                 }
                 String noteId = normalizeId(note.getId());
                 String folderKey = extractFolderKeyFromNoteId(noteId);
-                notesByFolderIndex.computeIfAbsent(folderKey, k -> new ArrayList<>()).add(note);
+                rebuilt.computeIfAbsent(folderKey, k -> new ArrayList<>()).add(note);
             }
-            notesByFolderIndexDirty = false;
-        } finally {
-            FileSystemIoLock.LOCK.unlock();
+            replaceContents(notesByFolderIndex, rebuilt);
         }
     }
 
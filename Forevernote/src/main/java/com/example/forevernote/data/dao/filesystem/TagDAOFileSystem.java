@@ -51,7 +51,7 @@ public class TagDAOFileSystem implements TagDAO {
 
     @Override
     public void updateTag(Tag tag) {
-        FileSystemIoLock.LOCK.lock();
+        FileSystemIoLock.Scope lock = FileSystemIoLock.vault();
         try {
         if (tag == null || tag.getId() == null || tag.getId().isEmpty()) {
             return;
@@ -86,13 +86,13 @@ public class TagDAOFileSystem implements TagDAO {
             }
         }
         } finally {
-            FileSystemIoLock.LOCK.unlock();
+            lock.unlock();
         }
     }
 
     @Override
     public void deleteTag(String id) {
-        FileSystemIoLock.LOCK.lock();
+        FileSystemIoLock.Scope lock = FileSystemIoLock.vault();
         try {
         if (id == null || id.isBlank()) {
             return;
@@ -120,7 +120,7 @@ public class TagDAOFileSystem implements TagDAO {
             }
         }
         } finally {
-            FileSystemIoLock.LOCK.unlock();
+            lock.unlock();
         }
     }
 
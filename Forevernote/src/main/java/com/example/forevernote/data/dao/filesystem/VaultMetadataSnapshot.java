@@ -0,0 +1,168 @@
+package com.example.forevernote.data.dao.filesystem;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.example.forevernote.config.LoggerConfig;
+
+/**
+ * On-disk snapshot of the note metadata a filesystem vault needs at startup.
+ *
+ * <p>
+ * For every note it keeps the file size and modification time together with
+ * the frontmatter flags and tags read from it. On the next start only files
+ * whose size or mtime differ from the snapshot have to be opened again.
+ * Entries modified within {@link #RACY_WINDOW_MS} of the snapshot being
+ * written are dropped on load, because a later edit in the same mtime tick
+ * would not be visible in the stamp.
+ * </p>
+ */
+public final class VaultMetadataSnapshot {
+
+    private static final Logger logger = LoggerConfig.getLogger(VaultMetadataSnapshot.class);
+    private static final int FILE_MAGIC = 0x464E4D53; // "FNMS"
+    private static final int FILE_VERSION = 1;
+    private static final long RACY_WINDOW_MS = 2000L;
+
+    /** Snapshot file name inside the vault's hidden directory. */
+    public static final String FILE_NAME = "metadata-snapshot.bin";
+
+    /**
+     * Metadata of one note file.
+     *
+     * @param size           File size in bytes.
+     * @param modifiedMillis Last modification time.
+     * @param favorite       Frontmatter {@code favorite} flag.
+     * @param pinned         Frontmatter {@code pinned} flag.
+     * @param deleted        Frontmatter {@code deleted} flag.
+     * @param tags           Tag names in frontmatter order.
+     */
+    public record Entry(long size, long modifiedMillis, boolean favorite, boolean pinned, boolean deleted,
+            List<String> tags) {
+
+        public Entry {
+            tags = tags == null ? List.of() : List.copyOf(tags);
+        }
+    }
+
+    private final Path file;
+
+    /**
+     * @param file Location of the snapshot file.
+     */
+    public VaultMetadataSnapshot(Path file) {
+        if (file == null) {
+            throw new IllegalArgumentException("Snapshot file cannot be null");
+        }
+        this.file = file;
+    }
+
+    /**
+     * @param vaultRoot The vault root directory.
+     * @return The default snapshot location, {@code <vault>/.forevernote/}.
+     */
+    public static Path defaultLocation(Path vaultRoot) {
+        return vaultRoot.resolve(".forevernote").resolve(FILE_NAME);
+    }
+
+    /**
+     * @return The snapshot file.
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Reads the snapshot.
+     *
+     * @return Entries keyed by note id; empty if there is no compatible snapshot.
+     */
+    public Map<String, Entry> load() {
+        if (!Files.isRegularFile(file)) {
+            return new HashMap<>();
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != FILE_MAGIC || in.readInt() != FILE_VERSION) {
+                logger.info("Ignoring metadata snapshot with unknown format: " + file);
+                return new HashMap<>();
+            }
+            long savedAtMillis = in.readLong();
+            int count = in.readInt();
+            Map<String, Entry> entries = new HashMap<>(Math.max(16, count * 2));
+            for (int i = 0; i < count; i++) {
+                String noteId = in.readUTF();
+                long size = in.readLong();
+                long modifiedMillis = in.readLong();
+                int flags = in.readUnsignedByte();
+                int tagCount = in.readInt();
+                List<String> tags = new ArrayList<>(tagCount);
+                for (int t = 0; t < tagCount; t++) {
+                    tags.add(in.readUTF());
+                }
+                if (modifiedMillis >= savedAtMillis - RACY_WINDOW_MS) {
+                    continue;
+                }
+                entries.put(noteId, new Entry(size, modifiedMillis, (flags & 1) != 0, (flags & 2) != 0,
+                        (flags & 4) != 0, tags));
+            }
+            return entries;
+        } catch (IOException | RuntimeException e) {
+            logger.log(Level.WARNING, "Failed to load metadata snapshot, the vault will be rescanned: " + file, e);
+            return new HashMap<>();
+        }
+    }
+
+    /**
+     * Replaces the snapshot file atomically.
+     *
+     * @param entries Entries keyed by note id.
+     * @return true if the snapshot was written.
+     */
+    public boolean save(Map<String, Entry> entries) {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(FILE_MAGIC);
+                out.writeInt(FILE_VERSION);
+                out.writeLong(System.currentTimeMillis());
+                out.writeInt(entries.size());
+                for (Map.Entry<String, Entry> e : entries.entrySet()) {
+                    Entry entry = e.getValue();
+                    out.writeUTF(e.getKey());
+                    out.writeLong(entry.size());
+                    out.writeLong(entry.modifiedMillis());
+                    out.writeByte((entry.favorite() ? 1 : 0) | (entry.pinned() ? 2 : 0) | (entry.deleted() ? 4 : 0));
+                    out.writeInt(entry.tags().size());
+                    for (String tag : entry.tags()) {
+                        out.writeUTF(tag);
+                    }
+                }
+            }
+            try {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException atomicMoveFailure) {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return true;
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Failed to save metadata snapshot: " + file, e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package com.example.forevernote.data.dao.filesystem;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import com.example.forevernote.config.LoggerConfig;
+
+/**
+ * Watches a filesystem vault and reports created, modified, deleted and renamed
+ * notes and folders in batches.
+ *
+ * <p>
+ * Every visible directory of the vault is registered with a
+ * {@link WatchService}; directories created later are registered as they
+ * appear. Hidden entries ({@code .trash}, {@code .forevernote}, {@code .git},
+ * ...) are ignored. Events arriving close together are coalesced into one
+ * batch per path. When the platform drops events ({@code OVERFLOW}) a single
+ * {@link Kind#OVERFLOW} change is reported so listeners can rescan.
+ * </p>
+ */
+public final class VaultWatcher implements AutoCloseable {
+
+    private static final Logger logger = LoggerConfig.getLogger(VaultWatcher.class);
+
+    /** Quiet period that closes a batch of events. */
+    private static final long BATCH_QUIET_MS = 75L;
+    /** Upper bound for how long a busy batch keeps growing. */
+    private static final long BATCH_MAX_MS = 500L;
+
+    /**
+     * Kind of vault change.
+     */
+    public enum Kind {
+        CREATED, MODIFIED, DELETED, RENAMED, OVERFLOW
+    }
+
+    /**
+     * A single change, with vault-relative paths using {@code /} separators.
+     *
+     * @param kind         What happened.
+     * @param path         The affected path (the new path for renames); null for
+     *                     {@link Kind#OVERFLOW}.
+     * @param previousPath The old path of a rename, otherwise null.
+     * @param directory    true if the path is (or, for deletions, was known as) a
+     *                     directory.
+     */
+    public record Change(Kind kind, String path, String previousPath, boolean directory) {
+
+        /**
+         * @return true if the change concerns a markdown note file.
+         */
+        public boolean isNote() {
+            return !directory && path != null && path.endsWith(".md");
+        }
+    }
+
+    private final Path rootPath;
+    private final Consumer<List<Change>> sink;
+    private final Map<WatchKey, Path> watchedDirectories = new ConcurrentHashMap<>();
+    // Relative paths of every directory seen, so deletions can be classified
+    // after the directory (and its watch key) is gone.
+    private final Set<String> knownDirectories = ConcurrentHashMap.newKeySet();
+    private WatchService watchService;
+    private Thread thread;
+    private volatile boolean running = false;
+
+    /**
+     * @param rootPath The vault root.
+     * @param sink     Receives each batch of changes on the watcher thread.
+     */
+    public VaultWatcher(Path rootPath, Consumer<List<Change>> sink) {
+        if (rootPath == null || sink == null) {
+            throw new IllegalArgumentException("Root path and sink cannot be null");
+        }
+        this.rootPath = rootPath.toAbsolutePath().normalize();
+        this.sink = sink;
+    }
+
+    /**
+     * Registers the vault directories and starts the watcher thread.
+     *
+     * @return false if the platform cannot watch this vault; callers should then
+     *         keep polling.
+     */
+    public synchronized boolean start() {
+        if (running) {
+            return true;
+        }
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            registerTree(rootPath);
+        } catch (IOException | UnsupportedOperationException e) {
+            logger.log(Level.WARNING, "Vault watching unavailable for " + rootPath + ": " + e.getMessage(), e);
+            closeWatchService();
+            return false;
+        }
+        running = true;
+        thread = new Thread(this::run, "forevernote-vault-watcher");
+        thread.setDaemon(true);
+        thread.start();
+        logger.info("Watching vault " + rootPath + " (" + watchedDirectories.size() + " directories)");
+        return true;
+    }
+
+    /**
+     * @return true while the watcher thread is running.
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * @return Number of directories currently registered.
+     */
+    public int getWatchedDirectoryCount() {
+        return watchedDirectories.size();
+    }
+
+    @Override
+    public synchronized void close() {
+        running = false;
+        closeWatchService();
+        if (thread != null) {
+            thread.interrupt();
+            thread = null;
+        }
+        watchedDirectories.clear();
+        knownDirectories.clear();
+    }
+
+    private void run() {
+        while (running) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                break;
+            }
+
+            Map<String, Change> batch = new LinkedHashMap<>();
+            boolean overflow = false;
+            long batchStart = System.currentTimeMillis();
+            try {
+                while (key != null) {
+                    overflow |= collect(key, batch);
+                    if (System.currentTimeMillis() - batchStart > BATCH_MAX_MS) {
+                        break;
+                    }
+                    key = watchService.poll(BATCH_QUIET_MS, TimeUnit.MILLISECONDS);
+                }
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                break;
+            }
+
+            List<Change> changes = overflow ? List.of(new Change(Kind.OVERFLOW, null, null, true))
+                    : pairRenames(batch);
+            if (changes.isEmpty()) {
+                continue;
+            }
+            try {
+                sink.accept(changes);
+            } catch (RuntimeException e) {
+                logger.log(Level.SEVERE, "Error applying vault changes", e);
+            }
+        }
+        running = false;
+    }
+
+    /**
+     * Drains one key into the batch.
+     *
+     * @return true if events were lost.
+     */
+    private boolean collect(WatchKey key, Map<String, Change> batch) {
+        Path dir = watchedDirectories.get(key);
+        boolean overflow = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW) {
+                overflow = true;
+                continue;
+            }
+            if (dir == null) {
+                continue;
+            }
+            Path child = dir.resolve((Path) event.context());
+            String relative = relativize(child);
+            if (relative == null || isHidden(relative)) {
+                continue;
+            }
+
+            if (event.kind() == ENTRY_CREATE) {
+                boolean directory = Files.isDirectory(child);
+                if (directory) {
+                    try {
+                        // Files created before registration are covered by the
+                        // listener's rescan of the new directory.
+                        registerTree(child);
+                    } catch (IOException e) {
+                        overflow = true;
+                    }
+                } else if (!relative.endsWith(".md")) {
+                    continue;
+                }
+                Change previous = batch.remove(relative);
+                Kind kind = previous != null && previous.kind() == Kind.DELETED ? Kind.MODIFIED : Kind.CREATED;
+                batch.put(relative, new Change(kind, relative, null, directory));
+            } else if (event.kind() == ENTRY_MODIFY) {
+                if (!relative.endsWith(".md") || Files.isDirectory(child)) {
+                    continue;
+                }
+                batch.putIfAbsent(relative, new Change(Kind.MODIFIED, relative, null, false));
+            } else if (event.kind() == ENTRY_DELETE) {
+                boolean directory = knownDirectories.remove(relative);
+                if (directory) {
+                    knownDirectories.removeIf(known -> known.startsWith(relative + "/"));
+                } else if (!relative.endsWith(".md")) {
+                    continue;
+                }
+                Change previous = batch.remove(relative);
+                if (previous == null || previous.kind() != Kind.CREATED) {
+                    batch.put(relative, new Change(Kind.DELETED, relative, null, directory));
+                }
+            }
+        }
+        if (!key.reset()) {
+            watchedDirectories.remove(key);
+        }
+        return overflow;
+    }
+
+    /**
+     * A lone deleted note and a lone created note in the same batch are reported
+     * as one rename; anything more ambiguous stays as separate changes.
+     */
+    private List<Change> pairRenames(Map<String, Change> batch) {
+        List<Change> changes = new ArrayList<>(batch.values());
+        Change deleted = null;
+        Change created = null;
+        int deletedNotes = 0;
+        int createdNotes = 0;
+        for (Change change : changes) {
+            if (change.isNote() && change.kind() == Kind.DELETED) {
+                deleted = change;
+                deletedNotes++;
+            } else if (change.isNote() && change.kind() == Kind.CREATED) {
+                created = change;
+                createdNotes++;
+            }
+        }
+        if (deletedNotes == 1 && createdNotes == 1) {
+            changes.remove(deleted);
+            changes.set(changes.indexOf(created), new Change(Kind.RENAMED, created.path(), deleted.path(), false));
+        }
+        return changes;
+    }
+
+    private void registerTree(Path start) throws IOException {
+        try (Stream<Path> walk = Files.walk(start)) {
+            for (Path dir : (Iterable<Path>) walk.filter(Files::isDirectory)::iterator) {
+                String relative = relativize(dir);
+                if (relative == null || (!relative.isEmpty() && isHidden(relative))) {
+                    continue;
+                }
+                WatchKey key = dir.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+                watchedDirectories.put(key, dir);
+                if (!relative.isEmpty()) {
+                    knownDirectories.add(relative);
+                }
+            }
+        }
+    }
+
+    private String relativize(Path path) {
+        Path normalized = path.toAbsolutePath().normalize();
+        if (!normalized.startsWith(rootPath)) {
+            return null;
+        }
+        return rootPath.relativize(normalized).toString().replace('\\', '/');
+    }
+
+    /**
+     * @param relative A vault-relative path with {@code /} separators.
+     * @return true if any segment is hidden (starts with a dot).
+     */
+    static boolean isHidden(String relative) {
+        for (String segment : relative.split("/")) {
+            if (segment.startsWith(".")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void closeWatchService() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                logger.log(Level.FINE, "Error closing watch service: " + e.getMessage(), e);
+            }
+            watchService = null;
+        }
+    }
+}
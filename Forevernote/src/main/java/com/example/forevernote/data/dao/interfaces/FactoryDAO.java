@@ -3,6 +3,7 @@ package com.example.forevernote.data.dao.interfaces;
 import java.sql.Connection;
 
 import com.example.forevernote.data.dao.sqlite.FactoryDAOSQLite;
+import com.example.forevernote.data.database.SQLiteConnectionPool;
 import com.example.forevernote.data.dao.filesystem.FactoryDAOFileSystem;
 
 /**
@@ -37,6 +38,24 @@ public abstract class FactoryDAO {
      */
     public abstract TagDAO getLabelDAO();
 
+    /**
+     * Retrieves the store for the persisted link graph. It may be called from a
+     * background thread.
+     *
+     * @return A LinkDAO instance, or null if links are not persisted.
+     */
+    public LinkDAO getLinkDAO() {
+        return null;
+    }
+
+    /**
+     * Releases resources held by the factory (watchers, background threads).
+     * Default implementation does nothing.
+     */
+    public void close() {
+        // Nothing to release by default
+    }
+
     /**
      * Factory method to obtain a concrete implementation of FactoryDAO based on the
      * given key.
@@ -61,9 +80,24 @@ public abstract class FactoryDAO {
      * @throws IllegalArgumentException if an unsupported factory type is provided.
      */
     public static FactoryDAO getFactory(int keyFactory, Connection connection) {
+        return getFactory(keyFactory, connection, null);
+    }
+
+    /**
+     * Factory method to obtain a SQLite factory whose DAOs write through
+     * {@code connection} and read through connections leased from
+     * {@code readPool}.
+     *
+     * @param keyFactory The factory type identifier.
+     * @param connection The read-write database connection.
+     * @param readPool   Pool of read-only connections (may be null).
+     * @return A specific implementation of FactoryDAO.
+     * @throws IllegalArgumentException if an unsupported factory type is provided.
+     */
+    public static FactoryDAO getFactory(int keyFactory, Connection connection, SQLiteConnectionPool readPool) {
         switch (keyFactory) {
             case SQLITE_FACTORY:
-                return new FactoryDAOSQLite(connection);
+                return new FactoryDAOSQLite(connection, readPool);
             default:
                 throw new IllegalArgumentException("Unsupported factory type");
         }
@@ -0,0 +1,91 @@
+package com.example.forevernote.data.dao.interfaces;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This interface defines the contract for persisting the note link graph.
+ * Links are stored per source note together with a hash of the content they
+ * were parsed from, so unchanged notes need not be parsed again.
+ *
+ * <p>
+ * Reads must be safe to call from a background thread. Writes run on the
+ * executor the store is attached with.
+ * </p>
+ */
+public interface LinkDAO {
+
+    /**
+     * One stored link.
+     *
+     * @param sourceNoteId The note containing the link.
+     * @param targetNoteId The resolved target, or null if unresolved.
+     * @param rawTarget    The target as written.
+     * @param alias        The display alias, empty if none.
+     * @param embed        Whether the link is an embed.
+     * @param unresolved   Whether the target could not be resolved.
+     * @param ambiguous    Whether the target matched several notes.
+     */
+    record StoredLink(String sourceNoteId, String targetNoteId, String rawTarget, String alias, boolean embed,
+            boolean unresolved, boolean ambiguous) {
+    }
+
+    /**
+     * The stored links of one source note.
+     *
+     * @param sourceNoteId The source note.
+     * @param contentHash  Hash of the content the links were parsed from.
+     * @param links        The links, in the order they were parsed.
+     */
+    record SourceLinks(String sourceNoteId, String contentHash, List<StoredLink> links) {
+
+        public SourceLinks {
+            links = links == null ? List.of() : List.copyOf(links);
+        }
+    }
+
+    /**
+     * Retrieves the stored links of every source note.
+     *
+     * @return Stored links keyed by source note ID.
+     */
+    public Map<String, SourceLinks> fetchAllSources();
+
+    /**
+     * Retrieves the links stored for a source note.
+     *
+     * @param sourceNoteId The source note ID.
+     * @return The note's outgoing links.
+     */
+    public List<StoredLink> fetchOutgoing(String sourceNoteId);
+
+    /**
+     * Retrieves the links pointing at a note.
+     *
+     * @param targetNoteId The target note ID.
+     * @return Links from other notes to this one.
+     */
+    public List<StoredLink> fetchIncoming(String targetNoteId);
+
+    /**
+     * Replaces the stored links of the given source notes in one batch.
+     *
+     * @param sources The new links per source note.
+     */
+    public void saveSources(Collection<SourceLinks> sources);
+
+    /**
+     * Removes the stored links of the given source notes.
+     *
+     * @param sourceNoteIds The source note IDs.
+     */
+    public void deleteSources(Collection<String> sourceNoteIds);
+
+    /**
+     * Writes buffered changes to storage. Default implementation does nothing.
+     */
+    public default void flush() {
+        // Nothing buffered by default
+    }
+}
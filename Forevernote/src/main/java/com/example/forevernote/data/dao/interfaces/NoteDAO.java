@@ -1,5 +1,6 @@
 package com.example.forevernote.data.dao.interfaces;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import com.example.forevernote.data.models.Tag;
@@ -14,6 +15,42 @@ import com.example.forevernote.data.models.Folder;
  */
 public interface NoteDAO {
 
+    /**
+     * A full-text search match.
+     *
+     * @param note    The matching note.
+     * @param snippet Excerpt around the match, with matched terms wrapped in
+     *                {@link #SNIPPET_MATCH_START} / {@link #SNIPPET_MATCH_END};
+     *                may be null if the storage does not produce snippets.
+     * @param rank    Relevance score (bm25); lower values are better matches.
+     */
+    record NoteSearchResult(Note note, String snippet, double rank) {
+    }
+
+    /** Marker placed before each matched term in a search snippet. */
+    String SNIPPET_MATCH_START = "<mark>";
+
+    /** Marker placed after each matched term in a search snippet. */
+    String SNIPPET_MATCH_END = "</mark>";
+
+    /**
+     * Outcome of a batch write. Items that fail are reported individually and do
+     * not prevent the remaining items from being written.
+     *
+     * @param succeededIds IDs of the items written, in input order.
+     * @param failedCount  Number of items that could not be written.
+     * @param failures     One human-readable message per failed item.
+     */
+    record BatchResult(List<String> succeededIds, int failedCount, List<String> failures) {
+
+        /**
+         * @return Number of items written.
+         */
+        public int succeededCount() {
+            return succeededIds.size();
+        }
+    }
+
     // CRUD Operations
     /**
      * Creates a new note in the database.
@@ -155,6 +192,129 @@ public interface NoteDAO {
      */
     public List<Note> fetchNotesByTagId(String tagId);
 
+    // Batch Operations
+    /**
+     * Creates several notes. Implementations write the whole batch in as few
+     * storage round trips as possible (one transaction for SQLite).
+     *
+     * @param notes The notes to create; each receives its generated ID.
+     * @return The IDs created and a message per note that failed.
+     */
+    default BatchResult createNotes(List<Note> notes) {
+        List<String> created = new ArrayList<>();
+        List<String> failures = new ArrayList<>();
+        for (Note note : notes) {
+            try {
+                String id = createNote(note);
+                if (id == null) {
+                    failures.add("Failed to create note " + describe(note));
+                } else {
+                    created.add(id);
+                }
+            } catch (RuntimeException e) {
+                failures.add("Failed to create note " + describe(note) + ": " + e.getMessage());
+            }
+        }
+        return new BatchResult(created, failures.size(), failures);
+    }
+
+    /**
+     * Updates several notes, as {@link #updateNote(Note)} would one by one.
+     *
+     * @param notes The notes to update.
+     * @return The IDs updated and a message per note that failed.
+     */
+    default BatchResult updateNotes(List<Note> notes) {
+        List<String> updated = new ArrayList<>();
+        List<String> failures = new ArrayList<>();
+        for (Note note : notes) {
+            try {
+                updateNote(note);
+                updated.add(note.getId());
+            } catch (RuntimeException e) {
+                failures.add("Failed to update note " + describe(note) + ": " + e.getMessage());
+            }
+        }
+        return new BatchResult(updated, failures.size(), failures);
+    }
+
+    /**
+     * Adds several tags to a note.
+     *
+     * @param note The note.
+     * @param tags The tags to add.
+     * @return The tag IDs added and a message per tag that failed.
+     */
+    default BatchResult addTags(Note note, List<Tag> tags) {
+        List<String> added = new ArrayList<>();
+        List<String> failures = new ArrayList<>();
+        for (Tag tag : tags) {
+            try {
+                addTag(note, tag);
+                added.add(tag.getId());
+            } catch (RuntimeException e) {
+                failures.add("Failed to add tag " + (tag != null ? tag.getTitle() : null) + ": " + e.getMessage());
+            }
+        }
+        return new BatchResult(added, failures.size(), failures);
+    }
+
+    // Full-text Search
+    /**
+     * Indicates whether {@link #searchNotes(String, int, int)} is served by the
+     * storage engine itself.
+     *
+     * @return true if the DAO implements full-text search natively.
+     */
+    default boolean supportsFullTextSearch() {
+        return false;
+    }
+
+    /**
+     * Searches non-deleted notes by title and content. Bare words match as word
+     * prefixes, quoted text matches as a phrase, and every clause must match.
+     *
+     * @param query  The user search query.
+     * @param limit  Maximum number of results; zero or negative for no limit.
+     * @param offset Number of leading results to skip.
+     * @return Matches ordered from most to least relevant. The default
+     *         implementation returns an empty list.
+     */
+    default List<NoteSearchResult> searchNotes(String query, int limit, int offset) {
+        return List.of();
+    }
+
+    /**
+     * Fetches several notes by ID, e.g. to resolve search hits.
+     *
+     * @param ids The note IDs.
+     * @return The notes found, in the order of {@code ids}; unknown IDs are
+     *         skipped. The default implementation calls {@link #getNoteById}
+     *         for each ID.
+     */
+    default List<Note> fetchNotesByIds(List<String> ids) {
+        List<Note> notes = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            Note note = getNoteById(id);
+            if (note != null) {
+                notes.add(note);
+            }
+        }
+        return notes;
+    }
+
+    /**
+     * Returns a marker that changes whenever the stored note changes, so
+     * callers can tell whether data derived from it (e.g. a search index entry)
+     * is stale. The default is the note's modified date.
+     *
+     * @param note The note, as returned by this DAO.
+     * @return The marker, or an empty string if the storage cannot tell.
+     */
+    default String getChangeSignature(Note note) {
+        return note != null && note.getModifiedDate() != null ? note.getModifiedDate() : "";
+    }
+
     /**
      * Refreshes the internal cache if the DAO implementation uses one.
      * Default implementation does nothing (e.g., SQLite does not need it).
@@ -162,4 +322,8 @@ public interface NoteDAO {
     default void refreshCache() {
         // Do nothing by default
     }
+
+    private static String describe(Note note) {
+        return note == null ? "<null>" : "'" + note.getTitle() + "'";
+    }
 }
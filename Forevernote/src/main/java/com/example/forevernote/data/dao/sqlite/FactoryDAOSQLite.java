@@ -2,9 +2,11 @@ package com.example.forevernote.data.dao.sqlite;
 
 import java.sql.Connection;
 
+import com.example.forevernote.data.database.SQLiteConnectionPool;
 import com.example.forevernote.data.dao.interfaces.FactoryDAO;
 import com.example.forevernote.data.dao.interfaces.NoteDAO;
 import com.example.forevernote.data.dao.interfaces.FolderDAO;
+import com.example.forevernote.data.dao.interfaces.LinkDAO;
 import com.example.forevernote.data.dao.interfaces.TagDAO;
 
 /**
@@ -17,6 +19,11 @@ public class FactoryDAOSQLite extends FactoryDAO {
      * Database connection to SQLite.
      */
 	private Connection connection;
+
+    /**
+     * Optional pool of read-only connections used for queries.
+     */
+	private SQLiteConnectionPool readPool;
 	
     /**
      * Constructor for FactoryDAOSQLite.
@@ -24,7 +31,18 @@ public class FactoryDAOSQLite extends FactoryDAO {
      * @param connection Connection object representing the database connection.
      */
 	public FactoryDAOSQLite(Connection connection) {
+		this(connection, null);
+	}
+
+    /**
+     * Constructor for FactoryDAOSQLite with a read connection pool.
+     *
+     * @param connection Read-write connection used for all writes.
+     * @param readPool   Pool of read-only connections for queries (may be null).
+     */
+	public FactoryDAOSQLite(Connection connection, SQLiteConnectionPool readPool) {
 		this.connection = connection;
+		this.readPool = readPool;
 	}
 
     /**
@@ -34,7 +52,7 @@ public class FactoryDAOSQLite extends FactoryDAO {
      */
 	@Override
 	public NoteDAO getNoteDAO() {
-		return new NoteDAOSQLite(connection);
+		return new NoteDAOSQLite(connection, readPool);
 	}
 
     /**
@@ -44,7 +62,7 @@ public class FactoryDAOSQLite extends FactoryDAO {
      */
 	@Override
 	public FolderDAO getFolderDAO() {
-		return new FolderDAOSQLite(connection);
+		return new FolderDAOSQLite(connection, readPool);
 	}
 
     /**
@@ -54,7 +72,18 @@ public class FactoryDAOSQLite extends FactoryDAO {
      */
 	@Override
 	public TagDAO getLabelDAO() {
-		return new TagDAOSQLite(connection);
+		return new TagDAOSQLite(connection, readPool);
+	}
+
+    /**
+     * Retrieves an instance of LinkDAO specific to SQLite. It writes through the
+     * shared connection, so writes must come from the thread that owns it.
+     *
+     * @return An instance of LinkDAOSQLite.
+     */
+	@Override
+	public LinkDAO getLinkDAO() {
+		return new LinkDAOSQLite(connection, readPool);
 	}
 
 }
@@ -4,7 +4,6 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.time.Instant;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
@@ -18,6 +17,8 @@ import java.util.logging.Logger;
 import com.example.forevernote.config.LoggerConfig;
 import com.example.forevernote.data.dao.interfaces.FolderDAO;
 import com.example.forevernote.data.dao.interfaces.NoteDAO;
+import com.example.forevernote.data.database.SQLiteConnectionPool;
+import com.example.forevernote.data.database.SQLiteStatementCache;
 import com.example.forevernote.data.models.Folder;
 import com.example.forevernote.data.models.Note;
 import com.example.forevernote.data.models.interfaces.Component;
@@ -49,8 +50,6 @@ public class FolderDAOSQLite implements FolderDAO {
 
 	private static final String SELECT_SUBFOLDERS_SQL = "SELECT * FROM folders WHERE parent_id = ? AND is_deleted = 0";
 
-	private static final String SELECT_SUBFOLDERS_ROOT_SQL = "SELECT * FROM folders WHERE parent_id IS NULL AND is_deleted = 0";
-
 	private static final String UPDATE_FOLDER_SQL = "UPDATE folders SET title = ?, modified_date = ? WHERE folder_id = ?";
 
 	private static final String UPDATE_FOLDER_MODIFIED_DATE_SQL = "UPDATE folders SET modified_date = ? WHERE folder_id = ?";
@@ -71,8 +70,48 @@ public class FolderDAOSQLite implements FolderDAO {
 
 	private static final String DELETE_FOLDER_SQL = "DELETE FROM folders WHERE folder_id = ?";
 
+	// Whole-subtree loading in one round trip. Rows come back level by level
+	// (ordered by depth) so every parent is materialized before its children.
+	private static final String SELECT_SUBTREE_SQL = "WITH RECURSIVE subtree(folder_id, depth) AS ("
+			+ "SELECT folder_id, 1 FROM folders WHERE parent_id = ? AND is_deleted = 0 "
+			+ "UNION ALL "
+			+ "SELECT f.folder_id, s.depth + 1 FROM folders f INNER JOIN subtree s ON f.parent_id = s.folder_id "
+			+ "WHERE f.is_deleted = 0 AND s.depth < ?) "
+			+ "SELECT folders.*, subtree.depth FROM subtree INNER JOIN folders ON folders.folder_id = subtree.folder_id "
+			+ "ORDER BY subtree.depth";
+
+	private static final String SELECT_SUBTREE_ROOT_SQL = "WITH RECURSIVE subtree(folder_id, depth) AS ("
+			+ "SELECT folder_id, 1 FROM folders WHERE parent_id IS NULL AND is_deleted = 0 "
+			+ "UNION ALL "
+			+ "SELECT f.folder_id, s.depth + 1 FROM folders f INNER JOIN subtree s ON f.parent_id = s.folder_id "
+			+ "WHERE f.is_deleted = 0 AND s.depth < ?) "
+			+ "SELECT folders.*, subtree.depth FROM subtree INNER JOIN folders ON folders.folder_id = subtree.folder_id "
+			+ "ORDER BY subtree.depth";
+
+	private static final String SELECT_ANCESTORS_SQL = "WITH RECURSIVE ancestors(folder_id, depth) AS ("
+			+ "SELECT parent_id, 1 FROM folders WHERE folder_id = ? AND parent_id IS NOT NULL "
+			+ "UNION ALL "
+			+ "SELECT f.parent_id, a.depth + 1 FROM folders f INNER JOIN ancestors a ON f.folder_id = a.folder_id "
+			+ "WHERE f.parent_id IS NOT NULL AND a.depth < ?) "
+			+ "SELECT folders.*, ancestors.depth FROM ancestors INNER JOIN folders ON folders.folder_id = ancestors.folder_id "
+			+ "ORDER BY ancestors.depth";
+
+	private static final String SELECT_SUBTREE_NOTES_SQL = "WITH RECURSIVE subtree(folder_id, depth) AS ("
+			+ "SELECT folder_id, 0 FROM folders WHERE folder_id = ? "
+			+ "UNION ALL "
+			+ "SELECT f.folder_id, s.depth + 1 FROM folders f INNER JOIN subtree s ON f.parent_id = s.folder_id "
+			+ "WHERE s.depth < ?) "
+			+ "SELECT notes.* FROM notes WHERE notes.is_deleted = 0 "
+			+ "AND notes.parent_id IN (SELECT folder_id FROM subtree)";
+
+	private static final String SELECT_ALL_ACTIVE_NOTES_SQL = "SELECT * FROM notes WHERE is_deleted = 0";
+
+	// Upper bound on recursion so a corrupted parent cycle can't loop forever.
+	private static final int MAX_TREE_DEPTH = 1024;
+
 	private static final Logger logger = LoggerConfig.getLogger(FolderDAOSQLite.class);
 	private Connection connection;
+	private SQLiteConnectionPool readPool;
 
 	/**
 	 * Constructs a FolderDAOSQLite with the given database connection.
@@ -80,7 +119,20 @@ public class FolderDAOSQLite implements FolderDAO {
 	 * @param connection The database connection to be used.
 	 */
 	public FolderDAOSQLite(Connection connection) {
+		this(connection, null);
+	}
+
+	/**
+	 * Constructs a FolderDAOSQLite that writes through {@code connection} and
+	 * runs read-only queries on connections leased from {@code readPool}.
+	 *
+	 * @param connection The read-write database connection.
+	 * @param readPool   Pool of read-only connections, or null to read through
+	 *                   {@code connection}.
+	 */
+	public FolderDAOSQLite(Connection connection, SQLiteConnectionPool readPool) {
 		this.connection = connection;
+		this.readPool = readPool;
 	}
 
 	// CRUD Methods
@@ -97,7 +149,7 @@ public class FolderDAOSQLite implements FolderDAO {
 		}
 		newId = folder.getId();
 
-		try (PreparedStatement pstmt = connection.prepareStatement(INSERT_FOLDER_SQL)) {
+		try (PreparedStatement pstmt = SQLiteStatementCache.prepare(connection, INSERT_FOLDER_SQL)) {
 
 			pstmt.setString(1, newId);
 			if (folder.getParent() != null && folder.getParent().getId() != null
@@ -133,7 +185,8 @@ public class FolderDAOSQLite implements FolderDAO {
 			throw new IllegalArgumentException("Folder ID cannot be null or empty");
 		}
 
-		try (PreparedStatement pstmt = connection.prepareStatement(SELECT_FOLDER_BY_ID_SQL)) {
+		try (SQLiteConnectionPool.Lease lease = SQLiteConnectionPool.lease(readPool, connection);
+				PreparedStatement pstmt = SQLiteStatementCache.prepare(lease.connection(), SELECT_FOLDER_BY_ID_SQL)) {
 			pstmt.setString(1, id);
 
 			try (ResultSet rs = pstmt.executeQuery()) {
@@ -154,7 +207,7 @@ public class FolderDAOSQLite implements FolderDAO {
 			throw new InvalidParameterException("Folder object cannot be null");
 		}
 
-		try (PreparedStatement pstmt = connection.prepareStatement(UPDATE_FOLDER_SQL)) {
+		try (PreparedStatement pstmt = SQLiteStatementCache.prepare(connection, UPDATE_FOLDER_SQL)) {
 			pstmt.setString(1, folder.getTitle());
 			pstmt.setString(2, DateTimeFormatter.ISO_INSTANT.format(Instant.now()));
 			pstmt.setString(3, folder.getId());
@@ -193,7 +246,7 @@ public class FolderDAOSQLite implements FolderDAO {
 			}
 
 			// 3. Mark this folder as deleted
-			try (PreparedStatement pstmt = connection.prepareStatement(SOFT_DELETE_FOLDER_SQL)) {
+			try (PreparedStatement pstmt = SQLiteStatementCache.prepare(connection, SOFT_DELETE_FOLDER_SQL)) {
 				pstmt.setString(1, DateTimeFormatter.ISO_INSTANT.format(Instant.now()));
 				pstmt.setString(2, id);
 				pstmt.executeUpdate();
@@ -218,7 +271,8 @@ public class FolderDAOSQLite implements FolderDAO {
 			throw new IllegalArgumentException("Note ID cannot be null or empty");
 		}
 
-		try (PreparedStatement pstmt = connection.prepareStatement(SELECT_FOLDER_BY_NOTE_ID_SQL)) {
+		try (SQLiteConnectionPool.Lease lease = SQLiteConnectionPool.lease(readPool, connection);
+				PreparedStatement pstmt = SQLiteStatementCache.prepare(lease.connection(), SELECT_FOLDER_BY_NOTE_ID_SQL)) {
 			pstmt.setString(1, noteId);
 
 			try (ResultSet rs = pstmt.executeQuery()) {
@@ -237,10 +291,18 @@ public class FolderDAOSQLite implements FolderDAO {
 	public List<Folder> fetchAllFoldersAsList() {
 		List<Folder> list = new ArrayList<>();
 
-		try (Statement stmt = connection.createStatement()) {
-			try (ResultSet rs = stmt.executeQuery(SELECT_ALL_FOLDERS_SQL)) {
+		try (SQLiteConnectionPool.Lease lease = SQLiteConnectionPool.lease(readPool, connection);
+				PreparedStatement stmt = SQLiteStatementCache.prepare(lease.connection(), SELECT_ALL_FOLDERS_SQL)) {
+			try (ResultSet rs = stmt.executeQuery()) {
 				while (rs.next()) {
-					list.add(mapResultSetToFolder(rs));
+					Folder folder = mapResultSetToFolder(rs);
+					// Parent placeholder so callers can rebuild the hierarchy without
+					// one getParentFolder() query per folder.
+					String parentId = rs.getString("parent_id");
+					if (parentId != null && !parentId.isEmpty()) {
+						folder.setParent(new Folder(parentId, ""));
+					}
+					list.add(folder);
 				}
 			}
 		} catch (SQLException e) {
@@ -253,15 +315,8 @@ public class FolderDAOSQLite implements FolderDAO {
 	@Override
 	public Folder fetchAllFoldersAsTree() {
 		Folder rootFolder = new Folder("ROOT", null, null);
-		// Root folder has no ID or maybe a special one. "ROOT" is title.
-		// loadSubFolders(rootFolder) handles null/empty ID as fetching root folders.
-		// But Wait, loadSubFoldersHelper checks folder.getId() != null ?
-		// SELECT_SUBFOLDERS_SQL : SELECT_SUBFOLDERS_ROOT_SQL;
-		// rootFolder created here has null ID? new Folder(String id, String title) or
-		// (String title).
-		// Folder("ROOT", null, null) calls super("ROOT", null, null) which sets
-		// title="ROOT". ID is null.
-		// So loadSubFolders(rootFolder) will fetch root folders.
+		// Folder("ROOT", null, null) sets title="ROOT" and leaves the ID null, so
+		// loadSubFolders(rootFolder) loads every top-level folder and its subtree.
 		loadSubFolders(rootFolder);
 		return rootFolder;
 	}
@@ -362,7 +417,8 @@ public class FolderDAOSQLite implements FolderDAO {
 			throw new InvalidParameterException("Invalid folder ID");
 		}
 
-		try (PreparedStatement pstmt = connection.prepareStatement(SELECT_PARENT_FOLDER_SQL)) {
+		try (SQLiteConnectionPool.Lease lease = SQLiteConnectionPool.lease(readPool, connection);
+				PreparedStatement pstmt = SQLiteStatementCache.prepare(lease.connection(), SELECT_PARENT_FOLDER_SQL)) {
 			pstmt.setString(1, folderId);
 			try (ResultSet rs = pstmt.executeQuery()) {
 				if (rs.next()) {
@@ -413,7 +469,8 @@ public class FolderDAOSQLite implements FolderDAO {
 			throw new IllegalArgumentException("Title can't be null");
 		}
 
-		try (PreparedStatement pstmt = connection.prepareStatement(SELECT_EXIST_TITLE)) {
+		try (SQLiteConnectionPool.Lease lease = SQLiteConnectionPool.lease(readPool, connection);
+				PreparedStatement pstmt = SQLiteStatementCache.prepare(lease.connection(), SELECT_EXIST_TITLE)) {
 			pstmt.setString(1, title);
 
 			try (ResultSet rs = pstmt.executeQuery()) {
@@ -436,7 +493,7 @@ public class FolderDAOSQLite implements FolderDAO {
 			throw new IllegalArgumentException("Folder ID and note ID must not be null or empty");
 		}
 
-		try (PreparedStatement pstmt = connection.prepareStatement(UPDATE_FOLDER_ADD_NOTE_SQL)) {
+		try (PreparedStatement pstmt = SQLiteStatementCache.prepare(connection, UPDATE_FOLDER_ADD_NOTE_SQL)) {
 			if ("ROOT".equals(folderId)) {
 				pstmt.setNull(1, java.sql.Types.VARCHAR);
 			} else {
@@ -466,16 +523,49 @@ public class FolderDAOSQLite implements FolderDAO {
 			throw new InvalidParameterException("Parent folder object is null");
 		}
 
-		if (!folder.isEmpty()) {
-			for (Component subFolder : folder.getChildren()) {
-				if (subFolder instanceof Folder) {
-					loadNotes((Folder) subFolder);
+		// Index the folders already loaded in memory; notes are attached only to
+		// these, exactly as the former per-folder traversal did.
+		Map<String, Folder> loadedFolders = new HashMap<>();
+		collectLoadedFolders(folder, loadedFolders);
+
+		boolean isRoot = folder.getId() == null || folder.getId().isEmpty() || "ROOT".equals(folder.getId());
+		String query = isRoot ? SELECT_ALL_ACTIVE_NOTES_SQL : SELECT_SUBTREE_NOTES_SQL;
+		NoteDAOSQLite noteDAO = new NoteDAOSQLite(connection, readPool);
+
+		try (SQLiteConnectionPool.Lease lease = SQLiteConnectionPool.lease(readPool, connection);
+				PreparedStatement pstmt = SQLiteStatementCache.prepare(lease.connection(), query)) {
+			if (!isRoot) {
+				pstmt.setString(1, folder.getId());
+				pstmt.setInt(2, MAX_TREE_DEPTH);
+			}
+
+			try (ResultSet rs = pstmt.executeQuery()) {
+				while (rs.next()) {
+					Note note = noteDAO.mapResultSetToNote(rs);
+					String parentId = rs.getString("parent_id");
+					Folder owner = (parentId == null || parentId.isEmpty()) ? (isRoot ? folder : null)
+							: loadedFolders.get(parentId);
+					if (owner != null) {
+						owner.add(note);
+						note.setParent(owner);
+					}
 				}
 			}
+		} catch (SQLException e) {
+			logger.log(Level.SEVERE, "Error loadNotes(): " + e.getMessage(), e);
+			throw new DataAccessException("Failed to retrieve folder notes", e);
 		}
+	}
 
-		NoteDAOSQLite noteDAO = new NoteDAOSQLite(connection);
-		noteDAO.fetchNotesByFolderId(folder);
+	private void collectLoadedFolders(Folder folder, Map<String, Folder> loadedFolders) {
+		if (folder.getId() != null && !folder.getId().isEmpty()) {
+			loadedFolders.put(folder.getId(), folder);
+		}
+		for (Component child : folder.getChildren()) {
+			if (child instanceof Folder) {
+				collectLoadedFolders((Folder) child, loadedFolders);
+			}
+		}
 	}
 
 	protected void removeNote(String folderId, String noteId) {
@@ -483,7 +573,7 @@ public class FolderDAOSQLite implements FolderDAO {
 			throw new IllegalArgumentException("Note ID and folder ID must not be null or empty");
 		}
 
-		try (PreparedStatement pstmt = connection.prepareStatement(UPDATE_FOLDER_REMOVE_NOTE_SQL)) {
+		try (PreparedStatement pstmt = SQLiteStatementCache.prepare(connection, UPDATE_FOLDER_REMOVE_NOTE_SQL)) {
 			pstmt.setString(1, DateTimeFormatter.ISO_INSTANT.format(Instant.now()));
 			pstmt.setString(2, noteId);
 			pstmt.setString(3, folderId);
@@ -508,7 +598,7 @@ public class FolderDAOSQLite implements FolderDAO {
 					"Parent folder ID and subfolder ID must not be null or empty and can't be the same");
 		}
 
-		try (PreparedStatement pstmt = connection.prepareStatement(UPDATE_FOLDER_ADD_SUBFOLDER_SQL)) {
+		try (PreparedStatement pstmt = SQLiteStatementCache.prepare(connection, UPDATE_FOLDER_ADD_SUBFOLDER_SQL)) {
 			pstmt.setString(1, parentId);
 			pstmt.setString(2, DateTimeFormatter.ISO_INSTANT.format(Instant.now()));
 			pstmt.setString(3, subFolderId);
@@ -533,7 +623,7 @@ public class FolderDAOSQLite implements FolderDAO {
 					"Parent folder ID and subfolder ID must not be null or empty and can't be the same");
 		}
 
-		try (PreparedStatement pstmt = connection.prepareStatement(UPDATE_FOLDER_REMOVE_SUBFOLDER_SQL)) {
+		try (PreparedStatement pstmt = SQLiteStatementCache.prepare(connection, UPDATE_FOLDER_REMOVE_SUBFOLDER_SQL)) {
 			pstmt.setString(1, DateTimeFormatter.ISO_INSTANT.format(Instant.now()));
 			pstmt.setString(2, subFolderId);
 			pstmt.setString(3, parentId);
@@ -551,24 +641,38 @@ public class FolderDAOSQLite implements FolderDAO {
 		}
 	}
 
+	/**
+	 * Loads {@code maxDepth + 1} levels of subfolders below {@code folder} with a
+	 * single recursive query and links them in memory.
+	 */
 	private void loadSubFoldersHelper(Folder folder, int currentDepth, int maxDepth) {
 		if (currentDepth > maxDepth)
 			return;
 
-		String query = (folder.getId() != null && !folder.getId().isEmpty()) ? SELECT_SUBFOLDERS_SQL
-				: SELECT_SUBFOLDERS_ROOT_SQL;
+		boolean isRoot = folder.getId() == null || folder.getId().isEmpty();
+		String query = isRoot ? SELECT_SUBTREE_ROOT_SQL : SELECT_SUBTREE_SQL;
+		int levels = Math.min(maxDepth - currentDepth, MAX_TREE_DEPTH - 1) + 1;
 
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-			if (folder.getId() != null && !folder.getId().isEmpty()) {
-				pstmt.setString(1, folder.getId());
+		try (SQLiteConnectionPool.Lease lease = SQLiteConnectionPool.lease(readPool, connection);
+				PreparedStatement pstmt = SQLiteStatementCache.prepare(lease.connection(), query)) {
+			int index = 1;
+			if (!isRoot) {
+				pstmt.setString(index++, folder.getId());
 			}
+			pstmt.setInt(index, levels);
 
+			Map<String, Folder> loaded = new HashMap<>();
 			try (ResultSet rs = pstmt.executeQuery()) {
 				while (rs.next()) {
 					Folder subFolder = mapResultSetToFolder(rs);
-					folder.add(subFolder);
-					subFolder.setParent(folder);
-					loadSubFoldersHelper(subFolder, currentDepth + 1, maxDepth);
+					String parentId = rs.getString("parent_id");
+					Folder parent = rs.getInt("depth") == 1 ? folder : loaded.get(parentId);
+					if (parent == null) {
+						continue;
+					}
+					parent.add(subFolder);
+					subFolder.setParent(parent);
+					loaded.put(subFolder.getId(), subFolder);
 				}
 			}
 		} catch (SQLException e) {
@@ -577,20 +681,26 @@ public class FolderDAOSQLite implements FolderDAO {
 		}
 	}
 
+	/**
+	 * Loads up to {@code maxDepth + 1} ancestors of {@code folder} with a single
+	 * recursive query and chains them through {@code setParent}.
+	 */
 	private void loadParentFoldersHelper(Folder folder, int currentDepth, int maxDepth) {
-		if (currentDepth > maxDepth)
+		if (currentDepth > maxDepth || folder.getId() == null)
 			return;
 
-		try (PreparedStatement pstmt = connection.prepareStatement(SELECT_PARENT_FOLDER_SQL)) {
+		int levels = Math.min(maxDepth - currentDepth, MAX_TREE_DEPTH - 1) + 1;
+
+		try (SQLiteConnectionPool.Lease lease = SQLiteConnectionPool.lease(readPool, connection);
+				PreparedStatement pstmt = SQLiteStatementCache.prepare(lease.connection(), SELECT_ANCESTORS_SQL)) {
 			pstmt.setString(1, folder.getId());
+			pstmt.setInt(2, levels);
 			try (ResultSet rs = pstmt.executeQuery()) {
-				if (rs.next()) {
-					String parentId = rs.getString("parent_id");
-					if (parentId != null) {
-						Folder parentFolder = getFolderById(parentId);
-						folder.setParent(parentFolder);
-						loadParentFoldersHelper(parentFolder, currentDepth + 1, maxDepth);
-					}
+				Folder child = folder;
+				while (rs.next()) {
+					Folder parentFolder = mapResultSetToFolder(rs);
+					child.setParent(parentFolder);
+					child = parentFolder;
 				}
 			}
 		} catch (SQLException e) {
@@ -618,7 +728,7 @@ public class FolderDAOSQLite implements FolderDAO {
 			throw new InvalidParameterException("Invalid folder ID");
 		}
 
-		try (PreparedStatement pstmt = connection.prepareStatement(UPDATE_FOLDER_MODIFIED_DATE_SQL)) {
+		try (PreparedStatement pstmt = SQLiteStatementCache.prepare(connection, UPDATE_FOLDER_MODIFIED_DATE_SQL)) {
 			pstmt.setString(1, DateTimeFormatter.ISO_INSTANT.format(Instant.now()));
 			pstmt.setString(2, idFolder);
 			pstmt.executeUpdate();
@@ -639,7 +749,9 @@ public class FolderDAOSQLite implements FolderDAO {
 		// Map for hierarchy: FolderID -> ParentID
 		Map<String, String> parentMap = new HashMap<>();
 
-		try (Statement s = connection.createStatement(); ResultSet rs = s.executeQuery(SELECT_TRASH_FOLDERS_SQL)) {
+		try (SQLiteConnectionPool.Lease lease = SQLiteConnectionPool.lease(readPool, connection);
+				PreparedStatement s = SQLiteStatementCache.prepare(lease.connection(), SELECT_TRASH_FOLDERS_SQL);
+				ResultSet rs = s.executeQuery()) {
 			while (rs.next()) {
 				Folder f = mapResultSetToFolder(rs);
 				folderMap.put(f.getId(), f);
@@ -681,7 +793,7 @@ public class FolderDAOSQLite implements FolderDAO {
 		NoteDAO noteDAO = new NoteDAOSQLite(connection);
 
 		// 1. Restore this folder
-		try (PreparedStatement pstmt = connection.prepareStatement(RESTORE_FOLDER_SQL)) {
+		try (PreparedStatement pstmt = SQLiteStatementCache.prepare(connection, RESTORE_FOLDER_SQL)) {
 			pstmt.setString(1, id);
 			pstmt.executeUpdate();
 			connection.commit();
@@ -697,7 +809,7 @@ public class FolderDAOSQLite implements FolderDAO {
 
 		// 3. Restore notes in this folder
 		String queryDeletedNotes = "SELECT note_id FROM notes WHERE parent_id = ? AND is_deleted = 1";
-		try (PreparedStatement p = connection.prepareStatement(queryDeletedNotes)) {
+		try (PreparedStatement p = SQLiteStatementCache.prepare(connection, queryDeletedNotes)) {
 			p.setString(1, id);
 			try (ResultSet rs = p.executeQuery()) {
 				while (rs.next()) {
@@ -725,7 +837,7 @@ public class FolderDAOSQLite implements FolderDAO {
 
 		// 2. Permanently delete notes in this folder
 		String queryNotes = "SELECT note_id FROM notes WHERE parent_id = ?";
-		try (PreparedStatement p = connection.prepareStatement(queryNotes)) {
+		try (PreparedStatement p = SQLiteStatementCache.prepare(connection, queryNotes)) {
 			p.setString(1, id);
 			try (ResultSet rs = p.executeQuery()) {
 				while (rs.next()) {
@@ -737,7 +849,7 @@ public class FolderDAOSQLite implements FolderDAO {
 		}
 
 		// 3. Hard delete this folder
-		try (PreparedStatement pstmt = connection.prepareStatement(DELETE_FOLDER_SQL)) {
+		try (PreparedStatement pstmt = SQLiteStatementCache.prepare(connection, DELETE_FOLDER_SQL)) {
 			pstmt.setString(1, id);
 			pstmt.executeUpdate();
 			connection.commit();
@@ -748,7 +860,7 @@ public class FolderDAOSQLite implements FolderDAO {
 
 	private List<Folder> fetchSubFoldersImplementation(String parentId) {
 		List<Folder> list = new ArrayList<>();
-		try (PreparedStatement p = connection.prepareStatement(SELECT_SUBFOLDERS_SQL)) {
+		try (PreparedStatement p = SQLiteStatementCache.prepare(connection, SELECT_SUBFOLDERS_SQL)) {
 			p.setString(1, parentId);
 			try (ResultSet rs = p.executeQuery()) {
 				while (rs.next())
@@ -763,7 +875,7 @@ public class FolderDAOSQLite implements FolderDAO {
 	private List<Folder> fetchDeletedSubFolders(String parentId) {
 		String sql = "SELECT * FROM folders WHERE parent_id = ? AND is_deleted = 1";
 		List<Folder> list = new ArrayList<>();
-		try (PreparedStatement p = connection.prepareStatement(sql)) {
+		try (PreparedStatement p = SQLiteStatementCache.prepare(connection, sql)) {
 			p.setString(1, parentId);
 			try (ResultSet rs = p.executeQuery()) {
 				while (rs.next())
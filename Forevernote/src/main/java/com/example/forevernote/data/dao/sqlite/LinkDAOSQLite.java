@@ -0,0 +1,241 @@
+package com.example.forevernote.data.dao.sqlite;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.example.forevernote.config.LoggerConfig;
+import com.example.forevernote.data.dao.interfaces.LinkDAO;
+import com.example.forevernote.data.database.SQLiteConnectionPool;
+import com.example.forevernote.data.database.SQLiteStatementCache;
+
+/**
+ * SQLite implementation of the LinkDAO interface.
+ * Links are stored in {@code note_links}, the content hash of each indexed note
+ * in {@code note_link_sources}. Backlink lookups use the
+ * {@code idx_note_links_target} index.
+ *
+ * <p>
+ * Like the other SQLite DAOs it writes through the single read-write
+ * connection, so writes must run on the thread that owns it. Reads go through
+ * the read pool and may run anywhere.
+ * </p>
+ */
+public class LinkDAOSQLite implements LinkDAO {
+
+	// SQL Queries
+	private static final String SELECT_ALL_SOURCES_SQL = "SELECT note_id, content_hash FROM note_link_sources";
+
+	private static final String SELECT_ALL_LINKS_SQL = "SELECT * FROM note_links ORDER BY rowid";
+
+	private static final String SELECT_OUTGOING_SQL = "SELECT * FROM note_links WHERE source_note_id = ? ORDER BY rowid";
+
+	private static final String SELECT_INCOMING_SQL = "SELECT * FROM note_links WHERE target_note_id = ? ORDER BY rowid";
+
+	private static final String DELETE_LINKS_BY_SOURCE_SQL = "DELETE FROM note_links WHERE source_note_id = ?";
+
+	private static final String DELETE_SOURCE_SQL = "DELETE FROM note_link_sources WHERE note_id = ?";
+
+	// Notes deleted since the index was built are skipped, and targets that no
+	// longer exist are stored as NULL, instead of failing the foreign keys.
+	private static final String UPSERT_SOURCE_SQL = "INSERT OR REPLACE INTO note_link_sources (note_id, content_hash, updated_at) "
+			+ "SELECT ?, ?, ? WHERE EXISTS (SELECT 1 FROM notes WHERE note_id = ?)";
+
+	private static final String INSERT_LINK_SQL = "INSERT INTO note_links (id, source_note_id, target_note_id, raw_target, alias, "
+			+ "is_embed, is_unresolved, is_ambiguous, updated_at) "
+			+ "SELECT ?, ?, (SELECT note_id FROM notes WHERE note_id = ?), ?, ?, ?, ?, ?, ? "
+			+ "WHERE EXISTS (SELECT 1 FROM notes WHERE note_id = ?)";
+
+	private static final Logger logger = LoggerConfig.getLogger(LinkDAOSQLite.class);
+	private Connection connection;
+	private SQLiteConnectionPool readPool;
+
+	/**
+	 * Constructs a LinkDAOSQLite with the given database connection.
+	 *
+	 * @param connection The database connection to be used.
+	 */
+	public LinkDAOSQLite(Connection connection) {
+		this(connection, null);
+	}
+
+	/**
+	 * Constructs a LinkDAOSQLite that writes through {@code connection} and runs
+	 * read-only queries on connections leased from {@code readPool}.
+	 *
+	 * @param connection The read-write database connection.
+	 * @param readPool   Pool of read-only connections, or null to read through
+	 *                   {@code connection}.
+	 */
+	public LinkDAOSQLite(Connection connection, SQLiteConnectionPool readPool) {
+		this.connection = connection;
+		this.readPool = readPool;
+	}
+
+	@Override
+	public synchronized Map<String, SourceLinks> fetchAllSources() {
+		Map<String, String> hashes = new HashMap<>();
+		Map<String, List<StoredLink>> links = new HashMap<>();
+		try (SQLiteConnectionPool.Lease lease = SQLiteConnectionPool.lease(readPool, connection)) {
+			try (PreparedStatement pstmt = SQLiteStatementCache.prepare(lease.connection(), SELECT_ALL_SOURCES_SQL);
+					ResultSet rs = pstmt.executeQuery()) {
+				while (rs.next()) {
+					hashes.put(rs.getString("note_id"), rs.getString("content_hash"));
+				}
+			}
+			try (PreparedStatement pstmt = SQLiteStatementCache.prepare(lease.connection(), SELECT_ALL_LINKS_SQL);
+					ResultSet rs = pstmt.executeQuery()) {
+				while (rs.next()) {
+					StoredLink link = mapResultSetToLink(rs);
+					links.computeIfAbsent(link.sourceNoteId(), k -> new ArrayList<>()).add(link);
+				}
+			}
+		} catch (SQLException e) {
+			logger.log(Level.SEVERE, "Error fetchAllSources(): " + e.getMessage(), e);
+			return new HashMap<>();
+		}
+
+		Map<String, SourceLinks> sources = new HashMap<>();
+		for (Map.Entry<String, String> entry : hashes.entrySet()) {
+			sources.put(entry.getKey(), new SourceLinks(entry.getKey(), entry.getValue(),
+					links.getOrDefault(entry.getKey(), List.of())));
+		}
+		return sources;
+	}
+
+	@Override
+	public synchronized List<StoredLink> fetchOutgoing(String sourceNoteId) {
+		return fetchLinks(SELECT_OUTGOING_SQL, sourceNoteId);
+	}
+
+	@Override
+	public synchronized List<StoredLink> fetchIncoming(String targetNoteId) {
+		return fetchLinks(SELECT_INCOMING_SQL, targetNoteId);
+	}
+
+	@Override
+	public synchronized void saveSources(Collection<SourceLinks> sources) {
+		if (sources == null || sources.isEmpty()) {
+			return;
+		}
+		String now = DateTimeFormatter.ISO_INSTANT.format(Instant.now());
+		try {
+			try (PreparedStatement pstmt = SQLiteStatementCache.prepare(connection, DELETE_LINKS_BY_SOURCE_SQL)) {
+				for (SourceLinks source : sources) {
+					pstmt.setString(1, source.sourceNoteId());
+					pstmt.addBatch();
+				}
+				pstmt.executeBatch();
+			}
+			try (PreparedStatement pstmt = SQLiteStatementCache.prepare(connection, UPSERT_SOURCE_SQL)) {
+				for (SourceLinks source : sources) {
+					pstmt.setString(1, source.sourceNoteId());
+					pstmt.setString(2, source.contentHash());
+					pstmt.setString(3, now);
+					pstmt.setString(4, source.sourceNoteId());
+					pstmt.addBatch();
+				}
+				pstmt.executeBatch();
+			}
+			try (PreparedStatement pstmt = SQLiteStatementCache.prepare(connection, INSERT_LINK_SQL)) {
+				for (SourceLinks source : sources) {
+					int position = 0;
+					for (StoredLink link : source.links()) {
+						pstmt.setString(1, source.sourceNoteId() + "#" + position++);
+						pstmt.setString(2, source.sourceNoteId());
+						pstmt.setString(3, link.targetNoteId());
+						pstmt.setString(4, link.rawTarget());
+						pstmt.setString(5, link.alias());
+						pstmt.setInt(6, link.embed() ? 1 : 0);
+						pstmt.setInt(7, link.unresolved() ? 1 : 0);
+						pstmt.setInt(8, link.ambiguous() ? 1 : 0);
+						pstmt.setString(9, now);
+						pstmt.setString(10, source.sourceNoteId());
+						pstmt.addBatch();
+					}
+				}
+				pstmt.executeBatch();
+			}
+			connection.commit();
+		} catch (SQLException e) {
+			logger.log(Level.SEVERE, "Error saveSources(): " + e.getMessage(), e);
+			rollback();
+		}
+	}
+
+	@Override
+	public synchronized void deleteSources(Collection<String> sourceNoteIds) {
+		if (sourceNoteIds == null || sourceNoteIds.isEmpty()) {
+			return;
+		}
+		try {
+			try (PreparedStatement pstmt = SQLiteStatementCache.prepare(connection, DELETE_LINKS_BY_SOURCE_SQL)) {
+				for (String sourceNoteId : sourceNoteIds) {
+					pstmt.setString(1, sourceNoteId);
+					pstmt.addBatch();
+				}
+				pstmt.executeBatch();
+			}
+			try (PreparedStatement pstmt = SQLiteStatementCache.prepare(connection, DELETE_SOURCE_SQL)) {
+				for (String sourceNoteId : sourceNoteIds) {
+					pstmt.setString(1, sourceNoteId);
+					pstmt.addBatch();
+				}
+				pstmt.executeBatch();
+			}
+			connection.commit();
+		} catch (SQLException e) {
+			logger.log(Level.SEVERE, "Error deleteSources(): " + e.getMessage(), e);
+			rollback();
+		}
+	}
+
+	private List<StoredLink> fetchLinks(String sql, String noteId) {
+		List<StoredLink> links = new ArrayList<>();
+		if (noteId == null || noteId.isEmpty()) {
+			return links;
+		}
+		try (SQLiteConnectionPool.Lease lease = SQLiteConnectionPool.lease(readPool, connection);
+				PreparedStatement pstmt = SQLiteStatementCache.prepare(lease.connection(), sql)) {
+			pstmt.setString(1, noteId);
+			try (ResultSet rs = pstmt.executeQuery()) {
+				while (rs.next()) {
+					links.add(mapResultSetToLink(rs));
+				}
+			}
+		} catch (SQLException e) {
+			logger.log(Level.SEVERE, "Error fetchLinks(): " + e.getMessage(), e);
+		}
+		return links;
+	}
+
+	private StoredLink mapResultSetToLink(ResultSet rs) throws SQLException {
+		String alias = rs.getString("alias");
+		return new StoredLink(
+				rs.getString("source_note_id"),
+				rs.getString("target_note_id"),
+				rs.getString("raw_target"),
+				alias != null ? alias : "",
+				rs.getInt("is_embed") == 1,
+				rs.getInt("is_unresolved") == 1,
+				rs.getInt("is_ambiguous") == 1);
+	}
+
+	private void rollback() {
+		try {
+			connection.rollback();
+		} catch (SQLException rollbackEx) {
+			logger.log(Level.SEVERE, "Error rolling back transaction: " + rollbackEx.getMessage(), rollbackEx);
+		}
+	}
+}
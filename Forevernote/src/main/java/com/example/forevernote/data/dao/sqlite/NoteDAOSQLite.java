@@ -1,5 +1,6 @@
 package com.example.forevernote.data.dao.sqlite;
 
+import java.sql.BatchUpdateException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -9,6 +10,7 @@ import java.time.Instant;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
 import java.util.UUID;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -16,6 +18,8 @@ import java.util.logging.Logger;
 import com.example.forevernote.config.LoggerConfig;
 import com.example.forevernote.data.dao.interfaces.FolderDAO;
 import com.example.forevernote.data.dao.interfaces.NoteDAO;
+import com.example.forevernote.data.database.SQLiteConnectionPool;
+import com.example.forevernote.data.database.SQLiteStatementCache;
 import com.example.forevernote.data.models.Folder;
 import com.example.forevernote.data.models.Note;
 import com.example.forevernote.data.models.Tag;
@@ -62,8 +66,20 @@ public class NoteDAOSQLite implements NoteDAO {
 
 	private static final String DELETE_TAG_NOTE_SQL = "DELETE FROM tagsNotes WHERE tag_id = ? AND note_id = ?";
 
+	private static final String SELECT_FTS_TABLE_SQL = "SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = 'notes_fts'";
+
+	// Title matches weigh five times as much as body matches in the bm25 score.
+	private static final String SEARCH_NOTES_FTS_SQL = "SELECT notes.*, "
+			+ "snippet(notes_fts, -1, ?, ?, '...', 16) AS search_snippet, "
+			+ "bm25(notes_fts, 5.0, 1.0) AS search_rank "
+			+ "FROM notes_fts INNER JOIN notes ON notes.rowid = notes_fts.rowid "
+			+ "WHERE notes_fts MATCH ? AND notes.is_deleted = 0 "
+			+ "ORDER BY search_rank LIMIT ? OFFSET ?";
+
 	private static final Logger logger = LoggerConfig.getLogger(NoteDAOSQLite.class);
 	private Connection connection;
+	private SQLiteConnectionPool readPool;
+	private Boolean fullTextSearchAvailable;
 
 	/**
 	 * Constructs a NoteDAOSQLite with the given database connection.
@@ -71,7 +87,20 @@ public class NoteDAOSQLite implements NoteDAO {
 	 * @param connection The database connection to be used.
 	 */
 	public NoteDAOSQLite(Connection connection) {
+		this(connection, null);
+	}
+
+	/**
+	 * Constructs a NoteDAOSQLite that writes through {@code connection} and runs
+	 * read-only queries on connections leased from {@code readPool}.
+	 *
+	 * @param connection The read-write database connection.
+	 * @param readPool   Pool of read-only connections, or null to read through
+	 *                   {@code connection}.
+	 */
+	public NoteDAOSQLite(Connection connection, SQLiteConnectionPool readPool) {
 		this.connection = connection;
+		this.readPool = readPool;
 	}
 
 	// CRUD Methods
@@ -88,38 +117,9 @@ public class NoteDAOSQLite implements NoteDAO {
 		}
 		newId = note.getId();
 
-		try (PreparedStatement pstmt = connection.prepareStatement(INSERT_NOTE_SQL)) {
-
-			pstmt.setString(1, newId);
-			pstmt.setString(2, note.getTitle());
-			pstmt.setString(3, note.getContent());
-			pstmt.setString(4, DateTimeFormatter.ISO_INSTANT.format(Instant.now()));
-			pstmt.setString(5, note.getModifiedDate());
-			pstmt.setDouble(6, note.getLatitude() != null ? note.getLatitude() : 0.0);
-			pstmt.setDouble(7, note.getLongitude() != null ? note.getLongitude() : 0.0);
-			pstmt.setString(8, note.getAuthor());
-			pstmt.setString(9, note.getSourceUrl());
-			pstmt.setString(10, note.getSource());
-			pstmt.setString(11, note.getSourceApplication());
-
-			if (note instanceof ToDoNote) {
-				pstmt.setInt(12, 1); // is_todo
-				pstmt.setString(13, ((ToDoNote) note).getToDoDue());
-				pstmt.setString(14, ((ToDoNote) note).getToDoCompleted());
-			} else {
-				pstmt.setInt(12, 0);
-				pstmt.setString(13, null);
-				pstmt.setString(14, null);
-			}
-
-			pstmt.setInt(15, note.isFavorite() ? 1 : 0); // is_favorite
-			pstmt.setInt(16, note.isPinned() ? 1 : 0); // is_pinned
-			pstmt.setInt(17, note.isDeleted() ? 1 : 0); // is_deleted
-			pstmt.setString(18, note.getDeletedDate()); // deleted_date
-			pstmt.setString(19,
-					(note.getParent() != null && !"ROOT".equals(note.getParent().getId())) ? note.getParent().getId()
-							: null);
+		try (PreparedStatement pstmt = SQLiteStatementCache.prepare(connection, INSERT_NOTE_SQL)) {
 
+			bindInsertNote(pstmt, note);
 			pstmt.executeUpdate();
 
 			connection.commit(); // Confirmar transacción
@@ -136,6 +136,211 @@ public class NoteDAOSQLite implements NoteDAO {
 		return newId; // Retorna el ID de la nueva nota
 	}
 
+	private void bindInsertNote(PreparedStatement pstmt, Note note) throws SQLException {
+		pstmt.setString(1, note.getId());
+		pstmt.setString(2, note.getTitle());
+		pstmt.setString(3, note.getContent());
+		pstmt.setString(4, DateTimeFormatter.ISO_INSTANT.format(Instant.now()));
+		pstmt.setString(5, note.getModifiedDate());
+		pstmt.setDouble(6, note.getLatitude() != null ? note.getLatitude() : 0.0);
+		pstmt.setDouble(7, note.getLongitude() != null ? note.getLongitude() : 0.0);
+		pstmt.setString(8, note.getAuthor());
+		pstmt.setString(9, note.getSourceUrl());
+		pstmt.setString(10, note.getSource());
+		pstmt.setString(11, note.getSourceApplication());
+
+		if (note instanceof ToDoNote) {
+			pstmt.setInt(12, 1); // is_todo
+			pstmt.setString(13, ((ToDoNote) note).getToDoDue());
+			pstmt.setString(14, ((ToDoNote) note).getToDoCompleted());
+		} else {
+			pstmt.setInt(12, 0);
+			pstmt.setString(13, null);
+			pstmt.setString(14, null);
+		}
+
+		pstmt.setInt(15, note.isFavorite() ? 1 : 0); // is_favorite
+		pstmt.setInt(16, note.isPinned() ? 1 : 0); // is_pinned
+		pstmt.setInt(17, note.isDeleted() ? 1 : 0); // is_deleted
+		pstmt.setString(18, note.getDeletedDate()); // deleted_date
+		pstmt.setString(19,
+				(note.getParent() != null && !"ROOT".equals(note.getParent().getId())) ? note.getParent().getId()
+					: null);
+	}
+
+	private void bindUpdateNote(PreparedStatement pstmt, Note note) throws SQLException {
+		pstmt.setString(1, note.getTitle());
+		pstmt.setString(2, note.getContent());
+		pstmt.setString(3, DateTimeFormatter.ISO_INSTANT.format(Instant.now()));
+		pstmt.setInt(4, note.isFavorite() ? 1 : 0);
+		pstmt.setInt(5, note.isPinned() ? 1 : 0);
+		pstmt.setString(6,
+				(note.getParent() != null && !"ROOT".equals(note.getParent().getId())) ? note.getParent().getId()
+					: null);
+		pstmt.setString(7, note.getId());
+	}
+	@Override
+	public BatchResult createNotes(List<Note> notes) {
+		if (notes == null) {
+			throw new IllegalArgumentException("Note list cannot be null");
+		}
+
+		List<Note> valid = new ArrayList<>(notes.size());
+		List<String> failures = new ArrayList<>();
+		for (Note note : notes) {
+			if (note == null) {
+				failures.add("Failed to create note: note is null");
+				continue;
+			}
+			if (note.getId() == null || note.getId().isEmpty()) {
+				note.setId(UUID.randomUUID().toString());
+			}
+			valid.add(note);
+		}
+
+		List<String> created = executeBatch(INSERT_NOTE_SQL, valid, this::bindInsertNote, Note::getId,
+				note -> "Failed to create note '" + note.getTitle() + "'", failures);
+		return new BatchResult(created, notes.size() - created.size(), failures);
+	}
+
+	@Override
+	public BatchResult updateNotes(List<Note> notes) {
+		if (notes == null) {
+			throw new IllegalArgumentException("Note list cannot be null");
+		}
+
+		List<Note> valid = new ArrayList<>(notes.size());
+		List<String> failures = new ArrayList<>();
+		for (Note note : notes) {
+			if (note == null || note.getId() == null || note.getId().isEmpty()) {
+				failures.add("Failed to update note: note or note ID is null");
+			} else {
+				valid.add(note);
+			}
+		}
+
+		List<String> updated = executeBatch(UPDATE_NOTE_SQL, valid, this::bindUpdateNote, Note::getId,
+				note -> "Failed to update note '" + note.getTitle() + "'", failures);
+		return new BatchResult(updated, notes.size() - updated.size(), failures);
+	}
+
+	@Override
+	public BatchResult addTags(Note note, List<Tag> tags) {
+		if (note == null || note.getId() == null || note.getId().isEmpty() || tags == null) {
+			throw new InvalidParameterException("Note object or tag list are null");
+		}
+
+		List<Tag> valid = new ArrayList<>(tags.size());
+		List<String> failures = new ArrayList<>();
+		for (Tag tag : tags) {
+			if (tag == null || tag.getId() == null || tag.getId().isEmpty()) {
+				failures.add("Failed to add tag: tag or tag ID is null");
+			} else {
+				valid.add(tag);
+			}
+		}
+
+		String addedDate = DateTimeFormatter.ISO_INSTANT.format(Instant.now());
+		List<String> added = executeBatch(INSERT_TAG_NOTE_SQL, valid, (pstmt, tag) -> {
+			pstmt.setString(1, UUID.randomUUID().toString()); // tagsNotes ID
+			pstmt.setString(2, tag.getId());
+			pstmt.setString(3, note.getId());
+			pstmt.setString(4, addedDate);
+		}, Tag::getId, tag -> "Failed to add tag '" + tag.getTitle() + "'", failures);
+		return new BatchResult(added, tags.size() - added.size(), failures);
+	}
+
+	/**
+	 * Binds a statement's parameters for one batch item.
+	 */
+	@FunctionalInterface
+	private interface StatementBinder<T> {
+		void bind(PreparedStatement pstmt, T item) throws SQLException;
+	}
+
+	/**
+	 * Writes all items with one JDBC batch and a single commit. If the batch is
+	 * rejected and the driver stopped at the bad row, the batch is rolled back
+	 * and replayed item by item inside one transaction, so a bad row only fails
+	 * itself.
+	 *
+	 * @return The IDs of the items written, in input order.
+	 */
+	private <T> List<String> executeBatch(String sql, List<T> items, StatementBinder<T> binder,
+			Function<T, String> idOf, Function<T, String> describe, List<String> failures) {
+		List<String> written = new ArrayList<>(items.size());
+		if (items.isEmpty()) {
+			return written;
+		}
+
+		try (PreparedStatement pstmt = SQLiteStatementCache.prepare(connection, sql)) {
+			for (T item : items) {
+				binder.bind(pstmt, item);
+				pstmt.addBatch();
+			}
+			int[] counts;
+			String error = null;
+			try {
+				counts = pstmt.executeBatch();
+			} catch (BatchUpdateException e) {
+				counts = e.getUpdateCounts();
+				if (counts == null || counts.length < items.size()) {
+					throw e;
+				}
+				// The driver kept going past the failed rows; keep the others.
+				error = e.getMessage();
+			}
+			connection.commit();
+
+			for (int i = 0; i < items.size(); i++) {
+				T item = items.get(i);
+				if (counts[i] == Statement.EXECUTE_FAILED) {
+					failures.add(describe.apply(item) + ": " + error);
+				} else if (counts[i] == 0) {
+					failures.add(describe.apply(item) + ": not found");
+				} else {
+					written.add(idOf.apply(item));
+				}
+			}
+			return written;
+		} catch (SQLException e) {
+			logger.log(Level.WARNING, "Batch write rejected, retrying item by item: " + e.getMessage(), e);
+			try {
+				connection.rollback();
+			} catch (SQLException rollbackEx) {
+				logger.log(Level.SEVERE, "Error rolling back transaction: " + rollbackEx.getMessage(), rollbackEx);
+			}
+		}
+
+		try (PreparedStatement pstmt = SQLiteStatementCache.prepare(connection, sql)) {
+			for (T item : items) {
+				// A rejected statement is undone on its own; earlier rows in the
+				// transaction are kept.
+				try {
+					binder.bind(pstmt, item);
+					if (pstmt.executeUpdate() == 0) {
+						failures.add(describe.apply(item) + ": not found");
+					} else {
+						written.add(idOf.apply(item));
+					}
+				} catch (SQLException e) {
+					failures.add(describe.apply(item) + ": " + e.getMessage());
+				}
+			}
+			connection.commit();
+			return written;
+		} catch (SQLException e) {
+			logger.log(Level.SEVERE, "Error executeBatch(): " + e.getMessage(), e);
+			try {
+				connection.rollback();
+			} catch (SQLException rollbackEx) {
+				logger.log(Level.SEVERE, "Error rolling back transaction: " + rollbackEx.getMessage(), rollbackEx);
+			}
+			failures.add("Batch aborted: " + e.getMessage());
+			return new ArrayList<>();
+		}
+	}
+
 	@Override
 	public Note getNoteById(String id) {
 		Note note = null;
@@ -144,7 +349,8 @@ public class NoteDAOSQLite implements NoteDAO {
 			throw new IllegalArgumentException("Note ID cannot be null or empty");
 		}
 
-		try (PreparedStatement pstmt = connection.prepareStatement(SELECT_NOTE_BY_ID_SQL)) {
+		try (SQLiteConnectionPool.Lease lease = SQLiteConnectionPool.lease(readPool, connection);
+				PreparedStatement pstmt = SQLiteStatementCache.prepare(lease.connection(), SELECT_NOTE_BY_ID_SQL)) {
 			pstmt.setString(1, id);
 
 			try (ResultSet rs = pstmt.executeQuery()) {
@@ -166,16 +372,8 @@ public class NoteDAOSQLite implements NoteDAO {
 			throw new IllegalArgumentException("Note object cannot be null");
 		}
 
-		try (PreparedStatement pstmt = connection.prepareStatement(UPDATE_NOTE_SQL)) {
-			pstmt.setString(1, note.getTitle());
-			pstmt.setString(2, note.getContent());
-			pstmt.setString(3, DateTimeFormatter.ISO_INSTANT.format(Instant.now()));
-			pstmt.setInt(4, note.isFavorite() ? 1 : 0);
-			pstmt.setInt(5, note.isPinned() ? 1 : 0);
-			pstmt.setString(6,
-					(note.getParent() != null && !"ROOT".equals(note.getParent().getId())) ? note.getParent().getId()
-							: null);
-			pstmt.setString(7, note.getId());
+		try (PreparedStatement pstmt = SQLiteStatementCache.prepare(connection, UPDATE_NOTE_SQL)) {
+			bindUpdateNote(pstmt, note);
 			pstmt.executeUpdate();
 			connection.commit();
 
@@ -195,7 +393,7 @@ public class NoteDAOSQLite implements NoteDAO {
 			throw new IllegalArgumentException("Note ID cannot be null or empty");
 		}
 
-		try (PreparedStatement pstmt = connection.prepareStatement(SOFT_DELETE_NOTE_SQL)) {
+		try (PreparedStatement pstmt = SQLiteStatementCache.prepare(connection, SOFT_DELETE_NOTE_SQL)) {
 			pstmt.setString(1, DateTimeFormatter.ISO_INSTANT.format(Instant.now()));
 			pstmt.setString(2, id);
 			pstmt.executeUpdate();
@@ -217,7 +415,7 @@ public class NoteDAOSQLite implements NoteDAO {
 			throw new IllegalArgumentException("Note ID cannot be null or empty");
 		}
 
-		try (PreparedStatement pstmt = connection.prepareStatement(DELETE_NOTE_SQL)) {
+		try (PreparedStatement pstmt = SQLiteStatementCache.prepare(connection, DELETE_NOTE_SQL)) {
 			pstmt.setString(1, id);
 			pstmt.executeUpdate();
 			connection.commit();
@@ -238,7 +436,7 @@ public class NoteDAOSQLite implements NoteDAO {
 			throw new IllegalArgumentException("Note ID cannot be null or empty");
 		}
 
-		try (PreparedStatement pstmt = connection.prepareStatement(RESTORE_NOTE_SQL)) {
+		try (PreparedStatement pstmt = SQLiteStatementCache.prepare(connection, RESTORE_NOTE_SQL)) {
 			pstmt.setString(1, id);
 			pstmt.executeUpdate();
 			connection.commit();
@@ -256,8 +454,9 @@ public class NoteDAOSQLite implements NoteDAO {
 	@Override
 	public List<Note> fetchTrashNotes() {
 		List<Note> list = new ArrayList<>();
-		try (Statement stmt = connection.createStatement()) {
-			try (ResultSet rs = stmt.executeQuery(SELECT_TRASH_NOTES_SQL)) {
+		try (SQLiteConnectionPool.Lease lease = SQLiteConnectionPool.lease(readPool, connection);
+				PreparedStatement stmt = SQLiteStatementCache.prepare(lease.connection(), SELECT_TRASH_NOTES_SQL)) {
+			try (ResultSet rs = stmt.executeQuery()) {
 				while (rs.next()) {
 					list.add(mapResultSetToNote(rs));
 				}
@@ -277,7 +476,8 @@ public class NoteDAOSQLite implements NoteDAO {
 				? "SELECT * FROM notes WHERE (parent_id IS NULL OR parent_id = '') AND is_deleted = 0"
 				: SELECT_NOTES_BY_FOLDER_ID_SQL;
 
-		try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+		try (SQLiteConnectionPool.Lease lease = SQLiteConnectionPool.lease(readPool, connection);
+				PreparedStatement pstmt = SQLiteStatementCache.prepare(lease.connection(), sql)) {
 			if (!sql.contains("IS NULL")) {
 				pstmt.setString(1, folderId);
 			}
@@ -311,8 +511,9 @@ public class NoteDAOSQLite implements NoteDAO {
 	public List<Note> fetchAllNotes() {
 		List<Note> list = new ArrayList<>();
 
-		try (Statement stmt = connection.createStatement()) {
-			try (ResultSet rs = stmt.executeQuery(SELECT_ALL_NOTES_SQL)) {
+		try (SQLiteConnectionPool.Lease lease = SQLiteConnectionPool.lease(readPool, connection);
+				PreparedStatement stmt = SQLiteStatementCache.prepare(lease.connection(), SELECT_ALL_NOTES_SQL)) {
+			try (ResultSet rs = stmt.executeQuery()) {
 				while (rs.next()) {
 					list.add(mapResultSetToNote(rs));
 				}
@@ -326,7 +527,7 @@ public class NoteDAOSQLite implements NoteDAO {
 
 	@Override
 	public Folder getFolderOfNote(String noteId) {
-		FolderDAO folderDAO = new FolderDAOSQLite(connection);
+		FolderDAO folderDAO = new FolderDAOSQLite(connection, readPool);
 		return folderDAO.getFolderByNoteId(noteId);
 	}
 
@@ -337,7 +538,7 @@ public class NoteDAOSQLite implements NoteDAO {
 			throw new IllegalArgumentException("Note ID and tag ID must not be null or empty");
 		}
 
-		try (PreparedStatement pstmt = connection.prepareStatement(INSERT_TAG_NOTE_SQL)) {
+		try (PreparedStatement pstmt = SQLiteStatementCache.prepare(connection, INSERT_TAG_NOTE_SQL)) {
 			pstmt.setString(1, UUID.randomUUID().toString()); // tagsNotes ID
 			pstmt.setString(2, tagId);
 			pstmt.setString(3, noteId);
@@ -370,7 +571,7 @@ public class NoteDAOSQLite implements NoteDAO {
 			throw new IllegalArgumentException("Note ID and tag ID must not be null or empty");
 		}
 
-		try (PreparedStatement pstmt = connection.prepareStatement(DELETE_TAG_NOTE_SQL)) {
+		try (PreparedStatement pstmt = SQLiteStatementCache.prepare(connection, DELETE_TAG_NOTE_SQL)) {
 			pstmt.setString(1, tagId);
 			pstmt.setString(2, noteId);
 			pstmt.executeUpdate();
@@ -403,7 +604,8 @@ public class NoteDAOSQLite implements NoteDAO {
 
 		List<Tag> list = new ArrayList<>();
 
-		try (PreparedStatement pstmt = connection.prepareStatement(SELECT_ALL_TAGS_NOTE_SQL)) {
+		try (SQLiteConnectionPool.Lease lease = SQLiteConnectionPool.lease(readPool, connection);
+				PreparedStatement pstmt = SQLiteStatementCache.prepare(lease.connection(), SELECT_ALL_TAGS_NOTE_SQL)) {
 			pstmt.setString(1, noteId);
 
 			try (ResultSet rs = pstmt.executeQuery()) {
@@ -441,7 +643,8 @@ public class NoteDAOSQLite implements NoteDAO {
 
 		List<Note> list = new ArrayList<>();
 
-		try (PreparedStatement pstmt = connection.prepareStatement(SELECT_NOTES_BY_TAG_ID_SQL)) {
+		try (SQLiteConnectionPool.Lease lease = SQLiteConnectionPool.lease(readPool, connection);
+				PreparedStatement pstmt = SQLiteStatementCache.prepare(lease.connection(), SELECT_NOTES_BY_TAG_ID_SQL)) {
 			pstmt.setString(1, tagId);
 
 			try (ResultSet rs = pstmt.executeQuery()) {
@@ -456,6 +659,92 @@ public class NoteDAOSQLite implements NoteDAO {
 		return list;
 	}
 
+	// Full-text Search Methods
+	@Override
+	public boolean supportsFullTextSearch() {
+		if (fullTextSearchAvailable == null) {
+			boolean available = false;
+			try (PreparedStatement stmt = SQLiteStatementCache.prepare(connection, SELECT_FTS_TABLE_SQL);
+					ResultSet rs = stmt.executeQuery()) {
+				available = rs.next();
+			} catch (SQLException e) {
+				// Not SQLite, or a database created before notes_fts existed.
+				logger.fine("Full-text search table not available: " + e.getMessage());
+			}
+			fullTextSearchAvailable = available;
+		}
+		return fullTextSearchAvailable;
+	}
+
+	@Override
+	public List<NoteSearchResult> searchNotes(String query, int limit, int offset) {
+		List<NoteSearchResult> list = new ArrayList<>();
+		String matchExpression = toFtsMatchExpression(query);
+
+		if (matchExpression == null || !supportsFullTextSearch()) {
+			return list;
+		}
+
+		try (SQLiteConnectionPool.Lease lease = SQLiteConnectionPool.lease(readPool, connection);
+				PreparedStatement pstmt = SQLiteStatementCache.prepare(lease.connection(), SEARCH_NOTES_FTS_SQL)) {
+			pstmt.setString(1, SNIPPET_MATCH_START);
+			pstmt.setString(2, SNIPPET_MATCH_END);
+			pstmt.setString(3, matchExpression);
+			pstmt.setInt(4, limit > 0 ? limit : -1);
+			pstmt.setInt(5, Math.max(0, offset));
+
+			try (ResultSet rs = pstmt.executeQuery()) {
+				while (rs.next()) {
+					list.add(new NoteSearchResult(mapResultSetToNote(rs), rs.getString("search_snippet"),
+							rs.getDouble("search_rank")));
+				}
+			}
+		} catch (SQLException e) {
+			logger.log(Level.SEVERE, "Error searchNotes(): " + e.getMessage(), e);
+		}
+
+		return list;
+	}
+
+	/**
+	 * Translates a user query into an FTS5 MATCH expression. Every bare word
+	 * becomes a quoted prefix query and quoted text a phrase, so FTS5 operators
+	 * and punctuation typed by the user are never interpreted as syntax.
+	 *
+	 * @param query The raw user query.
+	 * @return The MATCH expression, or null if the query has no searchable terms.
+	 */
+	static String toFtsMatchExpression(String query) {
+		if (query == null || query.isBlank()) {
+			return null;
+		}
+
+		List<String> clauses = new ArrayList<>();
+		String[] segments = query.split("\"", -1);
+		for (int i = 0; i < segments.length; i++) {
+			String segment = segments[i];
+			// Odd segments sit between a pair of quotes (an unclosed quote runs to the end).
+			if (i % 2 == 1) {
+				if (hasSearchableText(segment)) {
+					clauses.add("\"" + segment.trim() + "\"");
+				}
+				continue;
+			}
+			for (String word : segment.trim().split("\\s+")) {
+				String term = word.replaceAll("\\*+$", "");
+				if (hasSearchableText(term)) {
+					clauses.add("\"" + term + "\"*");
+				}
+			}
+		}
+
+		return clauses.isEmpty() ? null : String.join(" AND ", clauses);
+	}
+
+	private static boolean hasSearchableText(String text) {
+		return text.codePoints().anyMatch(Character::isLetterOrDigit);
+	}
+
 	// Helper Methods (protected/private)
 	public Note mapResultSetToNote(ResultSet rs) throws SQLException {
 		Note note = null;
@@ -4,7 +4,6 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.time.Instant;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
@@ -15,6 +14,8 @@ import java.util.logging.Logger;
 
 import com.example.forevernote.config.LoggerConfig;
 import com.example.forevernote.data.dao.interfaces.TagDAO;
+import com.example.forevernote.data.database.SQLiteConnectionPool;
+import com.example.forevernote.data.database.SQLiteStatementCache;
 import com.example.forevernote.data.models.Tag;
 import com.example.forevernote.data.models.Note;
 import com.example.forevernote.exceptions.InvalidParameterException;
@@ -44,6 +45,7 @@ public class TagDAOSQLite implements TagDAO {
 
 	private static final Logger logger = LoggerConfig.getLogger(TagDAOSQLite.class);
 	private Connection connection;
+	private SQLiteConnectionPool readPool;
 
 	/**
 	 * Constructs a TagDAOSQLite with the given database connection.
@@ -51,7 +53,20 @@ public class TagDAOSQLite implements TagDAO {
 	 * @param connection The database connection to be used.
 	 */
 	public TagDAOSQLite(Connection connection) {
+		this(connection, null);
+	}
+
+	/**
+	 * Constructs a TagDAOSQLite that writes through {@code connection} and runs
+	 * read-only queries on connections leased from {@code readPool}.
+	 *
+	 * @param connection The read-write database connection.
+	 * @param readPool   Pool of read-only connections, or null to read through
+	 *                   {@code connection}.
+	 */
+	public TagDAOSQLite(Connection connection, SQLiteConnectionPool readPool) {
 		this.connection = connection;
+		this.readPool = readPool;
 	}
 
 	// CRUD Methods
@@ -68,7 +83,7 @@ public class TagDAOSQLite implements TagDAO {
 		}
 		newId = tag.getId();
 
-		try (PreparedStatement pstmt = connection.prepareStatement(INSERT_TAG_SQL)) {
+		try (PreparedStatement pstmt = SQLiteStatementCache.prepare(connection, INSERT_TAG_SQL)) {
 
 			pstmt.setString(1, newId);
 			pstmt.setString(2, tag.getTitle());
@@ -96,7 +111,7 @@ public class TagDAOSQLite implements TagDAO {
 			throw new InvalidParameterException("Tag object cannot be null");
 		}
 
-		try (PreparedStatement pstmt = connection.prepareStatement(UPDATE_TAG_SQL)) {
+		try (PreparedStatement pstmt = SQLiteStatementCache.prepare(connection, UPDATE_TAG_SQL)) {
 			pstmt.setString(1, tag.getTitle());
 			pstmt.setString(2, DateTimeFormatter.ISO_INSTANT.format(Instant.now()));
 			pstmt.setString(3, tag.getId());
@@ -119,7 +134,7 @@ public class TagDAOSQLite implements TagDAO {
 			throw new IllegalArgumentException("Tag ID cannot be null or empty");
 		}
 
-		try (PreparedStatement pstmt = connection.prepareStatement(DELETE_TAG_SQL)) {
+		try (PreparedStatement pstmt = SQLiteStatementCache.prepare(connection, DELETE_TAG_SQL)) {
 			pstmt.setString(1, id);
 			pstmt.executeUpdate();
 			connection.commit();
@@ -142,7 +157,8 @@ public class TagDAOSQLite implements TagDAO {
 			throw new IllegalArgumentException("Tag ID cannot be null or empty");
 		}
 
-		try (PreparedStatement pstmt = connection.prepareStatement(SELECT_TAG_BY_ID_SQL)) {
+		try (SQLiteConnectionPool.Lease lease = SQLiteConnectionPool.lease(readPool, connection);
+				PreparedStatement pstmt = SQLiteStatementCache.prepare(lease.connection(), SELECT_TAG_BY_ID_SQL)) {
 			pstmt.setString(1, id);
 
 			try (ResultSet rs = pstmt.executeQuery()) {
@@ -162,8 +178,9 @@ public class TagDAOSQLite implements TagDAO {
 	public List<Tag> fetchAllTags() {
 		List<Tag> list = new ArrayList<>();
 
-		try (Statement stmt = connection.createStatement()) {
-			try (ResultSet rs = stmt.executeQuery(SELECT_ALL_TAGS_SQL)) {
+		try (SQLiteConnectionPool.Lease lease = SQLiteConnectionPool.lease(readPool, connection);
+				PreparedStatement stmt = SQLiteStatementCache.prepare(lease.connection(), SELECT_ALL_TAGS_SQL)) {
+			try (ResultSet rs = stmt.executeQuery()) {
 				while (rs.next()) {
 					list.add(mapResultSetToTag(rs));
 				}
@@ -183,7 +200,8 @@ public class TagDAOSQLite implements TagDAO {
 
 		List<Note> list = new ArrayList<>();
 
-		try (PreparedStatement pstmt = connection.prepareStatement(SELECT_ALL_NOTES_TAG_SQL)) {
+		try (SQLiteConnectionPool.Lease lease = SQLiteConnectionPool.lease(readPool, connection);
+				PreparedStatement pstmt = SQLiteStatementCache.prepare(lease.connection(), SELECT_ALL_NOTES_TAG_SQL)) {
 			pstmt.setString(1, tagId);
 
 			try (ResultSet rs = pstmt.executeQuery()) {
@@ -206,7 +224,8 @@ public class TagDAOSQLite implements TagDAO {
 			throw new IllegalArgumentException("Title can't be null");
 		}
 
-		try (PreparedStatement pstmt = connection.prepareStatement(SELECT_EXIST_TITLE)) {
+		try (SQLiteConnectionPool.Lease lease = SQLiteConnectionPool.lease(readPool, connection);
+				PreparedStatement pstmt = SQLiteStatementCache.prepare(lease.connection(), SELECT_EXIST_TITLE)) {
 			pstmt.setString(1, title);
 
 			try (ResultSet rs = pstmt.executeQuery()) {
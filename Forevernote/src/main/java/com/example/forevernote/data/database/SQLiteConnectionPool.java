@@ -0,0 +1,219 @@
+package com.example.forevernote.data.database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.example.forevernote.config.LoggerConfig;
+
+/**
+ * Small bounded pool of read-only SQLite connections.
+ *
+ * <p>
+ * With the database in WAL mode, readers work on their own snapshot and never
+ * wait for the single writer connection, so background loaders can query while
+ * an autosave is being committed. Pooled connections run in auto-commit mode so
+ * every statement sees the latest committed data.
+ * </p>
+ *
+ * <p>
+ * Leases are re-entrant per thread: nested DAO calls on the same thread share
+ * one connection instead of competing for a second permit.
+ * </p>
+ */
+public final class SQLiteConnectionPool implements AutoCloseable {
+
+    private static final Logger logger = LoggerConfig.getLogger(SQLiteConnectionPool.class);
+    private static final long ACQUIRE_TIMEOUT_MS = 2000L;
+
+    private final Supplier<Connection> connectionFactory;
+    private final int maxSize;
+    private final Semaphore permits;
+    private final Deque<Connection> idle = new ArrayDeque<>();
+    private final ThreadLocal<Lease> currentLease = new ThreadLocal<>();
+    private volatile boolean closed = false;
+
+    /**
+     * Creates a pool that opens at most {@code maxSize} connections on demand.
+     *
+     * @param connectionFactory Opens a new read-only connection (may return null
+     *                          on failure).
+     * @param maxSize           Maximum number of concurrently leased connections.
+     */
+    public SQLiteConnectionPool(Supplier<Connection> connectionFactory, int maxSize) {
+        if (connectionFactory == null) {
+            throw new IllegalArgumentException("Connection factory cannot be null");
+        }
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Pool size must be at least 1");
+        }
+        this.connectionFactory = connectionFactory;
+        this.maxSize = maxSize;
+        this.permits = new Semaphore(maxSize, true);
+    }
+
+    /**
+     * Leases a read connection from the pool, or wraps {@code fallback} when no
+     * pool is configured or none can be obtained in time. Closing the returned
+     * lease never closes the fallback connection.
+     *
+     * @param pool     The read pool, may be null.
+     * @param fallback Connection to use when the pool is unavailable.
+     * @return A lease that must be closed after use.
+     */
+    public static Lease lease(SQLiteConnectionPool pool, Connection fallback) {
+        Lease lease = pool != null ? pool.acquire() : null;
+        return lease != null ? lease : new Lease(null, fallback);
+    }
+
+    /**
+     * Leases a connection, waiting briefly if every connection is busy.
+     *
+     * @return The lease, or null if the pool is closed, exhausted, or cannot
+     *         open a connection.
+     */
+    public Lease acquire() {
+        Lease held = currentLease.get();
+        if (held != null) {
+            held.holds++;
+            return held;
+        }
+        if (closed) {
+            return null;
+        }
+        try {
+            if (!permits.tryAcquire(ACQUIRE_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                logger.warning("Read connection pool exhausted (size=" + maxSize + ")");
+                return null;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+
+        Connection connection = pollIdle();
+        if (connection == null) {
+            connection = connectionFactory.get();
+        }
+        if (connection == null) {
+            permits.release();
+            return null;
+        }
+
+        Lease lease = new Lease(this, connection);
+        currentLease.set(lease);
+        return lease;
+    }
+
+    /**
+     * @return The maximum number of connections this pool opens.
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * @return Number of connections currently leased.
+     */
+    public int getActiveCount() {
+        return maxSize - permits.availablePermits();
+    }
+
+    /**
+     * Closes idle connections; leased ones are closed when they are returned.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        synchronized (idle) {
+            while (!idle.isEmpty()) {
+                closeQuietly(idle.pop());
+            }
+        }
+    }
+
+    private Connection pollIdle() {
+        synchronized (idle) {
+            while (!idle.isEmpty()) {
+                Connection connection = idle.pop();
+                try {
+                    if (!connection.isClosed()) {
+                        return connection;
+                    }
+                } catch (SQLException e) {
+                    closeQuietly(connection);
+                }
+            }
+        }
+        return null;
+    }
+
+    private void release(Lease lease) {
+        currentLease.remove();
+        try {
+            if (closed || lease.connection.isClosed()) {
+                closeQuietly(lease.connection);
+            } else {
+                synchronized (idle) {
+                    idle.push(lease.connection);
+                }
+            }
+        } catch (SQLException e) {
+            closeQuietly(lease.connection);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        SQLiteStatementCache.release(connection);
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            logger.log(Level.FINE, "Error closing pooled connection: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * A connection borrowed from the pool (or a non-owned fallback connection).
+     */
+    public static final class Lease implements AutoCloseable {
+
+        private final SQLiteConnectionPool pool;
+        private final Connection connection;
+        private int holds = 1;
+
+        private Lease(SQLiteConnectionPool pool, Connection connection) {
+            this.pool = pool;
+            this.connection = connection;
+        }
+
+        /**
+         * @return The leased connection.
+         */
+        public Connection connection() {
+            return connection;
+        }
+
+        /**
+         * @return true if the connection is a pooled read-only connection.
+         */
+        public boolean isPooled() {
+            return pool != null;
+        }
+
+        @Override
+        public void close() {
+            if (pool == null || --holds > 0) {
+                return;
+            }
+            pool.release(this);
+        }
+    }
+}
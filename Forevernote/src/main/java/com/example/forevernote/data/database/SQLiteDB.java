@@ -9,18 +9,35 @@ import java.sql.Statement;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import org.sqlite.SQLiteConfig;
+
 import com.example.forevernote.config.LoggerConfig;
 
 /**
  * SQLiteDB is a singleton class that manages the SQLite database connection and
  * initialization. It includes methods for opening and closing connections, as
  * well as initializing the database schema.
+ *
+ * <p>
+ * The database runs in WAL journal mode: a single read-write connection
+ * ({@link #openConnection()}) performs all writes while background reads go
+ * through a bounded pool of read-only connections ({@link #getReadPool()}),
+ * which are never blocked by a write in progress.
+ * </p>
  */
 public class SQLiteDB {
 
     private static final Logger logger = LoggerConfig.getLogger(SQLiteDB.class);
     private String databaseUrl;
     private static SQLiteDB instance = null;
+    private SQLiteConnectionPool readPool;
+
+    // Connection tuning. cache_size is negative to express KiB rather than pages.
+    private static final int BUSY_TIMEOUT_MS = 5000;
+    private static final int CACHE_SIZE_KIB = 16384;
+    private static final long MMAP_SIZE_BYTES = 256L * 1024 * 1024;
+    private static final int MAX_READ_CONNECTIONS = Math.max(2,
+            Math.min(4, Runtime.getRuntime().availableProcessors()));
 
     // SQL statements for creating tables
     // Updated to use TEXT PRIMARY KEY for UUID support
@@ -86,11 +103,21 @@ public class SQLiteDB {
             + "alias TEXT, "
             + "is_embed INTEGER NOT NULL DEFAULT 0, "
             + "is_unresolved INTEGER NOT NULL DEFAULT 0, "
+            + "is_ambiguous INTEGER NOT NULL DEFAULT 0, "
             + "updated_at TEXT NOT NULL, "
             + "FOREIGN KEY (source_note_id) REFERENCES notes(note_id) ON DELETE CASCADE, "
             + "FOREIGN KEY (target_note_id) REFERENCES notes(note_id) ON DELETE SET NULL"
             + ")";
 
+    // Hash of the content each note's links were parsed from; one row per indexed
+    // note, including notes without links.
+    private static final String createTableNoteLinkSources = "CREATE TABLE IF NOT EXISTS note_link_sources("
+            + "note_id TEXT PRIMARY KEY, "
+            + "content_hash TEXT NOT NULL, "
+            + "updated_at TEXT NOT NULL, "
+            + "FOREIGN KEY (note_id) REFERENCES notes(note_id) ON DELETE CASCADE"
+            + ")";
+
     // Performance indexes for common filters / joins used in folder tree and notes lists.
     private static final String createIndexNotesParentDeleted =
             "CREATE INDEX IF NOT EXISTS idx_notes_parent_deleted ON notes(parent_id, is_deleted)";
@@ -113,6 +140,29 @@ public class SQLiteDB {
     private static final String createIndexNoteLinksTarget =
             "CREATE INDEX IF NOT EXISTS idx_note_links_target ON note_links(target_note_id)";
 
+    // Full-text search over note titles and bodies. The FTS5 table stores only the
+    // index (external content = notes) and is kept in sync by triggers.
+    private static final String createTableNotesFts = "CREATE VIRTUAL TABLE IF NOT EXISTS notes_fts USING fts5("
+            + "title, "
+            + "content, "
+            + "content='notes', "
+            + "content_rowid='rowid', "
+            + "tokenize='unicode61 remove_diacritics 2'"
+            + ")";
+    private static final String createTriggerNotesFtsInsert = "CREATE TRIGGER IF NOT EXISTS notes_fts_ai "
+            + "AFTER INSERT ON notes BEGIN "
+            + "INSERT INTO notes_fts(rowid, title, content) VALUES (new.rowid, new.title, new.content); "
+            + "END";
+    private static final String createTriggerNotesFtsDelete = "CREATE TRIGGER IF NOT EXISTS notes_fts_ad "
+            + "AFTER DELETE ON notes BEGIN "
+            + "INSERT INTO notes_fts(notes_fts, rowid, title, content) VALUES ('delete', old.rowid, old.title, old.content); "
+            + "END";
+    private static final String createTriggerNotesFtsUpdate = "CREATE TRIGGER IF NOT EXISTS notes_fts_au "
+            + "AFTER UPDATE OF title, content ON notes BEGIN "
+            + "INSERT INTO notes_fts(notes_fts, rowid, title, content) VALUES ('delete', old.rowid, old.title, old.content); "
+            + "INSERT INTO notes_fts(rowid, title, content) VALUES (new.rowid, new.title, new.content); "
+            + "END";
+
     /**
      * Private constructor to prevent instantiation from other classes.
      * 
@@ -148,7 +198,8 @@ public class SQLiteDB {
     }
 
     /**
-     * Opens a new connection to the SQLite database.
+     * Opens a new read-write connection to the SQLite database and switches the
+     * database to WAL journal mode.
      * 
      * @return A new Connection object.
      */
@@ -159,6 +210,11 @@ public class SQLiteDB {
             connection = DriverManager.getConnection(databaseUrl);
             try (Statement pragma = connection.createStatement()) {
                 pragma.execute("PRAGMA foreign_keys = ON");
+                // journal_mode can't change inside a transaction, so set it before
+                // disabling auto-commit. WAL is persistent in the database file.
+                pragma.execute("PRAGMA journal_mode = WAL");
+                pragma.execute("PRAGMA synchronous = NORMAL");
+                applyCachePragmas(pragma);
             }
             connection.setAutoCommit(false);
         } catch (SQLException e) {
@@ -169,6 +225,61 @@ public class SQLiteDB {
         return connection;
     }
 
+    /**
+     * Opens a new read-only connection. It stays in auto-commit mode so each
+     * query reads the most recently committed state.
+     * 
+     * @return A new read-only Connection, or null if it could not be opened.
+     */
+    public Connection openReadOnlyConnection() {
+        Connection connection = null;
+        try {
+            Class.forName("org.sqlite.JDBC");
+            SQLiteConfig config = new SQLiteConfig();
+            config.setReadOnly(true);
+            connection = DriverManager.getConnection(databaseUrl, config.toProperties());
+            try (Statement pragma = connection.createStatement()) {
+                pragma.execute("PRAGMA query_only = ON");
+                applyCachePragmas(pragma);
+            }
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error opening read-only database connection: " + e.getMessage(), e);
+            closeConnection(connection);
+            connection = null;
+        } catch (ClassNotFoundException e) {
+            logger.log(Level.SEVERE, "JDBC Driver not found: " + e.getMessage(), e);
+        }
+        return connection;
+    }
+
+    /**
+     * Returns the shared pool of read-only connections, creating it on first use.
+     * 
+     * @return The read connection pool.
+     */
+    public synchronized SQLiteConnectionPool getReadPool() {
+        if (readPool == null) {
+            readPool = new SQLiteConnectionPool(this::openReadOnlyConnection, MAX_READ_CONNECTIONS);
+        }
+        return readPool;
+    }
+
+    /**
+     * Closes the read connection pool, if it was created.
+     */
+    public synchronized void closeReadPool() {
+        if (readPool != null) {
+            readPool.close();
+            readPool = null;
+        }
+    }
+
+    private void applyCachePragmas(Statement pragma) throws SQLException {
+        pragma.execute("PRAGMA busy_timeout = " + BUSY_TIMEOUT_MS);
+        pragma.execute("PRAGMA cache_size = -" + CACHE_SIZE_KIB);
+        pragma.execute("PRAGMA mmap_size = " + MMAP_SIZE_BYTES);
+    }
+
     /**
      * Closes the given database connection.
      * 
@@ -176,6 +287,7 @@ public class SQLiteDB {
      */
     public void closeConnection(Connection connection) {
         if (connection != null) {
+            SQLiteStatementCache.release(connection);
             try {
                 connection.close();
             } catch (SQLException e) {
@@ -199,6 +311,7 @@ public class SQLiteDB {
             checkAndInitTable(connection, "tags", "tag_id", createTableTags);
             checkAndInitTable(connection, "tagsNotes", "id", createTableTagsNotes);
             checkAndInitTable(connection, "note_links", "id", createTableNoteLinks);
+            checkAndInitTable(connection, "note_link_sources", "note_id", createTableNoteLinkSources);
 
             // Migrate existing databases: add necessary columns if they don't exist
             Statement stmt = connection.createStatement();
@@ -263,6 +376,20 @@ public class SQLiteDB {
                     logger.info("Adding deleted_date column to folders table...");
                     stmt.executeUpdate("ALTER TABLE folders ADD COLUMN deleted_date TEXT DEFAULT NULL");
                 }
+
+                // Check 'note_links' table
+                rs = stmt.executeQuery("PRAGMA table_info(note_links)");
+                boolean hasLinkIsAmbiguous = false;
+                while (rs.next()) {
+                    if ("is_ambiguous".equals(rs.getString("name")))
+                        hasLinkIsAmbiguous = true;
+                }
+                rs.close();
+
+                if (!hasLinkIsAmbiguous) {
+                    logger.info("Adding is_ambiguous column to note_links table...");
+                    stmt.executeUpdate("ALTER TABLE note_links ADD COLUMN is_ambiguous INTEGER NOT NULL DEFAULT 0");
+                }
             } catch (SQLException e) {
                 logger.warning("Could not check/add columns to tables: " + e.getMessage());
             } finally {
@@ -270,6 +397,7 @@ public class SQLiteDB {
             }
 
             createPerformanceIndexes(connection);
+            createFullTextIndex(connection);
 
             connection.commit();
         } catch (SQLException e) {
@@ -357,4 +485,34 @@ public class SQLiteDB {
             stmt.executeUpdate(createIndexNoteLinksTarget);
         }
     }
+
+    /**
+     * Creates the notes_fts table and its sync triggers. The index is rebuilt from
+     * the notes table whenever the table or any trigger was missing (new database,
+     * upgrade, or a table migration that dropped the triggers). SQLite builds
+     * without FTS5 keep working; search then falls back to the in-memory index.
+     */
+    private void createFullTextIndex(Connection connection) throws SQLException {
+        int existing = 0;
+        try (Statement stmt = connection.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM sqlite_master WHERE name IN "
+                        + "('notes_fts', 'notes_fts_ai', 'notes_fts_ad', 'notes_fts_au')")) {
+            if (rs.next()) {
+                existing = rs.getInt(1);
+            }
+        }
+
+        try (Statement stmt = connection.createStatement()) {
+            stmt.executeUpdate(createTableNotesFts);
+            stmt.executeUpdate(createTriggerNotesFtsInsert);
+            stmt.executeUpdate(createTriggerNotesFtsDelete);
+            stmt.executeUpdate(createTriggerNotesFtsUpdate);
+            if (existing < 4) {
+                stmt.executeUpdate("INSERT INTO notes_fts(notes_fts) VALUES ('rebuild')");
+                logger.info("Rebuilt full-text index: notes_fts");
+            }
+        } catch (SQLException e) {
+            logger.warning("Full-text search (FTS5) not available: " + e.getMessage());
+        }
+    }
 }
@@ -0,0 +1,286 @@
+package com.example.forevernote.data.database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.example.forevernote.config.LoggerConfig;
+
+/**
+ * Per-connection cache of prepared statements keyed by SQL text.
+ *
+ * <p>
+ * DAOs obtain statements through {@link #prepare(Connection, String)} and keep
+ * using try-with-resources: closing a cached statement clears its parameters
+ * and pending batch and hands it back to the cache instead of finalizing it. A
+ * statement is checked out while in use, so nested or concurrent callers
+ * asking for the same SQL get a separate, uncached statement. Idle statements
+ * are evicted in least-recently-used order once the cache is full.
+ * </p>
+ *
+ * <p>
+ * Call {@link #release(Connection)} before closing a connection to close its
+ * cached statements.
+ * </p>
+ */
+public final class SQLiteStatementCache {
+
+    private static final Logger logger = LoggerConfig.getLogger(SQLiteStatementCache.class);
+
+    /** Maximum idle statements kept per connection. */
+    public static final int DEFAULT_CAPACITY = 64;
+
+    private static final Map<Connection, SQLiteStatementCache> CACHES = new IdentityHashMap<>();
+    private static final LongAdder TOTAL_HITS = new LongAdder();
+    private static final LongAdder TOTAL_MISSES = new LongAdder();
+
+    private final Connection connection;
+    private final int capacity;
+    private final LinkedHashMap<String, PreparedStatement> idle;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private boolean closed = false;
+
+    private SQLiteStatementCache(Connection connection, int capacity) {
+        this.connection = connection;
+        this.capacity = capacity;
+        this.idle = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Returns the cache bound to the given connection, creating it on first use.
+     *
+     * @param connection The connection.
+     * @return Its statement cache.
+     */
+    public static SQLiteStatementCache forConnection(Connection connection) {
+        if (connection == null) {
+            throw new IllegalArgumentException("Connection cannot be null");
+        }
+        synchronized (CACHES) {
+            SQLiteStatementCache cache = CACHES.get(connection);
+            if (cache == null) {
+                pruneClosedConnections();
+                cache = new SQLiteStatementCache(connection, DEFAULT_CAPACITY);
+                CACHES.put(connection, cache);
+            }
+            return cache;
+        }
+    }
+
+    /**
+     * Shortcut for {@code forConnection(connection).prepare(sql)}.
+     *
+     * @param connection The connection to prepare on.
+     * @param sql        The SQL text.
+     * @return A statement whose {@code close()} returns it to the cache.
+     * @throws SQLException if the statement cannot be prepared.
+     */
+    public static PreparedStatement prepare(Connection connection, String sql) throws SQLException {
+        return forConnection(connection).prepare(sql);
+    }
+
+    /**
+     * Closes and forgets the cached statements of a connection. Safe to call for
+     * connections that never used the cache.
+     *
+     * @param connection The connection about to be closed.
+     */
+    public static void release(Connection connection) {
+        SQLiteStatementCache cache;
+        synchronized (CACHES) {
+            cache = CACHES.remove(connection);
+        }
+        if (cache != null) {
+            cache.close();
+        }
+    }
+
+    /**
+     * @return Cache hits across all connections since startup.
+     */
+    public static long totalHits() {
+        return TOTAL_HITS.sum();
+    }
+
+    /**
+     * @return Cache misses across all connections since startup.
+     */
+    public static long totalMisses() {
+        return TOTAL_MISSES.sum();
+    }
+
+    /**
+     * Checks out the cached statement for {@code sql}, preparing a new one on a
+     * miss.
+     *
+     * @param sql The SQL text.
+     * @return A statement whose {@code close()} returns it to the cache.
+     * @throws SQLException if the statement cannot be prepared.
+     */
+    public PreparedStatement prepare(String sql) throws SQLException {
+        PreparedStatement statement;
+        synchronized (this) {
+            statement = closed ? null : idle.remove(sql);
+        }
+        if (statement != null) {
+            hits.increment();
+            TOTAL_HITS.increment();
+        } else {
+            misses.increment();
+            TOTAL_MISSES.increment();
+            statement = connection.prepareStatement(sql);
+        }
+        return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                new Class<?>[] { PreparedStatement.class }, new CheckedOutStatement(sql, statement));
+    }
+
+    /**
+     * @return Number of statements served from the cache.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return Number of statements that had to be prepared.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return Number of idle statements closed to make room.
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return Number of idle statements currently cached.
+     */
+    public synchronized int size() {
+        return idle.size();
+    }
+
+    private void checkIn(String sql, PreparedStatement statement) {
+        List<PreparedStatement> toClose = new ArrayList<>(1);
+        try {
+            statement.clearParameters();
+            statement.clearBatch();
+        } catch (SQLException e) {
+            toClose.add(statement);
+            statement = null;
+        }
+        if (statement != null) {
+            synchronized (this) {
+                if (closed || idle.containsKey(sql)) {
+                    toClose.add(statement);
+                } else {
+                    idle.put(sql, statement);
+                    Iterator<PreparedStatement> eldest = idle.values().iterator();
+                    while (idle.size() > capacity && eldest.hasNext()) {
+                        toClose.add(eldest.next());
+                        eldest.remove();
+                        evictions.increment();
+                    }
+                }
+            }
+        }
+        toClose.forEach(SQLiteStatementCache::closeQuietly);
+    }
+
+    private void close() {
+        List<PreparedStatement> toClose;
+        synchronized (this) {
+            closed = true;
+            toClose = new ArrayList<>(idle.values());
+            idle.clear();
+        }
+        toClose.forEach(SQLiteStatementCache::closeQuietly);
+    }
+
+    private static void pruneClosedConnections() {
+        Iterator<Map.Entry<Connection, SQLiteStatementCache>> it = CACHES.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Connection, SQLiteStatementCache> entry = it.next();
+            SQLiteStatementCache cache = entry.getValue();
+            boolean connectionClosed;
+            try {
+                connectionClosed = entry.getKey().isClosed();
+            } catch (SQLException e) {
+                connectionClosed = true;
+            }
+            if (connectionClosed) {
+                it.remove();
+                cache.close();
+            }
+        }
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            logger.log(Level.FINE, "Error closing cached statement: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Proxy handler that turns {@code close()} into a check-in.
+     */
+    private final class CheckedOutStatement implements InvocationHandler {
+
+        private final String sql;
+        private final PreparedStatement statement;
+        private boolean returned = false;
+
+        private CheckedOutStatement(String sql, PreparedStatement statement) {
+            this.sql = sql;
+            this.statement = statement;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        checkIn(sql, statement);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || statement.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CachedStatement[" + sql + "]";
+                default:
+                    if (returned) {
+                        throw new SQLException("Statement has been returned to the cache");
+                    }
+                    try {
+                        return method.invoke(statement, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+            }
+        }
+    }
+}
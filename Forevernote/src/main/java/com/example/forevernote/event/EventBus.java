@@ -1,23 +1,42 @@
 package com.example.forevernote.event;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import com.example.forevernote.config.LoggerConfig;
+import com.example.forevernote.metrics.Counter;
+import com.example.forevernote.metrics.MetricsRegistry;
+import com.example.forevernote.metrics.Timer;
 import javafx.application.Platform;
 
 /**
  * A simple event bus for decoupled communication between application components.
  * 
  * <p>The EventBus follows the publish-subscribe pattern, allowing components to
- * communicate without direct dependencies. Events are dispatched asynchronously
+ * communicate without direct dependencies. By default events are dispatched
  * on the JavaFX Application Thread to ensure thread safety for UI updates.</p>
  * 
+ * <p>Each subscriber chooses a {@link Delivery}: on the FX thread (the default),
+ * on a background thread, or coalesced on the FX thread so that a burst of
+ * events with the same key only delivers the latest one. All FX deliveries
+ * queued from other threads are drained by a single {@code Platform.runLater}
+ * per pulse, and every subscriber keeps its own queue with depth counters,
+ * see {@link #getSubscriberStats()}.</p>
+ * 
  * <h2>Usage Example:</h2>
  * <pre>{@code
  * // Subscribe to an event
@@ -25,6 +44,10 @@ import javafx.application.Platform;
  *     System.out.println("Note saved: " + event.getNote().getTitle());
  * });
  * 
+ * // Only the latest modification per note, once per pulse
+ * EventBus.getInstance().subscribe(NoteModifiedEvent.class,
+ *         EventBus.Delivery.coalesced(event -> event.getNote().getId()), this::refresh);
+ * 
  * // Publish an event
  * EventBus.getInstance().publish(new NoteSavedEvent(note));
  * }</pre>
@@ -36,17 +59,42 @@ public class EventBus {
     
     private static final Logger logger = LoggerConfig.getLogger(EventBus.class);
     
+    private static final int BACKGROUND_THREADS = Math.max(1,
+            Math.min(2, Runtime.getRuntime().availableProcessors() / 2));
+    
+    private static final Counter PUBLISHED = MetricsRegistry.getInstance().counter("eventbus.published");
+    private static final Timer HANDLER_TIMER = MetricsRegistry.getInstance().timer("eventbus.handler");
+    
     // Singleton instance
     private static EventBus instance;
     
     // Map of event types to their subscribers
-    private final Map<Class<? extends AppEvent>, List<Consumer<? extends AppEvent>>> subscribers;
+    private final Map<Class<? extends AppEvent>, List<Subscriber>> subscribers;
+    
+    // Subscribers of each published class and its supertypes, most specific
+    // first. Replaced whenever a subscription changes, so a table resolved from
+    // stale subscribers only ever lands in a discarded generation.
+    private volatile Map<Class<?>, Subscriber[]> dispatchTable = new ConcurrentHashMap<>();
+    
+    // FX deliveries queued from other threads, drained by one runLater at a time
+    private final ConcurrentLinkedQueue<Pending> fxQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean fxDrainScheduled = new AtomicBoolean(false);
+    private final Runnable fxDrain = this::drainFx;
+    private final AtomicLong backgroundThreadCounter = new AtomicLong(0);
+    private final ExecutorService backgroundExecutor = Executors.newFixedThreadPool(BACKGROUND_THREADS, r -> {
+        Thread t = new Thread(r, "forevernote-events-" + backgroundThreadCounter.incrementAndGet());
+        t.setDaemon(true);
+        return t;
+    });
     
     /**
      * Private constructor for singleton pattern.
      */
     private EventBus() {
         this.subscribers = new ConcurrentHashMap<>();
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        metrics.gauge("eventbus.subscribers", () -> subscribers.values().stream().mapToLong(List::size).sum());
+        metrics.gauge("eventbus.fxQueue", fxQueue::size);
         logger.info("EventBus initialized");
     }
     
@@ -63,7 +111,9 @@ public class EventBus {
     }
     
     /**
-     * Subscribes to a specific event type.
+     * Subscribes to a specific event type, delivered on the JavaFX Application
+     * Thread. Subscribing to a supertype, e.g. {@link AppEvent} itself, also
+     * receives every event of its subclasses.
      * 
      * @param <T>       The event type
      * @param eventType The class of the event to subscribe to
@@ -71,33 +121,65 @@ public class EventBus {
      * @return A Subscription object that can be used to unsubscribe
      */
     public <T extends AppEvent> Subscription subscribe(Class<T> eventType, Consumer<T> handler) {
-        @SuppressWarnings("unchecked")
-        Consumer<? extends AppEvent> typedHandler = (Consumer<? extends AppEvent>) handler;
+        return subscribe(eventType, Delivery.fx(), handler);
+    }
+    
+    /**
+     * Subscribes to a specific event type with the given delivery.
+     * 
+     * @param <T>       The event type
+     * @param eventType The class of the event to subscribe to
+     * @param delivery  Where and how events reach the handler
+     * @param handler   The handler to call when the event is published
+     * @return A Subscription object that can be used to unsubscribe
+     */
+    public <T extends AppEvent> Subscription subscribe(Class<T> eventType, Delivery<? super T> delivery,
+            Consumer<T> handler) {
+        Subscriber subscriber = Subscriber.of(eventType, delivery, handler);
         subscribers.computeIfAbsent(eventType, k -> new CopyOnWriteArrayList<>())
-                   .add(typedHandler);
-        logger.fine("Subscribed to event: " + eventType.getSimpleName());
+                   .add(subscriber);
+        dispatchTable = new ConcurrentHashMap<>();
+        if (logger.isLoggable(Level.FINE)) {
+            logger.fine("Subscribed to event: " + eventType.getSimpleName() + " (" + delivery.mode() + ")");
+        }
         
         return new Subscription(() -> unsubscribe(eventType, handler));
     }
     
     /**
      * Unsubscribes from a specific event type.
+     * Events already queued for the handler are dropped.
      * 
      * @param <T>       The event type
      * @param eventType The class of the event
      * @param handler   The handler to remove
      */
     public <T extends AppEvent> void unsubscribe(Class<T> eventType, Consumer<T> handler) {
-        List<Consumer<? extends AppEvent>> handlers = subscribers.get(eventType);
+        List<Subscriber> handlers = subscribers.get(eventType);
         if (handlers != null) {
-            handlers.remove(handler);
-            logger.fine("Unsubscribed from event: " + eventType.getSimpleName());
+            for (Subscriber subscriber : handlers) {
+                if (subscriber.handler == handler) {
+                    subscriber.cancelled = true;
+                    handlers.remove(subscriber);
+                    dispatchTable = new ConcurrentHashMap<>();
+                    if (logger.isLoggable(Level.FINE)) {
+                        logger.fine("Unsubscribed from event: " + eventType.getSimpleName());
+                    }
+                    break;
+                }
+            }
         }
     }
     
     /**
      * Publishes an event to all subscribers.
-     * The event is dispatched on the JavaFX Application Thread.
+     * FX subscribers are called right away when publishing from the JavaFX
+     * Application Thread and in publish order on it otherwise; background and
+     * coalesced subscribers are always queued. Subscribers of the event's class
+     * are called before subscribers of its supertypes.
+     * 
+     * <p>Publishing to FX subscribers on the JavaFX Application Thread allocates
+     * nothing; queued deliveries cost one queue entry each.</p>
      * 
      * @param <T>   The event type
      * @param event The event to publish
@@ -107,24 +189,54 @@ public class EventBus {
             logger.warning("Attempted to publish null event");
             return;
         }
+        PUBLISHED.increment();
         
-        Class<?> eventClass = event.getClass();
-        List<Consumer<? extends AppEvent>> handlers = subscribers.get(eventClass);
+        Subscriber[] handlers = subscribersOf(event.getClass());
         
-        if (handlers != null && !handlers.isEmpty()) {
-            logger.fine("Publishing event: " + eventClass.getSimpleName() + " to " + handlers.size() + " subscribers");
+        if (handlers.length > 0) {
+            if (logger.isLoggable(Level.FINE)) {
+                logger.fine("Publishing event: " + event.getClass().getSimpleName() + " to " + handlers.length
+                        + " subscribers");
+            }
             
-            // Ensure events are processed on the JavaFX Application Thread
-            if (Platform.isFxApplicationThread()) {
-                dispatchEvent(event, handlers);
-            } else {
-                Platform.runLater(() -> dispatchEvent(event, handlers));
+            boolean onFxThread = Platform.isFxApplicationThread();
+            boolean fxQueued = false;
+            for (Subscriber subscriber : handlers) {
+                switch (subscriber.delivery.mode()) {
+                    case FX -> {
+                        if (onFxThread) {
+                            deliver(subscriber, event);
+                        } else {
+                            subscriber.enqueued();
+                            fxQueue.add(new Pending(subscriber, event));
+                            fxQueued = true;
+                        }
+                    }
+                    case BACKGROUND -> {
+                        subscriber.enqueued();
+                        subscriber.queue.add(event);
+                        if (subscriber.scheduled.compareAndSet(false, true)) {
+                            backgroundExecutor.execute(subscriber.drain);
+                        }
+                    }
+                    case COALESCED -> {
+                        // One marker per batch; later events only replace the pending one
+                        if (subscriber.coalesce(event) && subscriber.scheduled.compareAndSet(false, true)) {
+                            fxQueue.add(subscriber.coalescedMarker);
+                            fxQueued = true;
+                        }
+                    }
+                }
+            }
+            if (fxQueued) {
+                scheduleFxDrain();
             }
         }
     }
     
     /**
      * Publishes an event synchronously (blocks until all handlers complete).
+     * Handlers run on the calling thread whatever their delivery.
      * Use with caution - only for cases where synchronous execution is required.
      * 
      * @param <T>   The event type
@@ -134,34 +246,101 @@ public class EventBus {
         if (event == null) {
             return;
         }
+        PUBLISHED.increment();
         
-        List<Consumer<? extends AppEvent>> handlers = subscribers.get(event.getClass());
-        if (handlers != null) {
-            dispatchEvent(event, handlers);
+        for (Subscriber subscriber : subscribersOf(event.getClass())) {
+            deliver(subscriber, event);
         }
     }
     
-    /**
-     * Dispatches an event to all handlers.
-     */
-    @SuppressWarnings("unchecked")
-    private <T extends AppEvent> void dispatchEvent(T event, List<Consumer<? extends AppEvent>> handlers) {
-        for (Consumer<? extends AppEvent> handler : handlers) {
+    private Subscriber[] subscribersOf(Class<?> eventClass) {
+        Map<Class<?>, Subscriber[]> table = dispatchTable;
+        Subscriber[] handlers = table.get(eventClass);
+        if (handlers == null) {
+            handlers = resolveSubscribers(eventClass);
+            table.put(eventClass, handlers);
+        }
+        return handlers;
+    }
+    
+    private Subscriber[] resolveSubscribers(Class<?> eventClass) {
+        List<Subscriber> resolved = new ArrayList<>();
+        for (Class<?> type = eventClass; type != null && AppEvent.class.isAssignableFrom(type);
+                type = type.getSuperclass()) {
+            List<Subscriber> handlers = subscribers.get(type);
+            if (handlers != null) {
+                resolved.addAll(handlers);
+            }
+        }
+        return resolved.toArray(new Subscriber[0]);
+    }
+    
+    private void scheduleFxDrain() {
+        if (fxDrainScheduled.compareAndSet(false, true)) {
             try {
-                ((Consumer<T>) handler).accept(event);
-            } catch (Exception e) {
-                logger.log(Level.SEVERE,
-                        "Error handling event " + event.getClass().getSimpleName(),
-                        e);
+                Platform.runLater(fxDrain);
+            } catch (IllegalStateException e) {
+                fxDrainScheduled.set(false);
+                throw e;
+            }
+        }
+    }
+    
+    private void drainFx() {
+        fxDrainScheduled.set(false);
+        Pending pending;
+        while ((pending = fxQueue.poll()) != null) {
+            Subscriber subscriber = pending.subscriber();
+            if (pending.event() != null) {
+                subscriber.dequeued();
+                deliver(subscriber, pending.event());
+            } else {
+                subscriber.scheduled.set(false);
+                for (AppEvent event : subscriber.takeCoalesced()) {
+                    deliver(subscriber, event);
+                }
             }
         }
     }
     
+    private static void drainBackground(Subscriber subscriber) {
+        do {
+            AppEvent event;
+            while ((event = subscriber.queue.poll()) != null) {
+                subscriber.dequeued();
+                deliver(subscriber, event);
+            }
+            subscriber.scheduled.set(false);
+        } while (!subscriber.queue.isEmpty() && subscriber.scheduled.compareAndSet(false, true));
+    }
+    
+    /**
+     * Dispatches an event to one handler, timing it as {@code eventbus.handler}.
+     */
+    private static void deliver(Subscriber subscriber, AppEvent event) {
+        if (subscriber.cancelled) {
+            return;
+        }
+        subscriber.delivered.incrementAndGet();
+        long start = System.nanoTime();
+        try {
+            subscriber.dispatch.accept(event);
+        } catch (Exception e) {
+            logger.log(Level.SEVERE,
+                    "Error handling event " + event.getClass().getSimpleName(),
+                    e);
+        } finally {
+            HANDLER_TIMER.recordSince(start);
+        }
+    }
+    
     /**
      * Clears all subscribers. Useful for testing or reset.
      */
     public void clear() {
+        subscribers.values().forEach(handlers -> handlers.forEach(subscriber -> subscriber.cancelled = true));
         subscribers.clear();
+        dispatchTable = new ConcurrentHashMap<>();
         logger.info("EventBus cleared");
     }
     
@@ -172,10 +351,175 @@ public class EventBus {
      * @return The subscriber count
      */
     public int getSubscriberCount(Class<? extends AppEvent> eventType) {
-        List<Consumer<? extends AppEvent>> handlers = subscribers.get(eventType);
+        List<Subscriber> handlers = subscribers.get(eventType);
         return handlers != null ? handlers.size() : 0;
     }
     
+    /**
+     * Gets the queue counters of every current subscriber.
+     * 
+     * @return One entry per subscriber
+     */
+    public List<SubscriberStats> getSubscriberStats() {
+        List<SubscriberStats> stats = new ArrayList<>();
+        subscribers.values().forEach(handlers -> handlers.forEach(subscriber -> stats.add(new SubscriberStats(
+                subscriber.eventType.getSimpleName(),
+                subscriber.delivery.mode(),
+                subscriber.depth.get(),
+                subscriber.maxDepth.get(),
+                subscriber.delivered.get(),
+                subscriber.coalesced.get()))));
+        return stats;
+    }
+    
+    /**
+     * How events reach a subscriber.
+     * 
+     * @param <T> The event type
+     */
+    public static final class Delivery<T extends AppEvent> {
+        
+        /**
+         * Thread and batching of a delivery.
+         */
+        public enum Mode {
+            /** On the JavaFX Application Thread, every event. */
+            FX,
+            /** On a background thread, every event, in publish order. */
+            BACKGROUND,
+            /** On the JavaFX Application Thread, only the latest event per key. */
+            COALESCED
+        }
+        
+        private static final Delivery<AppEvent> FX_DELIVERY = new Delivery<>(Mode.FX, null);
+        private static final Delivery<AppEvent> BACKGROUND_DELIVERY = new Delivery<>(Mode.BACKGROUND, null);
+        
+        private final Mode mode;
+        private final Function<? super T, ?> key;
+        
+        private Delivery(Mode mode, Function<? super T, ?> key) {
+            this.mode = mode;
+            this.key = key;
+        }
+        
+        /**
+         * Every event on the JavaFX Application Thread. The default.
+         */
+        public static Delivery<AppEvent> fx() {
+            return FX_DELIVERY;
+        }
+        
+        /**
+         * Every event on a background thread, one at a time per subscriber.
+         * For handlers that do not touch the UI.
+         */
+        public static Delivery<AppEvent> background() {
+            return BACKGROUND_DELIVERY;
+        }
+        
+        /**
+         * Latest-wins delivery on the JavaFX Application Thread: events published
+         * before the next pulse replace earlier ones with the same key.
+         * 
+         * @param <T> The event type
+         * @param key Key of an event, e.g. the id of the note it is about
+         */
+        public static <T extends AppEvent> Delivery<T> coalesced(Function<? super T, ?> key) {
+            return new Delivery<>(Mode.COALESCED, key);
+        }
+        
+        public Mode mode() {
+            return mode;
+        }
+    }
+    
+    /**
+     * Queue counters of one subscriber.
+     * 
+     * @param eventType     Simple name of the subscribed event type
+     * @param mode          Delivery mode
+     * @param queueDepth    Events waiting for delivery
+     * @param maxQueueDepth Highest queue depth seen
+     * @param delivered     Events passed to the handler
+     * @param coalesced     Events replaced by a later one before delivery
+     */
+    public record SubscriberStats(String eventType, Delivery.Mode mode, int queueDepth, int maxQueueDepth,
+            long delivered, long coalesced) {
+    }
+    
+    private record Pending(Subscriber subscriber, AppEvent event) {
+    }
+    
+    private static final class Subscriber {
+        final Class<? extends AppEvent> eventType;
+        final Delivery<?> delivery;
+        final Consumer<?> handler;
+        // Checked views of handler and key, built once per subscription
+        final Consumer<AppEvent> dispatch;
+        final Function<AppEvent, ?> key;
+        final Runnable drain = () -> drainBackground(this);
+        final Pending coalescedMarker = new Pending(this, null);
+        final ConcurrentLinkedQueue<AppEvent> queue = new ConcurrentLinkedQueue<>();
+        // Coalesced events by key, guarded by this
+        final Map<Object, AppEvent> latest = new LinkedHashMap<>();
+        final AtomicBoolean scheduled = new AtomicBoolean(false);
+        final AtomicInteger depth = new AtomicInteger(0);
+        final AtomicInteger maxDepth = new AtomicInteger(0);
+        final AtomicLong delivered = new AtomicLong(0);
+        final AtomicLong coalesced = new AtomicLong(0);
+        volatile boolean cancelled = false;
+        
+        private Subscriber(Class<? extends AppEvent> eventType, Delivery<?> delivery, Consumer<?> handler,
+                Consumer<AppEvent> dispatch, Function<AppEvent, ?> key) {
+            this.eventType = eventType;
+            this.delivery = delivery;
+            this.handler = handler;
+            this.dispatch = dispatch;
+            this.key = key;
+        }
+        
+        static <T extends AppEvent> Subscriber of(Class<T> eventType, Delivery<? super T> delivery,
+                Consumer<T> handler) {
+            Consumer<AppEvent> dispatch = event -> handler.accept(eventType.cast(event));
+            return new Subscriber(eventType, delivery, handler, dispatch, keyOf(eventType, delivery));
+        }
+        
+        private static <E extends AppEvent> Function<AppEvent, ?> keyOf(Class<? extends E> eventType,
+                Delivery<E> delivery) {
+            Function<? super E, ?> key = delivery.key;
+            return key != null ? event -> key.apply(eventType.cast(event)) : null;
+        }
+        
+        void enqueued() {
+            maxDepth.accumulateAndGet(depth.incrementAndGet(), Math::max);
+        }
+        
+        void dequeued() {
+            depth.decrementAndGet();
+        }
+        
+        /**
+         * Stores the event as the latest for its key.
+         * 
+         * @return true if it is the first event waiting for delivery
+         */
+        synchronized boolean coalesce(AppEvent event) {
+            if (latest.put(key.apply(event), event) != null) {
+                coalesced.incrementAndGet();
+            } else {
+                enqueued();
+            }
+            return latest.size() == 1;
+        }
+        
+        synchronized List<AppEvent> takeCoalesced() {
+            List<AppEvent> events = new ArrayList<>(latest.values());
+            depth.addAndGet(-events.size());
+            latest.clear();
+            return events;
+        }
+    }
+    
     /**
      * Represents a subscription that can be cancelled.
      */
@@ -0,0 +1,89 @@
+package com.example.forevernote.event.events;
+
+import com.example.forevernote.event.AppEvent;
+
+/**
+ * Events for changes made to a filesystem vault outside the application.
+ */
+public final class VaultEvents {
+
+    private VaultEvents() {
+    }
+
+    public enum ChangeKind {
+        CREATED, MODIFIED, DELETED, RENAMED
+    }
+
+    public static class NoteFileChangedEvent extends AppEvent {
+        private final ChangeKind kind;
+        private final String noteId;
+        private final String previousNoteId;
+
+        public NoteFileChangedEvent(ChangeKind kind, String noteId, String previousNoteId) {
+            this.kind = kind;
+            this.noteId = noteId;
+            this.previousNoteId = previousNoteId;
+        }
+
+        public ChangeKind getKind() {
+            return kind;
+        }
+
+        public String getNoteId() {
+            return noteId;
+        }
+
+        /**
+         * @return The note id before a rename, otherwise null.
+         */
+        public String getPreviousNoteId() {
+            return previousNoteId;
+        }
+    }
+
+    public static class FolderFileChangedEvent extends AppEvent {
+        private final ChangeKind kind;
+        private final String folderId;
+        private final String previousFolderId;
+
+        public FolderFileChangedEvent(ChangeKind kind, String folderId, String previousFolderId) {
+            this.kind = kind;
+            this.folderId = folderId;
+            this.previousFolderId = previousFolderId;
+        }
+
+        public ChangeKind getKind() {
+            return kind;
+        }
+
+        public String getFolderId() {
+            return folderId;
+        }
+
+        public String getPreviousFolderId() {
+            return previousFolderId;
+        }
+    }
+
+    /**
+     * Published after the watcher lost events and the vault was rescanned.
+     */
+    public static class VaultRescannedEvent extends AppEvent {
+    }
+
+    /**
+     * Published once per batch of external changes, after the fine-grained
+     * events, so views can refresh a single time.
+     */
+    public static class ExternalChangesAppliedEvent extends AppEvent {
+        private final int changeCount;
+
+        public ExternalChangesAppliedEvent(int changeCount) {
+            this.changeCount = changeCount;
+        }
+
+        public int getChangeCount() {
+            return changeCount;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.forevernote.metrics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.example.forevernote.config.LoggerConfig;
+
+/**
+ * Process-wide registry of runtime performance metrics.
+ *
+ * <p>Three kinds of metric are kept, each identified by a dotted name such as
+ * {@code dao.note.fetchAllNotes} or {@code preview.render}:</p>
+ * <ul>
+ * <li>{@link Counter}s count events.</li>
+ * <li>{@link Timer}s keep a latency distribution with percentiles.</li>
+ * <li>Gauges read a current value, e.g. a queue depth, when a snapshot is
+ * taken.</li>
+ * </ul>
+ *
+ * <p>Metrics are created on first use and live for the whole process, so hot
+ * paths look them up once and keep the instance. {@link #snapshot()} collects
+ * every value for the diagnostics panel or a JSON export.</p>
+ *
+ * <h2>Usage Example:</h2>
+ * <pre>{@code
+ * private static final Timer RENDER_TIMER = MetricsRegistry.getInstance().timer("preview.render");
+ *
+ * long start = System.nanoTime();
+ * render();
+ * RENDER_TIMER.recordSince(start);
+ * }</pre>
+ */
+public final class MetricsRegistry {
+
+    private static final Logger logger = LoggerConfig.getLogger(MetricsRegistry.class);
+
+    private static final MetricsRegistry INSTANCE = new MetricsRegistry();
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+
+    private MetricsRegistry() {
+        Runtime runtime = Runtime.getRuntime();
+        gauge("jvm.heap.usedBytes", () -> runtime.totalMemory() - runtime.freeMemory());
+        gauge("jvm.heap.maxBytes", runtime::maxMemory);
+        gauge("jvm.threads", Thread::activeCount);
+    }
+
+    /**
+     * Gets the singleton instance of the registry.
+     *
+     * @return The registry
+     */
+    public static MetricsRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @param name The counter name
+     * @return The counter with that name, created if needed
+     */
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, Counter::new);
+    }
+
+    /**
+     * @param name The timer name
+     * @return The timer with that name, created if needed
+     */
+    public Timer timer(String name) {
+        return timers.computeIfAbsent(name, Timer::new);
+    }
+
+    /**
+     * Registers a gauge, replacing any previous one with the same name. The
+     * supplier is called from whichever thread takes a snapshot, so it must be
+     * thread-safe and cheap.
+     *
+     * @param name     The gauge name
+     * @param supplier Reads the current value
+     */
+    public void gauge(String name, LongSupplier supplier) {
+        gauges.put(name, supplier);
+    }
+
+    /**
+     * Removes a gauge, e.g. when the component it reads is disposed.
+     *
+     * @param name The gauge name
+     */
+    public void removeGauge(String name) {
+        gauges.remove(name);
+    }
+
+    /**
+     * Wraps {@code target} so that every call through {@code type} is timed by
+     * a timer named {@code prefix + "." + methodName}. Overloads share a timer.
+     * Exceptions thrown by the target reach the caller unchanged.
+     *
+     * @param <T>    The interface type
+     * @param type   The interface to time
+     * @param target The implementation, may be null
+     * @param prefix The timer name prefix, e.g. {@code dao.note}
+     * @return The timed proxy, or null if {@code target} is null
+     */
+    public <T> T instrument(Class<T> type, T target, String prefix) {
+        if (target == null) {
+            return null;
+        }
+        Map<Method, Timer> methodTimers = new ConcurrentHashMap<>();
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                // Keep proxy identity for equals/hashCode so it works as a map key
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    default:
+                        return method.invoke(target, args);
+                }
+            }
+            Timer timer = methodTimers.computeIfAbsent(method, m -> {
+                // Proxy hands out the same Method per call site; non-public interfaces need this once
+                m.trySetAccessible();
+                return timer(prefix + "." + m.getName());
+            });
+            long start = System.nanoTime();
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            } finally {
+                timer.recordSince(start);
+            }
+        };
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, handler));
+    }
+
+    /**
+     * Reads every metric.
+     *
+     * @return The values, sorted by name within each kind
+     */
+    public MetricsSnapshot snapshot() {
+        List<MetricsSnapshot.CounterValue> counterValues = new ArrayList<>(counters.size());
+        for (Counter counter : counters.values()) {
+            counterValues.add(new MetricsSnapshot.CounterValue(counter.getName(), counter.getCount()));
+        }
+        counterValues.sort(Comparator.comparing(MetricsSnapshot.CounterValue::name));
+
+        List<MetricsSnapshot.TimerValue> timerValues = new ArrayList<>(timers.size());
+        for (Timer timer : timers.values()) {
+            timerValues.add(timer.snapshot());
+        }
+        timerValues.sort(Comparator.comparing(MetricsSnapshot.TimerValue::name));
+
+        List<MetricsSnapshot.GaugeValue> gaugeValues = new ArrayList<>(gauges.size());
+        for (Map.Entry<String, LongSupplier> gauge : gauges.entrySet()) {
+            Long value;
+            try {
+                value = gauge.getValue().getAsLong();
+            } catch (RuntimeException e) {
+                logger.log(Level.FINE, "Gauge " + gauge.getKey() + " failed", e);
+                value = null;
+            }
+            gaugeValues.add(new MetricsSnapshot.GaugeValue(gauge.getKey(), value));
+        }
+        gaugeValues.sort(Comparator.comparing(MetricsSnapshot.GaugeValue::name));
+
+        return new MetricsSnapshot(System.currentTimeMillis(), List.copyOf(counterValues),
+                List.copyOf(timerValues), List.copyOf(gaugeValues));
+    }
+
+    /**
+     * Zeroes every counter and timer. Gauges and registrations are kept.
+     */
+    public void reset() {
+        counters.values().forEach(Counter::reset);
+        timers.values().forEach(Timer::reset);
+        logger.info("Metrics reset");
+    }
+}
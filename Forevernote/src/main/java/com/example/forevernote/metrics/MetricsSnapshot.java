@@ -0,0 +1,103 @@
+package com.example.forevernote.metrics;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Point-in-time values of every registered metric, sorted by name.
+ *
+ * @param capturedAtMillis Wall-clock time of the snapshot.
+ * @param counters         Counter values.
+ * @param timers           Timer distributions.
+ * @param gauges           Gauge readings.
+ */
+public record MetricsSnapshot(long capturedAtMillis, List<CounterValue> counters, List<TimerValue> timers,
+        List<GaugeValue> gauges) {
+
+    public record CounterValue(String name, long count) {
+    }
+
+    /**
+     * Durations are in nanoseconds; percentiles are within about 3%.
+     */
+    public record TimerValue(String name, long count, long totalNanos, long minNanos, long meanNanos,
+            long p50Nanos, long p90Nanos, long p99Nanos, long p999Nanos, long maxNanos) {
+    }
+
+    /**
+     * @param value The reading, or null if the gauge failed.
+     */
+    public record GaugeValue(String name, Long value) {
+    }
+
+    /**
+     * Renders the snapshot as JSON, with durations in milliseconds.
+     *
+     * @return A JSON object with {@code capturedAt}, {@code counters},
+     *         {@code timers} and {@code gauges} members.
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder(256 + 192 * timers.size());
+        json.append("{\n  \"capturedAt\": ").append(capturedAtMillis).append(",\n  \"counters\": {");
+        for (int i = 0; i < counters.size(); i++) {
+            CounterValue counter = counters.get(i);
+            json.append(i == 0 ? "\n    " : ",\n    ");
+            appendString(json, counter.name());
+            json.append(": ").append(counter.count());
+        }
+        json.append(counters.isEmpty() ? "},\n  \"timers\": {" : "\n  },\n  \"timers\": {");
+        for (int i = 0; i < timers.size(); i++) {
+            TimerValue timer = timers.get(i);
+            json.append(i == 0 ? "\n    " : ",\n    ");
+            appendString(json, timer.name());
+            json.append(": {\"count\": ").append(timer.count())
+                    .append(", \"totalMs\": ").append(millis(timer.totalNanos()))
+                    .append(", \"minMs\": ").append(millis(timer.minNanos()))
+                    .append(", \"meanMs\": ").append(millis(timer.meanNanos()))
+                    .append(", \"p50Ms\": ").append(millis(timer.p50Nanos()))
+                    .append(", \"p90Ms\": ").append(millis(timer.p90Nanos()))
+                    .append(", \"p99Ms\": ").append(millis(timer.p99Nanos()))
+                    .append(", \"p999Ms\": ").append(millis(timer.p999Nanos()))
+                    .append(", \"maxMs\": ").append(millis(timer.maxNanos()))
+                    .append('}');
+        }
+        json.append(timers.isEmpty() ? "},\n  \"gauges\": {" : "\n  },\n  \"gauges\": {");
+        for (int i = 0; i < gauges.size(); i++) {
+            GaugeValue gauge = gauges.get(i);
+            json.append(i == 0 ? "\n    " : ",\n    ");
+            appendString(json, gauge.name());
+            json.append(": ").append(gauge.value() == null ? "null" : gauge.value().toString());
+        }
+        json.append(gauges.isEmpty() ? "}\n}\n" : "\n  }\n}\n");
+        return json.toString();
+    }
+
+    /**
+     * @return Milliseconds with microsecond precision, e.g. {@code 12.345}.
+     */
+    public static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+
+    private static void appendString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        json.append('"');
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.forevernote.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Latency distribution of an operation, in nanoseconds.
+ *
+ * <p>Durations are counted in log-linear buckets as in HdrHistogram: every
+ * power of two is split into {@value #SUB_BUCKETS} equal buckets, so any
+ * percentile is reported within about 3% of the true value while recording
+ * stays a few atomic increments with no allocation.</p>
+ *
+ * <pre>{@code
+ * long start = System.nanoTime();
+ * doWork();
+ * timer.recordSince(start);
+ * }</pre>
+ */
+public final class Timer {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // Exact buckets below SUB_BUCKETS, then SUB_BUCKETS per power of two up to 2^63
+    private static final int BUCKET_COUNT = SUB_BUCKETS + (63 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final String name;
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong minNanos = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong maxNanos = new AtomicLong(0L);
+
+    Timer(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Records one duration. Negative durations count as zero.
+     */
+    public void record(long nanos) {
+        long value = Math.max(0L, nanos);
+        buckets.incrementAndGet(bucketOf(value));
+        count.increment();
+        totalNanos.add(value);
+        minNanos.accumulateAndGet(value, Math::min);
+        maxNanos.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Records the time elapsed since {@code startNanos}, a value of
+     * {@link System#nanoTime()}.
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    public void time(Runnable action) {
+        long start = System.nanoTime();
+        try {
+            action.run();
+        } finally {
+            recordSince(start);
+        }
+    }
+
+    public <T> T time(Supplier<T> action) {
+        long start = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            recordSince(start);
+        }
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @return A consistent-enough view for display; concurrent recordings may
+     *         be partly included.
+     */
+    public MetricsSnapshot.TimerValue snapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        long total = 0L;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        long min = total == 0 ? 0L : minNanos.get();
+        long max = maxNanos.get();
+        return new MetricsSnapshot.TimerValue(name, total, totalNanos.sum(), min,
+                total == 0 ? 0L : totalNanos.sum() / total,
+                percentile(counts, total, 0.50, min, max),
+                percentile(counts, total, 0.90, min, max),
+                percentile(counts, total, 0.99, min, max),
+                percentile(counts, total, 0.999, min, max),
+                max);
+    }
+
+    void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets.set(i, 0L);
+        }
+        count.reset();
+        totalNanos.reset();
+        minNanos.set(Long.MAX_VALUE);
+        maxNanos.set(0L);
+    }
+
+    private static long percentile(long[] counts, long total, double quantile, long min, long max) {
+        if (total == 0) {
+            return 0L;
+        }
+        long rank = Math.max(1L, (long) Math.ceil(quantile * total));
+        long seen = 0L;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                // Middle of the bucket, never outside what was actually recorded
+                return Math.max(min, Math.min(max, lowerBound(i) + (bucketWidth(i) - 1) / 2));
+            }
+        }
+        return max;
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int sub = (int) (value >>> shift) - SUB_BUCKETS;
+        return SUB_BUCKETS + shift * SUB_BUCKETS + sub;
+    }
+
+    static long lowerBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = (bucket - SUB_BUCKETS) / SUB_BUCKETS;
+        int sub = (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+        return (long) (SUB_BUCKETS + sub) << shift;
+    }
+
+    private static long bucketWidth(int bucket) {
+        return bucket < SUB_BUCKETS ? 1L : 1L << ((bucket - SUB_BUCKETS) / SUB_BUCKETS);
+    }
+}
@@ -8,6 +8,8 @@ import com.example.forevernote.data.models.Note;
 import com.example.forevernote.event.AppEvent;
 import com.example.forevernote.event.EventBus;
 import com.example.forevernote.event.events.NoteEvents;
+import com.example.forevernote.metrics.MetricsRegistry;
+import com.example.forevernote.metrics.Timer;
 import com.example.forevernote.service.FolderService;
 import com.example.forevernote.service.NoteService;
 import com.example.forevernote.service.TagService;
@@ -138,7 +140,7 @@ public class PluginContext {
     public void registerCommand(String name, String description, String shortcut, Runnable action) {
         if (commandPalette != null) {
             commandPalette.addCommand(new CommandPalette.Command(
-                    name, description, shortcut != null ? shortcut : "", ">", "Plugins", action));
+                    name, description, shortcut != null ? shortcut : "", ">", "Plugins", timed("command", action)));
             logger.fine("Plugin " + pluginId + " registered command: " + name);
         }
     }
@@ -176,7 +178,7 @@ public class PluginContext {
      */
     public void registerMenuItem(String category, String itemName, String shortcut, Runnable action) {
         if (menuRegistry != null) {
-            menuRegistry.registerMenuItem(pluginId, category, itemName, shortcut, action);
+            menuRegistry.registerMenuItem(pluginId, category, itemName, shortcut, timed("menu", action));
         }
     }
 
@@ -260,7 +262,26 @@ public class PluginContext {
      */
     public <T extends AppEvent> EventBus.Subscription subscribe(Class<T> eventType, Consumer<T> handler) {
         if (eventBus != null) {
-            return eventBus.subscribe(eventType, handler);
+            return eventBus.subscribe(eventType, timed(handler));
+        }
+        return EventBus.Subscription.NO_OP;
+    }
+
+    /**
+     * Subscribes to an event type with the given delivery, e.g.
+     * {@link EventBus.Delivery#background()} for handlers that do not touch the
+     * UI.
+     * 
+     * @param <T>       The event type
+     * @param eventType The event class
+     * @param delivery  Where and how events reach the handler
+     * @param handler   The event handler
+     * @return The subscription (can be used to unsubscribe)
+     */
+    public <T extends AppEvent> EventBus.Subscription subscribe(Class<T> eventType,
+            EventBus.Delivery<? super T> delivery, Consumer<T> handler) {
+        if (eventBus != null) {
+            return eventBus.subscribe(eventType, delivery, timed(handler));
         }
         return EventBus.Subscription.NO_OP;
     }
@@ -384,4 +405,30 @@ public class PluginContext {
             previewEnhancerRegistry.unregisterPreviewEnhancer(pluginId);
         }
     }
+
+    /**
+     * Times a plugin callback as {@code plugin.<id>.<kind>}.
+     */
+    private Runnable timed(String kind, Runnable action) {
+        if (action == null) {
+            return null;
+        }
+        Timer timer = MetricsRegistry.getInstance().timer("plugin." + pluginId + "." + kind);
+        return () -> timer.time(action);
+    }
+
+    private <T> Consumer<T> timed(Consumer<T> handler) {
+        if (handler == null) {
+            return null;
+        }
+        Timer timer = MetricsRegistry.getInstance().timer("plugin." + pluginId + ".event");
+        return event -> {
+            long start = System.nanoTime();
+            try {
+                handler.accept(event);
+            } finally {
+                timer.recordSince(start);
+            }
+        };
+    }
 }
@@ -10,6 +10,7 @@ import java.util.stream.Collectors;
 
 import com.example.forevernote.config.LoggerConfig;
 import com.example.forevernote.event.EventBus;
+import com.example.forevernote.metrics.MetricsRegistry;
 import com.example.forevernote.service.FolderService;
 import com.example.forevernote.service.NoteService;
 import com.example.forevernote.service.TagService;
@@ -201,7 +202,8 @@ public class PluginManager {
             pluginContexts.put(pluginId, context);
 
             // Initialize plugin
-            plugin.initialize(context);
+            MetricsRegistry.getInstance().timer("plugin." + pluginId + ".initialize")
+                    .time(() -> plugin.initialize(context));
 
             pluginStates.put(pluginId, PluginState.INITIALIZED);
             logger.info("Initialized plugin: " + plugin.getName() + " (" + pluginId + ")");
@@ -247,7 +249,7 @@ public class PluginManager {
         }
 
         try {
-            plugin.shutdown();
+            MetricsRegistry.getInstance().timer("plugin." + pluginId + ".shutdown").time(plugin::shutdown);
             pluginStates.put(pluginId, PluginState.DISABLED);
             logger.info("Shut down plugin: " + pluginId);
         } catch (Exception e) {
@@ -307,7 +309,7 @@ public class PluginManager {
         }
 
         try {
-            plugin.shutdown();
+            MetricsRegistry.getInstance().timer("plugin." + pluginId + ".shutdown").time(plugin::shutdown);
         } catch (Exception e) {
             logger.warning("Error while disabling plugin " + pluginId + ": " + e.getMessage());
         }
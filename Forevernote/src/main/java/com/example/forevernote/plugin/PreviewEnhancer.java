@@ -23,6 +23,12 @@ public interface PreviewEnhancer {
      * Hook to inject content into the end of the <body> section of the preview
      * HTML.
      * Useful for injecting JavaScript files or initialization scripts.
+     * <p>
+     * Scripts run once when the preview document loads. Later edits are patched
+     * into the loaded document block by block; after each patch the document
+     * fires a {@code forevernote:preview-patched} event whose {@code detail} is
+     * the array of inserted block elements.
+     * </p>
      * 
      * @return HTML string to inject into <body>, or empty string if none
      */
@@ -153,6 +153,16 @@ public class MermaidPlugin implements Plugin {
                     "  } else {\n" +
                     "      console.error('Mermaid object not defined after script load');\n" +
                     "  }\n" +
+                    "\n" +
+                    "  // Blocks patched into the page after load\n" +
+                    "  document.addEventListener('forevernote:preview-patched', function() {\n" +
+                    "    transformMermaid();\n" +
+                    "    if (typeof mermaid !== 'undefined') {\n" +
+                    "      try {\n" +
+                    "        mermaid.init(undefined, '.mermaid:not([data-processed])');\n" +
+                    "      } catch(e) { console.error('Mermaid render error: ' + e); }\n" +
+                    "    }\n" +
+                    "  });\n" +
                     "</script>\n";
         }
     }
@@ -2,8 +2,14 @@ package com.example.forevernote.service;
 
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
@@ -14,6 +20,7 @@ import com.example.forevernote.data.dao.interfaces.TagDAO;
 import com.example.forevernote.data.models.Folder;
 import com.example.forevernote.data.models.Note;
 import com.example.forevernote.data.models.Tag;
+import com.example.forevernote.service.search.NoteSearchIndex;
 
 /**
  * Service layer for note-related business logic.
@@ -40,6 +47,10 @@ public class NoteService {
 
     private final NoteDAO noteDAO;
     private final FolderDAO folderDAO;
+    private final NoteSearchIndex searchIndex;
+    private final Object searchIndexSyncLock = new Object();
+    private volatile boolean searchIndexReady = false;
+    private volatile Boolean databaseSearch;
 
     /**
      * Sorting options for notes list.
@@ -80,8 +91,21 @@ public class NoteService {
      * @param tagDAO    Data access object for tags
      */
     public NoteService(NoteDAO noteDAO, FolderDAO folderDAO, TagDAO tagDAO) {
+        this(noteDAO, folderDAO, tagDAO, new NoteSearchIndex());
+    }
+
+    /**
+     * Creates a new NoteService backed by the given full-text index.
+     * 
+     * @param noteDAO     Data access object for notes
+     * @param folderDAO   Data access object for folders
+     * @param tagDAO      Data access object for tags
+     * @param searchIndex Full-text index used by the search methods
+     */
+    public NoteService(NoteDAO noteDAO, FolderDAO folderDAO, TagDAO tagDAO, NoteSearchIndex searchIndex) {
         this.noteDAO = noteDAO;
         this.folderDAO = folderDAO;
+        this.searchIndex = searchIndex != null ? searchIndex : new NoteSearchIndex();
 
         logger.info("NoteService initialized");
     }
@@ -117,10 +141,30 @@ public class NoteService {
     public Note createNote(Note note) {
         String noteId = noteDAO.createNote(note);
         note.setId(noteId);
+        indexForSearch(note);
         logger.info("Created note: " + note.getTitle() + " (ID: " + noteId + ")");
         return note;
     }
 
+    /**
+     * Creates several notes in one storage batch. A note that fails does not
+     * stop the rest of the batch.
+     * 
+     * @param notes The notes to create (their parent is persisted if set)
+     * @return The IDs created and a message per note that failed
+     */
+    public NoteDAO.BatchResult createNotes(List<Note> notes) {
+        NoteDAO.BatchResult result = noteDAO.createNotes(notes);
+        Set<String> created = new HashSet<>(result.succeededIds());
+        for (Note note : notes) {
+            if (note != null && created.contains(note.getId())) {
+                indexForSearch(note);
+            }
+        }
+        logger.info("Created " + result.succeededCount() + " notes in batch (" + result.failedCount() + " failed)");
+        return result;
+    }
+
     /**
      * Creates a new note in a specific folder.
      * 
@@ -158,10 +202,45 @@ public class NoteService {
         if (note == null || note.getId() == null) {
             throw new IllegalArgumentException("Note or note ID cannot be null");
         }
+        String previousId = note.getId();
         noteDAO.updateNote(note);
+        if (!previousId.equals(note.getId())) {
+            // File-system storage renames the file (and therefore the ID) when the title changes.
+            searchIndex.removeNote(previousId);
+        }
+        indexForSearch(note);
         logger.info("Updated note: " + note.getTitle());
     }
 
+    /**
+     * Updates several notes in one storage batch.
+     * 
+     * @param notes The notes with updated data
+     * @return The IDs updated and a message per note that failed
+     */
+    public NoteDAO.BatchResult updateNotes(List<Note> notes) {
+        Map<Note, String> previousIds = new IdentityHashMap<>();
+        for (Note note : notes) {
+            if (note != null && note.getId() != null) {
+                previousIds.put(note, note.getId());
+            }
+        }
+        NoteDAO.BatchResult result = noteDAO.updateNotes(notes);
+        Set<String> updated = new HashSet<>(result.succeededIds());
+        for (Map.Entry<Note, String> entry : previousIds.entrySet()) {
+            Note note = entry.getKey();
+            if (!updated.contains(note.getId())) {
+                continue;
+            }
+            if (!entry.getValue().equals(note.getId())) {
+                searchIndex.removeNote(entry.getValue());
+            }
+            indexForSearch(note);
+        }
+        logger.info("Updated " + result.succeededCount() + " notes in batch (" + result.failedCount() + " failed)");
+        return result;
+    }
+
     /**
      * Moves a note to the trash (soft delete).
      * 
@@ -169,6 +248,7 @@ public class NoteService {
      */
     public void moveToTrash(String noteId) {
         noteDAO.deleteNote(noteId);
+        searchIndex.removeNote(noteId);
         logger.fine("Moved note to trash, ID: " + noteId);
     }
 
@@ -179,6 +259,7 @@ public class NoteService {
      */
     public void permanentlyDeleteNote(String noteId) {
         noteDAO.permanentlyDeleteNote(noteId);
+        searchIndex.removeNote(noteId);
         logger.fine("Permanently deleted note ID: " + noteId);
     }
 
@@ -189,6 +270,9 @@ public class NoteService {
      */
     public void restoreNote(String noteId) {
         noteDAO.restoreNote(noteId);
+        // The restored ID is storage specific (file-system notes leave .trash/), so
+        // let the next search reconcile the index against the live note set.
+        searchIndexReady = false;
         logger.fine("Restored note from trash, ID: " + noteId);
     }
 
@@ -287,20 +371,59 @@ public class NoteService {
     // ==================== Search Methods ====================
 
     /**
-     * Searches notes by title and content.
+     * Searches notes by title and content using the full-text index.
+     * Every term must match (as a whole word or word prefix); quoted text is
+     * matched as a phrase.
      * 
      * @param query The search query
-     * @return List of matching notes
+     * @return List of matching notes, most relevant first
      */
     public List<Note> searchNotes(String query) {
         if (query == null || query.trim().isEmpty()) {
             return getAllNotes();
         }
+        if (useDatabaseSearch()) {
+            return noteDAO.searchNotes(query, 0, 0).stream()
+                    .map(NoteDAO.NoteSearchResult::note)
+                    .collect(Collectors.toList());
+        }
+        prepareSearchIndex();
+        return noteDAO.fetchNotesByIds(NoteSearchIndex.noteIds(searchIndex.search(query)));
+    }
 
-        String searchLower = query.toLowerCase().trim();
-        return getAllNotes().stream()
-                .filter(note -> matchesSearch(note, searchLower))
-                .collect(Collectors.toList());
+    /**
+     * Searches notes and returns one page of ranked results. When the storage
+     * has a native full-text index (SQLite FTS5) the results carry highlighted
+     * snippets; otherwise the in-memory index is used and snippets are null.
+     * 
+     * @param query  The search query
+     * @param limit  Maximum number of results (zero or negative for all)
+     * @param offset Number of leading results to skip
+     * @return Ranked search results
+     */
+    public List<NoteDAO.NoteSearchResult> searchNotes(String query, int limit, int offset) {
+        if (query == null || query.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+        if (useDatabaseSearch()) {
+            return noteDAO.searchNotes(query, limit, offset);
+        }
+        prepareSearchIndex();
+        List<NoteSearchIndex.SearchHit> hits = searchIndex.search(query);
+        int from = Math.min(Math.max(0, offset), hits.size());
+        int to = limit > 0 ? Math.min(hits.size(), from + limit) : hits.size();
+        // Only the requested page is fetched; reconciliation keeps indexed ids in storage.
+        List<NoteSearchIndex.SearchHit> page = hits.subList(from, to);
+        Map<String, Note> byId = indexById(noteDAO.fetchNotesByIds(NoteSearchIndex.noteIds(page)));
+        List<NoteDAO.NoteSearchResult> results = new ArrayList<>(page.size());
+        for (NoteSearchIndex.SearchHit hit : page) {
+            Note note = byId.get(hit.noteId());
+            if (note != null) {
+                // bm25 in SQLite is "lower is better"; keep the same orientation.
+                results.add(new NoteDAO.NoteSearchResult(note, null, -hit.score()));
+            }
+        }
+        return results;
     }
 
     /**
@@ -308,32 +431,181 @@ public class NoteService {
      * 
      * @param query  The search query
      * @param folder The folder to search in (null for all notes)
-     * @return List of matching notes
+     * @return List of matching notes, most relevant first
      */
     public List<Note> searchNotesInFolder(String query, Folder folder) {
-        List<Note> notes = folder != null ? getNotesByFolder(folder) : getAllNotes();
+        if (folder == null) {
+            return searchNotes(query);
+        }
+        List<Note> notes = getNotesByFolder(folder);
 
         if (query == null || query.trim().isEmpty()) {
             return notes;
         }
+        if (useDatabaseSearch()) {
+            List<Note> matches = noteDAO.searchNotes(query, 0, 0).stream()
+                    .map(NoteDAO.NoteSearchResult::note)
+                    .collect(Collectors.toList());
+            return retainInOrder(matches.stream().map(Note::getId).collect(Collectors.toList()), notes);
+        }
+        return resolveSearchHits(query, notes);
+    }
 
-        String searchLower = query.toLowerCase().trim();
-        return notes.stream()
-                .filter(note -> matchesSearch(note, searchLower))
-                .collect(Collectors.toList());
+    /**
+     * Loads the persisted search index (if any) and brings it in line with the
+     * notes currently in storage. Safe to call from a background thread; search
+     * methods call it lazily on first use.
+     */
+    public void prepareSearchIndex() {
+        if (searchIndexReady || useDatabaseSearch()) {
+            return;
+        }
+        synchronized (searchIndexSyncLock) {
+            if (searchIndexReady) {
+                return;
+            }
+            long start = System.nanoTime();
+            // Only adopt the on-disk copy while the in-memory index is untouched;
+            // otherwise reconciliation alone rebuilds whatever is missing.
+            boolean fromDisk = !searchIndex.isDirty() && searchIndex.size() == 0 && searchIndex.load();
+            int reindexed = reconcileSearchIndex();
+            searchIndexReady = true;
+            if (reindexed > 0) {
+                searchIndex.compact();
+                searchIndex.save();
+            }
+            logger.info("Search index ready: notes=" + searchIndex.size() + ", reindexed=" + reindexed
+                    + ", fromDisk=" + fromDisk + ", ms=" + (System.nanoTime() - start) / 1_000_000L);
+        }
     }
 
     /**
-     * Checks if a note matches a search query.
-     * 
-     * @param note        The note to check
-     * @param searchLower The lowercase search query
-     * @return true if the note matches
+     * Forces the next search to re-check the index against storage, e.g. after
+     * notes were changed outside this service.
+     */
+    public void invalidateSearchIndex() {
+        searchIndexReady = false;
+    }
+
+    /**
+     * Persists pending search index changes to disk.
+     */
+    public void saveSearchIndex() {
+        searchIndex.save();
+    }
+
+    /**
+     * Whether search is delegated to the storage engine. Decided once, on first
+     * use, because it depends on the database schema rather than on the data.
+     */
+    private boolean useDatabaseSearch() {
+        Boolean enabled = databaseSearch;
+        if (enabled == null) {
+            enabled = noteDAO.supportsFullTextSearch();
+            databaseSearch = enabled;
+        }
+        return enabled;
+    }
+
+    private List<Note> resolveSearchHits(String query, List<Note> candidates) {
+        prepareSearchIndex();
+        return retainInOrder(NoteSearchIndex.noteIds(searchIndex.search(query)), candidates);
+    }
+
+    private List<Note> retainInOrder(List<String> rankedIds, List<Note> candidates) {
+        if (rankedIds.isEmpty() || candidates == null || candidates.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<String, Note> byId = indexById(candidates);
+        List<Note> result = new ArrayList<>(Math.min(rankedIds.size(), byId.size()));
+        for (String id : rankedIds) {
+            Note note = byId.get(id);
+            if (note != null) {
+                result.add(note);
+            }
+        }
+        return result;
+    }
+
+    private Map<String, Note> indexById(List<Note> notes) {
+        Map<String, Note> byId = new HashMap<>(notes.size() * 2);
+        for (Note note : notes) {
+            if (note != null && note.getId() != null) {
+                byId.put(note.getId(), note);
+            }
+        }
+        return byId;
+    }
+
+    private int reconcileSearchIndex() {
+        List<Note> liveNotes = getAllNotes();
+        Set<String> liveIds = new HashSet<>(liveNotes.size() * 2);
+        int reindexed = 0;
+        for (Note note : liveNotes) {
+            if (note == null || note.getId() == null || note.getId().isBlank()) {
+                continue;
+            }
+            liveIds.add(note.getId());
+            String indexedSignature = searchIndex.getSignature(note.getId());
+            String liveSignature = noteDAO.getChangeSignature(note);
+            Note source = note;
+            if (liveSignature == null || liveSignature.isEmpty()) {
+                // The storage cannot tell whether the note changed; compare the text itself.
+                source = loadFullNote(note);
+                liveSignature = contentSignature(source);
+            }
+            if (liveSignature.equals(indexedSignature)) {
+                continue;
+            }
+            if (source.getContent() == null || source.getContent().isEmpty()) {
+                // Lightweight listings (file-system storage) carry no body.
+                source = loadFullNote(note);
+            }
+            searchIndex.indexNote(source, liveSignature);
+            reindexed++;
+        }
+        for (String indexedId : searchIndex.indexedNoteIds()) {
+            if (!liveIds.contains(indexedId)) {
+                searchIndex.removeNote(indexedId);
+                reindexed++;
+            }
+        }
+        return reindexed;
+    }
+
+    private Note loadFullNote(Note note) {
+        try {
+            Note full = noteDAO.getNoteById(note.getId());
+            if (full != null) {
+                return full;
+            }
+        } catch (RuntimeException e) {
+            logger.log(Level.FINE, "Could not load note body for search index: " + note.getId(), e);
+        }
+        return note;
+    }
+
+    private void indexForSearch(Note note) {
+        if (note == null || note.getId() == null || useDatabaseSearch()) {
+            return;
+        }
+        searchIndex.indexNote(note, searchSignature(note));
+    }
+
+    /**
+     * Signature stored with an index entry; must match what
+     * {@link #reconcileSearchIndex()} computes for the unchanged note.
      */
-    private boolean matchesSearch(Note note, String searchLower) {
-        String title = note.getTitle() != null ? note.getTitle().toLowerCase() : "";
-        String content = note.getContent() != null ? note.getContent().toLowerCase() : "";
-        return title.contains(searchLower) || content.contains(searchLower);
+    private String searchSignature(Note note) {
+        String signature = noteDAO.getChangeSignature(note);
+        return signature != null && !signature.isEmpty() ? signature : contentSignature(note);
+    }
+
+    private static String contentSignature(Note note) {
+        String title = note.getTitle() != null ? note.getTitle() : "";
+        String content = note.getContent() != null ? note.getContent() : "";
+        return "#" + title.length() + ":" + content.length() + ":" + Integer.toHexString(title.hashCode())
+                + Integer.toHexString(content.hashCode());
     }
 
     // ==================== Sorting Methods ====================
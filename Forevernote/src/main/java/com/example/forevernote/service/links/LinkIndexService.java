@@ -1,20 +1,60 @@
 package com.example.forevernote.service.links;
 
+import com.example.forevernote.config.LoggerConfig;
+import com.example.forevernote.data.dao.interfaces.LinkDAO;
 import com.example.forevernote.data.models.Note;
+import com.example.forevernote.metrics.Counter;
+import com.example.forevernote.metrics.MetricsRegistry;
+import com.example.forevernote.metrics.Timer;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * Incremental index for outgoing/incoming links with unresolved tracking.
+ *
+ * <p>
+ * The index is an immutable snapshot behind a volatile reference. Readers never
+ * lock and keep seeing the previous snapshot until a rebuild or reindex
+ * publishes the next one. Writers replace only the map entries they change and
+ * are serialized on a private monitor.
+ * </p>
+ *
+ * <p>
+ * Edge lists are stored immutable and returned as is. Name lookups are hash
+ * hits: next to the normalized path/title map, every key is also indexed by its
+ * form without a known extension, so extension-less and ambiguous targets do
+ * not scan all notes.
+ * </p>
+ *
+ * <p>
+ * Creating, saving, renaming or deleting a note does not need a rebuild. A
+ * dependency map from link target names to source notes limits re-linking to
+ * the notes whose links may resolve differently.
+ * </p>
+ *
+ * <p>
+ * With a {@link LinkDAO} attached, the graph is persisted per note together
+ * with a hash of the content it was parsed from. A rebuild only parses notes
+ * whose hash changed, and until the first rebuild is published, link queries
+ * are answered from the store.
+ * </p>
  */
 public class LinkIndexService {
 
@@ -25,13 +65,83 @@ public class LinkIndexService {
     public record Resolution(String targetNoteId, boolean unresolved, boolean ambiguous) {
     }
 
+    /**
+     * Outcome of a rebuild.
+     *
+     * @param parsedCount Notes parsed because the store had no links for their
+     *                    current content.
+     * @param published   false if a newer rebuild superseded this one.
+     */
+    public record RebuildResult(int noteCount, int linkCount, int parsedCount, boolean published) {
+    }
+
+    /**
+     * A note with its content hash and links, parsed or taken from the store.
+     */
+    private record Prepared(Note note, String contentHash, List<ObsidianLinkParser.ParsedLink> links,
+            boolean parsed) {
+    }
+
+    /**
+     * All maps are persistent, so a draft replaces only the entries it touches
+     * and shares the rest with the published snapshot.
+     *
+     * @param noteIdsByStem Key without known extension -> (normalized key -> note
+     *                      id), mirroring {@code noteIdByNormalizedPath}.
+     * @param unresolvedBySource Source note id -> its unresolved edges.
+     * @param nameKeysById  Note id -> the name keys it registered.
+     * @param shadowedByName Name key -> other notes that registered it. One of
+     *                      them takes the key over when its owner releases it.
+     * @param sourceIdsByTargetKey File name of a raw link target, without
+     *                      extension -> notes containing such a link. Only these
+     *                      notes can resolve differently when a note with that
+     *                      name appears, disappears or is renamed.
+     */
+    private record Snapshot(PersistentHashMap<String, Note> notesById,
+            PersistentHashMap<String, String> noteIdByNormalizedPath,
+            PersistentHashMap<String, Map<String, String>> noteIdsByStem,
+            PersistentHashMap<String, List<LinkEdge>> outgoingBySource,
+            PersistentHashMap<String, List<LinkEdge>> incomingByTarget,
+            PersistentHashMap<String, List<LinkEdge>> unresolvedBySource,
+            PersistentHashMap<String, String> contentHashById,
+            PersistentHashMap<String, Set<String>> nameKeysById,
+            PersistentHashMap<String, Set<String>> shadowedByName,
+            PersistentHashMap<String, Set<String>> sourceIdsByTargetKey) {
+
+        static final Snapshot EMPTY = new Snapshot(PersistentHashMap.empty(), PersistentHashMap.empty(),
+                PersistentHashMap.empty(), PersistentHashMap.empty(), PersistentHashMap.empty(),
+                PersistentHashMap.empty(), PersistentHashMap.empty(), PersistentHashMap.empty(),
+                PersistentHashMap.empty(), PersistentHashMap.empty());
+    }
+
+    /**
+     * Unresolved edges of a snapshot, flattened on first use.
+     */
+    private record UnresolvedView(Snapshot snapshot, List<LinkEdge> edges) {
+    }
+
+    private static final Logger logger = LoggerConfig.getLogger(LinkIndexService.class);
+    private static final int REBUILD_BATCH_SIZE = 64;
+    private static final int STORE_BATCH_SIZE = 256;
+    private static final Timer REBUILD_TIMER = MetricsRegistry.getInstance().timer("links.rebuild");
+    private static final Timer UPDATE_TIMER = MetricsRegistry.getInstance().timer("links.update");
+    private static final Counter PARSED = MetricsRegistry.getInstance().counter("links.parsed");
+
     private final ObsidianLinkParser parser;
+    private final Object writeLock = new Object();
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private volatile UnresolvedView unresolvedView = new UnresolvedView(Snapshot.EMPTY, List.of());
+    // Guarded by writeLock.
+    private long rebuildGeneration = 0L;
+    // Changes made while a rebuild runs, replayed onto its result; null when idle.
+    private List<Consumer<Draft>> changedDuringRebuild;
 
-    private final Map<String, Note> notesById = new HashMap<>();
-    private final Map<String, String> noteIdByNormalizedPath = new HashMap<>();
-    private final Map<String, Set<LinkEdge>> outgoingBySource = new HashMap<>();
-    private final Map<String, Set<LinkEdge>> incomingByTarget = new HashMap<>();
-    private final Set<LinkEdge> unresolvedEdges = new HashSet<>();
+    private volatile LinkDAO store;
+    private volatile Executor storeExecutor;
+    private volatile boolean loaded = false;
+    // Serializes writes to the store so the latest snapshot is written last.
+    private final Object storeLock = new Object();
 
     public LinkIndexService() {
         this(new ObsidianLinkParser());
@@ -41,99 +151,714 @@ public class LinkIndexService {
         this.parser = Objects.requireNonNull(parser, "parser");
     }
 
-    public synchronized void rebuildIndex(Collection<Note> notes) {
-        notesById.clear();
-        noteIdByNormalizedPath.clear();
-        outgoingBySource.clear();
-        incomingByTarget.clear();
-        unresolvedEdges.clear();
+    /**
+     * Persists the index through {@code store}. Writes run on {@code executor},
+     * which must be the thread the store writes from, e.g. the FX thread for the
+     * SQLite store.
+     *
+     * @param store    The link store, or null to stop persisting.
+     * @param executor Executor for store writes.
+     */
+    public void attachStore(LinkDAO store, Executor executor) {
+        this.storeExecutor = store != null ? Objects.requireNonNull(executor, "executor") : null;
+        this.store = store;
+    }
 
-        if (notes == null) {
-            return;
+    public void rebuildIndex(Collection<Note> notes) {
+        rebuildIndexAsync(notes, UnaryOperator.identity(), Runnable::run).join();
+    }
+
+    /**
+     * Rebuilds the index on an executor and swaps it in once complete.
+     *
+     * <p>
+     * Note contents are loaded and parsed in batches on {@code executor}, so its
+     * size bounds the parallelism. If another rebuild starts before this one
+     * finishes, this result is discarded. Notes passed to
+     * {@link #reindexNote(Note)} meanwhile are applied on top of the result.
+     * </p>
+     *
+     * @param notes         Notes to index, possibly without content.
+     * @param contentLoader Returns the note with content; called on the executor.
+     * @param executor      Executor for loading and parsing.
+     * @return Completes after the new index is published or discarded.
+     */
+    public CompletableFuture<RebuildResult> rebuildIndexAsync(Collection<Note> notes,
+            UnaryOperator<Note> contentLoader, Executor executor) {
+        Objects.requireNonNull(contentLoader, "contentLoader");
+        Objects.requireNonNull(executor, "executor");
+        long start = System.nanoTime();
+        List<Note> input = new ArrayList<>();
+        if (notes != null) {
+            for (Note note : notes) {
+                if (isIndexable(note)) {
+                    input.add(note);
+                }
+            }
         }
-        for (Note note : notes) {
-            if (note == null || note.getId() == null || note.getId().isBlank()) {
-                continue;
+        long generation;
+        synchronized (writeLock) {
+            generation = ++rebuildGeneration;
+            if (changedDuringRebuild == null) {
+                changedDuringRebuild = new ArrayList<>();
             }
-            notesById.put(note.getId(), note);
-            noteIdByNormalizedPath.put(normalizePathKey(note.getId()), note.getId());
-            noteIdByNormalizedPath.put(normalizePathKey(note.getTitle()), note.getId());
-            String noteIdNoExt = stripKnownExtension(note.getId());
-            noteIdByNormalizedPath.put(normalizePathKey(noteIdNoExt), note.getId());
-            String titleNoExt = stripKnownExtension(note.getTitle());
-            noteIdByNormalizedPath.put(normalizePathKey(titleNoExt), note.getId());
         }
 
-        for (Note note : notesById.values()) {
-            reindexNote(note);
+        LinkDAO linkStore = store;
+        return CompletableFuture.supplyAsync(() -> fetchStoredSources(linkStore), executor)
+                .thenCompose(stored -> inBatches(input, note -> prepare(note, contentLoader, stored), executor)
+                        .thenCompose(prepared -> {
+                            Map<String, Prepared> byId = new HashMap<>();
+                            Map<String, String> names = new HashMap<>();
+                            Map<String, Map<String, String>> stems = new HashMap<>();
+                            for (Prepared entry : prepared) {
+                                byId.put(entry.note().getId(), entry);
+                                registerNames(names, stems, entry.note().getId(), nameKeys(entry.note()));
+                            }
+                            List<Prepared> indexed = new ArrayList<>(byId.values());
+                            return inBatches(indexed,
+                                    entry -> resolveEdges(entry.note().getId(), entry.links(), names, stems), executor)
+                                    .thenApply(edges -> publishRebuild(generation, names, stems, indexed, edges,
+                                            stored));
+                        }))
+                .whenComplete((result, error) -> {
+                    REBUILD_TIMER.recordSince(start);
+                    if (result != null) {
+                        PARSED.add(result.parsedCount());
+                    }
+                });
+    }
+
+    /**
+     * Reindexes a note after it was created or saved. Nothing is reparsed if
+     * its content and names are unchanged.
+     */
+    public void reindexNote(Note note) {
+        renameNote(null, note);
+    }
+
+    /**
+     * Reindexes a note whose id may have changed since it was indexed, e.g. a
+     * file-system note renamed along with its title. Besides the note itself,
+     * only notes linking to one of its old or new names are re-linked.
+     *
+     * @param previousId The id the note was indexed under, or null if unchanged.
+     * @param note       The note with its current id, title and content.
+     */
+    public void renameNote(String previousId, Note note) {
+        if (!isIndexable(note)) {
+            return;
         }
+        update(draft -> draft.putNote(previousId, note));
     }
 
-    public synchronized void reindexNote(Note note) {
-        if (note == null || note.getId() == null || note.getId().isBlank()) {
+    /**
+     * Drops a deleted note. Links to it from other notes become unresolved.
+     */
+    public void removeNote(String noteId) {
+        if (noteId == null || noteId.isBlank()) {
             return;
         }
-        notesById.put(note.getId(), note);
-        noteIdByNormalizedPath.put(normalizePathKey(note.getId()), note.getId());
-        noteIdByNormalizedPath.put(normalizePathKey(note.getTitle()), note.getId());
+        update(draft -> draft.removeNote(noteId));
+    }
+
+    /**
+     * @return Immutable list of the note's outgoing edges.
+     */
+    public List<LinkEdge> getOutgoing(String noteId) {
+        LinkDAO linkStore = store;
+        if (!loaded && linkStore != null) {
+            return toEdges(linkStore.fetchOutgoing(noteId));
+        }
+        return snapshot.outgoingBySource().getOrDefault(noteId, List.of());
+    }
+
+    /**
+     * @return Immutable list of the edges pointing at the note.
+     */
+    public List<LinkEdge> getIncoming(String noteId) {
+        LinkDAO linkStore = store;
+        if (!loaded && linkStore != null) {
+            return toEdges(linkStore.fetchIncoming(noteId));
+        }
+        return snapshot.incomingByTarget().getOrDefault(noteId, List.of());
+    }
+
+    public List<LinkEdge> getUnresolved() {
+        Snapshot current = snapshot;
+        UnresolvedView view = unresolvedView;
+        if (view.snapshot() != current) {
+            List<LinkEdge> edges = new ArrayList<>();
+            current.unresolvedBySource().values().forEach(edges::addAll);
+            view = new UnresolvedView(current, List.copyOf(edges));
+            unresolvedView = view;
+        }
+        return view.edges();
+    }
+
+    public Resolution resolveTarget(String rawTarget, String sourceNoteId) {
+        Snapshot current = snapshot;
+        return resolve(current.noteIdByNormalizedPath(), current.noteIdsByStem(), rawTarget, sourceNoteId);
+    }
+
+    /**
+     * @return Unmodifiable outgoing edges of every note.
+     */
+    public Map<String, List<LinkEdge>> outgoingIndexSnapshot() {
+        return snapshot.outgoingBySource();
+    }
+
+    private RebuildResult publishRebuild(long generation, Map<String, String> names,
+            Map<String, Map<String, String>> stems, List<Prepared> indexed, List<List<LinkEdge>> edges,
+            Map<String, LinkDAO.SourceLinks> stored) {
+        Map<String, Note> notesById = new HashMap<>();
+        Map<String, String> hashes = new HashMap<>();
+        Map<String, List<LinkEdge>> outgoing = new HashMap<>();
+        Map<String, List<LinkEdge>> incoming = new HashMap<>();
+        Map<String, Set<String>> nameKeysById = new HashMap<>();
+        Map<String, Set<String>> shadowed = new HashMap<>();
+        Map<String, Set<String>> dependents = new HashMap<>();
+        Map<String, List<LinkEdge>> unresolved = new HashMap<>();
+        int linkCount = 0;
+        int parsedCount = 0;
+        for (int i = 0; i < indexed.size(); i++) {
+            Prepared entry = indexed.get(i);
+            String noteId = entry.note().getId();
+            List<LinkEdge> noteEdges = edges.get(i);
+            notesById.put(noteId, entry.note());
+            hashes.put(noteId, entry.contentHash());
+            outgoing.put(noteId, noteEdges);
+            Set<String> keys = nameKeys(entry.note());
+            nameKeysById.put(noteId, keys);
+            for (String key : keys) {
+                if (!noteId.equals(names.get(key))) {
+                    shadowed.computeIfAbsent(key, k -> new HashSet<>()).add(noteId);
+                }
+            }
+            linkCount += noteEdges.size();
+            parsedCount += entry.parsed() ? 1 : 0;
+            for (LinkEdge edge : noteEdges) {
+                dependents.computeIfAbsent(dependencyKey(edge.rawTarget()), k -> new HashSet<>()).add(noteId);
+                if (edge.targetNoteId() != null) {
+                    incoming.computeIfAbsent(edge.targetNoteId(), k -> new ArrayList<>()).add(edge);
+                } else {
+                    unresolved.computeIfAbsent(noteId, k -> new ArrayList<>()).add(edge);
+                }
+            }
+        }
+        incoming.replaceAll((target, list) -> List.copyOf(list));
+        unresolved.replaceAll((source, list) -> List.copyOf(list));
+        Snapshot rebuilt = new Snapshot(PersistentHashMap.copyOf(notesById), PersistentHashMap.copyOf(names),
+                PersistentHashMap.copyOf(stems), PersistentHashMap.copyOf(outgoing),
+                PersistentHashMap.copyOf(incoming), PersistentHashMap.copyOf(unresolved),
+                PersistentHashMap.copyOf(hashes), PersistentHashMap.copyOf(nameKeysById),
+                PersistentHashMap.copyOf(shadowed), PersistentHashMap.copyOf(dependents));
+
+        synchronized (writeLock) {
+            if (generation != rebuildGeneration) {
+                return new RebuildResult(indexed.size(), linkCount, parsedCount, false);
+            }
+            if (!changedDuringRebuild.isEmpty()) {
+                Draft draft = new Draft(rebuilt);
+                changedDuringRebuild.forEach(change -> change.accept(draft));
+                rebuilt = draft.build();
+            }
+            changedDuringRebuild = null;
+            snapshot = rebuilt;
+            loaded = true;
+        }
+        persistRebuildAsync(stored);
+        return new RebuildResult(indexed.size(), linkCount, parsedCount, true);
+    }
+
+    /**
+     * Applies a change to a draft of the current snapshot and publishes it, then
+     * persists the notes whose links changed.
+     */
+    private void update(Consumer<Draft> change) {
+        long start = System.nanoTime();
+        Set<String> touched;
+        synchronized (writeLock) {
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(change);
+            }
+            Draft draft = new Draft(snapshot);
+            change.accept(draft);
+            if (draft.touched.isEmpty()) {
+                return;
+            }
+            snapshot = draft.build();
+            touched = draft.touched;
+        }
+        UPDATE_TIMER.recordSince(start);
+        persistAsync(touched);
+    }
+
+    /**
+     * Incremental change to a snapshot. Each edit replaces only the entries it
+     * touches in the persistent maps, so an edit costs about the size of the
+     * note's names and links, not of the vault. Nested lists, sets and maps are
+     * shared with the published snapshot, so they are replaced instead of
+     * mutated.
+     */
+    private final class Draft {
+        private final Set<String> touched = new HashSet<>();
+        private PersistentHashMap<String, Note> notesById;
+        private PersistentHashMap<String, String> names;
+        private PersistentHashMap<String, Map<String, String>> stems;
+        private PersistentHashMap<String, List<LinkEdge>> outgoing;
+        private PersistentHashMap<String, List<LinkEdge>> incoming;
+        private PersistentHashMap<String, List<LinkEdge>> unresolved;
+        private PersistentHashMap<String, String> hashes;
+        private PersistentHashMap<String, Set<String>> nameKeysById;
+        private PersistentHashMap<String, Set<String>> shadowed;
+        private PersistentHashMap<String, Set<String>> dependents;
+
+        Draft(Snapshot base) {
+            notesById = base.notesById();
+            names = base.noteIdByNormalizedPath();
+            stems = base.noteIdsByStem();
+            outgoing = base.outgoingBySource();
+            incoming = base.incomingByTarget();
+            unresolved = base.unresolvedBySource();
+            hashes = base.contentHashById();
+            nameKeysById = base.nameKeysById();
+            shadowed = base.shadowedByName();
+            dependents = base.sourceIdsByTargetKey();
+        }
+
+        /**
+         * Indexes a note, reparsing it only if its content changed, and re-links
+         * the notes that may resolve to one of its old or new names.
+         */
+        void putNote(String previousId, Note note) {
+            String noteId = note.getId();
+            Set<String> keys = nameKeys(note);
+            String hash = contentHash(note.getContent());
+            boolean renamed = previousId != null && !previousId.equals(noteId) && notesById.containsKey(previousId);
+            if (!renamed && notesById.containsKey(noteId) && keys.equals(nameKeysById.get(noteId))
+                    && hash.equals(hashes.get(noteId))) {
+                return;
+            }
+            Set<String> affected = new HashSet<>();
+            if (renamed) {
+                remove(previousId, affected);
+            }
+            Set<String> previousKeys = nameKeysById.get(noteId);
+            if (!keys.equals(previousKeys)) {
+                if (previousKeys != null) {
+                    unregisterNames(noteId, previousKeys);
+                    collectDependents(previousKeys, affected);
+                }
+                for (String key : keys) {
+                    claimName(key, noteId);
+                }
+                nameKeysById = nameKeysById.plus(noteId, keys);
+                collectDependents(keys, affected);
+            }
+            if (!outgoing.containsKey(noteId) || !hash.equals(hashes.get(noteId))) {
+                removeEdges(noteId);
+                addEdges(noteId, parseEdges(note, names, stems));
+            }
+            notesById = notesById.plus(noteId, note);
+            hashes = hashes.plus(noteId, hash);
+            touched.add(noteId);
+            affected.remove(noteId);
+            relink(affected);
+        }
+
+        void removeNote(String noteId) {
+            if (!notesById.containsKey(noteId)) {
+                return;
+            }
+            Set<String> affected = new HashSet<>();
+            remove(noteId, affected);
+            relink(affected);
+        }
+
+        Snapshot build() {
+            return new Snapshot(notesById, names, stems, outgoing, incoming, unresolved, hashes, nameKeysById,
+                    shadowed, dependents);
+        }
+
+        private void remove(String noteId, Set<String> affected) {
+            Set<String> keys = nameKeysById.get(noteId);
+            if (keys != null) {
+                nameKeysById = nameKeysById.minus(noteId);
+                unregisterNames(noteId, keys);
+                collectDependents(keys, affected);
+            }
+            removeEdges(noteId);
+            notesById = notesById.minus(noteId);
+            hashes = hashes.minus(noteId);
+            touched.add(noteId);
+        }
+
+        /**
+         * Resolves the stored link targets of the given notes again, without
+         * reparsing their content.
+         */
+        private void relink(Set<String> sourceIds) {
+            for (String sourceId : sourceIds) {
+                List<LinkEdge> previous = outgoing.get(sourceId);
+                if (previous == null) {
+                    continue;
+                }
+                List<ObsidianLinkParser.ParsedLink> links = new ArrayList<>(previous.size());
+                for (LinkEdge edge : previous) {
+                    links.add(new ObsidianLinkParser.ParsedLink(edge.embed(), edge.rawTarget(), edge.rawTarget(),
+                            edge.alias()));
+                }
+                List<LinkEdge> relinked = resolveEdges(sourceId, links, names, stems);
+                if (!relinked.equals(previous)) {
+                    removeEdges(sourceId);
+                    addEdges(sourceId, relinked);
+                    touched.add(sourceId);
+                }
+            }
+        }
+
+        private void collectDependents(Set<String> keys, Set<String> affected) {
+            for (String key : keys) {
+                affected.addAll(dependents.getOrDefault(dependencyKey(key), Set.of()));
+            }
+        }
 
-        Set<LinkEdge> previous = outgoingBySource.remove(note.getId());
-        if (previous != null) {
+        /**
+         * Gives a key to the note, like a rebuild where it registers last. The
+         * previous owner keeps a claim on the key.
+         */
+        private void claimName(String key, String noteId) {
+            String owner = names.get(key);
+            if (noteId.equals(owner)) {
+                return;
+            }
+            if (owner != null) {
+                shadowed = withMember(shadowed, key, owner);
+            }
+            shadowed = withoutMember(shadowed, key, noteId);
+            setOwner(key, noteId);
+        }
+
+        /**
+         * Removes the note's names. A key another note also registered is handed
+         * back to that note.
+         */
+        private void unregisterNames(String noteId, Set<String> keys) {
+            for (String key : keys) {
+                if (!noteId.equals(names.get(key))) {
+                    shadowed = withoutMember(shadowed, key, noteId);
+                    continue;
+                }
+                Set<String> claimants = shadowed.get(key);
+                if (claimants != null) {
+                    String heir = Collections.min(claimants);
+                    shadowed = withoutMember(shadowed, key, heir);
+                    setOwner(key, heir);
+                    continue;
+                }
+                names = names.minus(key);
+                String stem = stripKnownExtension(key);
+                Map<String, String> byKey = stems.get(stem);
+                if (byKey != null && byKey.containsKey(key)) {
+                    Map<String, String> kept = new HashMap<>(byKey);
+                    kept.remove(key);
+                    stems = kept.isEmpty() ? stems.minus(stem) : stems.plus(stem, kept);
+                }
+            }
+        }
+
+        private void setOwner(String key, String noteId) {
+            names = names.plus(key, noteId);
+            String stem = stripKnownExtension(key);
+            Map<String, String> byKey = new HashMap<>(stems.getOrDefault(stem, Map.of()));
+            byKey.put(key, noteId);
+            stems = stems.plus(stem, byKey);
+        }
+
+        private void removeEdges(String sourceId) {
+            List<LinkEdge> previous = outgoing.get(sourceId);
+            if (previous == null) {
+                return;
+            }
+            outgoing = outgoing.minus(sourceId);
+            unresolved = unresolved.minus(sourceId);
+            Set<String> targets = new HashSet<>();
+            Set<String> keys = new HashSet<>();
             for (LinkEdge edge : previous) {
                 if (edge.targetNoteId() != null) {
-                    Set<LinkEdge> incoming = incomingByTarget.get(edge.targetNoteId());
-                    if (incoming != null) {
-                        incoming.remove(edge);
-                        if (incoming.isEmpty()) {
-                            incomingByTarget.remove(edge.targetNoteId());
-                        }
-                    }
+                    targets.add(edge.targetNoteId());
                 }
-                unresolvedEdges.remove(edge);
+                keys.add(dependencyKey(edge.rawTarget()));
+            }
+            for (String target : targets) {
+                List<LinkEdge> kept = withoutSource(incoming.getOrDefault(target, List.of()), sourceId);
+                incoming = kept.isEmpty() ? incoming.minus(target) : incoming.plus(target, kept);
+            }
+            for (String key : keys) {
+                dependents = withoutMember(dependents, key, sourceId);
             }
         }
 
-        ObsidianLinkParser.ParsedLinks parsed = parser.parse(note.getContent());
-        Set<LinkEdge> newEdges = new HashSet<>();
-        for (ObsidianLinkParser.ParsedLink parsedLink : parsed.links()) {
-            Resolution resolution = resolveTarget(parsedLink.target(), note.getId());
-            LinkEdge edge = new LinkEdge(
-                    note.getId(),
+        private void addEdges(String sourceId, List<LinkEdge> edges) {
+            Map<String, List<LinkEdge>> added = new HashMap<>();
+            List<LinkEdge> unresolvedEdges = new ArrayList<>();
+            Set<String> keys = new HashSet<>();
+            for (LinkEdge edge : edges) {
+                if (edge.targetNoteId() != null) {
+                    added.computeIfAbsent(edge.targetNoteId(), k -> new ArrayList<>()).add(edge);
+                } else {
+                    unresolvedEdges.add(edge);
+                }
+                keys.add(dependencyKey(edge.rawTarget()));
+            }
+            for (Map.Entry<String, List<LinkEdge>> entry : added.entrySet()) {
+                List<LinkEdge> merged = new ArrayList<>(incoming.getOrDefault(entry.getKey(), List.of()));
+                merged.addAll(entry.getValue());
+                incoming = incoming.plus(entry.getKey(), List.copyOf(merged));
+            }
+            for (String key : keys) {
+                dependents = withMember(dependents, key, sourceId);
+            }
+            if (!unresolvedEdges.isEmpty()) {
+                unresolved = unresolved.plus(sourceId, List.copyOf(unresolvedEdges));
+            }
+            outgoing = outgoing.plus(sourceId, edges);
+        }
+    }
+
+    private static PersistentHashMap<String, Set<String>> withMember(PersistentHashMap<String, Set<String>> sets,
+            String key, String member) {
+        Set<String> current = sets.getOrDefault(key, Set.of());
+        if (current.contains(member)) {
+            return sets;
+        }
+        Set<String> grown = new HashSet<>(current);
+        grown.add(member);
+        return sets.plus(key, grown);
+    }
+
+    private static PersistentHashMap<String, Set<String>> withoutMember(PersistentHashMap<String, Set<String>> sets,
+            String key, String member) {
+        Set<String> current = sets.get(key);
+        if (current == null || !current.contains(member)) {
+            return sets;
+        }
+        if (current.size() == 1) {
+            return sets.minus(key);
+        }
+        Set<String> kept = new HashSet<>(current);
+        kept.remove(member);
+        return sets.plus(key, kept);
+    }
+
+    private static List<LinkEdge> withoutSource(List<LinkEdge> edges, String sourceNoteId) {
+        List<LinkEdge> kept = new ArrayList<>(edges.size());
+        for (LinkEdge edge : edges) {
+            if (!sourceNoteId.equals(edge.sourceNoteId())) {
+                kept.add(edge);
+            }
+        }
+        return kept.size() == edges.size() ? edges : List.copyOf(kept);
+    }
+
+    private List<LinkEdge> parseEdges(Note note, Map<String, String> names, Map<String, Map<String, String>> stems) {
+        return resolveEdges(note.getId(), parser.parse(note.getContent()).links(), names, stems);
+    }
+
+    private List<LinkEdge> resolveEdges(String noteId, List<ObsidianLinkParser.ParsedLink> links,
+            Map<String, String> names, Map<String, Map<String, String>> stems) {
+        Set<LinkEdge> edges = new LinkedHashSet<>();
+        for (ObsidianLinkParser.ParsedLink parsedLink : links) {
+            Resolution resolution = resolve(names, stems, parsedLink.target(), noteId);
+            edges.add(new LinkEdge(
+                    noteId,
                     resolution.targetNoteId(),
                     parsedLink.target(),
                     parsedLink.alias(),
                     parsedLink.embed(),
                     resolution.unresolved(),
-                    resolution.ambiguous());
-            newEdges.add(edge);
-            if (edge.targetNoteId() != null) {
-                incomingByTarget.computeIfAbsent(edge.targetNoteId(), k -> new HashSet<>()).add(edge);
-            } else {
-                unresolvedEdges.add(edge);
+                    resolution.ambiguous()));
+        }
+        return List.copyOf(edges);
+    }
+
+    /**
+     * Loads a note's content and takes its links from the store if they were
+     * parsed from the same content, otherwise parses it.
+     */
+    private Prepared prepare(Note note, UnaryOperator<Note> contentLoader, Map<String, LinkDAO.SourceLinks> stored) {
+        Note loaded = contentLoader.apply(note);
+        Note full = isIndexable(loaded) ? loaded : note;
+        String hash = contentHash(full.getContent());
+        LinkDAO.SourceLinks previous = stored.get(full.getId());
+        if (previous != null && hash.equals(previous.contentHash())) {
+            List<ObsidianLinkParser.ParsedLink> links = new ArrayList<>(previous.links().size());
+            for (LinkDAO.StoredLink link : previous.links()) {
+                links.add(new ObsidianLinkParser.ParsedLink(link.embed(), link.rawTarget(), link.rawTarget(),
+                        link.alias()));
+            }
+            return new Prepared(full, hash, links, false);
+        }
+        return new Prepared(full, hash, parser.parse(full.getContent()).links(), true);
+    }
+
+    private static Map<String, LinkDAO.SourceLinks> fetchStoredSources(LinkDAO linkStore) {
+        if (linkStore == null) {
+            return Map.of();
+        }
+        try {
+            return linkStore.fetchAllSources();
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "Failed to load stored links, all notes will be parsed", e);
+            return Map.of();
+        }
+    }
+
+    /**
+     * Writes every note whose stored links differ from the published index, and
+     * drops notes that are no longer indexed. Writes are split into small tasks
+     * so an executor on the UI thread is never blocked for long.
+     */
+    private void persistRebuildAsync(Map<String, LinkDAO.SourceLinks> stored) {
+        LinkDAO linkStore = store;
+        Executor executor = storeExecutor;
+        if (linkStore == null || executor == null) {
+            return;
+        }
+        Snapshot current = snapshot;
+        List<String> pending = new ArrayList<>();
+        for (String noteId : current.notesById().keySet()) {
+            if (!toSourceLinks(current, noteId).equals(stored.get(noteId))) {
+                pending.add(noteId);
+            }
+        }
+        for (String noteId : stored.keySet()) {
+            if (!current.notesById().containsKey(noteId)) {
+                pending.add(noteId);
+            }
+        }
+        for (int from = 0; from < pending.size(); from += STORE_BATCH_SIZE) {
+            persistAsync(Set.copyOf(pending.subList(from, Math.min(pending.size(), from + STORE_BATCH_SIZE))));
+        }
+        executor.execute(() -> {
+            synchronized (storeLock) {
+                try {
+                    linkStore.flush();
+                } catch (RuntimeException e) {
+                    logger.log(Level.WARNING, "Failed to persist link index", e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Writes the current links of the given notes, or removes them from the
+     * store if they are no longer indexed.
+     */
+    private void persistAsync(Set<String> noteIds) {
+        LinkDAO linkStore = store;
+        Executor executor = storeExecutor;
+        if (linkStore == null || executor == null || noteIds.isEmpty()) {
+            return;
+        }
+        executor.execute(() -> {
+            synchronized (storeLock) {
+                try {
+                    Snapshot current = snapshot;
+                    List<LinkDAO.SourceLinks> changed = new ArrayList<>();
+                    List<String> removed = new ArrayList<>();
+                    for (String noteId : noteIds) {
+                        if (current.notesById().containsKey(noteId)) {
+                            changed.add(toSourceLinks(current, noteId));
+                        } else {
+                            removed.add(noteId);
+                        }
+                    }
+                    linkStore.saveSources(changed);
+                    linkStore.deleteSources(removed);
+                } catch (RuntimeException e) {
+                    logger.log(Level.WARNING, "Failed to persist note links", e);
+                }
             }
+        });
+    }
+
+    private static LinkDAO.SourceLinks toSourceLinks(Snapshot current, String noteId) {
+        List<LinkEdge> edges = current.outgoingBySource().getOrDefault(noteId, List.of());
+        List<LinkDAO.StoredLink> links = new ArrayList<>(edges.size());
+        for (LinkEdge edge : edges) {
+            links.add(new LinkDAO.StoredLink(edge.sourceNoteId(), edge.targetNoteId(), edge.rawTarget(),
+                    edge.alias(), edge.embed(), edge.unresolved(), edge.ambiguous()));
+        }
+        return new LinkDAO.SourceLinks(noteId, current.contentHashById().get(noteId), links);
+    }
+
+    private static List<LinkEdge> toEdges(List<LinkDAO.StoredLink> links) {
+        List<LinkEdge> edges = new ArrayList<>(links.size());
+        for (LinkDAO.StoredLink link : links) {
+            edges.add(new LinkEdge(link.sourceNoteId(), link.targetNoteId(), link.rawTarget(), link.alias(),
+                    link.embed(), link.unresolved(), link.ambiguous()));
         }
-        outgoingBySource.put(note.getId(), newEdges);
+        return List.copyOf(edges);
     }
 
-    public synchronized List<LinkEdge> getOutgoing(String noteId) {
-        return outgoingBySource.getOrDefault(noteId, Set.of()).stream().toList();
+    /**
+     * 64-bit FNV-1a hash of the content, as hex.
+     */
+    private static String contentHash(String content) {
+        String text = content != null ? content : "";
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < text.length(); i++) {
+            hash ^= text.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return Long.toHexString(hash) + ":" + Integer.toHexString(text.length());
     }
 
-    public synchronized List<LinkEdge> getIncoming(String noteId) {
-        return incomingByTarget.getOrDefault(noteId, Set.of()).stream().toList();
+    /**
+     * @return The normalized keys a note can be linked by: its path and title,
+     *         with and without a known extension.
+     */
+    private Set<String> nameKeys(Note note) {
+        Set<String> keys = new LinkedHashSet<>();
+        keys.add(normalizePathKey(note.getId()));
+        keys.add(normalizePathKey(note.getTitle()));
+        keys.add(normalizePathKey(stripKnownExtension(note.getId())));
+        keys.add(normalizePathKey(stripKnownExtension(note.getTitle())));
+        return Collections.unmodifiableSet(keys);
     }
 
-    public synchronized List<LinkEdge> getUnresolved() {
-        return unresolvedEdges.stream().toList();
+    /**
+     * Registers names while building a rebuild; the last note to claim a key
+     * owns it.
+     */
+    private void registerNames(Map<String, String> names, Map<String, Map<String, String>> stems, String noteId,
+            Set<String> keys) {
+        for (String key : keys) {
+            names.put(key, noteId);
+            stems.computeIfAbsent(stripKnownExtension(key), k -> new HashMap<>()).put(key, noteId);
+        }
     }
 
-    public synchronized Resolution resolveTarget(String rawTarget, String sourceNoteId) {
+    /**
+     * Key of the dependency map: the last path segment without a known
+     * extension. Every name a raw target can resolve to, exactly, relative to
+     * the source or by stem, shares this key with it.
+     */
+    private String dependencyKey(String value) {
+        String key = normalizePathKey(value);
+        return stripKnownExtension(key.substring(key.lastIndexOf('/') + 1));
+    }
+
+    private Resolution resolve(Map<String, String> names, Map<String, Map<String, String>> stems, String rawTarget,
+            String sourceNoteId) {
         if (rawTarget == null || rawTarget.isBlank()) {
             return new Resolution(null, true, false);
         }
 
         String normalized = normalizePathKey(rawTarget);
-        String exact = noteIdByNormalizedPath.get(normalized);
+        String exact = names.get(normalized);
         if (exact != null) {
             return new Resolution(exact, false, false);
         }
@@ -143,33 +868,54 @@ public class LinkIndexService {
                 : "";
         if (!sourceDir.isBlank()) {
             String relative = normalizePathKey(sourceDir + "/" + rawTarget);
-            String relativeMatch = noteIdByNormalizedPath.get(relative);
+            String relativeMatch = names.get(relative);
             if (relativeMatch != null) {
                 return new Resolution(relativeMatch, false, false);
             }
         }
 
-        String targetNoExt = stripKnownExtension(rawTarget);
-        List<String> candidates = noteIdByNormalizedPath.entrySet().stream()
-                .filter(e -> stripKnownExtension(e.getKey()).equals(normalizePathKey(targetNoExt)))
-                .map(Map.Entry::getValue)
-                .distinct()
-                .collect(Collectors.toList());
-        if (candidates.size() == 1) {
-            return new Resolution(candidates.get(0), false, false);
+        Map<String, String> candidates = stems.get(normalizePathKey(stripKnownExtension(rawTarget)));
+        if (candidates == null || candidates.isEmpty()) {
+            return new Resolution(null, true, false);
         }
-        if (candidates.size() > 1) {
-            return new Resolution(null, true, true);
+        String candidate = null;
+        for (String noteId : candidates.values()) {
+            if (candidate == null) {
+                candidate = noteId;
+            } else if (!candidate.equals(noteId)) {
+                return new Resolution(null, true, true);
+            }
         }
-        return new Resolution(null, true, false);
+        return new Resolution(candidate, false, false);
     }
 
-    public synchronized Map<String, List<LinkEdge>> outgoingIndexSnapshot() {
-        Map<String, List<LinkEdge>> snapshot = new HashMap<>();
-        for (Map.Entry<String, Set<LinkEdge>> entry : outgoingBySource.entrySet()) {
-            snapshot.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+    /**
+     * Maps items in fixed-size batches on the executor, keeping their order.
+     */
+    private static <T, R> CompletableFuture<List<R>> inBatches(List<T> items, Function<T, R> mapper,
+            Executor executor) {
+        List<CompletableFuture<List<R>>> batches = new ArrayList<>();
+        for (int start = 0; start < items.size(); start += REBUILD_BATCH_SIZE) {
+            List<T> batch = items.subList(start, Math.min(items.size(), start + REBUILD_BATCH_SIZE));
+            batches.add(CompletableFuture.supplyAsync(() -> {
+                List<R> mapped = new ArrayList<>(batch.size());
+                for (T item : batch) {
+                    mapped.add(mapper.apply(item));
+                }
+                return mapped;
+            }, executor));
         }
-        return snapshot;
+        return CompletableFuture.allOf(batches.toArray(CompletableFuture[]::new)).thenApply(ignored -> {
+            List<R> results = new ArrayList<>(items.size());
+            for (CompletableFuture<List<R>> batch : batches) {
+                results.addAll(batch.join());
+            }
+            return results;
+        });
+    }
+
+    private static boolean isIndexable(Note note) {
+        return note != null && note.getId() != null && !note.getId().isBlank();
     }
 
     private String normalizePathKey(String value) {
@@ -0,0 +1,408 @@
+package com.example.forevernote.service.links;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Immutable hash map with structural sharing (a hash array mapped trie).
+ *
+ * <p>
+ * {@link #plus} and {@link #minus} return a new map that shares every node
+ * but the O(log32 n) path to the changed key, so a published link index
+ * snapshot can be edited without copying it. The {@link Map} view is read-only;
+ * keys and values must not be null.
+ * </p>
+ */
+final class PersistentHashMap<K, V> extends AbstractMap<K, V> {
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final PersistentHashMap<?, ?> EMPTY = new PersistentHashMap<>(null, 0);
+
+    private final Trie root;
+    private final int size;
+    private Set<Map.Entry<K, V>> entrySet;
+
+    private PersistentHashMap(Trie root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K, V> PersistentHashMap<K, V> empty() {
+        return (PersistentHashMap<K, V>) EMPTY;
+    }
+
+    /**
+     * Builds a map with the entries of {@code source}. The trie is filled in
+     * place while it is private to this call, so this costs about as much as
+     * copying into a {@link java.util.HashMap}.
+     */
+    @SuppressWarnings("unchecked")
+    static <K, V> PersistentHashMap<K, V> copyOf(Map<? extends K, ? extends V> source) {
+        if (source instanceof PersistentHashMap) {
+            return (PersistentHashMap<K, V>) source;
+        }
+        Object owner = new Object();
+        Trie root = null;
+        int size = 0;
+        boolean[] added = new boolean[1];
+        for (Map.Entry<? extends K, ? extends V> entry : source.entrySet()) {
+            Object key = Objects.requireNonNull(entry.getKey(), "key");
+            Object value = Objects.requireNonNull(entry.getValue(), "value");
+            added[0] = false;
+            root = (root != null ? root : new BitmapTrie(owner, 0, new Object[0])).assoc(owner, 0, key.hashCode(),
+                    key, value, added);
+            size += added[0] ? 1 : 0;
+        }
+        return root == null ? empty() : new PersistentHashMap<>(root, size);
+    }
+
+    /**
+     * @return A map with {@code key} mapped to {@code value}.
+     */
+    PersistentHashMap<K, V> plus(K key, V value) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(value, "value");
+        boolean[] added = new boolean[1];
+        Trie start = root != null ? root : new BitmapTrie(null, 0, new Object[0]);
+        Trie updated = start.assoc(null, 0, key.hashCode(), key, value, added);
+        return updated == root ? this : new PersistentHashMap<>(updated, size + (added[0] ? 1 : 0));
+    }
+
+    /**
+     * @return A map without {@code key}; this map if it has no such key.
+     */
+    PersistentHashMap<K, V> minus(Object key) {
+        if (root == null || key == null) {
+            return this;
+        }
+        Trie updated = root.without(0, key.hashCode(), key);
+        if (updated == root) {
+            return this;
+        }
+        return updated == null ? empty() : new PersistentHashMap<>(updated, size - 1);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        return root == null || key == null ? null : (V) root.find(0, key.hashCode(), key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        Set<Map.Entry<K, V>> entries = entrySet;
+        if (entries == null) {
+            entries = new AbstractSet<>() {
+                @Override
+                public Iterator<Map.Entry<K, V>> iterator() {
+                    return new TrieIterator();
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+            entrySet = entries;
+        }
+        return entries;
+    }
+
+    /**
+     * Depth-first walk over the trie.
+     */
+    private final class TrieIterator implements Iterator<Map.Entry<K, V>> {
+        private final Deque<Object[]> arrays = new ArrayDeque<>();
+        private final Deque<Integer> offsets = new ArrayDeque<>();
+        private Map.Entry<K, V> next;
+
+        TrieIterator() {
+            if (root != null) {
+                arrays.push(root.array());
+                offsets.push(0);
+            }
+            advance();
+        }
+
+        @SuppressWarnings("unchecked")
+        private void advance() {
+            next = null;
+            while (!arrays.isEmpty()) {
+                Object[] array = arrays.peek();
+                int offset = offsets.pop();
+                if (offset >= array.length) {
+                    arrays.pop();
+                    continue;
+                }
+                offsets.push(offset + 2);
+                Object key = array[offset];
+                Object value = array[offset + 1];
+                if (key == null) {
+                    arrays.push(((Trie) value).array());
+                    offsets.push(0);
+                } else {
+                    next = new SimpleImmutableEntry<>((K) key, (V) value);
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            Map.Entry<K, V> current = next;
+            advance();
+            return current;
+        }
+    }
+
+    /**
+     * A trie node. Its array holds key/value pairs; a null key marks a child
+     * node in the value slot.
+     */
+    private abstract static class Trie {
+        abstract Object[] array();
+
+        abstract Object find(int shift, int hash, Object key);
+
+        /**
+         * @param owner Non-null while building in {@link #copyOf}: nodes created
+         *              with the same owner are changed in place.
+         */
+        abstract Trie assoc(Object owner, int shift, int hash, Object key, Object value, boolean[] added);
+
+        /**
+         * @return This node if the key is absent, or null if the node is empty
+         *         afterwards.
+         */
+        abstract Trie without(int shift, int hash, Object key);
+    }
+
+    private static final class BitmapTrie extends Trie {
+        private final Object owner;
+        private int bitmap;
+        private Object[] array;
+
+        BitmapTrie(Object owner, int bitmap, Object[] array) {
+            this.owner = owner;
+            this.bitmap = bitmap;
+            this.array = array;
+        }
+
+        @Override
+        Object[] array() {
+            return array;
+        }
+
+        private static int bit(int hash, int shift) {
+            return 1 << ((hash >>> shift) & MASK);
+        }
+
+        private int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Override
+        Object find(int shift, int hash, Object key) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+            int slot = 2 * index(bit);
+            Object slotKey = array[slot];
+            if (slotKey == null) {
+                return ((Trie) array[slot + 1]).find(shift + BITS, hash, key);
+            }
+            return key.equals(slotKey) ? array[slot + 1] : null;
+        }
+
+        @Override
+        Trie assoc(Object owner, int shift, int hash, Object key, Object value, boolean[] added) {
+            int bit = bit(hash, shift);
+            int slot = 2 * index(bit);
+            if ((bitmap & bit) == 0) {
+                Object[] grown = new Object[array.length + 2];
+                System.arraycopy(array, 0, grown, 0, slot);
+                grown[slot] = key;
+                grown[slot + 1] = value;
+                System.arraycopy(array, slot, grown, slot + 2, array.length - slot);
+                added[0] = true;
+                return update(owner, bitmap | bit, grown);
+            }
+            Object slotKey = array[slot];
+            Object slotValue = array[slot + 1];
+            if (slotKey == null) {
+                Trie child = (Trie) slotValue;
+                Trie updated = child.assoc(owner, shift + BITS, hash, key, value, added);
+                return updated == child ? this : withSlot(owner, slot, null, updated);
+            }
+            if (key.equals(slotKey)) {
+                return slotValue == value ? this : withSlot(owner, slot, slotKey, value);
+            }
+            added[0] = true;
+            Trie child = split(owner, shift + BITS, slotKey, slotValue, hash, key, value);
+            return withSlot(owner, slot, null, child);
+        }
+
+        @Override
+        Trie without(int shift, int hash, Object key) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+            int slot = 2 * index(bit);
+            Object slotKey = array[slot];
+            if (slotKey == null) {
+                Trie child = (Trie) array[slot + 1];
+                Trie updated = child.without(shift + BITS, hash, key);
+                if (updated == child) {
+                    return this;
+                }
+                if (updated != null) {
+                    return withSlot(null, slot, null, updated);
+                }
+            } else if (!key.equals(slotKey)) {
+                return this;
+            }
+            if (bitmap == bit) {
+                return null;
+            }
+            Object[] shrunk = new Object[array.length - 2];
+            System.arraycopy(array, 0, shrunk, 0, slot);
+            System.arraycopy(array, slot + 2, shrunk, slot, array.length - slot - 2);
+            return new BitmapTrie(null, bitmap & ~bit, shrunk);
+        }
+
+        private Trie withSlot(Object owner, int slot, Object key, Object value) {
+            if (owner != null && owner == this.owner) {
+                array[slot] = key;
+                array[slot + 1] = value;
+                return this;
+            }
+            Object[] copy = array.clone();
+            copy[slot] = key;
+            copy[slot + 1] = value;
+            return new BitmapTrie(owner, bitmap, copy);
+        }
+
+        private Trie update(Object owner, int newBitmap, Object[] newArray) {
+            if (owner != null && owner == this.owner) {
+                bitmap = newBitmap;
+                array = newArray;
+                return this;
+            }
+            return new BitmapTrie(owner, newBitmap, newArray);
+        }
+
+        private static Trie split(Object owner, int shift, Object key1, Object value1, int hash2, Object key2,
+                Object value2) {
+            int hash1 = key1.hashCode();
+            if (hash1 == hash2) {
+                return new CollisionTrie(hash1, new Object[] { key1, value1, key2, value2 });
+            }
+            boolean[] ignored = new boolean[1];
+            return new BitmapTrie(owner, 0, new Object[0])
+                    .assoc(owner, shift, hash1, key1, value1, ignored)
+                    .assoc(owner, shift, hash2, key2, value2, ignored);
+        }
+    }
+
+    /**
+     * Keys whose full hashes are equal.
+     */
+    private static final class CollisionTrie extends Trie {
+        private final int hash;
+        private final Object[] array;
+
+        CollisionTrie(int hash, Object[] array) {
+            this.hash = hash;
+            this.array = array;
+        }
+
+        @Override
+        Object[] array() {
+            return array;
+        }
+
+        private int slotOf(Object key) {
+            for (int slot = 0; slot < array.length; slot += 2) {
+                if (key.equals(array[slot])) {
+                    return slot;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        Object find(int shift, int hash, Object key) {
+            int slot = hash == this.hash ? slotOf(key) : -1;
+            return slot >= 0 ? array[slot + 1] : null;
+        }
+
+        @Override
+        Trie assoc(Object owner, int shift, int hash, Object key, Object value, boolean[] added) {
+            if (hash != this.hash) {
+                // Nest this node under a bitmap node and add the key beside it.
+                int bit = 1 << ((this.hash >>> shift) & MASK);
+                return new BitmapTrie(owner, bit, new Object[] { null, this }).assoc(owner, shift, hash, key, value,
+                        added);
+            }
+            int slot = slotOf(key);
+            if (slot >= 0) {
+                if (array[slot + 1] == value) {
+                    return this;
+                }
+                Object[] copy = array.clone();
+                copy[slot + 1] = value;
+                return new CollisionTrie(hash, copy);
+            }
+            Object[] grown = Arrays.copyOf(array, array.length + 2);
+            grown[array.length] = key;
+            grown[array.length + 1] = value;
+            added[0] = true;
+            return new CollisionTrie(hash, grown);
+        }
+
+        @Override
+        Trie without(int shift, int hash, Object key) {
+            int slot = hash == this.hash ? slotOf(key) : -1;
+            if (slot < 0) {
+                return this;
+            }
+            if (array.length == 2) {
+                return null;
+            }
+            Object[] shrunk = new Object[array.length - 2];
+            System.arraycopy(array, 0, shrunk, 0, slot);
+            System.arraycopy(array, slot + 2, shrunk, slot, array.length - slot - 2);
+            return new CollisionTrie(hash, shrunk);
+        }
+    }
+}
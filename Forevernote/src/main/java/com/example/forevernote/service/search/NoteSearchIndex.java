@@ -0,0 +1,1042 @@
+package com.example.forevernote.service.search;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntUnaryOperator;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.example.forevernote.config.LoggerConfig;
+import com.example.forevernote.data.models.Note;
+
+/**
+ * Positional inverted index over note titles and bodies.
+ *
+ * <p>
+ * Supports AND queries where every bare term also matches as a prefix, quoted
+ * phrase queries and explicit {@code term*} prefixes. Results are ranked with
+ * BM25, title hits weighted above body hits. The index is updated one note at
+ * a time and can be persisted to a single binary file between sessions.
+ * </p>
+ *
+ * <p>
+ * Notes are numbered internally. Each term keeps its postings as one
+ * delta-encoded varint stream and each note the ids of its terms, so the index
+ * stays smaller than the text it covers. Re-indexing a note gives it a new
+ * number; entries of the old number are skipped by queries and dropped when
+ * the term's stream is compacted.
+ * </p>
+ */
+public class NoteSearchIndex {
+
+    private static final Logger logger = LoggerConfig.getLogger(NoteSearchIndex.class);
+
+    private static final int FILE_MAGIC = 0x464E5349; // "FNSI"
+    private static final int FILE_VERSION = 2;
+    private static final int MAX_TERM_LENGTH = 64;
+    private static final int MAX_PREFIX_EXPANSIONS = 128;
+    private static final int MIN_RENUMBER_SLACK = 1024;
+    private static final double BM25_K1 = 1.2;
+    private static final double BM25_B = 0.75;
+    private static final double TITLE_WEIGHT = 3.0;
+    private static final double PREFIX_PENALTY = 0.8;
+    private static final double PHRASE_BONUS = 1.5;
+
+    public record SearchHit(String noteId, double score) {
+    }
+
+    /**
+     * Postings of one term. Each entry is the note number (delta to the previous
+     * entry), the number of occurrences and the positions (delta-encoded), all
+     * as varints. Title tokens occupy positions {@code [0, titleLength)}; body
+     * tokens start at {@code titleLength + 1} so phrases never span the
+     * title/body boundary.
+     */
+    private static final class Postings {
+        final String term;
+        final int id;
+        byte[] data = new byte[8];
+        int length;
+        int size;
+        int dead;
+        int lastDoc;
+
+        Postings(String term, int id) {
+            this.term = term;
+            this.id = id;
+        }
+
+        int live() {
+            return size - dead;
+        }
+
+        void add(int doc, int[] positions, int count) {
+            ensureCapacity(length + 5 * (count + 2));
+            length = putVarInt(data, length, doc - lastDoc);
+            length = putVarInt(data, length, count);
+            int previous = 0;
+            for (int i = 0; i < count; i++) {
+                length = putVarInt(data, length, positions[i] - previous);
+                previous = positions[i];
+            }
+            lastDoc = doc;
+            size++;
+        }
+
+        /**
+         * Drops entries of removed notes, renumbers the rest and trims the
+         * stream.
+         *
+         * @param renumber old note number to new one, -1 for removed notes.
+         */
+        void compact(IntUnaryOperator renumber) {
+            Cursor cursor = new Cursor(this);
+            byte[] old = data;
+            data = new byte[Math.max(8, length)];
+            length = 0;
+            size = 0;
+            dead = 0;
+            lastDoc = 0;
+            int[] positions = new int[16];
+            while (cursor.next(old)) {
+                int doc = renumber.applyAsInt(cursor.doc);
+                if (doc >= 0) {
+                    positions = cursor.positions(old, positions);
+                    add(doc, positions, cursor.count);
+                }
+            }
+            data = Arrays.copyOf(data, length);
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > data.length) {
+                data = Arrays.copyOf(data, Math.max(capacity, data.length + (data.length >> 1)));
+            }
+        }
+    }
+
+    /**
+     * Forward reader over a {@link Postings} stream.
+     */
+    private static final class Cursor {
+        private final int end;
+        private final int entries;
+        private int offset;
+        private int read;
+        int doc;
+        int count;
+        private int positionsOffset;
+
+        Cursor(Postings postings) {
+            this.end = postings.length;
+            this.entries = postings.size;
+        }
+
+        /**
+         * Moves to the next entry of {@code data}, which must be the stream
+         * this cursor was created for.
+         */
+        boolean next(byte[] data) {
+            if (read == entries || offset >= end) {
+                return false;
+            }
+            doc += readVar(data);
+            count = readVar(data);
+            positionsOffset = offset;
+            for (int i = 0; i < count; i++) {
+                while (data[offset++] < 0) {
+                    // skip continuation bytes
+                }
+            }
+            read++;
+            return true;
+        }
+
+        /**
+         * Moves to the first entry at or after {@code target}.
+         */
+        boolean advanceTo(byte[] data, int target) {
+            while (read == 0 || doc < target) {
+                if (!next(data)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        int[] positions(byte[] data, int[] buffer) {
+            int[] positions = buffer.length >= count ? buffer : new int[Math.max(count, buffer.length * 2)];
+            int saved = offset;
+            offset = positionsOffset;
+            int previous = 0;
+            for (int i = 0; i < count; i++) {
+                previous += readVar(data);
+                positions[i] = previous;
+            }
+            offset = saved;
+            return positions;
+        }
+
+        /**
+         * Term frequency with title occurrences weighted up.
+         */
+        double weightedFrequency(byte[] data, int titleLength) {
+            int saved = offset;
+            offset = positionsOffset;
+            int position = 0;
+            int inTitle = 0;
+            for (int i = 0; i < count; i++) {
+                position += readVar(data);
+                if (position >= titleLength) {
+                    break;
+                }
+                inTitle++;
+            }
+            offset = saved;
+            return inTitle * TITLE_WEIGHT + (count - inTitle);
+        }
+
+        private int readVar(byte[] data) {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[offset++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+    }
+
+    private final Path indexFile;
+    private final NavigableMap<String, Postings> postings = new TreeMap<>();
+    private final Map<String, Integer> docNumbers = new HashMap<>();
+    private Postings[] termsById = new Postings[64];
+    private int[] freeTermIds = new int[16];
+    private int freeTermCount = 0;
+    private int nextTermId = 0;
+    // Per note number; the id is null once the number has been retired.
+    private String[] docIds = new String[16];
+    private String[] signatures = new String[16];
+    private int[] titleLengths = new int[16];
+    private int[] lengths = new int[16];
+    // Ascending term ids of each note, delta-encoded as varints.
+    private byte[][] docTerms = new byte[16][];
+    private int nextDoc = 0;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long totalLength = 0L;
+    private volatile boolean dirty = false;
+
+    /**
+     * Creates an in-memory index that is never persisted.
+     */
+    public NoteSearchIndex() {
+        this(null);
+    }
+
+    /**
+     * Creates an index backed by the given file.
+     *
+     * @param indexFile location used by {@link #load()} and {@link #save()}; may
+     *                  be null for a purely in-memory index.
+     */
+    public NoteSearchIndex(Path indexFile) {
+        this.indexFile = indexFile;
+    }
+
+    // ==================== Mutation ====================
+
+    /**
+     * Adds or replaces a note in the index.
+     *
+     * @param note      The note to index (title and content are read).
+     * @param signature Opaque change marker stored with the entry, typically the
+     *                  modified date. Used by callers to detect stale entries.
+     */
+    public void indexNote(Note note, String signature) {
+        if (note == null || note.getId() == null || note.getId().isBlank()) {
+            return;
+        }
+        Analysis analysis = analyze(note.getTitle(), note.getContent());
+        lock.writeLock().lock();
+        try {
+            removeLocked(note.getId());
+            addLocked(note.getId(), signature != null ? signature : "", analysis);
+            dirty = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a note from the index. Unknown IDs are ignored.
+     *
+     * @param noteId The note ID.
+     */
+    public void removeNote(String noteId) {
+        if (noteId == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (removeLocked(noteId)) {
+                dirty = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes every entry.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            clearLocked();
+            dirty = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drops retired note numbers and trims every buffer to its contents. Worth
+     * calling after a bulk rebuild, which leaves growth slack behind.
+     */
+    public void compact() {
+        lock.writeLock().lock();
+        try {
+            renumberLocked();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ==================== Inspection ====================
+
+    public boolean contains(String noteId) {
+        lock.readLock().lock();
+        try {
+            return docNumbers.containsKey(noteId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the signature stored for a note, or null if it is not indexed.
+     */
+    public String getSignature(String noteId) {
+        lock.readLock().lock();
+        try {
+            Integer doc = docNumbers.get(noteId);
+            return doc != null ? signatures[doc] : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Set<String> indexedNoteIds() {
+        lock.readLock().lock();
+        try {
+            return new HashSet<>(docNumbers.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docNumbers.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    // ==================== Query ====================
+
+    /**
+     * Runs a query and returns hits ordered by descending relevance.
+     *
+     * @param query Free text. Whitespace separates terms, double quotes group a
+     *              phrase and a trailing {@code *} forces prefix matching.
+     * @return Ranked hits; empty if the query has no searchable terms.
+     */
+    public List<SearchHit> search(String query) {
+        List<Clause> clauses = parseQuery(query);
+        if (clauses.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            if (docNumbers.isEmpty()) {
+                return List.of();
+            }
+            double avgLength = Math.max(1.0, (double) totalLength / docNumbers.size());
+            Map<Integer, Double> scores = null;
+            for (Clause clause : clauses) {
+                Map<Integer, Double> clauseScores = clause.phrase()
+                        ? scorePhrase(clause.terms(), avgLength)
+                        : scoreTerm(clause.terms().get(0), clause.prefix(), avgLength);
+                if (scores == null) {
+                    scores = clauseScores;
+                } else {
+                    Map<Integer, Double> merged = new HashMap<>();
+                    for (Map.Entry<Integer, Double> e : scores.entrySet()) {
+                        Double other = clauseScores.get(e.getKey());
+                        if (other != null) {
+                            merged.put(e.getKey(), e.getValue() + other);
+                        }
+                    }
+                    scores = merged;
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+            List<SearchHit> hits = new ArrayList<>(scores.size());
+            for (Map.Entry<Integer, Double> e : scores.entrySet()) {
+                hits.add(new SearchHit(docIds[e.getKey()], e.getValue()));
+            }
+            hits.sort((a, b) -> {
+                int cmp = Double.compare(b.score(), a.score());
+                return cmp != 0 ? cmp : a.noteId().compareTo(b.noteId());
+            });
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Integer, Double> scoreTerm(String term, boolean prefixOnly, double avgLength) {
+        Map<Integer, Double> scores = new HashMap<>();
+        Postings exact = postings.get(term);
+        if (exact != null && !prefixOnly) {
+            accumulateTerm(scores, exact, 1.0, avgLength);
+        }
+        int expansions = 0;
+        for (Map.Entry<String, Postings> e : postings.subMap(term, true, term + Character.MAX_VALUE, false)
+                .entrySet()) {
+            if (!prefixOnly && e.getKey().equals(term)) {
+                continue;
+            }
+            accumulateTerm(scores, e.getValue(), PREFIX_PENALTY, avgLength);
+            if (++expansions >= MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+        }
+        return scores;
+    }
+
+    private void accumulateTerm(Map<Integer, Double> scores, Postings termPostings, double weight,
+            double avgLength) {
+        double idf = idf(termPostings.live());
+        Cursor cursor = new Cursor(termPostings);
+        while (cursor.next(termPostings.data)) {
+            int doc = cursor.doc;
+            if (docIds[doc] == null) {
+                continue;
+            }
+            double score = weight * bm25(cursor.weightedFrequency(termPostings.data, titleLengths[doc]),
+                    lengths[doc], idf, avgLength);
+            // Keep the best expansion per document so many prefix matches do not
+            // outrank one exact match.
+            scores.merge(doc, score, Math::max);
+        }
+    }
+
+    private Map<Integer, Double> scorePhrase(List<String> terms, double avgLength) {
+        Map<Integer, Double> scores = new HashMap<>();
+        Postings[] termPostings = new Postings[terms.size()];
+        for (int t = 0; t < termPostings.length; t++) {
+            termPostings[t] = postings.get(terms.get(t));
+            if (termPostings[t] == null) {
+                return scores;
+            }
+        }
+        int smallest = 0;
+        for (int t = 1; t < termPostings.length; t++) {
+            if (termPostings[t].live() < termPostings[smallest].live()) {
+                smallest = t;
+            }
+        }
+        // Streams are ordered by note number, so every cursor only moves forward.
+        Cursor[] cursors = new Cursor[termPostings.length];
+        int[][] positions = new int[termPostings.length][16];
+        for (int t = 0; t < cursors.length; t++) {
+            cursors[t] = new Cursor(termPostings[t]);
+        }
+        Postings driver = termPostings[smallest];
+        candidates: while (cursors[smallest].next(driver.data)) {
+            int doc = cursors[smallest].doc;
+            if (docIds[doc] == null) {
+                continue;
+            }
+            for (int t = 0; t < cursors.length; t++) {
+                if (t != smallest) {
+                    if (!cursors[t].advanceTo(termPostings[t].data, doc)) {
+                        break candidates;
+                    }
+                    if (cursors[t].doc != doc) {
+                        continue candidates;
+                    }
+                }
+                positions[t] = cursors[t].positions(termPostings[t].data, positions[t]);
+            }
+            if (countPhrase(cursors, positions) == 0) {
+                continue;
+            }
+            double score = 0.0;
+            for (int t = 0; t < cursors.length; t++) {
+                score += bm25(cursors[t].weightedFrequency(termPostings[t].data, titleLengths[doc]), lengths[doc],
+                        idf(termPostings[t].live()), avgLength);
+            }
+            scores.put(doc, score * PHRASE_BONUS);
+        }
+        return scores;
+    }
+
+    private static int countPhrase(Cursor[] cursors, int[][] positions) {
+        int count = 0;
+        for (int p = 0; p < cursors[0].count; p++) {
+            int start = positions[0][p];
+            boolean match = true;
+            for (int t = 1; t < cursors.length && match; t++) {
+                match = Arrays.binarySearch(positions[t], 0, cursors[t].count, start + t) >= 0;
+            }
+            if (match) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private double idf(int documentFrequency) {
+        int n = docNumbers.size();
+        return Math.log(1.0 + (n - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    private double bm25(double tf, int docLength, double idf, double avgLength) {
+        double norm = BM25_K1 * (1.0 - BM25_B + BM25_B * docLength / avgLength);
+        return idf * (tf * (BM25_K1 + 1.0)) / (tf + norm);
+    }
+
+    private record Clause(List<String> terms, boolean phrase, boolean prefix) {
+    }
+
+    private List<Clause> parseQuery(String query) {
+        List<Clause> clauses = new ArrayList<>();
+        if (query == null || query.isBlank()) {
+            return clauses;
+        }
+        int i = 0;
+        int len = query.length();
+        while (i < len) {
+            char c = query.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+                continue;
+            }
+            if (c == '"') {
+                int end = query.indexOf('"', i + 1);
+                String phrase = end < 0 ? query.substring(i + 1) : query.substring(i + 1, end);
+                List<String> terms = tokenize(phrase);
+                if (terms.size() == 1) {
+                    clauses.add(new Clause(terms, false, false));
+                } else if (!terms.isEmpty()) {
+                    clauses.add(new Clause(terms, true, false));
+                }
+                i = end < 0 ? len : end + 1;
+                continue;
+            }
+            int end = i;
+            while (end < len && !Character.isWhitespace(query.charAt(end)) && query.charAt(end) != '"') {
+                end++;
+            }
+            String word = query.substring(i, end);
+            boolean explicitPrefix = word.endsWith("*");
+            List<String> terms = tokenize(word);
+            if (terms.size() > 1) {
+                // Punctuated input such as "foo-bar" behaves like a phrase.
+                clauses.add(new Clause(terms, true, false));
+            } else if (!terms.isEmpty()) {
+                clauses.add(new Clause(terms, false, explicitPrefix));
+            }
+            i = end;
+        }
+        return clauses;
+    }
+
+    // ==================== Analysis ====================
+
+    /**
+     * Splits text into normalized terms: lower-cased, accent-folded runs of
+     * letters and digits.
+     */
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFD);
+        List<String> terms = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < folded.length(); i++) {
+            char c = folded.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                if (current.length() < MAX_TERM_LENGTH) {
+                    current.append(Character.toLowerCase(c));
+                }
+            } else if (current.length() > 0) {
+                terms.add(current.toString());
+                current.setLength(0);
+            }
+        }
+        if (current.length() > 0) {
+            terms.add(current.toString());
+        }
+        return terms;
+    }
+
+    /**
+     * Tokens of one note: term positions plus the title and total token counts.
+     */
+    private record Analysis(int titleLength, int length, Map<String, int[]> positions) {
+    }
+
+    private Analysis analyze(String title, String content) {
+        List<String> titleTerms = tokenize(title);
+        List<String> bodyTerms = tokenize(content);
+        Map<String, List<Integer>> positions = new HashMap<>();
+        for (int i = 0; i < titleTerms.size(); i++) {
+            positions.computeIfAbsent(titleTerms.get(i), k -> new ArrayList<>()).add(i);
+        }
+        int offset = titleTerms.size() + 1;
+        for (int i = 0; i < bodyTerms.size(); i++) {
+            positions.computeIfAbsent(bodyTerms.get(i), k -> new ArrayList<>()).add(offset + i);
+        }
+        Map<String, int[]> packed = new HashMap<>(positions.size() * 2);
+        for (Map.Entry<String, List<Integer>> e : positions.entrySet()) {
+            packed.put(e.getKey(), e.getValue().stream().mapToInt(Integer::intValue).toArray());
+        }
+        return new Analysis(titleTerms.size(), titleTerms.size() + bodyTerms.size(), packed);
+    }
+
+    private void addLocked(String noteId, String signature, Analysis analysis) {
+        ensureDocCapacity(nextDoc + 1);
+        int doc = nextDoc++;
+        docNumbers.put(noteId, doc);
+        docIds[doc] = noteId;
+        signatures[doc] = signature;
+        titleLengths[doc] = analysis.titleLength();
+        lengths[doc] = analysis.length();
+        int[] termIds = new int[analysis.positions().size()];
+        int t = 0;
+        for (Map.Entry<String, int[]> e : analysis.positions().entrySet()) {
+            Postings termPostings = postings.get(e.getKey());
+            if (termPostings == null) {
+                termPostings = new Postings(e.getKey(), allocateTermId());
+                postings.put(e.getKey(), termPostings);
+                termsById[termPostings.id] = termPostings;
+            }
+            termPostings.add(doc, e.getValue(), e.getValue().length);
+            termIds[t++] = termPostings.id;
+        }
+        docTerms[doc] = encodeTermIds(termIds);
+        totalLength += analysis.length();
+    }
+
+    private boolean removeLocked(String noteId) {
+        Integer removed = docNumbers.remove(noteId);
+        if (removed == null) {
+            return false;
+        }
+        int doc = removed;
+        int[] termIds = decodeTermIds(docTerms[doc]);
+        totalLength -= lengths[doc];
+        docIds[doc] = null;
+        signatures[doc] = null;
+        docTerms[doc] = null;
+        for (int termId : termIds) {
+            Postings termPostings = termsById[termId];
+            termPostings.dead++;
+            if (termPostings.live() == 0) {
+                postings.remove(termPostings.term);
+                termsById[termId] = null;
+                releaseTermId(termId);
+            } else if (termPostings.dead > termPostings.live()) {
+                termPostings.compact(d -> docIds[d] != null ? d : -1);
+            }
+        }
+        if (nextDoc - docNumbers.size() > Math.max(MIN_RENUMBER_SLACK, docNumbers.size())) {
+            renumberLocked();
+        }
+        return true;
+    }
+
+    private void renumberLocked() {
+        int live = docNumbers.size();
+        int[] renumber = new int[nextDoc];
+        String[] ids = new String[live + 1];
+        String[] sigs = new String[live + 1];
+        int[] titles = new int[live + 1];
+        int[] lens = new int[live + 1];
+        byte[][] terms = new byte[live + 1][];
+        int next = 0;
+        for (int doc = 0; doc < nextDoc; doc++) {
+            if (docIds[doc] == null) {
+                renumber[doc] = -1;
+                continue;
+            }
+            renumber[doc] = next;
+            ids[next] = docIds[doc];
+            sigs[next] = signatures[doc];
+            titles[next] = titleLengths[doc];
+            lens[next] = lengths[doc];
+            terms[next] = docTerms[doc];
+            docNumbers.put(docIds[doc], next);
+            next++;
+        }
+        for (Postings termPostings : postings.values()) {
+            termPostings.compact(doc -> renumber[doc]);
+        }
+        docIds = ids;
+        signatures = sigs;
+        titleLengths = titles;
+        lengths = lens;
+        docTerms = terms;
+        nextDoc = next;
+    }
+
+    private void ensureDocCapacity(int capacity) {
+        if (capacity <= docIds.length) {
+            return;
+        }
+        int grown = Math.max(capacity, docIds.length + (docIds.length >> 1));
+        docIds = Arrays.copyOf(docIds, grown);
+        signatures = Arrays.copyOf(signatures, grown);
+        titleLengths = Arrays.copyOf(titleLengths, grown);
+        lengths = Arrays.copyOf(lengths, grown);
+        docTerms = Arrays.copyOf(docTerms, grown);
+    }
+
+    private int allocateTermId() {
+        if (freeTermCount > 0) {
+            return freeTermIds[--freeTermCount];
+        }
+        if (nextTermId == termsById.length) {
+            termsById = Arrays.copyOf(termsById, termsById.length * 2);
+        }
+        return nextTermId++;
+    }
+
+    private void releaseTermId(int termId) {
+        if (freeTermCount == freeTermIds.length) {
+            freeTermIds = Arrays.copyOf(freeTermIds, freeTermIds.length * 2);
+        }
+        freeTermIds[freeTermCount++] = termId;
+    }
+
+    private void clearLocked() {
+        postings.clear();
+        docNumbers.clear();
+        termsById = new Postings[64];
+        freeTermIds = new int[16];
+        freeTermCount = 0;
+        nextTermId = 0;
+        docIds = new String[16];
+        signatures = new String[16];
+        titleLengths = new int[16];
+        lengths = new int[16];
+        docTerms = new byte[16][];
+        nextDoc = 0;
+        totalLength = 0L;
+    }
+
+    private static byte[] encodeTermIds(int[] termIds) {
+        Arrays.sort(termIds);
+        byte[] buffer = new byte[termIds.length * 5];
+        int length = 0;
+        int previous = 0;
+        for (int termId : termIds) {
+            length = putVarInt(buffer, length, termId - previous);
+            previous = termId;
+        }
+        return Arrays.copyOf(buffer, length);
+    }
+
+    private static int[] decodeTermIds(byte[] encoded) {
+        int[] termIds = new int[countVarInts(encoded)];
+        int offset = 0;
+        int previous = 0;
+        for (int i = 0; i < termIds.length; i++) {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = encoded[offset++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            previous += value;
+            termIds[i] = previous;
+        }
+        return termIds;
+    }
+
+    private static int countVarInts(byte[] encoded) {
+        int count = 0;
+        for (byte b : encoded) {
+            if (b >= 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static int putVarInt(byte[] buffer, int offset, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer[offset++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[offset++] = (byte) value;
+        return offset;
+    }
+
+    // ==================== Persistence ====================
+
+    /**
+     * Loads the index file if one exists, replacing the current contents.
+     *
+     * @return true if a compatible index file was loaded.
+     */
+    public boolean load() {
+        if (indexFile == null || !Files.isRegularFile(indexFile)) {
+            return false;
+        }
+        String[] ids;
+        String[] sigs;
+        int[] titles;
+        int[] lens;
+        byte[][] terms;
+        Postings[] loadedTerms;
+        NavigableMap<String, Postings> loadedPostings = new TreeMap<>();
+        long loadedLength = 0L;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+            if (in.readInt() != FILE_MAGIC || in.readInt() != FILE_VERSION) {
+                logger.info("Ignoring search index with unknown format: " + indexFile);
+                return false;
+            }
+            int docCount = in.readInt();
+            ids = new String[docCount + 1];
+            sigs = new String[docCount + 1];
+            titles = new int[docCount + 1];
+            lens = new int[docCount + 1];
+            terms = new byte[docCount + 1][];
+            int[][] docTermIds = new int[docCount][];
+            for (int d = 0; d < docCount; d++) {
+                ids[d] = in.readUTF();
+                sigs[d] = in.readUTF();
+                titles[d] = readVarInt(in);
+                lens[d] = readVarInt(in);
+                docTermIds[d] = new int[readVarInt(in)];
+                loadedLength += lens[d];
+            }
+            int[] filled = new int[docCount];
+            int termCount = in.readInt();
+            loadedTerms = new Postings[Math.max(64, termCount)];
+            int[] positions = new int[16];
+            for (int t = 0; t < termCount; t++) {
+                Postings termPostings = new Postings(in.readUTF(), t);
+                int entries = readVarInt(in);
+                int doc = 0;
+                for (int e = 0; e < entries; e++) {
+                    doc += readVarInt(in);
+                    int count = readVarInt(in);
+                    if (count > positions.length) {
+                        positions = new int[Math.max(count, positions.length * 2)];
+                    }
+                    int previous = 0;
+                    for (int p = 0; p < count; p++) {
+                        previous += readVarInt(in);
+                        positions[p] = previous;
+                    }
+                    termPostings.add(doc, positions, count);
+                    docTermIds[doc][filled[doc]++] = t;
+                }
+                termPostings.data = Arrays.copyOf(termPostings.data, termPostings.length);
+                loadedTerms[t] = termPostings;
+                loadedPostings.put(termPostings.term, termPostings);
+            }
+            for (int d = 0; d < docCount; d++) {
+                if (filled[d] != docTermIds[d].length) {
+                    throw new IOException("Inconsistent term count for " + ids[d]);
+                }
+                terms[d] = encodeTermIds(docTermIds[d]);
+                docTermIds[d] = null;
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.log(Level.WARNING, "Failed to load search index, it will be rebuilt: " + indexFile, e);
+            return false;
+        }
+
+        lock.writeLock().lock();
+        try {
+            clearLocked();
+            postings.putAll(loadedPostings);
+            termsById = loadedTerms;
+            nextTermId = loadedPostings.size();
+            docIds = ids;
+            signatures = sigs;
+            titleLengths = titles;
+            lengths = lens;
+            docTerms = terms;
+            nextDoc = ids.length - 1;
+            for (int d = 0; d < nextDoc; d++) {
+                docNumbers.put(ids[d], d);
+            }
+            totalLength = loadedLength;
+            dirty = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return true;
+    }
+
+    /**
+     * Writes the index to its backing file if it changed since the last load or
+     * save. The file is replaced atomically.
+     */
+    public void save() {
+        if (indexFile == null || !dirty) {
+            return;
+        }
+        lock.readLock().lock();
+        try {
+            Path parent = indexFile.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Path tmp = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(FILE_MAGIC);
+                out.writeInt(FILE_VERSION);
+                out.writeInt(docNumbers.size());
+                // Live notes are written densely; ordinal maps note numbers to file order.
+                int[] ordinal = new int[nextDoc];
+                int next = 0;
+                for (int doc = 0; doc < nextDoc; doc++) {
+                    if (docIds[doc] == null) {
+                        continue;
+                    }
+                    ordinal[doc] = next++;
+                    out.writeUTF(docIds[doc]);
+                    out.writeUTF(signatures[doc]);
+                    writeVarInt(out, titleLengths[doc]);
+                    writeVarInt(out, lengths[doc]);
+                    writeVarInt(out, countVarInts(docTerms[doc]));
+                }
+                out.writeInt(postings.size());
+                int[] positions = new int[16];
+                for (Postings termPostings : postings.values()) {
+                    out.writeUTF(termPostings.term);
+                    writeVarInt(out, termPostings.live());
+                    Cursor cursor = new Cursor(termPostings);
+                    int previousDoc = 0;
+                    while (cursor.next(termPostings.data)) {
+                        if (docIds[cursor.doc] == null) {
+                            continue;
+                        }
+                        writeVarInt(out, ordinal[cursor.doc] - previousDoc);
+                        previousDoc = ordinal[cursor.doc];
+                        writeVarInt(out, cursor.count);
+                        positions = cursor.positions(termPostings.data, positions);
+                        int previous = 0;
+                        for (int p = 0; p < cursor.count; p++) {
+                            writeVarInt(out, positions[p] - previous);
+                            previous = positions[p];
+                        }
+                    }
+                }
+            }
+            try {
+                Files.move(tmp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException atomicMoveFailure) {
+                Files.move(tmp, indexFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            dirty = false;
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Failed to save search index: " + indexFile, e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        int shift = 0;
+        while (true) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+            shift += 7;
+            if (shift > 28) {
+                throw new IOException("Malformed varint in search index");
+            }
+        }
+    }
+
+    /**
+     * Convenience for callers that only need the ordered IDs.
+     */
+    public static List<String> noteIds(Collection<SearchHit> hits) {
+        if (hits == null || hits.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> ids = new ArrayList<>(hits.size());
+        for (SearchHit hit : hits) {
+            ids.add(hit.noteId());
+        }
+        return ids;
+    }
+}
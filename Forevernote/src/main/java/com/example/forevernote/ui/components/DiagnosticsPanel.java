@@ -0,0 +1,172 @@
+package com.example.forevernote.ui.components;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.example.forevernote.config.LoggerConfig;
+import com.example.forevernote.metrics.MetricsRegistry;
+import com.example.forevernote.metrics.MetricsSnapshot;
+
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.input.Clipboard;
+import javafx.scene.input.ClipboardContent;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import javafx.stage.FileChooser;
+import javafx.util.Duration;
+
+/**
+ * Side panel listing the runtime metrics of {@link MetricsRegistry}: timer
+ * percentiles, counters and gauges, refreshed every two seconds while the
+ * panel is shown, and exportable as JSON.
+ */
+public class DiagnosticsPanel {
+
+    private static final Logger logger = LoggerConfig.getLogger(DiagnosticsPanel.class);
+
+    /**
+     * One table row. Counters and gauges only fill {@code count}.
+     */
+    public record Row(String name, String count, String p50, String p99, String max) {
+    }
+
+    private final MetricsRegistry registry;
+    private final Function<String, String> i18n;
+    private final ObservableList<Row> rows = FXCollections.observableArrayList();
+    private final Timeline refreshTimeline;
+    private final VBox content;
+    private final Label statusLabel = new Label();
+
+    public DiagnosticsPanel(MetricsRegistry registry, Function<String, String> i18n) {
+        this.registry = registry;
+        this.i18n = i18n;
+        this.refreshTimeline = new Timeline(new KeyFrame(Duration.seconds(2), e -> refresh()));
+        this.refreshTimeline.setCycleCount(Animation.INDEFINITE);
+        this.content = buildContent();
+        // Only poll while the panel is on screen
+        content.sceneProperty().addListener((obs, oldScene, newScene) -> {
+            if (newScene != null) {
+                refresh();
+                refreshTimeline.play();
+            } else {
+                refreshTimeline.stop();
+            }
+        });
+    }
+
+    public VBox getContent() {
+        return content;
+    }
+
+    /**
+     * Reloads the table from a new snapshot.
+     */
+    public void refresh() {
+        rows.setAll(toRows(registry.snapshot()));
+    }
+
+    /**
+     * Flattens a snapshot into table rows: timers first, then counters and
+     * gauges, each sorted by name.
+     */
+    public static List<Row> toRows(MetricsSnapshot snapshot) {
+        List<Row> result = new ArrayList<>();
+        for (MetricsSnapshot.TimerValue timer : snapshot.timers()) {
+            if (timer.count() == 0) {
+                continue;
+            }
+            result.add(new Row(timer.name(), Long.toString(timer.count()),
+                    MetricsSnapshot.millis(timer.p50Nanos()), MetricsSnapshot.millis(timer.p99Nanos()),
+                    MetricsSnapshot.millis(timer.maxNanos())));
+        }
+        for (MetricsSnapshot.CounterValue counter : snapshot.counters()) {
+            result.add(new Row(counter.name(), Long.toString(counter.count()), "", "", ""));
+        }
+        for (MetricsSnapshot.GaugeValue gauge : snapshot.gauges()) {
+            result.add(new Row(gauge.name(), gauge.value() == null ? "?" : gauge.value().toString(), "", "", ""));
+        }
+        return result;
+    }
+
+    private VBox buildContent() {
+        TableView<Row> table = new TableView<>(rows);
+        table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
+        table.setPrefHeight(320);
+        table.setPlaceholder(new Label(i18n.apply("diagnostics.empty")));
+        table.getColumns().add(column(i18n.apply("diagnostics.column.metric"), Row::name, 180));
+        table.getColumns().add(column(i18n.apply("diagnostics.column.count"), Row::count, 60));
+        table.getColumns().add(column("p50 ms", Row::p50, 60));
+        table.getColumns().add(column("p99 ms", Row::p99, 60));
+        table.getColumns().add(column("max ms", Row::max, 60));
+        VBox.setVgrow(table, Priority.ALWAYS);
+
+        Button refreshButton = new Button(i18n.apply("diagnostics.refresh"));
+        refreshButton.setOnAction(e -> refresh());
+        Button resetButton = new Button(i18n.apply("diagnostics.reset"));
+        resetButton.setOnAction(e -> {
+            registry.reset();
+            refresh();
+        });
+        Button copyButton = new Button(i18n.apply("diagnostics.copy_json"));
+        copyButton.setOnAction(e -> copyJson());
+        Button exportButton = new Button(i18n.apply("diagnostics.export_json"));
+        exportButton.setOnAction(e -> exportJson());
+
+        HBox actions = new HBox(6, refreshButton, resetButton, copyButton, exportButton);
+        statusLabel.getStyleClass().add("diagnostics-status");
+
+        VBox box = new VBox(8, actions, table, statusLabel);
+        box.getStyleClass().add("diagnostics-panel");
+        return box;
+    }
+
+    private static TableColumn<Row, String> column(String title, Function<Row, String> value, double width) {
+        TableColumn<Row, String> column = new TableColumn<>(title);
+        column.setCellValueFactory(cell -> new ReadOnlyStringWrapper(value.apply(cell.getValue())));
+        column.setPrefWidth(width);
+        return column;
+    }
+
+    private void copyJson() {
+        ClipboardContent clipboard = new ClipboardContent();
+        clipboard.putString(registry.snapshot().toJson());
+        Clipboard.getSystemClipboard().setContent(clipboard);
+        statusLabel.setText(i18n.apply("diagnostics.copied"));
+    }
+
+    private void exportJson() {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle(i18n.apply("diagnostics.export_json"));
+        chooser.setInitialFileName("forevernote-metrics.json");
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("JSON", "*.json"));
+        File file = chooser.showSaveDialog(content.getScene() != null ? content.getScene().getWindow() : null);
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.writeString(file.toPath(), registry.snapshot().toJson(), StandardCharsets.UTF_8);
+            statusLabel.setText(java.text.MessageFormat.format(i18n.apply("diagnostics.exported"), file.getName()));
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Failed to export metrics to " + file, e);
+            statusLabel.setText(java.text.MessageFormat.format(i18n.apply("diagnostics.export_failed"),
+                    e.getMessage()));
+        }
+    }
+}
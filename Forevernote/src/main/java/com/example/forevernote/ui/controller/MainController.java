@@ -9,6 +9,7 @@ import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
 import javafx.scene.Node;
 import javafx.application.Platform;
+import javafx.concurrent.Worker;
 import javafx.animation.PauseTransition;
 import javafx.event.ActionEvent;
 import javafx.stage.Stage;
@@ -16,9 +17,14 @@ import javafx.stage.FileChooser;
 import javafx.util.Duration;
 import java.util.*;
 import java.io.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.prefs.Preferences;
 import java.sql.Connection;
 import java.util.logging.Level;
@@ -26,8 +32,11 @@ import java.util.logging.Logger;
 
 import com.example.forevernote.config.LoggerConfig;
 import com.example.forevernote.data.database.SQLiteDB;
+import com.example.forevernote.data.dao.filesystem.FactoryDAOFileSystem;
+import com.example.forevernote.data.dao.filesystem.VaultWatcher;
 import com.example.forevernote.data.dao.interfaces.FactoryDAO;
 import com.example.forevernote.data.dao.interfaces.FolderDAO;
+import com.example.forevernote.data.dao.interfaces.LinkDAO;
 import com.example.forevernote.data.dao.interfaces.NoteDAO;
 import com.example.forevernote.data.dao.interfaces.TagDAO;
 import com.example.forevernote.data.models.Folder;
@@ -36,6 +45,7 @@ import com.example.forevernote.data.models.Tag;
 import com.example.forevernote.data.models.interfaces.Component;
 import com.example.forevernote.event.EventBus;
 import com.example.forevernote.event.events.*;
+import com.example.forevernote.metrics.MetricsRegistry;
 import com.example.forevernote.plugin.Plugin;
 import com.example.forevernote.plugin.PluginManager;
 import com.example.forevernote.plugin.PluginMenuRegistry;
@@ -46,6 +56,7 @@ import com.example.forevernote.service.FolderService;
 import com.example.forevernote.service.NoteService;
 import com.example.forevernote.service.TagService;
 import com.example.forevernote.ui.components.CommandPalette;
+import com.example.forevernote.ui.components.DiagnosticsPanel;
 import com.example.forevernote.ui.components.PluginManagerDialog;
 import com.example.forevernote.ui.components.QuickSwitcher;
 import com.example.forevernote.ui.workflow.FolderWorkflow;
@@ -73,9 +84,11 @@ import com.example.forevernote.ui.workflow.PluginUiWorkflow;
 import com.example.forevernote.ui.workflow.AppSettingsWorkflow;
 import com.example.forevernote.ui.workflow.UiPreferencesWorkflow;
 import com.example.forevernote.ui.workflow.TabCommandWorkflow;
+import com.example.forevernote.ui.workflow.graph.GraphSpatialIndex;
 import com.example.forevernote.ui.workflow.graph.GraphWorkflow;
 import com.example.forevernote.service.tabs.TabSessionService;
 import com.example.forevernote.service.links.LinkIndexService;
+import com.example.forevernote.service.search.NoteSearchIndex;
 
 public class MainController implements PluginMenuRegistry, SidePanelRegistry, PreviewEnhancerRegistry {
 
@@ -233,6 +246,8 @@ public class MainController implements PluginMenuRegistry, SidePanelRegistry, Pr
     private EventBus eventBus;
     private PluginManager pluginManager;
     private PluginManagerDialog pluginManagerDialog;
+    private DiagnosticsPanel diagnosticsPanel;
+    private boolean diagnosticsPanelShown = false;
     private NoteWorkflow noteWorkflow;
     private FolderWorkflow folderWorkflow;
     private TagWorkflow tagWorkflow;
@@ -257,7 +272,9 @@ public class MainController implements PluginMenuRegistry, SidePanelRegistry, Pr
     private final PluginUiWorkflow pluginUiWorkflow = new PluginUiWorkflow();
     private final AppSettingsWorkflow appSettingsWorkflow = new AppSettingsWorkflow();
     private final TabCommandWorkflow tabCommandWorkflow = new TabCommandWorkflow();
+    // One workflow per graph view, so each warm-starts from its own last layout.
     private final GraphWorkflow graphWorkflow = new GraphWorkflow();
+    private final GraphWorkflow graphWorkspaceWorkflow = new GraphWorkflow();
     private final TabSessionService tabSessionService = new TabSessionService();
     private final LinkIndexService linkIndexService = new LinkIndexService();
     private final List<EventBus.Subscription> uiEventSubscriptions = new ArrayList<>();
@@ -281,6 +298,28 @@ public class MainController implements PluginMenuRegistry, SidePanelRegistry, Pr
         return t;
     });
     private final AtomicLong quickSwitcherLoadVersion = new AtomicLong(0);
+    private final ExecutorService previewRenderExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "forevernote-preview-renderer");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicLong previewRenderVersion = new AtomicLong(0);
+    private static final int LINK_INDEX_THREADS = Math.max(1,
+            Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+    private final AtomicLong linkIndexThreadCounter = new AtomicLong(0);
+    private final ExecutorService linkIndexExecutor = Executors.newFixedThreadPool(LINK_INDEX_THREADS, r -> {
+        Thread t = new Thread(r, "forevernote-link-index-" + linkIndexThreadCounter.incrementAndGet());
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicLong graphLayoutThreadCounter = new AtomicLong(0);
+    private final ExecutorService graphLayoutExecutor = Executors.newFixedThreadPool(2, r -> {
+        Thread t = new Thread(r, "forevernote-graph-layout-" + graphLayoutThreadCounter.incrementAndGet());
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicReference<GraphWorkflow.GraphData> pendingGraphFrame = new AtomicReference<>();
+    private final AtomicReference<GraphWorkflow.GraphData> pendingGraphWorkspaceFrame = new AtomicReference<>();
     private volatile List<Note> quickSwitcherNotesCache = List.of();
     private String sidebarTabsMode = UiPreferencesWorkflow.MODE_TEXT;
     private String editorViewButtonsMode = UiPreferencesWorkflow.MODE_TEXT;
@@ -294,9 +333,13 @@ public class MainController implements PluginMenuRegistry, SidePanelRegistry, Pr
     private boolean customAccentEnabled = false;
     private String customAccentColor = "#7c3aed";
     private String lastPreviewRenderKey = "";
+    // Key of the loaded preview document apart from its content, and the blocks it shows.
+    private String lastPreviewShellKey = "";
+    private List<String> lastPreviewBlocks = List.of();
     private boolean featureTabsEnabled = true;
     private boolean featureGraphEnabled = true;
     private boolean featureObsidianLinksEnabled = true;
+    private boolean featureDiagnosticsEnabled = false;
     private boolean switchingTabSelection = false;
     private final Map<String, Tab> uiTabsById = new HashMap<>();
     private boolean previewLinkHandlerBound = false;
@@ -316,14 +359,25 @@ public class MainController implements PluginMenuRegistry, SidePanelRegistry, Pr
     private double graphWorkspaceDragStartX = 0.0;
     private double graphWorkspaceDragStartY = 0.0;
     private GraphWorkflow.GraphData graphWorkspaceData = new GraphWorkflow.GraphData(List.of(), List.of());
+    private GraphSpatialIndex graphWorkspaceIndex = new GraphSpatialIndex(graphWorkspaceData);
     private String graphWorkspaceHoverNodeId;
     private Label graphWorkspaceStatsLabel;
     private boolean graphWorkspaceVisible = false;
     private boolean graphWorkspacePrevRightPanelVisible = true;
     private boolean graphWorkspaceInteractiveMode = false;
+    // Level of detail: below these zoom levels dense graphs drop edges, node outlines and labels.
+    private static final double GRAPH_EDGE_MIN_SCALE = 0.35;
+    private static final int GRAPH_EDGE_LOD_MIN_NODES = 4000;
+    private static final double GRAPH_NODE_OUTLINE_MIN_RADIUS = 2.5;
+    private static final double GRAPH_LABEL_MIN_SCALE = 1.0;
+    private long graphWorkspaceLastRenderStartNanos = 0L;
+    // Duration of the last frame, shown in the canvas stats line.
     private long graphWorkspaceLastRenderNanos = 0L;
     private static final String PREF_TABS_SESSION_IDS = "tabs.session.ids";
     private static final String PREF_TABS_SESSION_ACTIVE_ID = "tabs.session.active_note_id";
+    // Built-in side panel, registered like a plugin panel under its own owner id
+    private static final String DIAGNOSTICS_PANEL_OWNER = "forevernote";
+    private static final String DIAGNOSTICS_PANEL_ID = "diagnostics";
 
     private enum SaveDialogDecision {
         SAVE,
@@ -446,6 +500,9 @@ public class MainController implements PluginMenuRegistry, SidePanelRegistry, Pr
             sidebarController.loadFavorites();
             sidebarController.loadTrashTree();
             rebuildLinkIndex();
+            if (notesListController != null) {
+                notesListController.warmUpSearchIndex();
+            }
             restoreTabSession();
 
             Platform.runLater(this::initializeKeyboardShortcuts);
@@ -478,26 +535,35 @@ public class MainController implements PluginMenuRegistry, SidePanelRegistry, Pr
                 }
 
                 factoryDAO = FactoryDAO.getFactory(FactoryDAO.FILE_SYSTEM_FACTORY, dataDir);
+                if (factoryDAO instanceof FactoryDAOFileSystem fileSystemFactory) {
+                    fileSystemFactory.addVaultListener(this::publishVaultChanges);
+                    fileSystemFactory.startWatching();
+                }
                 previewStorageType = "filesystem";
                 previewFileSystemRootDirectory = dataDir;
             } else {
                 SQLiteDB db = SQLiteDB.getInstance();
                 connection = db.openConnection();
-                factoryDAO = FactoryDAO.getFactory(FactoryDAO.SQLITE_FACTORY, connection);
+                factoryDAO = FactoryDAO.getFactory(FactoryDAO.SQLITE_FACTORY, connection, db.getReadPool());
                 logger.info("Initialized SQLite Storage");
                 previewStorageType = "sqlite";
                 previewFileSystemRootDirectory = "";
             }
 
-            folderDAO = factoryDAO.getFolderDAO();
-            noteDAO = factoryDAO.getNoteDAO();
-            tagDAO = factoryDAO.getLabelDAO();
+            // Every DAO call is timed for the diagnostics panel
+            MetricsRegistry metrics = MetricsRegistry.getInstance();
+            folderDAO = metrics.instrument(FolderDAO.class, factoryDAO.getFolderDAO(), "dao.folder");
+            noteDAO = metrics.instrument(NoteDAO.class, factoryDAO.getNoteDAO(), "dao.note");
+            tagDAO = metrics.instrument(TagDAO.class, factoryDAO.getLabelDAO(), "dao.tag");
+            // SQLite link writes share the UI's write connection, so they run on the FX thread.
+            linkIndexService.attachStore(metrics.instrument(LinkDAO.class, factoryDAO.getLinkDAO(), "dao.link"),
+                    factoryDAO instanceof FactoryDAOFileSystem ? linkIndexExecutor : Platform::runLater);
             noteWorkflow = new NoteWorkflow(noteDAO);
             folderWorkflow = new FolderWorkflow();
             tagWorkflow = new TagWorkflow();
             previewWorkflow = new PreviewWorkflow();
 
-            noteService = new NoteService(noteDAO, folderDAO, tagDAO);
+            noteService = new NoteService(noteDAO, folderDAO, tagDAO, new NoteSearchIndex(resolveSearchIndexFile()));
             folderService = new FolderService(folderDAO, noteDAO);
             tagService = new TagService(tagDAO, noteDAO);
             eventBus = EventBus.getInstance();
@@ -509,6 +575,52 @@ public class MainController implements PluginMenuRegistry, SidePanelRegistry, Pr
         }
     }
 
+    /**
+     * Publishes external vault changes, called on the watcher thread; EventBus
+     * hands the dispatch over to the FX thread.
+     */
+    private void publishVaultChanges(List<VaultWatcher.Change> changes) {
+        if (eventBus == null) {
+            return;
+        }
+        for (VaultWatcher.Change change : changes) {
+            if (change.kind() == VaultWatcher.Kind.OVERFLOW) {
+                eventBus.publish(new VaultEvents.VaultRescannedEvent());
+                continue;
+            }
+            VaultEvents.ChangeKind kind = VaultEvents.ChangeKind.valueOf(change.kind().name());
+            if (change.directory()) {
+                eventBus.publish(new VaultEvents.FolderFileChangedEvent(kind, change.path(), change.previousPath()));
+            } else {
+                eventBus.publish(new VaultEvents.NoteFileChangedEvent(kind, change.path(), change.previousPath()));
+            }
+        }
+        eventBus.publish(new VaultEvents.ExternalChangesAppliedEvent(changes.size()));
+    }
+
+    private void handleExternalVaultChanges() {
+        if (noteService != null) {
+            noteService.invalidateSearchIndex();
+        }
+        refreshNotesList();
+        if (sidebarController != null) {
+            sidebarController.loadFolders();
+            sidebarController.loadTags();
+            sidebarController.loadRecentNotes();
+            sidebarController.loadFavorites();
+        }
+        rebuildLinkIndex();
+    }
+
+    private java.nio.file.Path resolveSearchIndexFile() {
+        if ("filesystem".equals(previewStorageType)) {
+            // Keep the index inside the vault's hidden directory so it travels with the notes.
+            return java.nio.file.Paths.get(previewFileSystemRootDirectory, ".forevernote", "search-index.bin");
+        }
+        return java.nio.file.Paths.get(com.example.forevernote.AppDataDirectory.getDataDirectory(),
+                "search-index.bin");
+    }
+
     @FXML
     public void handleSwitchStorage() {
         appSettingsWorkflow.handleSwitchStorage(
@@ -658,6 +770,18 @@ public class MainController implements PluginMenuRegistry, SidePanelRegistry, Pr
                     "Tools",
                     this::showPluginManager));
 
+            commandPalette.addCommand(new CommandPalette.Command(
+                    "cmd.diagnostics.toggle",
+                    "Diagnostics: Toggle Performance Panel",
+                    "Show timings of storage, events, preview, links, sidebar and plugins",
+                    "",
+                    "=",
+                    "Tools",
+                    this::toggleDiagnosticsPanel));
+            if (featureDiagnosticsEnabled) {
+                toggleDiagnosticsPanel();
+            }
+
             pluginLifecycleWorkflow.subscribePluginUiEvents(
                     eventBus,
                     () -> Platform.runLater(() -> {
@@ -763,6 +887,8 @@ public class MainController implements PluginMenuRegistry, SidePanelRegistry, Pr
                         MainController.this.handleUiNoteModified(note);
                     }
                 }));
+        uiEventSubscriptions.add(eventBus.subscribe(VaultEvents.ExternalChangesAppliedEvent.class,
+                event -> handleExternalVaultChanges()));
     }
 
     private void handleUiNotesLoaded(NoteEvents.NotesLoadedEvent event) {
@@ -779,8 +905,14 @@ public class MainController implements PluginMenuRegistry, SidePanelRegistry, Pr
                 tabSessionService.closeTab(tab.tabId());
                 syncTabsUi();
             });
+            if (featureObsidianLinksEnabled) {
+                linkIndexService.removeNote(noteId);
+                redrawGraph();
+                updateBacklinksPanel();
+            }
+        } else {
+            rebuildLinkIndex();
         }
-        rebuildLinkIndex();
     }
 
     private void handleUiFolderDeleted(String folderId) {
@@ -913,6 +1045,23 @@ public class MainController implements PluginMenuRegistry, SidePanelRegistry, Pr
         searchListenerBound = true;
     }
 
+    /**
+     * Shows or hides the runtime metrics panel in the right sidebar.
+     */
+    public void toggleDiagnosticsPanel() {
+        if (diagnosticsPanelShown) {
+            removeSidePanel(DIAGNOSTICS_PANEL_OWNER, DIAGNOSTICS_PANEL_ID);
+            diagnosticsPanelShown = false;
+            return;
+        }
+        if (diagnosticsPanel == null) {
+            diagnosticsPanel = new DiagnosticsPanel(MetricsRegistry.getInstance(), this::getString);
+        }
+        registerSidePanel(DIAGNOSTICS_PANEL_OWNER, DIAGNOSTICS_PANEL_ID, getString("diagnostics.title"),
+                diagnosticsPanel.getContent(), "⏱");
+        diagnosticsPanelShown = true;
+    }
+
     public void showPluginManager() {
         if (pluginManagerDialog != null) {
             pluginManagerDialog.setDarkTheme(isDarkThemeActive());
@@ -1480,6 +1629,8 @@ public class MainController implements PluginMenuRegistry, SidePanelRegistry, Pr
         featureTabsEnabled = prefs.getBoolean("feature.tabs.enabled", true);
         featureGraphEnabled = prefs.getBoolean("feature.graph.enabled", true);
         featureObsidianLinksEnabled = prefs.getBoolean("feature.obsidian_links.enabled", true);
+        featureDiagnosticsEnabled = prefs.getBoolean("feature.diagnostics.enabled",
+                Boolean.getBoolean("forevernote.diagnostics"));
     }
 
     private void initializeNoteTabs() {
@@ -1667,37 +1818,51 @@ public class MainController implements PluginMenuRegistry, SidePanelRegistry, Pr
         if (!featureObsidianLinksEnabled || noteService == null) {
             return;
         }
+        // Content is loaded and parsed on the link-index pool; the backlinks panel
+        // and preview keep resolving against the previous index until the swap.
+        CompletableFuture.supplyAsync(noteService::getAllNotes, linkIndexExecutor)
+                .thenCompose(notes -> linkIndexService.rebuildIndexAsync(notes, this::loadNoteForLinkIndex,
+                        linkIndexExecutor))
+                .whenComplete((result, error) -> {
+                    if (error != null) {
+                        logger.log(Level.WARNING, "Failed to rebuild link index", error);
+                        return;
+                    }
+                    if (!result.published()) {
+                        return;
+                    }
+                    logger.info("Link index rebuilt: notes=" + result.noteCount() + ", links=" + result.linkCount()
+                            + ", parsed=" + result.parsedCount());
+                    Platform.runLater(() -> {
+                        redrawGraph();
+                        updateBacklinksPanel();
+                    });
+                });
+    }
+
+    private Note loadNoteForLinkIndex(Note note) {
+        String content = note.getContent();
+        if (content != null && !content.isBlank()) {
+            return note;
+        }
         try {
-            List<Note> rawNotes = noteService.getAllNotes();
-            List<Note> fullNotes = new ArrayList<>(rawNotes.size());
-            for (Note note : rawNotes) {
-                if (note == null) {
-                    continue;
-                }
-                String content = note.getContent();
-                if ((content == null || content.isBlank()) && note.getId() != null && !note.getId().isBlank()) {
-                    Note full = noteService.getNoteById(note.getId()).orElse(note);
-                    fullNotes.add(full);
-                } else {
-                    fullNotes.add(note);
-                }
-            }
-            linkIndexService.rebuildIndex(fullNotes);
-            int links = linkIndexService.outgoingIndexSnapshot().values().stream().mapToInt(List::size).sum();
-            logger.info("Link index rebuilt: notes=" + fullNotes.size() + ", links=" + links);
+            return noteService.getNoteById(note.getId()).orElse(note);
         } catch (Exception e) {
-            logger.log(Level.WARNING, "Failed to rebuild link index", e);
+            logger.log(Level.WARNING, "Failed to load note for link index: " + note.getId(), e);
+            return note;
         }
-        redrawGraph();
-        updateBacklinksPanel();
     }
 
-    private void reindexCurrentNoteLinks() {
+    /**
+     * @param previousId The note's id before the save; file-system storage
+     *                   renames the note when its title changes.
+     */
+    private void reindexCurrentNoteLinks(String previousId) {
         if (!featureObsidianLinksEnabled || getCurrentNote() == null) {
             return;
         }
         try {
-            linkIndexService.reindexNote(getCurrentNote());
+            linkIndexService.renameNote(previousId, getCurrentNote());
             if (eventBus != null) {
                 eventBus.publish(new LinkEvents.NoteLinksChangedEvent(getCurrentNote().getId()));
             }
@@ -1815,16 +1980,44 @@ public class MainController implements PluginMenuRegistry, SidePanelRegistry, Pr
                 Set.of(),
                 graphUnresolvedCheck != null && graphUnresolvedCheck.isSelected(),
                 220);
-        GraphWorkflow.GraphData data;
+        Consumer<GraphWorkflow.GraphData> frames = coalescedGraphFrames(pendingGraphFrame, this::renderGraph);
+        CompletableFuture<GraphWorkflow.GraphData> layout;
         boolean global = graphModeCombo != null && graphModeCombo.getSelectionModel().getSelectedIndex() == 1;
         if (global) {
-            data = graphWorkflow.buildGlobalGraph(notes, linkIndexService, filter);
+            layout = graphWorkflow.buildGlobalGraphAsync(notes, linkIndexService, filter, graphLayoutExecutor, frames);
         } else {
             String center = getCurrentNote() != null ? getCurrentNote().getId() : null;
             int depth = graphDepthSpinner != null ? graphDepthSpinner.getValue() : 2;
-            data = graphWorkflow.buildLocalGraph(center, depth, notes, linkIndexService, filter);
+            layout = graphWorkflow.buildLocalGraphAsync(center, depth, notes, linkIndexService, filter,
+                    graphLayoutExecutor, frames);
         }
-        renderGraph(data);
+        layout.whenComplete((data, error) -> {
+            if (error != null) {
+                if (!(error instanceof CancellationException)) {
+                    logger.log(Level.WARNING, "Graph layout failed", error);
+                }
+                return;
+            }
+            Platform.runLater(() -> renderGraph(data));
+        });
+    }
+
+    /**
+     * Hands intermediate layouts to the FX thread, dropping frames that arrive
+     * while the previous one is still queued.
+     */
+    private Consumer<GraphWorkflow.GraphData> coalescedGraphFrames(
+            AtomicReference<GraphWorkflow.GraphData> pending, Consumer<GraphWorkflow.GraphData> render) {
+        return frame -> {
+            if (pending.getAndSet(frame) == null) {
+                Platform.runLater(() -> {
+                    GraphWorkflow.GraphData latest = pending.getAndSet(null);
+                    if (latest != null) {
+                        render.accept(latest);
+                    }
+                });
+            }
+        };
     }
 
     private void renderGraph(GraphWorkflow.GraphData data) {
@@ -2125,40 +2318,68 @@ public class MainController implements PluginMenuRegistry, SidePanelRegistry, Pr
                     Set.of(),
                     graphWorkspaceUnresolvedCheck != null && graphWorkspaceUnresolvedCheck.isSelected(),
                     5000);
+            Consumer<GraphWorkflow.GraphData> frames = coalescedGraphFrames(pendingGraphWorkspaceFrame, frame -> {
+                setGraphWorkspaceData(frame);
+                requestGraphWorkspaceRender(false);
+            });
+            CompletableFuture<GraphWorkflow.GraphData> layout;
             boolean global = graphWorkspaceModeCombo != null && graphWorkspaceModeCombo.getSelectionModel().getSelectedIndex() == 1;
             if (global) {
-                graphWorkspaceData = graphWorkflow.buildGlobalGraph(notes, linkIndexService, filter);
+                layout = graphWorkspaceWorkflow.buildGlobalGraphAsync(notes, linkIndexService, filter,
+                        graphLayoutExecutor, frames);
             } else {
                 String center = getCurrentNote() != null ? getCurrentNote().getId() : null;
                 int depth = graphWorkspaceDepthSpinner != null ? graphWorkspaceDepthSpinner.getValue() : 2;
-                graphWorkspaceData = graphWorkflow.buildLocalGraph(center, depth, notes, linkIndexService, filter);
+                layout = graphWorkspaceWorkflow.buildLocalGraphAsync(center, depth, notes, linkIndexService, filter,
+                        graphLayoutExecutor, frames);
             }
-            if (graphWorkspaceStatsLabel != null) {
-                int nodeCount = graphWorkspaceData != null ? graphWorkspaceData.nodes().size() : 0;
-                int edgeCount = graphWorkspaceData != null ? graphWorkspaceData.edges().size() : 0;
-                graphWorkspaceStatsLabel.setText(nodeCount + " nodos · " + edgeCount + " enlaces");
-                updateStatus("Grafo: " + nodeCount + " nodos, " + edgeCount + " enlaces");
-            }
-            fitGraphWorkspaceToData();
-            requestGraphWorkspaceRender(false);
+            layout.whenComplete((data, error) -> {
+                if (error != null) {
+                    if (!(error instanceof CancellationException)) {
+                        logger.log(Level.WARNING, "Graph redraw failed", error);
+                        Platform.runLater(() -> updateStatus("Error grafo: " + error.getClass().getSimpleName()));
+                    }
+                    return;
+                }
+                Platform.runLater(() -> showGraphWorkspaceData(data));
+            });
         } catch (Exception ex) {
             logger.log(Level.WARNING, "Graph redraw failed", ex);
             updateStatus("Error grafo: " + ex.getClass().getSimpleName());
         }
     }
 
+    private void setGraphWorkspaceData(GraphWorkflow.GraphData data) {
+        graphWorkspaceData = data;
+        graphWorkspaceIndex = new GraphSpatialIndex(data);
+    }
+
+    private void showGraphWorkspaceData(GraphWorkflow.GraphData data) {
+        setGraphWorkspaceData(data);
+        if (graphWorkspaceStatsLabel != null) {
+            int nodeCount = graphWorkspaceData != null ? graphWorkspaceData.nodes().size() : 0;
+            int edgeCount = graphWorkspaceData != null ? graphWorkspaceData.edges().size() : 0;
+            graphWorkspaceStatsLabel.setText(nodeCount + " nodos · " + edgeCount + " enlaces");
+            updateStatus("Grafo: " + nodeCount + " nodos, " + edgeCount + " enlaces");
+        }
+        fitGraphWorkspaceToData();
+        requestGraphWorkspaceRender(false);
+    }
+
     private void requestGraphWorkspaceRender(boolean interactive) {
         if (graphWorkspaceCanvas == null) {
             return;
         }
         graphWorkspaceInteractiveMode = interactive;
         long now = System.nanoTime();
-        long minInterval = interactive ? 24_000_000L : 12_000_000L;
-        if ((now - graphWorkspaceLastRenderNanos) < minInterval) {
+        long minInterval = interactive ? 16_000_000L : 12_000_000L;
+        if ((now - graphWorkspaceLastRenderStartNanos) < minInterval) {
             return;
         }
-        graphWorkspaceLastRenderNanos = now;
+        graphWorkspaceLastRenderStartNanos = now;
         renderGraphWorkspace();
+        graphWorkspaceLastRenderNanos = System.nanoTime() - now;
+        MetricsRegistry.getInstance().timer("graph.render").record(graphWorkspaceLastRenderNanos);
     }
 
     private void fitGraphWorkspaceToData() {
@@ -2212,92 +2433,120 @@ public class MainController implements PluginMenuRegistry, SidePanelRegistry, Pr
             return;
         }
 
-        gc.setLineWidth(Math.max(0.5, 0.9 * graphWorkspaceScale));
-        Map<String, GraphWorkflow.GraphNode> nodeById = new HashMap<>(graphWorkspaceData.nodes().size() * 2);
-        for (GraphWorkflow.GraphNode n : graphWorkspaceData.nodes()) {
-            nodeById.put(n.id(), n);
-        }
-        int totalEdges = graphWorkspaceData.edges().size();
+        GraphSpatialIndex index = graphWorkspaceIndex;
+        List<GraphWorkflow.GraphNode> nodes = index.data().nodes();
+        List<GraphWorkflow.GraphEdge> edges = index.data().edges();
+        double scale = graphWorkspaceScale;
+        double offsetX = graphWorkspaceOffsetX;
+        double offsetY = graphWorkspaceOffsetY;
+        // Visible rectangle in graph coordinates, padded so nodes on the border are still drawn.
+        double margin = 24.0 / scale;
+        double viewMinX = -offsetX / scale - margin;
+        double viewMinY = -offsetY / scale - margin;
+        double viewMaxX = (w - offsetX) / scale + margin;
+        double viewMaxY = (h - offsetY) / scale + margin;
+
+        int nodeCount = nodes.size();
+        int totalEdges = edges.size();
+        boolean renderEdges = scale >= GRAPH_EDGE_MIN_SCALE || nodeCount <= GRAPH_EDGE_LOD_MIN_NODES;
         int edgeStride = 1;
-        if (graphWorkspaceInteractiveMode && (totalEdges > 8000 || graphWorkspaceData.nodes().size() > 1200)) {
+        if (graphWorkspaceInteractiveMode && (totalEdges > 8000 || nodeCount > 1200)) {
             edgeStride = Math.max(4, totalEdges / 6000);
-        } else if (totalEdges > 25000 || graphWorkspaceData.nodes().size() > 2200) {
+        } else if (totalEdges > 25000 || nodeCount > 2200) {
             edgeStride = Math.max(2, totalEdges / 12000);
         }
-        boolean renderEdges = true;
-        Map<String, Integer> degreeByNode = new HashMap<>(graphWorkspaceData.nodes().size() * 2);
-        for (int i = 0; i < totalEdges; i += edgeStride) {
-            if (!renderEdges) {
-                break;
+        if (renderEdges) {
+            gc.setLineWidth(Math.max(0.5, 0.9 * scale));
+            // One path per style: resolved links first, unresolved ones on top.
+            for (int pass = 0; pass < 2; pass++) {
+                boolean unresolvedPass = pass == 1;
+                gc.beginPath();
+                for (int i = 0; i < totalEdges; i += edgeStride) {
+                    if (edges.get(i).unresolved() != unresolvedPass) {
+                        continue;
+                    }
+                    int s = index.edgeSource(i);
+                    int t = index.edgeTarget(i);
+                    if (s < 0 || t < 0) {
+                        continue;
+                    }
+                    GraphWorkflow.GraphNode source = nodes.get(s);
+                    GraphWorkflow.GraphNode target = nodes.get(t);
+                    if (Math.max(source.x(), target.x()) < viewMinX || Math.min(source.x(), target.x()) > viewMaxX
+                            || Math.max(source.y(), target.y()) < viewMinY
+                            || Math.min(source.y(), target.y()) > viewMaxY) {
+                        continue;
+                    }
+                    gc.moveTo(source.x() * scale + offsetX, source.y() * scale + offsetY);
+                    gc.lineTo(target.x() * scale + offsetX, target.y() * scale + offsetY);
+                }
+                gc.setStroke(unresolvedPass ? unresolvedEdgeColor : resolvedEdgeColor);
+                gc.stroke();
+            }
+        }
+
+        List<Integer> visible = new ArrayList<>();
+        index.forEachNodeIn(viewMinX, viewMinY, viewMaxX, viewMaxY, visible::add);
+        double resolvedRadius = Math.max(1.15, Math.min(5.0, 1.9 * Math.max(0.75, scale)));
+        double unresolvedRadius = Math.max(1.15, Math.min(5.0, 1.35 * Math.max(0.75, scale)));
+        for (int pass = 0; pass < 2; pass++) {
+            boolean unresolvedPass = pass == 1;
+            double r = unresolvedPass ? unresolvedRadius : resolvedRadius;
+            gc.beginPath();
+            for (int i : visible) {
+                GraphWorkflow.GraphNode node = nodes.get(i);
+                if (node.unresolved() != unresolvedPass) {
+                    continue;
+                }
+                double x = node.x() * scale + offsetX;
+                double y = node.y() * scale + offsetY;
+                gc.moveTo(x + r, y);
+                gc.arc(x, y, r, r, 0, 360);
             }
-            GraphWorkflow.GraphEdge edge = graphWorkspaceData.edges().get(i);
-            GraphWorkflow.GraphNode source = nodeById.get(edge.sourceId());
-            GraphWorkflow.GraphNode target = nodeById.get(edge.targetId());
-            if (source == null || target == null) {
-                continue;
+            gc.setFill(unresolvedPass ? unresolvedNodeColor : resolvedNodeColor);
+            gc.fill();
+            if (r >= GRAPH_NODE_OUTLINE_MIN_RADIUS) {
+                gc.setStroke(nodeStrokeColor);
+                gc.setLineWidth(Math.max(0.65, r * 0.33));
+                gc.stroke();
             }
-            double sx = source.x() * graphWorkspaceScale + graphWorkspaceOffsetX;
-            double sy = source.y() * graphWorkspaceScale + graphWorkspaceOffsetY;
-            double tx = target.x() * graphWorkspaceScale + graphWorkspaceOffsetX;
-            double ty = target.y() * graphWorkspaceScale + graphWorkspaceOffsetY;
-            gc.setStroke(edge.unresolved() ? unresolvedEdgeColor : resolvedEdgeColor);
-            gc.strokeLine(sx, sy, tx, ty);
-            degreeByNode.merge(edge.sourceId(), 1, Integer::sum);
-            degreeByNode.merge(edge.targetId(), 1, Integer::sum);
-        }
-
-        int nodeCount = graphWorkspaceData.nodes().size();
-        boolean denseGraph = nodeCount > 1800;
-        boolean drawLabels = !graphWorkspaceInteractiveMode && graphWorkspaceScale >= 1.0 && !denseGraph;
-        List<GraphWorkflow.GraphNode> labelCandidates = new ArrayList<>();
-        for (GraphWorkflow.GraphNode node : graphWorkspaceData.nodes()) {
-            double x = node.x() * graphWorkspaceScale + graphWorkspaceOffsetX;
-            double y = node.y() * graphWorkspaceScale + graphWorkspaceOffsetY;
-            double baseRadius = node.unresolved() ? 1.35 : 1.9;
-            double r = Math.max(1.15, Math.min(5.0, baseRadius * Math.max(0.75, graphWorkspaceScale)));
-            Color fill = node.unresolved() ? unresolvedNodeColor : resolvedNodeColor;
-            gc.setFill(fill);
-            gc.fillOval(x - r, y - r, r * 2, r * 2);
-            gc.setStroke(nodeStrokeColor);
-            gc.setLineWidth(Math.max(0.65, r * 0.33));
-            gc.strokeOval(x - r, y - r, r * 2, r * 2);
-            if (Objects.equals(graphWorkspaceHoverNodeId, node.id())) {
-                drawGraphLabel(gc, x + Math.max(8.0, 6.0 * graphWorkspaceScale), y + 3.0,
-                        shortGraphTitle(node.title()), true, darkTheme);
-            } else if (drawLabels && !node.unresolved()
-                    && x >= -20 && x <= (w + 20)
-                    && y >= -20 && y <= (h + 20)) {
-                labelCandidates.add(node);
-            }
-        }
-
-        if (drawLabels && !labelCandidates.isEmpty()) {
-            labelCandidates.sort((a, b) -> Integer.compare(
-                    degreeByNode.getOrDefault(b.id(), 0),
-                    degreeByNode.getOrDefault(a.id(), 0)));
+        }
+
+        boolean denseView = visible.size() > 1800;
+        boolean drawLabels = !graphWorkspaceInteractiveMode && scale >= GRAPH_LABEL_MIN_SCALE && !denseView;
+        if (drawLabels) {
+            List<Integer> labelCandidates = new ArrayList<>();
+            for (int i : visible) {
+                GraphWorkflow.GraphNode node = nodes.get(i);
+                if (!node.unresolved() && !Objects.equals(graphWorkspaceHoverNodeId, node.id())) {
+                    labelCandidates.add(i);
+                }
+            }
+            labelCandidates.sort((a, b) -> Integer.compare(index.degree(b), index.degree(a)));
             int maxLabels;
-            if (graphWorkspaceScale >= 2.2) {
+            if (scale >= 2.2) {
                 maxLabels = 420;
-            } else if (graphWorkspaceScale >= 1.7) {
+            } else if (scale >= 1.7) {
                 maxLabels = 260;
-            } else if (graphWorkspaceScale >= 1.3) {
+            } else if (scale >= 1.3) {
                 maxLabels = 140;
             } else {
                 maxLabels = 70;
             }
-            double minLabelDist = graphWorkspaceScale >= 1.6 ? 24.0 : 34.0;
+            double minLabelDist = scale >= 1.6 ? 24.0 : 34.0;
             List<double[]> placed = new ArrayList<>();
             int drawn = 0;
-            for (GraphWorkflow.GraphNode node : labelCandidates) {
+            for (int i : labelCandidates) {
                 if (drawn >= maxLabels) {
                     break;
                 }
+                GraphWorkflow.GraphNode node = nodes.get(i);
                 String label = shortGraphTitle(node.title());
                 if (label == null || label.isBlank()) {
                     continue;
                 }
-                double x = node.x() * graphWorkspaceScale + graphWorkspaceOffsetX + Math.max(8.0, 6.0 * graphWorkspaceScale);
-                double y = node.y() * graphWorkspaceScale + graphWorkspaceOffsetY + 3.0;
+                double x = node.x() * scale + offsetX + Math.max(8.0, 6.0 * scale);
+                double y = node.y() * scale + offsetY + 3.0;
                 boolean collides = false;
                 for (double[] p : placed) {
                     if (Math.hypot(x - p[0], y - p[1]) < minLabelDist) {
@@ -2313,10 +2562,21 @@ public class MainController implements PluginMenuRegistry, SidePanelRegistry, Pr
                 drawn++;
             }
         }
+        if (graphWorkspaceHoverNodeId != null) {
+            for (int i : visible) {
+                GraphWorkflow.GraphNode node = nodes.get(i);
+                if (node.id().equals(graphWorkspaceHoverNodeId)) {
+                    drawGraphLabel(gc, node.x() * scale + offsetX + Math.max(8.0, 6.0 * scale),
+                            node.y() * scale + offsetY + 3.0, shortGraphTitle(node.title()), true, darkTheme);
+                    break;
+                }
+            }
+        }
 
         // Debug/estado visible para verificar render incluso con datasets grandes
         gc.setFill(statsColor);
-        gc.fillText("Nodes: " + graphWorkspaceData.nodes().size() + "  Edges: " + graphWorkspaceData.edges().size(),
+        gc.fillText(String.format(Locale.ROOT, "Nodes: %d  Edges: %d  Visible: %d  Frame: %.1f ms",
+                nodeCount, totalEdges, visible.size(), graphWorkspaceLastRenderNanos / 1_000_000.0),
                 12, Math.max(18, h - 12));
     }
 
@@ -2334,18 +2594,14 @@ public class MainController implements PluginMenuRegistry, SidePanelRegistry, Pr
     }
 
     private String findGraphWorkspaceNodeAt(double x, double y) {
-        if (graphWorkspaceData == null || graphWorkspaceCanvas == null) {
+        if (graphWorkspaceCanvas == null) {
             return null;
         }
-        for (GraphWorkflow.GraphNode node : graphWorkspaceData.nodes()) {
-            double nx = node.x() * graphWorkspaceScale + graphWorkspaceOffsetX;
-            double ny = node.y() * graphWorkspaceScale + graphWorkspaceOffsetY;
-            double hit = Math.max(6.0, 8.0 * graphWorkspaceScale);
-            if (Math.hypot(nx - x, ny - y) <= hit) {
-                return node.id();
-            }
-        }
-        return null;
+        GraphSpatialIndex index = graphWorkspaceIndex;
+        double hit = Math.max(6.0, 8.0 * graphWorkspaceScale) / graphWorkspaceScale;
+        int node = index.nearest((x - graphWorkspaceOffsetX) / graphWorkspaceScale,
+                (y - graphWorkspaceOffsetY) / graphWorkspaceScale, hit);
+        return node >= 0 ? index.data().nodes().get(node).id() : null;
     }
 
     @FXML
@@ -2824,11 +3080,71 @@ public class MainController implements PluginMenuRegistry, SidePanelRegistry, Pr
                 previewFileSystemRootDirectory,
                 currentNote != null ? currentNote.getId() : null,
                 linkResolver);
-        String html = (content != null && !content.trim().isEmpty())
-                ? previewWorkflow.buildPreviewHtml(content, isDarkTheme, previewEnhancers.values(), previewContext)
-                : previewWorkflow.buildEmptyHtml(isDarkTheme);
-        previewWebView.getEngine().loadContent(html, "text/html");
+        boolean empty = content == null || content.trim().isEmpty();
+        String shellKey = Integer.toHexString(Objects.hash(
+                currentNote != null ? currentNote.getId() : "",
+                empty,
+                previewWorkflow.hasCodeBlocks(content),
+                isDarkTheme,
+                previewStorageType,
+                previewFileSystemRootDirectory,
+                new TreeSet<>(previewEnhancers.keySet())));
         lastPreviewRenderKey = previewKey;
+        PreviewWorkflow workflow = previewWorkflow;
+        List<PreviewEnhancer> enhancers = List.copyOf(previewEnhancers.values());
+        // The document is only built up front when the loaded one cannot be patched.
+        boolean needsDocument = empty || !shellKey.equals(lastPreviewShellKey);
+        long requestVersion = previewRenderVersion.incrementAndGet();
+        previewRenderExecutor.submit(() -> {
+            try {
+                if (requestVersion != previewRenderVersion.get()) {
+                    return;
+                }
+                List<String> blocks = empty ? List.of() : workflow.renderBlocks(content, previewContext);
+                String html = !needsDocument ? null
+                        : empty ? workflow.buildEmptyHtml(isDarkTheme)
+                                : workflow.buildPreviewHtml(blocks, content, isDarkTheme, enhancers);
+                if (requestVersion != previewRenderVersion.get()) {
+                    return;
+                }
+                Platform.runLater(() -> {
+                    if (requestVersion != previewRenderVersion.get()) {
+                        return;
+                    }
+                    showPreview(shellKey, blocks, html,
+                            () -> workflow.buildPreviewHtml(blocks, content, isDarkTheme, enhancers));
+                });
+            } catch (Exception e) {
+                logger.log(Level.SEVERE, "Preview render failed", e);
+            }
+        });
+    }
+
+    /**
+     * Shows a finished render, patching the loaded document when it has the same
+     * shell and loading {@code html} (or the document from {@code fallback})
+     * otherwise.
+     */
+    private void showPreview(String shellKey, List<String> blocks, String html, Supplier<String> fallback) {
+        if (previewWebView == null) {
+            return;
+        }
+        if (html == null && shellKey.equals(lastPreviewShellKey)
+                && previewWebView.getEngine().getLoadWorker().getState() == Worker.State.SUCCEEDED) {
+            String patch = PreviewWorkflow.buildPatchScript(lastPreviewBlocks, blocks);
+            try {
+                if (patch != null) {
+                    previewWebView.getEngine().executeScript(patch);
+                }
+                lastPreviewBlocks = blocks;
+                return;
+            } catch (Exception e) {
+                logger.log(Level.WARNING, "Incremental preview update failed, reloading preview", e);
+            }
+        }
+        previewWebView.getEngine().loadContent(html != null ? html : fallback.get(), "text/html");
+        lastPreviewShellKey = shellKey;
+        lastPreviewBlocks = blocks;
     }
 
     private void updateStatus(String message) {
@@ -2905,6 +3221,9 @@ public class MainController implements PluginMenuRegistry, SidePanelRegistry, Pr
                             notesListView.getItems().add(0, note);
                             notesListView.getSelectionModel().select(note);
                             loadNoteInEditor(note);
+                            if (featureObsidianLinksEnabled) {
+                                linkIndexService.reindexNote(note);
+                            }
                             if (eventBus != null) {
                                 eventBus.publish(new NoteEvents.NoteCreatedEvent(note));
                             }
@@ -2917,7 +3236,8 @@ public class MainController implements PluginMenuRegistry, SidePanelRegistry, Pr
                                 sidebarController.loadRecentNotes();
                                 sidebarController.loadFolders();
                             }
-                            rebuildLinkIndex();
+                            redrawGraph();
+                            updateBacklinksPanel();
                             updateStatus(getString("status.note_created"));
                         }
 
@@ -3015,6 +3335,7 @@ public class MainController implements PluginMenuRegistry, SidePanelRegistry, Pr
 
     @FXML
     private void handleSave(ActionEvent event) {
+        String previousId = getCurrentNote() != null ? getCurrentNote().getId() : null;
         fileCommandWorkflow.handleSave(v -> {
             if (editorController != null) {
                 editorController.handleSave();
@@ -3030,7 +3351,7 @@ public class MainController implements PluginMenuRegistry, SidePanelRegistry, Pr
                 syncTabsUi();
             }
             markCurrentTabDirty(false);
-            reindexCurrentNoteLinks();
+            reindexCurrentNoteLinks(previousId);
         });
     }
 
@@ -3132,9 +3453,19 @@ public class MainController implements PluginMenuRegistry, SidePanelRegistry, Pr
             }
             com.example.forevernote.plugin.PluginLoader.closeAllClassLoaders();
             quickSwitcherExecutor.shutdownNow();
+            previewRenderExecutor.shutdownNow();
+            linkIndexExecutor.shutdownNow();
+            graphLayoutExecutor.shutdownNow();
+            if (noteService != null) {
+                noteService.saveSearchIndex();
+            }
+            if (factoryDAO != null) {
+                factoryDAO.close();
+            }
 
             if (connection != null && !connection.isClosed()) {
                 SQLiteDB db = SQLiteDB.getInstance();
+                db.closeReadPool();
                 db.closeConnection(connection);
             }
         } catch (Exception e) {
@@ -3580,6 +3911,9 @@ public class MainController implements PluginMenuRegistry, SidePanelRegistry, Pr
 
     @FXML
     private void handleRefresh(ActionEvent event) {
+        if (noteService != null) {
+            noteService.invalidateSearchIndex();
+        }
         navigationCommandWorkflow.refreshByContext(
                 currentFilterType,
                 currentFolder,
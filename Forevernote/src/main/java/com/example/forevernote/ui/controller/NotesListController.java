@@ -5,6 +5,7 @@ import com.example.forevernote.data.models.Note;
 import com.example.forevernote.data.models.Tag;
 import com.example.forevernote.config.LoggerConfig;
 import com.example.forevernote.event.EventBus;
+import com.example.forevernote.event.events.FolderEvents;
 import com.example.forevernote.event.events.NoteEvents;
 import com.example.forevernote.event.events.SystemActionEvent;
 import com.example.forevernote.event.events.UIEvents;
@@ -27,7 +28,6 @@ import javafx.scene.input.Dragboard;
 import javafx.scene.input.TransferMode;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Locale;
 import java.util.Optional;
 import java.util.ResourceBundle;
 import java.util.concurrent.ExecutorService;
@@ -58,8 +58,6 @@ public class NotesListController {
         return t;
     });
     private final AtomicLong notesLoadVersion = new AtomicLong(0);
-    private volatile List<Note> allNotesSearchCache = List.of();
-    private volatile boolean allNotesSearchCacheDirty = true;
 
     @FXML
     private VBox notesPanel;
@@ -252,10 +250,10 @@ public class NotesListController {
                 }
             });
         });
-        eventBus.subscribe(NoteEvents.NoteCreatedEvent.class, event -> markAllNotesSearchCacheDirty());
-        eventBus.subscribe(NoteEvents.NoteSavedEvent.class, event -> markAllNotesSearchCacheDirty());
-        eventBus.subscribe(NoteEvents.NoteDeletedEvent.class, event -> markAllNotesSearchCacheDirty());
-        eventBus.subscribe(NoteEvents.TrashItemDeletedEvent.class, event -> markAllNotesSearchCacheDirty());
+        // Folder operations can re-key notes (file-system paths) behind NoteService's back.
+        eventBus.subscribe(FolderEvents.FolderRenamedEvent.class, event -> invalidateSearchIndex());
+        eventBus.subscribe(FolderEvents.FolderDeletedEvent.class, event -> invalidateSearchIndex());
+        eventBus.subscribe(NoteEvents.NotesRefreshRequestedEvent.class, event -> invalidateSearchIndex());
     }
 
     public void setServices(NoteService noteService, TagService tagService, FolderService folderService) {
@@ -316,7 +314,7 @@ public class NotesListController {
         currentFilterType = "all";
         String sortOption = sortComboBox != null ? sortComboBox.getValue() : null;
         executeNotesLoad(
-                this::loadAllNotesFromServiceAndRefreshCache,
+                noteService::getAllNotes,
                 notes -> {
                     List<Note> sorted = sortNotesData(notes, sortOption);
                     notesListView.getSelectionModel().clearSelection();
@@ -418,19 +416,7 @@ public class NotesListController {
         currentFilterType = "search";
         String sortOption = sortComboBox != null ? sortComboBox.getValue() : null;
         executeNotesLoad(
-                () -> {
-                    List<Note> allNotes = getSearchSourceNotes();
-                    String searchLower = searchText.toLowerCase(Locale.ROOT);
-                    List<Note> filteredNotes = allNotes.stream()
-                            .filter(note -> {
-                                String title = note.getTitle() != null ? note.getTitle().toLowerCase(Locale.ROOT) : "";
-                                String content = note.getContent() != null ? note.getContent().toLowerCase(Locale.ROOT)
-                                        : "";
-                                return title.contains(searchLower) || content.contains(searchLower);
-                            })
-                            .toList();
-                    return sortNotesData(filteredNotes, sortOption);
-                },
+                () -> sortNotesData(noteService.searchNotes(searchText), sortOption),
                 filteredNotes -> {
                     notesListView.getSelectionModel().clearSelection();
                     notesListView.getItems().setAll(filteredNotes);
@@ -449,22 +435,27 @@ public class NotesListController {
                 "Failed to perform search");
     }
 
-    private void markAllNotesSearchCacheDirty() {
-        allNotesSearchCacheDirty = true;
-    }
-
-    private List<Note> loadAllNotesFromServiceAndRefreshCache() {
-        List<Note> allNotes = noteService.getAllNotes();
-        allNotesSearchCache = List.copyOf(allNotes);
-        allNotesSearchCacheDirty = false;
-        return allNotes;
+    private void invalidateSearchIndex() {
+        if (noteService != null) {
+            noteService.invalidateSearchIndex();
+        }
     }
 
-    private List<Note> getSearchSourceNotes() {
-        if (allNotesSearchCacheDirty || allNotesSearchCache.isEmpty()) {
-            return loadAllNotesFromServiceAndRefreshCache();
+    /**
+     * Loads and reconciles the full-text index on the notes loader thread so the
+     * first search does not pay for it.
+     */
+    public void warmUpSearchIndex() {
+        if (noteService == null) {
+            return;
         }
-        return allNotesSearchCache;
+        notesLoadExecutor.submit(() -> {
+            try {
+                noteService.prepareSearchIndex();
+            } catch (Exception e) {
+                logger.log(Level.WARNING, "Failed to prepare search index", e);
+            }
+        });
     }
 
     public void sortNotes(String sortOption) {
@@ -29,6 +29,8 @@ import com.example.forevernote.data.models.interfaces.Component;
 import com.example.forevernote.event.AppEvent;
 import com.example.forevernote.event.EventBus;
 import com.example.forevernote.event.events.*;
+import com.example.forevernote.metrics.MetricsRegistry;
+import com.example.forevernote.metrics.Timer;
 import com.example.forevernote.service.FolderService;
 import com.example.forevernote.service.NoteService;
 import com.example.forevernote.service.TagService;
@@ -41,6 +43,13 @@ import com.example.forevernote.service.TagService;
 public class SidebarController {
 
     private static final Logger logger = LoggerConfig.getLogger(SidebarController.class);
+    // Background sidebar loads, from submit to the result being handed to the FX thread
+    private static final Timer FOLDER_TREE_TIMER = MetricsRegistry.getInstance().timer("sidebar.folderTree");
+    private static final Timer TRASH_TREE_TIMER = MetricsRegistry.getInstance().timer("sidebar.trashTree");
+    private static final Timer TAGS_TIMER = MetricsRegistry.getInstance().timer("sidebar.tags");
+    private static final Timer RECENT_FAVORITES_TIMER = MetricsRegistry.getInstance()
+            .timer("sidebar.recentFavorites");
+    private static final Timer NOTE_COUNTS_TIMER = MetricsRegistry.getInstance().timer("sidebar.noteCounts");
 
     @FXML
     private VBox sidebarPane;
@@ -668,9 +677,11 @@ public class SidebarController {
             }
             sidebarLoadExecutor.submit(() -> {
                 try {
+                    long start = System.nanoTime();
                     List<Folder> folders = folderService.getAllFolders();
                     FolderTreeBuildResult buildResult = buildFolderTreeResult(
                             folders, filter, filterActive, expandedIds, currentSortAscending);
+                    FOLDER_TREE_TIMER.recordSince(start);
                     Platform.runLater(() -> applyFolderTreeBuildResult(requestId, buildResult));
                 } catch (Exception e) {
                     logger.log(Level.SEVERE, "Failed to build folder tree", e);
@@ -865,6 +876,7 @@ public class SidebarController {
             final long requestId = trashLoadVersion.incrementAndGet();
             sidebarLoadExecutor.submit(() -> {
                 try {
+                    long start = System.nanoTime();
                     Folder trashRoot = folderService.getTrashFolders();
                     List<Note> allNotes = noteService.getTrashNotes();
                     Map<String, Folder> folderMap = new HashMap<>();
@@ -913,6 +925,7 @@ public class SidebarController {
                         buildTrashVisibleIdsRec(trashRoot, filter, visibleIds);
                     }
                     TrashTreeBuildResult result = new TrashTreeBuildResult(trashRoot, visibleIds, filtering, sortAscending);
+                    TRASH_TREE_TIMER.recordSince(start);
                     Platform.runLater(() -> applyTrashTreeBuildResult(requestId, result));
                 } catch (Exception e) {
                     logger.log(Level.SEVERE, "Failed to build trash tree", e);
@@ -993,6 +1006,7 @@ public class SidebarController {
             return;
         }
         try {
+            long start = System.nanoTime();
             List<Tag> tags = tagService.getAllTags();
             masterTagsList.clear();
             tagsByTitleCache.clear();
@@ -1000,6 +1014,7 @@ public class SidebarController {
                 masterTagsList.add(t.getTitle());
                 tagsByTitleCache.put(t.getTitle(), t);
             }
+            TAGS_TIMER.recordSince(start);
         } catch (Exception e) {
             logger.log(Level.WARNING, "Failed to load tags", e);
         }
@@ -1021,7 +1036,9 @@ public class SidebarController {
         final long requestId = recentFavoritesLoadVersion.incrementAndGet();
         sidebarLoadExecutor.submit(() -> {
             try {
+                long start = System.nanoTime();
                 List<Note> allNotes = noteService.getAllNotes();
+                RECENT_FAVORITES_TIMER.recordSince(start);
                 Platform.runLater(() -> {
                     if (requestId != recentFavoritesLoadVersion.get()) {
                         return;
@@ -1353,6 +1370,7 @@ public class SidebarController {
         final long requestId = noteCountBuildVersion.incrementAndGet();
         sidebarLoadExecutor.submit(() -> {
             try {
+                long start = System.nanoTime();
                 List<Note> allNotes = noteService.getAllNotes();
                 Map<String, Integer> freshCounts = new HashMap<>();
                 for (Note note : allNotes) {
@@ -1363,6 +1381,7 @@ public class SidebarController {
                     freshCounts.merge(folderId, 1, Integer::sum);
                 }
                 final int allNotesCount = allNotes.size();
+                NOTE_COUNTS_TIMER.recordSince(start);
                 Platform.runLater(() -> {
                     if (requestId != noteCountBuildVersion.get()) {
                         return;
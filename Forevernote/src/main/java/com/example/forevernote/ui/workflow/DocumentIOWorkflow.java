@@ -8,6 +8,7 @@ import java.util.List;
 import java.util.logging.Logger;
 
 import com.example.forevernote.config.LoggerConfig;
+import com.example.forevernote.data.dao.interfaces.NoteDAO;
 import com.example.forevernote.data.models.Folder;
 import com.example.forevernote.data.models.Note;
 
@@ -23,6 +24,33 @@ public class DocumentIOWorkflow {
         Note createNote(Note note);
 
         void addNoteToFolder(Folder folder, Note note);
+
+        /**
+         * Creates all imported notes and attaches them to {@code folder} (null
+         * for none). Ports backed by a batch-capable service should override this
+         * to write the whole import at once; the default creates notes one by
+         * one.
+         */
+        default NoteDAO.BatchResult createNotes(List<Note> notes, Folder folder) {
+            List<String> created = new ArrayList<>();
+            List<String> failures = new ArrayList<>();
+            for (Note note : notes) {
+                try {
+                    Note createdNote = createNote(note);
+                    if (createdNote == null || createdNote.getId() == null || createdNote.getId().isBlank()) {
+                        throw new IllegalStateException("Created note has null/blank ID");
+                    }
+                    note.setId(createdNote.getId());
+                    if (folder != null) {
+                        addNoteToFolder(folder, createdNote);
+                    }
+                    created.add(createdNote.getId());
+                } catch (Exception e) {
+                    failures.add("Failed to import note " + note.getTitle() + ": " + e.getMessage());
+                }
+            }
+            return new NoteDAO.BatchResult(created, failures.size(), failures);
+        }
     }
 
     public record ImportResult(int importedCount, int failedCount, List<String> failures) {
@@ -43,9 +71,9 @@ public class DocumentIOWorkflow {
             return new ImportResult(0, files.size(), List.of("ImportPort is null"));
         }
 
-        int imported = 0;
         int failed = 0;
         List<String> failures = new ArrayList<>();
+        List<Note> notes = new ArrayList<>(files.size());
 
         for (File file : files) {
             try {
@@ -57,17 +85,7 @@ public class DocumentIOWorkflow {
                     String safeTitle = sanitizeFileName(title);
                     newNote.setId(currentFolder.getId() + File.separator + safeTitle);
                 }
-
-                Note createdNote = importPort.createNote(newNote);
-                if (createdNote == null || createdNote.getId() == null || createdNote.getId().isBlank()) {
-                    throw new IllegalStateException("Created note has null/blank ID");
-                }
-                newNote.setId(createdNote.getId());
-
-                if (!isFileSystem && isConcreteFolder(currentFolder)) {
-                    importPort.addNoteToFolder(currentFolder, createdNote);
-                }
-                imported++;
+                notes.add(newNote);
             } catch (Exception e) {
                 failed++;
                 String msg = "Failed to import file " + file.getName() + ": " + e.getMessage();
@@ -76,6 +94,25 @@ public class DocumentIOWorkflow {
             }
         }
 
+        int imported = 0;
+        if (!notes.isEmpty()) {
+            Folder targetFolder = !isFileSystem && isConcreteFolder(currentFolder) ? currentFolder : null;
+            try {
+                NoteDAO.BatchResult batch = importPort.createNotes(notes, targetFolder);
+                imported = batch.succeededCount();
+                failed += batch.failedCount();
+                for (String failure : batch.failures()) {
+                    failures.add(failure);
+                    logger.warning(failure);
+                }
+            } catch (Exception e) {
+                failed += notes.size();
+                String msg = "Failed to import files: " + e.getMessage();
+                failures.add(msg);
+                logger.warning(msg);
+            }
+        }
+
         return new ImportResult(imported, failed, failures);
     }
 
@@ -9,6 +9,7 @@ import java.util.function.Supplier;
 import java.util.prefs.Preferences;
 
 import com.example.forevernote.data.dao.interfaces.FolderDAO;
+import com.example.forevernote.data.dao.interfaces.NoteDAO;
 import com.example.forevernote.data.models.Folder;
 import com.example.forevernote.data.models.Note;
 import com.example.forevernote.service.FolderService;
@@ -216,6 +217,15 @@ public class FileCommandWorkflow {
                     public void addNoteToFolder(Folder folder, Note note) {
                         folderService.addNoteToFolder(folder, note);
                     }
+
+                    @Override
+                    public NoteDAO.BatchResult createNotes(List<Note> notes, Folder folder) {
+                        // Persist the folder with the insert itself instead of a second write per note.
+                        if (folder != null) {
+                            notes.forEach(note -> note.setParent(folder));
+                        }
+                        return noteService.createNotes(notes);
+                    }
                 });
 
         uiPort.refreshAfterImport();
@@ -15,19 +15,34 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import com.example.forevernote.config.LoggerConfig;
+import com.example.forevernote.metrics.Counter;
+import com.example.forevernote.metrics.MetricsRegistry;
+import com.example.forevernote.metrics.Timer;
 import com.example.forevernote.plugin.PreviewEnhancer;
 import com.example.forevernote.util.MarkdownProcessor;
 
 /**
  * Builds preview HTML for notes with safe enhancer handling.
+ *
+ * <p>
+ * The note is rendered per top-level Markdown block and the HTML of each block
+ * is cached, so an edit only renders the blocks it touched. The preview
+ * document wraps every block in its own element, and
+ * {@link #buildPatchScript(List, List)} turns the difference between two
+ * renders into a script that swaps only the changed elements in the live page.
+ * </p>
  */
 public class PreviewWorkflow {
     private static final Logger logger = LoggerConfig.getLogger(PreviewWorkflow.class);
+    private static final Timer RENDER_TIMER = MetricsRegistry.getInstance().timer("preview.render");
+    private static final Counter BLOCKS_RENDERED = MetricsRegistry.getInstance().counter("preview.blocks.rendered");
+    private static final Counter BLOCKS_CACHED = MetricsRegistry.getInstance().counter("preview.blocks.cached");
     private static final String HLJS_SCRIPT = loadResourceText(
             "/com/example/forevernote/ui/preview/highlightjs/highlight.min.js");
     private static final String HLJS_LIGHT_CSS = loadResourceText(
@@ -42,6 +57,12 @@ public class PreviewWorkflow {
     private static final Pattern SIZE_TOKEN_PATTERN = Pattern.compile("^(\\d+)(?:x(\\d+))?$");
     private static final Map<String, Path> PREVIEW_IMAGE_CACHE = new HashMap<>();
 
+    // Rendered HTML of the blocks of the last render, keyed by block source,
+    // reference definitions and resolved link targets. Only valid for
+    // blockCacheScope.
+    private Map<String, String> blockHtmlCache = new HashMap<>();
+    private String blockCacheScope = "";
+
     public interface LinkResolver {
         String resolveHref(String rawTarget, String sourceNoteId);
     }
@@ -63,10 +84,20 @@ public class PreviewWorkflow {
 
     public String buildPreviewHtml(String markdownContent, boolean isDarkTheme, Collection<PreviewEnhancer> enhancers,
             PreviewContext context) {
-        ProcessedMarkdown processed = preprocessMarkdown(markdownContent != null ? markdownContent : "", context);
-        String html = MarkdownProcessor.markdownToHtml(processed.markdown());
-        html = applyTokenReplacements(html, processed.tokenToHtml());
-        html = resolveRelativeImageSourcesInHtml(html, context);
+        return buildPreviewHtml(renderBlocks(markdownContent, context), markdownContent, isDarkTheme, enhancers);
+    }
+
+    /**
+     * Builds the preview document around blocks from
+     * {@link #renderBlocks(String, PreviewContext)}.
+     */
+    public String buildPreviewHtml(List<String> blocks, String markdownContent, boolean isDarkTheme,
+            Collection<PreviewEnhancer> enhancers) {
+        StringBuilder html = new StringBuilder("<div id=\"fn-preview\">\n");
+        for (String block : blocks) {
+            html.append("<div class=\"fn-block\">").append(block).append("</div>\n");
+        }
+        html.append("</div>");
 
         Injections injections = collectInjections(enhancers);
         boolean shouldHighlight = hasCodeBlocks(markdownContent);
@@ -92,12 +123,144 @@ public class PreviewWorkflow {
                 <script>
                     %s
                     %s
+                    %s
                 </script>
                 %s
                 </body>
                 </html>
                 """.formatted(injections.head(), highlightCss, styleBlock, html, HLJS_SCRIPT, highlightScript,
-                injections.body());
+                patchScriptBlock(shouldHighlight), injections.body());
+    }
+
+    /**
+     * Renders each top-level block of the note to HTML. Blocks whose source,
+     * reference definitions and resolved link targets are unchanged since the
+     * previous call come from the cache, as the same string instances.
+     */
+    public synchronized List<String> renderBlocks(String markdownContent, PreviewContext context) {
+        long start = System.nanoTime();
+        String scope = cacheScope(context);
+        Map<String, String> previous = scope.equals(blockCacheScope) ? blockHtmlCache : Map.of();
+        MarkdownProcessor.BlockSplit split = MarkdownProcessor.splitBlocks(markdownContent);
+        Map<String, String> cache = new HashMap<>(split.blocks().size() * 2);
+        List<String> rendered = new ArrayList<>(split.blocks().size());
+        for (String block : split.blocks()) {
+            String key = block + '\u0000' + split.referenceDefinitions() + '\u0000' + resolvedLinkTargets(block, context);
+            String html = previous.get(key);
+            if (html == null) {
+                html = cache.get(key);
+            }
+            if (html == null) {
+                html = renderBlock(block, split.referenceDefinitions(), context);
+                BLOCKS_RENDERED.increment();
+            } else {
+                BLOCKS_CACHED.increment();
+            }
+            // A missing image may appear on disk later; render it again next time.
+            if (!html.contains("fn-missing-embed")) {
+                cache.put(key, html);
+            }
+            rendered.add(html);
+        }
+        // Keep only the blocks of this render, so the cache never outgrows the note.
+        blockHtmlCache = cache;
+        blockCacheScope = scope;
+        RENDER_TIMER.recordSince(start);
+        return rendered;
+    }
+
+    /**
+     * Builds a script that turns a preview showing {@code previous} into one
+     * showing {@code next} by replacing only the differing run of blocks.
+     *
+     * @return The script, or {@code null} if both renders are identical.
+     */
+    public static String buildPatchScript(List<String> previous, List<String> next) {
+        int prefix = 0;
+        int max = Math.min(previous.size(), next.size());
+        while (prefix < max && Objects.equals(previous.get(prefix), next.get(prefix))) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < max - prefix && Objects.equals(previous.get(previous.size() - 1 - suffix),
+                next.get(next.size() - 1 - suffix))) {
+            suffix++;
+        }
+        int removed = previous.size() - prefix - suffix;
+        List<String> inserted = next.subList(prefix, next.size() - suffix);
+        if (removed == 0 && inserted.isEmpty()) {
+            return null;
+        }
+        StringBuilder script = new StringBuilder("window.fnPreviewPatch(").append(prefix).append(", ")
+                .append(removed).append(", [");
+        for (int i = 0; i < inserted.size(); i++) {
+            if (i > 0) {
+                script.append(", ");
+            }
+            appendJsString(script, inserted.get(i));
+        }
+        return script.append("]);").toString();
+    }
+
+    private String renderBlock(String block, String referenceDefinitions, PreviewContext context) {
+        ProcessedMarkdown processed = preprocessMarkdown(block, context);
+        String markdown = referenceDefinitions.isEmpty()
+                ? processed.markdown()
+                : processed.markdown() + "\n\n" + referenceDefinitions;
+        String html = MarkdownProcessor.markdownToHtml(markdown);
+        html = applyTokenReplacements(html, processed.tokenToHtml());
+        return resolveRelativeImageSourcesInHtml(html, context);
+    }
+
+    private String cacheScope(PreviewContext context) {
+        if (context == null) {
+            return "";
+        }
+        String noteId = context.noteId() != null ? context.noteId() : "";
+        String folder = noteId.contains("/") ? noteId.substring(0, noteId.lastIndexOf('/')) : "";
+        return context.storageType() + '\u0000' + context.filesystemRootDirectory() + '\u0000' + folder
+                + '\u0000' + (context.linkResolver() != null);
+    }
+
+    private String resolvedLinkTargets(String block, PreviewContext context) {
+        if (context == null || context.linkResolver() == null || !block.contains("[[")) {
+            return "";
+        }
+        StringBuilder targets = new StringBuilder();
+        Matcher matcher = OBSIDIAN_WIKILINK_PATTERN.matcher(block);
+        while (matcher.find()) {
+            String target = matcher.group(1).split("\\|", 2)[0].trim();
+            try {
+                targets.append(context.linkResolver().resolveHref(target, context.noteId()));
+            } catch (Exception ignored) {
+                // Same fallback as the rendered link
+            }
+            targets.append('\u0000');
+        }
+        return targets.toString();
+    }
+
+    private static void appendJsString(StringBuilder out, String value) {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\u2028' -> out.append("\\u2028");
+                case '\u2029' -> out.append("\\u2029");
+                default -> {
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        out.append('"');
     }
 
     public String buildEmptyHtml(boolean isDarkTheme) {
@@ -560,7 +723,36 @@ public class PreviewWorkflow {
                 """.formatted(Boolean.toString(shouldHighlight));
     }
 
-    private boolean hasCodeBlocks(String markdownContent) {
+    private String patchScriptBlock(boolean shouldHighlight) {
+        return """
+                window.fnPreviewPatch = function(start, removeCount, blocks) {
+                    var root = document.getElementById('fn-preview');
+                    if (!root) return;
+                    for (var i = 0; i < removeCount && root.children[start]; i++) {
+                        root.removeChild(root.children[start]);
+                    }
+                    var before = root.children[start] || null;
+                    var added = [];
+                    blocks.forEach(function(html) {
+                        var block = document.createElement('div');
+                        block.className = 'fn-block';
+                        block.innerHTML = html;
+                        root.insertBefore(block, before);
+                        added.push(block);
+                    });
+                    if (%s && typeof hljs !== 'undefined' && hljs && hljs.highlightElement) {
+                        added.forEach(function(block) {
+                            block.querySelectorAll('pre code').forEach(function(code) {
+                                hljs.highlightElement(code);
+                            });
+                        });
+                    }
+                    document.dispatchEvent(new CustomEvent('forevernote:preview-patched', { detail: added }));
+                };
+                """.formatted(Boolean.toString(shouldHighlight));
+    }
+
+    public boolean hasCodeBlocks(String markdownContent) {
         if (markdownContent == null || markdownContent.isBlank()) {
             return false;
         }
@@ -92,7 +92,10 @@ public class UiEventSubscriptionWorkflow {
         subscriptions.add(eventBus.subscribe(NoteEvents.TrashItemSelectedEvent.class,
                 event -> port.handleTrashItemSelected(event.getComponent())));
 
-        subscriptions.add(eventBus.subscribe(NoteEvents.NoteModifiedEvent.class, event -> port.handleNoteModified(event.getNote())));
+        // Published on every keystroke; the handler only needs the latest per note
+        subscriptions.add(eventBus.subscribe(NoteEvents.NoteModifiedEvent.class,
+                EventBus.Delivery.coalesced(event -> event.getNote() != null ? event.getNote().getId() : null),
+                event -> port.handleNoteModified(event.getNote())));
         return subscriptions;
     }
 }
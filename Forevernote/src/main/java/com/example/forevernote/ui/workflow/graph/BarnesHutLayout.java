@@ -0,0 +1,360 @@
+package com.example.forevernote.ui.workflow.graph;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * Fruchterman-Reingold force layout with Barnes-Hut repulsion.
+ *
+ * <p>
+ * Nodes are addressed by ordinal and all state lives in primitive arrays. Each
+ * iteration rebuilds a quadtree over the current positions; a cell whose size
+ * is small relative to its distance from a node repels it as one body placed at
+ * the cell's center of mass, so an iteration costs O(n log n) instead of
+ * O(n^2). Repulsion is computed in parallel chunks for large graphs.
+ * </p>
+ */
+final class BarnesHutLayout {
+
+    private static final double THETA = 0.9;
+    private static final int MAX_DEPTH = 48;
+    private static final double MIN_CELL_HALF_SIZE = 1e-3;
+    private static final int EMPTY = -1;
+    private static final int INTERNAL = -2;
+    private static final int PARALLEL_MIN_NODES = 1024;
+    private static final int PARALLEL_CHUNK_SIZE = 512;
+
+    private final int n;
+    private final int[] edgeFrom;
+    private final int[] edgeTo;
+    private final double[] x;
+    private final double[] y;
+    private final double[] dispX;
+    private final double[] dispY;
+
+    private double gravity = 0.0;
+    private double gravityX;
+    private double gravityY;
+    private boolean bounded = false;
+    private double minX;
+    private double minY;
+    private double maxX;
+    private double maxY;
+
+    // Quadtree, rebuilt every iteration. Cell 0 is the root.
+    private int cellCount;
+    private int[] cellChildren = new int[0];
+    private int[] cellBody = new int[0];
+    private double[] cellMass = new double[0];
+    private double[] cellComX = new double[0];
+    private double[] cellComY = new double[0];
+    private double[] cellCenterX = new double[0];
+    private double[] cellCenterY = new double[0];
+    private double[] cellHalfSize = new double[0];
+    private int[] cellDepth = new int[0];
+    private final int[] stack = newStack();
+
+    /**
+     * @param nodeCount Number of nodes.
+     * @param edgeFrom  Source ordinal of each edge.
+     * @param edgeTo    Target ordinal of each edge, same length as
+     *                  {@code edgeFrom}.
+     */
+    BarnesHutLayout(int nodeCount, int[] edgeFrom, int[] edgeTo) {
+        if (edgeFrom.length != edgeTo.length) {
+            throw new IllegalArgumentException("Edge arrays differ in length");
+        }
+        this.n = nodeCount;
+        this.edgeFrom = edgeFrom;
+        this.edgeTo = edgeTo;
+        this.x = new double[nodeCount];
+        this.y = new double[nodeCount];
+        this.dispX = new double[nodeCount];
+        this.dispY = new double[nodeCount];
+    }
+
+    /**
+     * Places every node uniformly at random in the given rectangle, drawing x
+     * then y per node in ordinal order.
+     */
+    BarnesHutLayout randomize(Random rng, double left, double top, double width, double height) {
+        for (int i = 0; i < n; i++) {
+            x[i] = left + rng.nextDouble() * width;
+            y[i] = top + rng.nextDouble() * height;
+        }
+        return this;
+    }
+
+    /**
+     * Places one node, e.g. at a position kept from a previous layout.
+     */
+    void position(int node, double px, double py) {
+        x[node] = px;
+        y[node] = py;
+    }
+
+    /**
+     * Pulls every node towards a point by a fraction of its distance per
+     * iteration.
+     */
+    BarnesHutLayout gravity(double strength, double centerX, double centerY) {
+        this.gravity = strength;
+        this.gravityX = centerX;
+        this.gravityY = centerY;
+        return this;
+    }
+
+    /**
+     * Clamps positions to the given rectangle after every iteration.
+     */
+    BarnesHutLayout bounds(double left, double top, double right, double bottom) {
+        this.bounded = true;
+        this.minX = left;
+        this.minY = top;
+        this.maxX = right;
+        this.maxY = bottom;
+        return this;
+    }
+
+    /**
+     * Runs the simulation. The temperature, which caps the move of a node per
+     * axis, falls linearly from {@code startTemperature} by {@code cooling} per
+     * iteration down to {@code minTemperature}.
+     *
+     * @param iterations Number of iterations.
+     * @param k          Ideal edge length.
+     */
+    void run(int iterations, double k, double startTemperature, double cooling, double minTemperature) {
+        for (int it = 0; it < iterations; it++) {
+            step(k, Math.max(minTemperature, startTemperature - it * cooling));
+        }
+    }
+
+    /**
+     * Runs one iteration.
+     *
+     * @param k           Ideal edge length.
+     * @param temperature Maximum move of a node per axis.
+     */
+    void step(double k, double temperature) {
+        if (n == 0) {
+            return;
+        }
+        double k2 = k * k;
+        Arrays.fill(dispX, 0.0);
+        Arrays.fill(dispY, 0.0);
+        buildTree();
+        if (n < PARALLEL_MIN_NODES) {
+            for (int i = 0; i < n; i++) {
+                repel(i, k2, stack);
+            }
+        } else {
+            // Each node only writes its own displacement, so chunks are independent.
+            IntStream.range(0, (n + PARALLEL_CHUNK_SIZE - 1) / PARALLEL_CHUNK_SIZE).parallel().forEach(chunk -> {
+                int[] chunkStack = newStack();
+                int end = Math.min(n, (chunk + 1) * PARALLEL_CHUNK_SIZE);
+                for (int i = chunk * PARALLEL_CHUNK_SIZE; i < end; i++) {
+                    repel(i, k2, chunkStack);
+                }
+            });
+        }
+        attract(k);
+        move(temperature);
+    }
+
+    double x(int node) {
+        return x[node];
+    }
+
+    double y(int node) {
+        return y[node];
+    }
+
+    private void attract(double k) {
+        for (int e = 0; e < edgeFrom.length; e++) {
+            int s = edgeFrom[e];
+            int t = edgeTo[e];
+            double dx = x[s] - x[t];
+            double dy = y[s] - y[t];
+            double dist = Math.max(1.0, Math.hypot(dx, dy));
+            double force = (dist * dist) / k;
+            double fx = dx / dist * force;
+            double fy = dy / dist * force;
+            dispX[s] -= fx;
+            dispY[s] -= fy;
+            dispX[t] += fx;
+            dispY[t] += fy;
+        }
+    }
+
+    private void repel(int i, double k2, int[] stack) {
+        double px = x[i];
+        double py = y[i];
+        double fx = 0.0;
+        double fy = 0.0;
+        int sp = 0;
+        stack[sp++] = 0;
+        while (sp > 0) {
+            int cell = stack[--sp];
+            double mass = cellMass[cell];
+            if (mass == 0.0) {
+                continue;
+            }
+            double dx = px - cellComX[cell];
+            double dy = py - cellComY[cell];
+            double dist2 = dx * dx + dy * dy;
+            int body = cellBody[cell];
+            if (body == INTERNAL) {
+                double size = 2.0 * cellHalfSize[cell];
+                if (size * size >= THETA * THETA * dist2) {
+                    int base = cell * 4;
+                    for (int q = 0; q < 4; q++) {
+                        int child = cellChildren[base + q];
+                        if (child >= 0) {
+                            stack[sp++] = child;
+                        }
+                    }
+                    continue;
+                }
+            } else if (body == i && mass == 1.0) {
+                continue;
+            }
+            double dist = Math.max(1.0, Math.sqrt(dist2));
+            double force = k2 * mass / dist;
+            fx += dx / dist * force;
+            fy += dy / dist * force;
+        }
+        dispX[i] += fx;
+        dispY[i] += fy;
+    }
+
+    private void move(double temperature) {
+        for (int i = 0; i < n; i++) {
+            double dx = dispX[i];
+            double dy = dispY[i];
+            double len = Math.max(1.0, Math.hypot(dx, dy));
+            double nx = x[i] + (dx / len) * Math.min(Math.abs(dx), temperature);
+            double ny = y[i] + (dy / len) * Math.min(Math.abs(dy), temperature);
+            if (gravity != 0.0) {
+                nx += (gravityX - nx) * gravity;
+                ny += (gravityY - ny) * gravity;
+            }
+            if (bounded) {
+                nx = Math.max(minX, Math.min(maxX, nx));
+                ny = Math.max(minY, Math.min(maxY, ny));
+            }
+            x[i] = nx;
+            y[i] = ny;
+        }
+    }
+
+    private static int[] newStack() {
+        return new int[4 * MAX_DEPTH + 4];
+    }
+
+    private void buildTree() {
+        double left = Double.POSITIVE_INFINITY;
+        double right = Double.NEGATIVE_INFINITY;
+        double top = Double.POSITIVE_INFINITY;
+        double bottom = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            left = Math.min(left, x[i]);
+            right = Math.max(right, x[i]);
+            top = Math.min(top, y[i]);
+            bottom = Math.max(bottom, y[i]);
+        }
+        cellCount = 0;
+        ensureCapacity(Math.max(16, n * 2));
+        newCell((left + right) * 0.5, (top + bottom) * 0.5, Math.max(right - left, bottom - top) * 0.5 + 1.0, 0);
+        for (int i = 0; i < n; i++) {
+            insert(i);
+        }
+        for (int c = 0; c < cellCount; c++) {
+            double mass = cellMass[c];
+            if (mass > 0.0) {
+                cellComX[c] /= mass;
+                cellComY[c] /= mass;
+            }
+        }
+    }
+
+    /**
+     * Adds a node to every cell on its path and stores it in a leaf. Nodes that
+     * coincide below the minimum cell size share one leaf.
+     */
+    private void insert(int i) {
+        int cell = 0;
+        while (true) {
+            addMass(cell, i);
+            int body = cellBody[cell];
+            if (body == EMPTY) {
+                cellBody[cell] = i;
+                return;
+            }
+            if (body >= 0) {
+                if (cellHalfSize[cell] < MIN_CELL_HALF_SIZE || cellDepth[cell] >= MAX_DEPTH) {
+                    return;
+                }
+                cellBody[cell] = INTERNAL;
+                int child = childFor(cell, x[body], y[body]);
+                addMass(child, body);
+                cellBody[child] = body;
+            }
+            cell = childFor(cell, x[i], y[i]);
+        }
+    }
+
+    private void addMass(int cell, int node) {
+        cellMass[cell] += 1.0;
+        cellComX[cell] += x[node];
+        cellComY[cell] += y[node];
+    }
+
+    private int childFor(int cell, double px, double py) {
+        double cx = cellCenterX[cell];
+        double cy = cellCenterY[cell];
+        int quadrant = (px >= cx ? 1 : 0) | (py >= cy ? 2 : 0);
+        int slot = cell * 4 + quadrant;
+        int child = cellChildren[slot];
+        if (child < 0) {
+            double half = cellHalfSize[cell] * 0.5;
+            child = newCell(cx + ((quadrant & 1) != 0 ? half : -half), cy + ((quadrant & 2) != 0 ? half : -half),
+                    half, cellDepth[cell] + 1);
+            cellChildren[slot] = child;
+        }
+        return child;
+    }
+
+    private int newCell(double centerX, double centerY, double halfSize, int depth) {
+        if (cellCount == cellMass.length) {
+            ensureCapacity(cellCount * 2);
+        }
+        int cell = cellCount++;
+        Arrays.fill(cellChildren, cell * 4, cell * 4 + 4, -1);
+        cellBody[cell] = EMPTY;
+        cellMass[cell] = 0.0;
+        cellComX[cell] = 0.0;
+        cellComY[cell] = 0.0;
+        cellCenterX[cell] = centerX;
+        cellCenterY[cell] = centerY;
+        cellHalfSize[cell] = halfSize;
+        cellDepth[cell] = depth;
+        return cell;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= cellMass.length) {
+            return;
+        }
+        cellChildren = Arrays.copyOf(cellChildren, capacity * 4);
+        cellBody = Arrays.copyOf(cellBody, capacity);
+        cellMass = Arrays.copyOf(cellMass, capacity);
+        cellComX = Arrays.copyOf(cellComX, capacity);
+        cellComY = Arrays.copyOf(cellComY, capacity);
+        cellCenterX = Arrays.copyOf(cellCenterX, capacity);
+        cellCenterY = Arrays.copyOf(cellCenterY, capacity);
+        cellHalfSize = Arrays.copyOf(cellHalfSize, capacity);
+        cellDepth = Arrays.copyOf(cellDepth, capacity);
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.forevernote.ui.workflow.graph;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+import com.example.forevernote.ui.workflow.graph.GraphWorkflow.GraphData;
+import com.example.forevernote.ui.workflow.graph.GraphWorkflow.GraphEdge;
+import com.example.forevernote.ui.workflow.graph.GraphWorkflow.GraphNode;
+
+/**
+ * Uniform grid over the node positions of a graph, in graph coordinates.
+ *
+ * <p>
+ * Used by the graph canvas for viewport culling, hit-testing and hover. Nodes
+ * and edges are addressed by their index in {@link GraphData#nodes()} and
+ * {@link GraphData#edges()}; edge endpoints and node degrees are resolved once
+ * here so a frame does no map lookups.
+ * </p>
+ */
+public final class GraphSpatialIndex {
+
+    private static final int NODES_PER_CELL = 4;
+    private static final int MAX_CELLS = 1 << 20;
+
+    private final GraphData data;
+    private final double originX;
+    private final double originY;
+    private final double cellSize;
+    private final int columns;
+    private final int rows;
+    // Nodes of cell c are cellNodes[cellStart[c] .. cellStart[c + 1]).
+    private final int[] cellStart;
+    private final int[] cellNodes;
+    private final int[] edgeSource;
+    private final int[] edgeTarget;
+    private final int[] degree;
+
+    public GraphSpatialIndex(GraphData data) {
+        this.data = data != null ? data : new GraphData(List.of(), List.of());
+        List<GraphNode> nodes = this.data.nodes();
+        List<GraphEdge> edges = this.data.edges();
+        int n = nodes.size();
+
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        for (GraphNode node : nodes) {
+            minX = Math.min(minX, node.x());
+            minY = Math.min(minY, node.y());
+            maxX = Math.max(maxX, node.x());
+            maxY = Math.max(maxY, node.y());
+        }
+        if (n == 0) {
+            minX = minY = maxX = maxY = 0.0;
+        }
+        double width = Math.max(1.0, maxX - minX);
+        double height = Math.max(1.0, maxY - minY);
+        double size = Math.sqrt(width * height * NODES_PER_CELL / Math.max(1, n));
+        size = Math.max(size, Math.sqrt(width * height / MAX_CELLS));
+        this.originX = minX;
+        this.originY = minY;
+        this.cellSize = Math.max(1e-6, size);
+        this.columns = Math.max(1, (int) (width / cellSize) + 1);
+        this.rows = Math.max(1, (int) (height / cellSize) + 1);
+
+        int[] cellOf = new int[n];
+        this.cellStart = new int[columns * rows + 1];
+        for (int i = 0; i < n; i++) {
+            GraphNode node = nodes.get(i);
+            cellOf[i] = column(node.x()) + row(node.y()) * columns;
+            cellStart[cellOf[i] + 1]++;
+        }
+        for (int c = 0; c < columns * rows; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+        this.cellNodes = new int[n];
+        int[] fill = new int[columns * rows];
+        for (int i = 0; i < n; i++) {
+            cellNodes[cellStart[cellOf[i]] + fill[cellOf[i]]++] = i;
+        }
+
+        Map<String, Integer> ordinal = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            ordinal.put(nodes.get(i).id(), i);
+        }
+        this.edgeSource = new int[edges.size()];
+        this.edgeTarget = new int[edges.size()];
+        this.degree = new int[n];
+        for (int e = 0; e < edges.size(); e++) {
+            edgeSource[e] = ordinal.getOrDefault(edges.get(e).sourceId(), -1);
+            edgeTarget[e] = ordinal.getOrDefault(edges.get(e).targetId(), -1);
+            if (edgeSource[e] >= 0 && edgeTarget[e] >= 0) {
+                degree[edgeSource[e]]++;
+                degree[edgeTarget[e]]++;
+            }
+        }
+    }
+
+    public GraphData data() {
+        return data;
+    }
+
+    /**
+     * @return Index of the edge's source node, or -1 if it is not in the graph.
+     */
+    public int edgeSource(int edge) {
+        return edgeSource[edge];
+    }
+
+    /**
+     * @return Index of the edge's target node, or -1 if it is not in the graph.
+     */
+    public int edgeTarget(int edge) {
+        return edgeTarget[edge];
+    }
+
+    public int degree(int node) {
+        return degree[node];
+    }
+
+    /**
+     * Calls {@code action} with the index of every node inside the rectangle.
+     */
+    public void forEachNodeIn(double minX, double minY, double maxX, double maxY, IntConsumer action) {
+        if (cellNodes.length == 0 || maxX < minX || maxY < minY) {
+            return;
+        }
+        int fromColumn = column(minX);
+        int toColumn = column(maxX);
+        int fromRow = row(minY);
+        int toRow = row(maxY);
+        List<GraphNode> nodes = data.nodes();
+        for (int r = fromRow; r <= toRow; r++) {
+            for (int c = fromColumn; c <= toColumn; c++) {
+                int cell = c + r * columns;
+                for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                    int node = cellNodes[k];
+                    GraphNode candidate = nodes.get(node);
+                    if (candidate.x() >= minX && candidate.x() <= maxX
+                            && candidate.y() >= minY && candidate.y() <= maxY) {
+                        action.accept(node);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return Index of the node closest to the point within
+     *         {@code maxDistance}, or -1 if there is none.
+     */
+    public int nearest(double x, double y, double maxDistance) {
+        double[] best = { maxDistance * maxDistance };
+        int[] found = { -1 };
+        List<GraphNode> nodes = data.nodes();
+        forEachNodeIn(x - maxDistance, y - maxDistance, x + maxDistance, y + maxDistance, node -> {
+            GraphNode candidate = nodes.get(node);
+            double dx = candidate.x() - x;
+            double dy = candidate.y() - y;
+            double dist2 = dx * dx + dy * dy;
+            if (dist2 <= best[0]) {
+                best[0] = dist2;
+                found[0] = node;
+            }
+        });
+        return found[0];
+    }
+
+    private int column(double x) {
+        return (int) Math.max(0, Math.min(columns - 1, Math.floor((x - originX) / cellSize)));
+    }
+
+    private int row(double y) {
+        return (int) Math.max(0, Math.min(rows - 1, Math.floor((y - originY) / cellSize)));
+    }
+}
@@ -6,6 +6,7 @@ import com.example.forevernote.service.links.LinkIndexService.LinkEdge;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -16,12 +17,64 @@ import java.util.Objects;
 import java.util.Queue;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.IntStream;
 
 /**
  * Builds graph data models from notes/link index.
+ *
+ * <p>
+ * Each instance remembers the positions of its last layout. The next build
+ * keeps the nodes it already placed and only settles the graph for a few
+ * iterations, or reuses the positions outright if nodes and edges are
+ * unchanged. Use one instance per graph view.
+ * </p>
  */
 public class GraphWorkflow {
 
+    private static final int FORCE_LAYOUT_MAX_NODES = 2000;
+    private static final long LAYOUT_SEED = 42L;
+    // Warm starts with at least this share of known nodes settle in a few iterations.
+    private static final double WARM_START_MIN_KNOWN = 0.75;
+    private static final int WARM_START_ITERATIONS = 15;
+    private static final double WARM_START_TEMPERATURE = 4.0;
+    private static final int FRAME_INTERVAL = 8;
+
+    /**
+     * Positions of the last completed layout.
+     *
+     * @param signature Order-independent hash of its node ids and edges.
+     */
+    private record LayoutCache(long signature, Map<String, double[]> positions) {
+
+        static final LayoutCache EMPTY = new LayoutCache(0L, Map.of());
+    }
+
+    /**
+     * @param cancelled True once a newer build superseded this one.
+     * @param onFrame   Receives intermediate node positions, or null.
+     */
+    private record LayoutRun(BooleanSupplier cancelled, BiConsumer<List<GraphNode>, List<GraphEdge>> onFrame) {
+
+        static final LayoutRun BLOCKING = new LayoutRun(() -> false, null);
+
+        void checkCancelled() {
+            if (cancelled.getAsBoolean()) {
+                throw new CancellationException("Graph layout superseded");
+            }
+        }
+    }
+
+    private volatile LayoutCache layoutCache = LayoutCache.EMPTY;
+    private final AtomicLong layoutGeneration = new AtomicLong();
+
     public record GraphFilter(Set<String> folderPrefixes, Set<String> tags, boolean includeUnresolved, int maxNodes) {
     }
 
@@ -35,6 +88,64 @@ public class GraphWorkflow {
     }
 
     public GraphData buildGlobalGraph(Collection<Note> notes, LinkIndexService linkIndexService, GraphFilter filter) {
+        return buildGlobalGraph(notes, linkIndexService, filter, LayoutRun.BLOCKING);
+    }
+
+    public GraphData buildLocalGraph(String centerNoteId, int depth, Collection<Note> notes,
+            LinkIndexService linkIndexService, GraphFilter filter) {
+        return buildLocalGraph(centerNoteId, depth, notes, linkIndexService, filter, LayoutRun.BLOCKING);
+    }
+
+    /**
+     * Builds the global graph on {@code executor}. Starting another async build
+     * on this instance cancels this one.
+     *
+     * @param onFrame Receives intermediate layouts while the simulation runs, on
+     *                the executor thread; may be null.
+     * @return Completes with the final layout, or is cancelled if superseded.
+     */
+    public CompletableFuture<GraphData> buildGlobalGraphAsync(Collection<Note> notes,
+            LinkIndexService linkIndexService, GraphFilter filter, Executor executor, Consumer<GraphData> onFrame) {
+        return runAsync(executor, onFrame, filter,
+                run -> buildGlobalGraph(notes, linkIndexService, filter, run));
+    }
+
+    /**
+     * Builds the local graph on {@code executor}, like
+     * {@link #buildGlobalGraphAsync}.
+     */
+    public CompletableFuture<GraphData> buildLocalGraphAsync(String centerNoteId, int depth, Collection<Note> notes,
+            LinkIndexService linkIndexService, GraphFilter filter, Executor executor, Consumer<GraphData> onFrame) {
+        return runAsync(executor, onFrame, filter,
+                run -> buildLocalGraph(centerNoteId, depth, notes, linkIndexService, filter, run));
+    }
+
+    private CompletableFuture<GraphData> runAsync(Executor executor, Consumer<GraphData> onFrame, GraphFilter filter,
+            Function<LayoutRun, GraphData> build) {
+        long generation = layoutGeneration.incrementAndGet();
+        BooleanSupplier cancelled = () -> layoutGeneration.get() != generation;
+        int maxNodes = filter != null ? filter.maxNodes() : 0;
+        LayoutRun run = new LayoutRun(cancelled, onFrame == null ? null
+                : (nodes, edges) -> onFrame.accept(trim(nodes, edges, maxNodes)));
+        CompletableFuture<GraphData> result = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                if (cancelled.getAsBoolean()) {
+                    result.cancel(false);
+                    return;
+                }
+                result.complete(build.apply(run));
+            } catch (CancellationException e) {
+                result.cancel(false);
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    private GraphData buildGlobalGraph(Collection<Note> notes, LinkIndexService linkIndexService, GraphFilter filter,
+            LayoutRun run) {
         if (notes == null || linkIndexService == null) {
             return new GraphData(List.of(), List.of());
         }
@@ -81,12 +192,12 @@ public class GraphWorkflow {
             }
         }
 
-        applyLayout(nodes, edges);
+        applyLayout(nodes, edges, run);
         return trim(nodes, edges, filter != null ? filter.maxNodes() : 0);
     }
 
-    public GraphData buildLocalGraph(String centerNoteId, int depth, Collection<Note> notes,
-            LinkIndexService linkIndexService, GraphFilter filter) {
+    private GraphData buildLocalGraph(String centerNoteId, int depth, Collection<Note> notes,
+            LinkIndexService linkIndexService, GraphFilter filter, LayoutRun run) {
         if (centerNoteId == null || centerNoteId.isBlank() || notes == null || linkIndexService == null) {
             return new GraphData(List.of(), List.of());
         }
@@ -129,7 +240,7 @@ public class GraphWorkflow {
         }
 
         List<Note> localNotes = visited.stream().map(notesById::get).filter(Objects::nonNull).toList();
-        return buildGlobalGraph(localNotes, linkIndexService, filter);
+        return buildGlobalGraph(localNotes, linkIndexService, filter, run);
     }
 
     private boolean acceptNote(Note note, GraphFilter filter) {
@@ -167,89 +278,167 @@ public class GraphWorkflow {
         return new GraphData(reducedNodes, reducedEdges);
     }
 
-    private void applyLayout(List<GraphNode> nodes, List<GraphEdge> edges) {
+    private void applyLayout(List<GraphNode> nodes, List<GraphEdge> edges, LayoutRun run) {
         if (nodes.isEmpty()) {
             return;
         }
-        // For large vaults, use a deterministic O(n) layout inspired by Obsidian-like
-        // overview behavior (dense, navigable, no n^2 force simulation lag).
-        if (nodes.size() > 220) {
-            applyFastLayout(nodes, edges);
+        LayoutCache cache = layoutCache;
+        long signature = signature(nodes, edges);
+        if (signature == cache.signature() && cache.positions().size() == nodes.size()
+                && applyCachedPositions(nodes, cache)) {
             return;
         }
-
-        Random random = new Random(42);
-        Map<String, double[]> pos = new HashMap<>();
+        // Past this size a single simulation in the fixed canvas area gets too
+        // dense; large vaults get the component overview instead.
+        if (nodes.size() > FORCE_LAYOUT_MAX_NODES) {
+            applyFastLayout(nodes, edges, run);
+        } else {
+            applyForceLayout(nodes, edges, cache, run);
+        }
+        run.checkCancelled();
+        Map<String, double[]> positions = new HashMap<>(nodes.size() * 2);
         for (GraphNode node : nodes) {
-            pos.put(node.id(), new double[] { 80 + random.nextDouble() * 720, 80 + random.nextDouble() * 480 });
+            positions.put(node.id(), new double[] { node.x(), node.y() });
         }
+        layoutCache = new LayoutCache(signature, positions);
+    }
 
-        int iterations = Math.min(90, 24 + (nodes.size() / 2));
-        double k = Math.sqrt((800.0 * 600.0) / Math.max(1, nodes.size()));
-
-        for (int i = 0; i < iterations; i++) {
-            Map<String, double[]> disp = new HashMap<>();
-            for (GraphNode v : nodes) {
-                disp.put(v.id(), new double[] { 0.0, 0.0 });
+    private boolean applyCachedPositions(List<GraphNode> nodes, LayoutCache cache) {
+        List<GraphNode> placed = new ArrayList<>(nodes.size());
+        for (GraphNode n : nodes) {
+            double[] p = cache.positions().get(n.id());
+            if (p == null) {
+                return false;
             }
+            placed.add(new GraphNode(n.id(), n.title(), n.unresolved(), p[0], p[1]));
+        }
+        for (int i = 0; i < nodes.size(); i++) {
+            nodes.set(i, placed.get(i));
+        }
+        return true;
+    }
 
-            for (int a = 0; a < nodes.size(); a++) {
-                GraphNode v = nodes.get(a);
-                for (int b = a + 1; b < nodes.size(); b++) {
-                    GraphNode u = nodes.get(b);
-                    double[] pv = pos.get(v.id());
-                    double[] pu = pos.get(u.id());
-                    double dx = pv[0] - pu[0];
-                    double dy = pv[1] - pu[1];
-                    double dist = Math.max(1.0, Math.hypot(dx, dy));
-                    double force = (k * k) / dist;
-                    double fx = dx / dist * force;
-                    double fy = dy / dist * force;
-                    disp.get(v.id())[0] += fx;
-                    disp.get(v.id())[1] += fy;
-                    disp.get(u.id())[0] -= fx;
-                    disp.get(u.id())[1] -= fy;
-                }
+    /**
+     * Runs the force simulation, starting known nodes from their cached
+     * positions and new ones next to their placed neighbours.
+     */
+    private void applyForceLayout(List<GraphNode> nodes, List<GraphEdge> edges, LayoutCache cache,
+            LayoutRun run) {
+        Map<String, Integer> ordinal = new HashMap<>(nodes.size() * 2);
+        for (int i = 0; i < nodes.size(); i++) {
+            ordinal.put(nodes.get(i).id(), i);
+        }
+        int[] from = new int[edges.size()];
+        int[] to = new int[edges.size()];
+        int edgeCount = 0;
+        for (GraphEdge e : edges) {
+            Integer s = ordinal.get(e.sourceId());
+            Integer t = ordinal.get(e.targetId());
+            if (s == null || t == null) {
+                continue;
             }
+            from[edgeCount] = s;
+            to[edgeCount] = t;
+            edgeCount++;
+        }
+        from = Arrays.copyOf(from, edgeCount);
+        to = Arrays.copyOf(to, edgeCount);
 
-            for (GraphEdge e : edges) {
-                if (!pos.containsKey(e.sourceId()) || !pos.containsKey(e.targetId())) {
-                    continue;
+        Random random = new Random(LAYOUT_SEED);
+        BarnesHutLayout layout = new BarnesHutLayout(nodes.size(), from, to)
+                .randomize(random, 80, 80, 720, 480)
+                .bounds(20, 20, 980, 720);
+        int known = warmStart(layout, nodes, from, to, cache, random);
+
+        int iterations = Math.min(90, 24 + (nodes.size() / 2));
+        double k = Math.sqrt((800.0 * 600.0) / Math.max(1, nodes.size()));
+        double startTemperature = 20.0;
+        if (known >= nodes.size() * WARM_START_MIN_KNOWN) {
+            iterations = Math.min(iterations, WARM_START_ITERATIONS);
+            startTemperature = WARM_START_TEMPERATURE;
+        }
+        for (int i = 0; i < iterations; i++) {
+            layout.step(k, Math.max(1.0, startTemperature - i * 0.12));
+            if ((i + 1) % FRAME_INTERVAL == 0 && i + 1 < iterations) {
+                run.checkCancelled();
+                if (run.onFrame() != null) {
+                    run.onFrame().accept(positioned(nodes, layout), edges);
                 }
-                double[] ps = pos.get(e.sourceId());
-                double[] pt = pos.get(e.targetId());
-                double dx = ps[0] - pt[0];
-                double dy = ps[1] - pt[1];
-                double dist = Math.max(1.0, Math.hypot(dx, dy));
-                double force = (dist * dist) / k;
-                double fx = dx / dist * force;
-                double fy = dy / dist * force;
-                disp.get(e.sourceId())[0] -= fx;
-                disp.get(e.sourceId())[1] -= fy;
-                disp.get(e.targetId())[0] += fx;
-                disp.get(e.targetId())[1] += fy;
             }
+        }
+
+        List<GraphNode> placed = positioned(nodes, layout);
+        for (int i = 0; i < nodes.size(); i++) {
+            nodes.set(i, placed.get(i));
+        }
+    }
 
-            double temperature = Math.max(1.0, 20.0 - i * 0.12);
-            for (GraphNode v : nodes) {
-                double[] p = pos.get(v.id());
-                double[] d = disp.get(v.id());
-                double dist = Math.max(1.0, Math.hypot(d[0], d[1]));
-                p[0] += (d[0] / dist) * Math.min(Math.abs(d[0]), temperature);
-                p[1] += (d[1] / dist) * Math.min(Math.abs(d[1]), temperature);
-                p[0] = clamp(p[0], 20, 980);
-                p[1] = clamp(p[1], 20, 720);
+    /**
+     * Moves nodes with a cached position there, and new nodes linked to one
+     * next to it.
+     *
+     * @return Number of nodes placed from the cache or next to a neighbour.
+     */
+    private int warmStart(BarnesHutLayout layout, List<GraphNode> nodes, int[] from, int[] to, LayoutCache cache,
+            Random random) {
+        if (cache.positions().isEmpty()) {
+            return 0;
+        }
+        boolean[] known = new boolean[nodes.size()];
+        int count = 0;
+        for (int i = 0; i < nodes.size(); i++) {
+            double[] p = cache.positions().get(nodes.get(i).id());
+            if (p != null) {
+                layout.position(i, p[0], p[1]);
+                known[i] = true;
+                count++;
             }
         }
+        if (count == 0) {
+            return 0;
+        }
+        for (int e = 0; e < from.length; e++) {
+            int placed = known[from[e]] ? from[e] : known[to[e]] ? to[e] : -1;
+            int fresh = placed == from[e] ? to[e] : from[e];
+            if (placed >= 0 && !known[fresh]) {
+                layout.position(fresh, layout.x(placed) + (random.nextDouble() - 0.5) * 40.0,
+                        layout.y(placed) + (random.nextDouble() - 0.5) * 40.0);
+                known[fresh] = true;
+                count++;
+            }
+        }
+        return count;
+    }
 
+    private static List<GraphNode> positioned(List<GraphNode> nodes, BarnesHutLayout layout) {
+        List<GraphNode> placed = new ArrayList<>(nodes.size());
         for (int i = 0; i < nodes.size(); i++) {
             GraphNode n = nodes.get(i);
-            double[] p = pos.get(n.id());
-            nodes.set(i, new GraphNode(n.id(), n.title(), n.unresolved(), p[0], p[1]));
+            placed.add(new GraphNode(n.id(), n.title(), n.unresolved(), layout.x(i), layout.y(i)));
         }
+        return placed;
+    }
+
+    /**
+     * Order-independent hash of node ids and edges.
+     */
+    private static long signature(List<GraphNode> nodes, List<GraphEdge> edges) {
+        long hash = nodes.size() * 0x9E3779B97F4A7C15L + edges.size();
+        for (GraphNode node : nodes) {
+            hash += mix(node.id().hashCode());
+        }
+        for (GraphEdge edge : edges) {
+            hash += mix(31L * edge.sourceId().hashCode() + edge.targetId().hashCode()) * 0xC2B2AE3D27D4EB4FL;
+        }
+        return hash;
+    }
+
+    private static long mix(long value) {
+        long h = value * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 31);
     }
 
-    private void applyFastLayout(List<GraphNode> nodes, List<GraphEdge> edges) {
+    private void applyFastLayout(List<GraphNode> nodes, List<GraphEdge> edges, LayoutRun run) {
         Map<String, Set<String>> adjacency = new HashMap<>();
         for (GraphNode n : nodes) {
             adjacency.put(n.id(), new HashSet<>());
@@ -272,7 +461,7 @@ public class GraphWorkflow {
             }
         }
 
-        Random rng = new Random(42);
+        Random rng = new Random(LAYOUT_SEED);
         double centerX = 500.0;
         double centerY = 380.0;
         double radius = Math.max(260.0, 190.0 + Math.sqrt(nodes.size()) * 8.0);
@@ -332,11 +521,18 @@ public class GraphWorkflow {
             anchors.add(anchor);
         }
 
-        // Place connected components with force-based internal geometry.
+        // Lay out components in parallel, each seeded by its rank, then place
+        // them with force-based internal geometry.
+        run.checkCancelled();
+        List<Map<String, double[]>> layouts = IntStream.range(0, components.size()).parallel()
+                .mapToObj(ci -> forceLayoutComponent(components.get(ci), adjacency,
+                        new Random(LAYOUT_SEED * 31 + ci)))
+                .toList();
+        run.checkCancelled();
         for (int ci = 0; ci < components.size(); ci++) {
             List<String> comp = components.get(ci);
             double[] anchor = anchors.get(ci);
-            Map<String, double[]> local = forceLayoutComponent(comp, adjacency, rng);
+            Map<String, double[]> local = layouts.get(ci);
             double minX = Double.POSITIVE_INFINITY, maxX = Double.NEGATIVE_INFINITY;
             double minY = Double.POSITIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
             for (double[] p : local.values()) {
@@ -399,77 +595,40 @@ public class GraphWorkflow {
     }
 
     private Map<String, double[]> forceLayoutComponent(List<String> nodes, Map<String, Set<String>> adjacency, Random rng) {
-        Map<String, double[]> pos = new HashMap<>();
-        for (String id : nodes) {
-            pos.put(id, new double[] { 60 + rng.nextDouble() * 320, 60 + rng.nextDouble() * 320 });
-        }
         int n = nodes.size();
-        int iterations = Math.min(140, 46 + (int) Math.sqrt(n) * 8);
-        int repulsionSamples = Math.min(56, Math.max(12, (int) Math.sqrt(n) * 4));
-        double k = Math.max(16.0, 125.0 / Math.sqrt(Math.max(2, n)));
-
-        for (int it = 0; it < iterations; it++) {
-            Map<String, double[]> disp = new HashMap<>();
-            for (String id : nodes) {
-                disp.put(id, new double[] { 0.0, 0.0 });
-            }
-
-            // Attractive forces along real edges.
-            for (String src : nodes) {
-                double[] ps = pos.get(src);
-                for (String dst : adjacency.getOrDefault(src, Set.of())) {
-                    if (!pos.containsKey(dst) || src.compareTo(dst) >= 0) {
-                        continue;
-                    }
-                    double[] pt = pos.get(dst);
-                    double dx = ps[0] - pt[0];
-                    double dy = ps[1] - pt[1];
-                    double dist = Math.max(1.0, Math.hypot(dx, dy));
-                    double force = (dist * dist) / k;
-                    double fx = (dx / dist) * force;
-                    double fy = (dy / dist) * force;
-                    disp.get(src)[0] -= fx;
-                    disp.get(src)[1] -= fy;
-                    disp.get(dst)[0] += fx;
-                    disp.get(dst)[1] += fy;
-                }
-            }
-
-            // Approximate repulsion by random sampling for scalability.
-            for (int i = 0; i < n; i++) {
-                String vi = nodes.get(i);
-                double[] pv = pos.get(vi);
-                for (int s = 0; s < repulsionSamples; s++) {
-                    String uj = nodes.get(rng.nextInt(n));
-                    if (vi.equals(uj)) {
-                        continue;
-                    }
-                    double[] pu = pos.get(uj);
-                    double dx = pv[0] - pu[0];
-                    double dy = pv[1] - pu[1];
-                    double dist = Math.max(1.0, Math.hypot(dx, dy));
-                    double force = (k * k) / dist;
-                    disp.get(vi)[0] += (dx / dist) * force;
-                    disp.get(vi)[1] += (dy / dist) * force;
+        Map<String, Integer> ordinal = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            ordinal.put(nodes.get(i), i);
+        }
+        List<int[]> pairs = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            String src = nodes.get(i);
+            for (String dst : adjacency.getOrDefault(src, Set.of())) {
+                Integer j = ordinal.get(dst);
+                if (j != null && src.compareTo(dst) < 0) {
+                    pairs.add(new int[] { i, j });
                 }
             }
+        }
+        int[] from = new int[pairs.size()];
+        int[] to = new int[pairs.size()];
+        for (int e = 0; e < pairs.size(); e++) {
+            from[e] = pairs.get(e)[0];
+            to[e] = pairs.get(e)[1];
+        }
 
-            double temperature = Math.max(0.8, 12.0 - it * 0.14);
-            for (String id : nodes) {
-                double[] p = pos.get(id);
-                double[] d = disp.get(id);
-                double len = Math.max(1.0, Math.hypot(d[0], d[1]));
-                p[0] += (d[0] / len) * Math.min(temperature, Math.abs(d[0]));
-                p[1] += (d[1] / len) * Math.min(temperature, Math.abs(d[1]));
+        BarnesHutLayout layout = new BarnesHutLayout(n, from, to)
+                .randomize(rng, 60, 60, 320, 320)
                 // mild gravity to avoid drift
-                p[0] += (180.0 - p[0]) * 0.004;
-                p[1] += (180.0 - p[1]) * 0.004;
-            }
+                .gravity(0.004, 180.0, 180.0);
+        int iterations = Math.min(140, 46 + (int) Math.sqrt(n) * 8);
+        double k = Math.max(16.0, 125.0 / Math.sqrt(Math.max(2, n)));
+        layout.run(iterations, k, 12.0, 0.14, 0.8);
+
+        Map<String, double[]> pos = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            pos.put(nodes.get(i), new double[] { layout.x(i), layout.y(i) });
         }
         return pos;
     }
-
-    private double clamp(double value, double min, double max) {
-        return Math.max(min, Math.min(max, value));
-    }
 }
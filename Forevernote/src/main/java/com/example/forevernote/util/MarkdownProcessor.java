@@ -1,19 +1,40 @@
 package com.example.forevernote.util;
 
+import org.commonmark.node.AbstractVisitor;
+import org.commonmark.node.Code;
+import org.commonmark.node.Document;
+import org.commonmark.node.Heading;
+import org.commonmark.node.HardLineBreak;
 import org.commonmark.node.Node;
+import org.commonmark.node.SoftLineBreak;
+import org.commonmark.node.SourceSpan;
+import org.commonmark.node.Text;
 import org.commonmark.Extension;
+import org.commonmark.parser.IncludeSourceSpans;
 import org.commonmark.parser.Parser;
 import org.commonmark.renderer.html.HtmlRenderer;
 import org.commonmark.ext.gfm.tables.TablesExtension;
 import org.commonmark.ext.gfm.strikethrough.StrikethroughExtension;
 import org.commonmark.ext.autolink.AutolinkExtension;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Utility class for processing Markdown content.
  * Provides conversion from Markdown to HTML for preview functionality.
+ *
+ * <p>
+ * Parsed documents and their HTML are memoized by content in a shared LRU
+ * cache with a byte budget, so the preview, exports and plugins that ask for
+ * the same text share one parse.
+ * </p>
  */
 public class MarkdownProcessor {
     
@@ -25,8 +46,49 @@ public class MarkdownProcessor {
     
     private static final Parser PARSER = Parser.builder()
         .extensions(EXTENSIONS)
+        .includeSourceSpans(IncludeSourceSpans.BLOCKS)
         .build();
     
+    private static final long CACHE_BUDGET_BYTES = 24L * 1024 * 1024;
+    // Rough heap cost of a parsed document per source character
+    private static final int DOCUMENT_BYTES_PER_CHAR = 8;
+    
+    // Keyed by the Markdown text itself; guarded by its own monitor
+    private static final Map<String, CacheEntry> CACHE = new LinkedHashMap<>(64, 0.75f, true);
+    private static long cacheBytes = 0;
+    
+    private static final class CacheEntry {
+        final Node document;
+        String html;
+        long bytes;
+        
+        CacheEntry(Node document, long bytes) {
+            this.document = document;
+            this.bytes = bytes;
+        }
+    }
+    
+    /**
+     * A heading of a Markdown document.
+     *
+     * @param level  Heading level, 1 to 6
+     * @param text   Plain text of the heading
+     * @param offset Character offset of the heading in the source
+     */
+    public record HeadingEntry(int level, String text, int offset) {
+    }
+    
+    private static final Pattern FENCE = Pattern.compile("^ {0,3}(`{3,}|~{3,})(.*)$");
+    private static final Pattern LIST_MARKER = Pattern.compile("^([-+*]|\\d{1,9}[.)])([ \t].*)?$");
+    private static final Pattern REFERENCE_DEFINITION = Pattern.compile(
+        "^ {0,3}\\[(?:[^\\]\\\\]|\\\\.)+\\]:[ \t]*(?:<[^<>\\n]*>|[^\\s<]\\S*)"
+            + "(?:[ \t]+(?:\"[^\"]*\"|'[^']*'|\\([^()]*\\)))?[ \t]*$");
+    private static final Pattern RAW_HTML_START = Pattern.compile(
+        "^ {0,3}<(?:(script|pre|style|textarea)(?:[\\s>]|$)|(!--)|(\\?)|(![A-Za-z])|(!\\[CDATA\\[))",
+        Pattern.CASE_INSENSITIVE);
+    private static final String[] RAW_HTML_END = { "", "</(?:script|pre|style|textarea)>", "-->", "\\?>", ">",
+        "]]>" };
+    
     private static final HtmlRenderer RENDERER = HtmlRenderer.builder()
         .extensions(EXTENSIONS)
         .escapeHtml(true)
@@ -45,14 +107,247 @@ public class MarkdownProcessor {
         }
         
         try {
-            Node document = PARSER.parse(markdown);
-            return RENDERER.render(document);
+            CacheEntry entry = cacheEntry(markdown);
+            synchronized (CACHE) {
+                if (entry.html != null) {
+                    return entry.html;
+                }
+            }
+            String html = RENDERER.render(entry.document);
+            synchronized (CACHE) {
+                if (entry.html == null) {
+                    entry.html = html;
+                    long added = 2L * html.length();
+                    entry.bytes += added;
+                    if (CACHE.get(markdown) == entry) {
+                        cacheBytes += added;
+                        evict();
+                    }
+                }
+            }
+            return html;
         } catch (Exception e) {
             // Fallback to plain text if Markdown parsing fails
             return "<pre>" + escapeHtml(markdown) + "</pre>";
         }
     }
     
+    /**
+     * Parses Markdown, reusing the cached document for the same text.
+     * 
+     * @param markdown The Markdown text to parse
+     * @return The document; shared, so it must not be modified
+     */
+    public static Node parse(String markdown) {
+        if (markdown == null || markdown.isEmpty()) {
+            return new Document();
+        }
+        return cacheEntry(markdown).document;
+    }
+    
+    /**
+     * Lists the headings of a Markdown document in order, walking the cached
+     * parse. Unlike a line scan this skips "#" lines inside code blocks and
+     * includes setext headings.
+     *
+     * @param markdown The Markdown text
+     * @return The headings
+     */
+    public static List<HeadingEntry> headings(String markdown) {
+        List<HeadingEntry> headings = new ArrayList<>();
+        if (markdown == null || markdown.isEmpty()) {
+            return headings;
+        }
+        int[] lineStarts = lineStarts(markdown);
+        parse(markdown).accept(new AbstractVisitor() {
+            @Override
+            public void visit(Heading heading) {
+                StringBuilder text = new StringBuilder();
+                appendPlainText(heading, text);
+                List<SourceSpan> spans = heading.getSourceSpans();
+                int offset = 0;
+                if (!spans.isEmpty() && spans.get(0).getLineIndex() < lineStarts.length) {
+                    offset = lineStarts[spans.get(0).getLineIndex()] + spans.get(0).getColumnIndex();
+                }
+                headings.add(new HeadingEntry(heading.getLevel(), text.toString().trim(), offset));
+            }
+        });
+        return headings;
+    }
+    
+    private static CacheEntry cacheEntry(String markdown) {
+        synchronized (CACHE) {
+            CacheEntry cached = CACHE.get(markdown);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        Node document = PARSER.parse(markdown);
+        CacheEntry entry = new CacheEntry(document, (long) markdown.length() * (2 + DOCUMENT_BYTES_PER_CHAR));
+        synchronized (CACHE) {
+            CacheEntry raced = CACHE.get(markdown);
+            if (raced != null) {
+                return raced;
+            }
+            if (entry.bytes <= CACHE_BUDGET_BYTES / 4) {
+                CACHE.put(markdown, entry);
+                cacheBytes += entry.bytes;
+                evict();
+            }
+        }
+        return entry;
+    }
+    
+    private static void evict() {
+        Iterator<CacheEntry> eldest = CACHE.values().iterator();
+        while (cacheBytes > CACHE_BUDGET_BYTES && eldest.hasNext()) {
+            cacheBytes -= eldest.next().bytes;
+            eldest.remove();
+        }
+    }
+    
+    private static void appendPlainText(Node node, StringBuilder out) {
+        for (Node child = node.getFirstChild(); child != null; child = child.getNext()) {
+            if (child instanceof Text text) {
+                out.append(text.getLiteral());
+            } else if (child instanceof Code code) {
+                out.append(code.getLiteral());
+            } else if (child instanceof SoftLineBreak || child instanceof HardLineBreak) {
+                out.append(' ');
+            } else {
+                appendPlainText(child, out);
+            }
+        }
+    }
+    
+    private static int[] lineStarts(String text) {
+        List<Integer> starts = new ArrayList<>();
+        starts.add(0);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\n' || (c == '\r' && (i + 1 >= text.length() || text.charAt(i + 1) != '\n'))) {
+                starts.add(i + 1);
+            }
+        }
+        return starts.stream().mapToInt(Integer::intValue).toArray();
+    }
+    
+    /**
+     * Top-level blocks of a Markdown document, as source text.
+     *
+     * @param blocks               Source of each top-level block, in document order
+     * @param referenceDefinitions Source of the link reference definitions, which
+     *                             apply to every block
+     */
+    public record BlockSplit(List<String> blocks, String referenceDefinitions) {
+    }
+    
+    /**
+     * Splits Markdown into its top-level blocks without parsing it. Only a blank
+     * line followed by an unindented line that cannot continue the previous block
+     * separates two blocks, so a "block" may hold several Markdown blocks (e.g. a
+     * paragraph and the list under it) but never part of one. Rendering each block
+     * on its own followed by the reference definitions gives the same HTML as
+     * rendering the whole document.
+     *
+     * @param markdown The Markdown text to split
+     * @return The blocks, empty for blank input
+     */
+    public static BlockSplit splitBlocks(String markdown) {
+        if (markdown == null || markdown.trim().isEmpty()) {
+            return new BlockSplit(List.of(), "");
+        }
+        
+        String[] lines = markdown.split("\\r\\n|\\r|\\n", -1);
+        List<String> blocks = new ArrayList<>();
+        StringBuilder definitions = new StringBuilder();
+        StringBuilder block = new StringBuilder();
+        boolean blockHasList = false;
+        boolean afterBlank = false;
+        String fence = null;
+        Pattern rawHtmlEnd = null;
+        for (String line : lines) {
+            if (fence != null) {
+                Matcher close = FENCE.matcher(line);
+                if (close.matches() && close.group(1).charAt(0) == fence.charAt(0)
+                        && close.group(1).length() >= fence.length() && close.group(2).trim().isEmpty()) {
+                    fence = null;
+                }
+                block.append(line).append('\n');
+                continue;
+            }
+            if (rawHtmlEnd != null) {
+                if (rawHtmlEnd.matcher(line).find()) {
+                    rawHtmlEnd = null;
+                }
+                block.append(line).append('\n');
+                continue;
+            }
+            if (line.trim().isEmpty()) {
+                afterBlank = block.length() > 0;
+                continue;
+            }
+            char first = line.charAt(0);
+            boolean listLine = (first == '-' || first == '+' || first == '*' || Character.isDigit(first))
+                && LIST_MARKER.matcher(line).matches();
+            boolean continuation = !afterBlank || Character.isWhitespace(first) || (listLine && blockHasList);
+            if (!continuation) {
+                flushBlock(block, blocks, definitions);
+                blockHasList = false;
+            } else if (afterBlank) {
+                block.append('\n');
+            }
+            afterBlank = false;
+            blockHasList |= listLine;
+            block.append(line).append('\n');
+            Matcher open = FENCE.matcher(line);
+            if ((line.contains("```") || line.contains("~~~")) && open.matches() && !(open.group(1).charAt(0) == '`' && open.group(2).contains("`"))) {
+                fence = open.group(1);
+                continue;
+            }
+            int tag = line.indexOf('<');
+            Matcher html = RAW_HTML_START.matcher(line);
+            if (tag >= 0 && tag <= 3 && html.find()) {
+                for (int type = 1; type < RAW_HTML_END.length; type++) {
+                    if (html.group(type) != null) {
+                        Pattern end = Pattern.compile(RAW_HTML_END[type], Pattern.CASE_INSENSITIVE);
+                        if (!end.matcher(line.substring(html.end())).find()) {
+                            rawHtmlEnd = end;
+                        }
+                        break;
+                    }
+                }
+            }
+        }
+        flushBlock(block, blocks, definitions);
+        return new BlockSplit(blocks, definitions.toString());
+    }
+    
+    /**
+     * Moves the reference definitions that open a block into {@code definitions}
+     * and adds what is left, if anything, to {@code blocks}.
+     */
+    private static void flushBlock(StringBuilder block, List<String> blocks, StringBuilder definitions) {
+        if (block.length() == 0) {
+            return;
+        }
+        String text = block.substring(0, block.length() - 1);
+        block.setLength(0);
+        int start = 0;
+        while (start < text.length()) {
+            int end = text.indexOf('\n', start);
+            int lineEnd = end < 0 ? text.length() : end;
+            if (!REFERENCE_DEFINITION.matcher(text.substring(start, lineEnd)).matches()) {
+                break;
+            }
+            definitions.append(text, start, lineEnd).append('\n');
+            start = end < 0 ? text.length() : end + 1;
+        }
+        if (start < text.length()) {
+            blocks.add(text.substring(start));
+        }
+    }
+    
     /**
      * Escapes HTML special characters in text.
      * 
@@ -16,6 +16,7 @@ import java.util.concurrent.atomic.AtomicReference;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
+import com.example.forevernote.data.dao.interfaces.NoteDAO;
 import com.example.forevernote.data.models.Folder;
 import com.example.forevernote.data.models.Note;
 import com.example.forevernote.ui.workflow.DocumentIOWorkflow;
@@ -94,6 +95,51 @@ class DocumentIOWorkflowTest {
         assertEquals(0, addToFolderCalls.get());
     }
 
+    @Test
+    void importFilesShouldHandAllReadableFilesToOneBatch() throws Exception {
+        DocumentIOWorkflow workflow = new DocumentIOWorkflow();
+        Path first = tempDir.resolve("alpha.md");
+        Path second = tempDir.resolve("beta.md");
+        Files.writeString(first, "a", StandardCharsets.UTF_8);
+        Files.writeString(second, "b", StandardCharsets.UTF_8);
+        File unreadable = tempDir.resolve("missing.md").toFile();
+
+        AtomicInteger batchCalls = new AtomicInteger(0);
+        AtomicReference<Folder> batchFolder = new AtomicReference<>();
+        Folder folder = new Folder("f-1", "Work");
+
+        DocumentIOWorkflow.ImportResult result = workflow.importFiles(
+                List.of(first.toFile(), unreadable, second.toFile()),
+                folder,
+                false,
+                new DocumentIOWorkflow.ImportPort() {
+                    @Override
+                    public Note createNote(Note note) {
+                        throw new AssertionError("batch import should not create notes one by one");
+                    }
+
+                    @Override
+                    public void addNoteToFolder(Folder currentFolder, Note note) {
+                        throw new AssertionError("batch import should not attach notes one by one");
+                    }
+
+                    @Override
+                    public NoteDAO.BatchResult createNotes(List<Note> notes, Folder target) {
+                        batchCalls.incrementAndGet();
+                        batchFolder.set(target);
+                        assertEquals(List.of("alpha", "beta"), notes.stream().map(Note::getTitle).toList());
+                        return new NoteDAO.BatchResult(List.of("n-alpha"), 1, List.of("beta rejected"));
+                    }
+                });
+
+        assertEquals(1, batchCalls.get());
+        assertEquals(folder, batchFolder.get());
+        assertEquals(1, result.importedCount());
+        assertEquals(2, result.failedCount());
+        assertEquals(2, result.failures().size());
+        assertTrue(result.failures().contains("beta rejected"));
+    }
+
     @Test
     void exportNoteMarkdownShouldWriteHeaderAndContent() throws Exception {
         DocumentIOWorkflow workflow = new DocumentIOWorkflow();
@@ -33,6 +33,16 @@ class EventBusContractTest {
     private static final class DummyEvent extends AppEvent {
     }
 
+    private static final class KeyedEvent extends AppEvent {
+        private final String key;
+        private final int sequence;
+
+        private KeyedEvent(String key, int sequence) {
+            this.key = key;
+            this.sequence = sequence;
+        }
+    }
+
     private static final class OrderedEvent extends AppEvent {
         private final int sequence;
 
@@ -145,4 +155,66 @@ class EventBusContractTest {
         assertTrue(onFxThread.get());
         assertEquals(List.of(1, 2, 3), order);
     }
+
+    @Test
+    void coalescedDeliveryKeepsOnlyTheLatestEventPerKey() throws Exception {
+        Assumptions.assumeTrue(fxRuntimeAvailable, "JavaFX runtime no disponible");
+        EventBus bus = EventBus.getInstance();
+        List<String> received = Collections.synchronizedList(new ArrayList<>());
+        AtomicBoolean offFxThread = new AtomicBoolean(false);
+        CountDownLatch published = new CountDownLatch(1);
+
+        bus.subscribe(KeyedEvent.class, EventBus.Delivery.coalesced((KeyedEvent event) -> event.key), event -> {
+            offFxThread.compareAndSet(false, !Platform.isFxApplicationThread());
+            received.add(event.key + event.sequence);
+        });
+        // Hold the FX thread so the whole burst lands before the drain
+        Platform.runLater(() -> {
+            try {
+                published.await(2, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        for (int i = 0; i < 50; i++) {
+            bus.publish(new KeyedEvent(i % 2 == 0 ? "a" : "b", i));
+        }
+        published.countDown();
+
+        CountDownLatch drained = new CountDownLatch(1);
+        Platform.runLater(drained::countDown);
+        assertTrue(drained.await(3, TimeUnit.SECONDS));
+
+        assertEquals(List.of("a48", "b49"), received);
+        assertFalse(offFxThread.get());
+        EventBus.SubscriberStats stats = bus.getSubscriberStats().get(0);
+        assertEquals(2, stats.delivered());
+        assertEquals(48, stats.coalesced());
+        assertEquals(0, stats.queueDepth());
+    }
+
+    @Test
+    void unsubscribeDropsEventsStillQueued() throws Exception {
+        Assumptions.assumeTrue(fxRuntimeAvailable, "JavaFX runtime no disponible");
+        EventBus bus = EventBus.getInstance();
+        List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch published = new CountDownLatch(1);
+
+        EventBus.Subscription subscription = bus.subscribe(KeyedEvent.class, event -> received.add(event.sequence));
+        Platform.runLater(() -> {
+            try {
+                published.await(2, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        bus.publish(new KeyedEvent("a", 1));
+        subscription.cancel();
+        published.countDown();
+
+        CountDownLatch drained = new CountDownLatch(1);
+        Platform.runLater(drained::countDown);
+        assertTrue(drained.await(3, TimeUnit.SECONDS));
+        assertTrue(received.isEmpty());
+    }
 }
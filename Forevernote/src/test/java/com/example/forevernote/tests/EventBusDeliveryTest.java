@@ -0,0 +1,106 @@
+package com.example.forevernote.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.forevernote.event.AppEvent;
+import com.example.forevernote.event.EventBus;
+
+import javafx.application.Platform;
+
+class EventBusDeliveryTest {
+
+    private abstract static class FamilyEvent extends AppEvent {
+    }
+
+    private static final class MemberEvent extends FamilyEvent {
+    }
+
+    private static final class KeyedEvent extends AppEvent {
+        private final String key;
+        private final int sequence;
+
+        private KeyedEvent(String key, int sequence) {
+            this.key = key;
+            this.sequence = sequence;
+        }
+    }
+
+    @AfterEach
+    void clearEventBus() {
+        EventBus.getInstance().clear();
+    }
+
+    @Test
+    void backgroundDeliveryRunsOffTheFxThreadInPublishOrder() throws Exception {
+        EventBus bus = EventBus.getInstance();
+        List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+        AtomicBoolean onFxThread = new AtomicBoolean(false);
+        CountDownLatch done = new CountDownLatch(200);
+
+        bus.subscribe(KeyedEvent.class, EventBus.Delivery.background(), event -> {
+            onFxThread.compareAndSet(false, Platform.isFxApplicationThread());
+            received.add(event.sequence);
+            done.countDown();
+        });
+        for (int i = 0; i < 200; i++) {
+            bus.publish(new KeyedEvent("a", i));
+        }
+
+        assertTrue(done.await(3, TimeUnit.SECONDS));
+        assertFalse(onFxThread.get());
+        for (int i = 0; i < 200; i++) {
+            assertEquals(i, received.get(i));
+        }
+        EventBus.SubscriberStats stats = bus.getSubscriberStats().get(0);
+        assertEquals(EventBus.Delivery.Mode.BACKGROUND, stats.mode());
+        assertEquals(200, stats.delivered());
+        assertEquals(0, stats.queueDepth());
+        assertTrue(stats.maxQueueDepth() >= 1);
+    }
+
+    @Test
+    void supertypeSubscribersReceiveSubclassEventsAfterExactOnes() {
+        EventBus bus = EventBus.getInstance();
+        List<String> received = new ArrayList<>();
+
+        bus.subscribe(AppEvent.class, event -> received.add("any"));
+        bus.subscribe(FamilyEvent.class, event -> received.add("family"));
+        bus.publishSync(new MemberEvent());
+        assertEquals(List.of("family", "any"), received);
+
+        // A later subscription must not be hidden by the cached dispatch table
+        received.clear();
+        bus.subscribe(MemberEvent.class, event -> received.add("member"));
+        bus.publishSync(new MemberEvent());
+        bus.publishSync(new KeyedEvent("a", 1));
+        assertEquals(List.of("member", "family", "any", "any"), received);
+        assertEquals(1, bus.getSubscriberCount(MemberEvent.class));
+    }
+
+    @Test
+    void unsubscribingFromASupertypeStopsDelivery() {
+        EventBus bus = EventBus.getInstance();
+        List<String> received = new ArrayList<>();
+        Consumer<FamilyEvent> handler = event -> received.add("family");
+
+        bus.subscribe(FamilyEvent.class, handler);
+        bus.publishSync(new MemberEvent());
+        bus.unsubscribe(FamilyEvent.class, handler);
+        bus.publishSync(new MemberEvent());
+
+        assertEquals(List.of("family"), received);
+    }
+}
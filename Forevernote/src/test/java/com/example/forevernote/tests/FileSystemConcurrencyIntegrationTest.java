@@ -2,6 +2,7 @@ package com.example.forevernote.tests;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.nio.file.Path;
@@ -10,12 +11,15 @@ import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
+import com.example.forevernote.data.dao.filesystem.FileSystemIoLock;
 import com.example.forevernote.data.dao.filesystem.FolderDAOFileSystem;
 import com.example.forevernote.data.dao.filesystem.NoteDAOFileSystem;
 import com.example.forevernote.data.dao.filesystem.TagDAOFileSystem;
@@ -172,4 +176,106 @@ class FileSystemConcurrencyIntegrationTest {
         assertEquals(8, activeCount + trashCount,
                 "Concurrent trash reads/writes must preserve total note count (active + trash).");
     }
+
+    @Test
+    void pathLockShouldOnlyBlockWritesToTheLockedNote() throws Exception {
+        NoteDAOFileSystem noteDAO = new NoteDAOFileSystem(tempDir.resolve("vault-stripes").toString());
+        String slowId = noteDAO.createNote(new Note("Slow", "slow v1"));
+        String fastId = noteDAO.createNote(new Note("Fast", "fast v1"));
+
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        FileSystemIoLock.Scope held = FileSystemIoLock.paths(slowId);
+        try {
+            Future<?> fastSave = pool.submit(() -> saveContent(noteDAO, fastId, "fast v2"));
+            fastSave.get(5, TimeUnit.SECONDS);
+
+            Future<?> slowSave = pool.submit(() -> saveContent(noteDAO, slowId, "slow v2"));
+            assertThrows(TimeoutException.class, () -> slowSave.get(300, TimeUnit.MILLISECONDS));
+            held.unlock();
+            slowSave.get(5, TimeUnit.SECONDS);
+        } finally {
+            held.unlock();
+            pool.shutdownNow();
+        }
+
+        assertEquals("fast v2", noteDAO.getNoteById(fastId).getContent());
+        assertEquals("slow v2", noteDAO.getNoteById(slowId).getContent());
+    }
+
+    @Test
+    void trashLockShouldNotBlockRegularSaves() throws Exception {
+        NoteDAOFileSystem noteDAO = new NoteDAOFileSystem(tempDir.resolve("vault-trash-lock").toString());
+        String id = noteDAO.createNote(new Note("Active", "v1"));
+
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        FileSystemIoLock.Scope held = FileSystemIoLock.paths(".trash");
+        try {
+            pool.submit(() -> saveContent(noteDAO, id, "v2")).get(5, TimeUnit.SECONDS);
+        } finally {
+            held.unlock();
+            pool.shutdownNow();
+        }
+        assertEquals("v2", noteDAO.getNoteById(id).getContent());
+    }
+
+    @Test
+    void concurrentSavesDuringRescansShouldNotLoseWrites() throws Exception {
+        NoteDAOFileSystem noteDAO = new NoteDAOFileSystem(tempDir.resolve("vault-rescan").toString());
+        int writers = 4;
+        int rounds = 25;
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < writers; i++) {
+            ids.add(noteDAO.createNote(new Note("W" + i, "round -1")));
+        }
+        for (int i = 0; i < 40; i++) {
+            noteDAO.createNote(new Note("Filler" + i, "filler"));
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(writers + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch writersDone = new CountDownLatch(writers);
+        AtomicReference<Throwable> error = new AtomicReference<>();
+
+        pool.submit(() -> {
+            try {
+                start.await(3, TimeUnit.SECONDS);
+                while (writersDone.getCount() > 0) {
+                    noteDAO.refreshCache();
+                }
+            } catch (Throwable t) {
+                error.compareAndSet(null, t);
+            }
+        });
+        for (String id : ids) {
+            pool.submit(() -> {
+                try {
+                    start.await(3, TimeUnit.SECONDS);
+                    for (int round = 0; round < rounds; round++) {
+                        saveContent(noteDAO, id, "round " + round);
+                    }
+                } catch (Throwable t) {
+                    error.compareAndSet(null, t);
+                } finally {
+                    writersDone.countDown();
+                }
+            });
+        }
+
+        start.countDown();
+        assertTrue(writersDone.await(20, TimeUnit.SECONDS), "Concurrent saves timed out");
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS), "Rescan loop did not stop");
+
+        assertNull(error.get(), "Saves during rescans should not throw exceptions");
+        assertEquals(writers + 40, noteDAO.fetchAllNotes().size());
+        for (String id : ids) {
+            assertEquals("round " + (rounds - 1), noteDAO.getNoteById(id).getContent());
+        }
+    }
+
+    private static void saveContent(NoteDAOFileSystem noteDAO, String id, String content) {
+        Note note = noteDAO.getNoteById(id);
+        note.setContent(content);
+        noteDAO.updateNote(note);
+    }
 }
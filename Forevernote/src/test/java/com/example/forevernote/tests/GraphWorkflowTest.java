@@ -2,13 +2,22 @@ package com.example.forevernote.tests;
 
 import com.example.forevernote.data.models.Note;
 import com.example.forevernote.service.links.LinkIndexService;
+import com.example.forevernote.ui.workflow.graph.GraphSpatialIndex;
 import com.example.forevernote.ui.workflow.graph.GraphWorkflow;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class GraphWorkflowTest {
@@ -36,4 +45,129 @@ class GraphWorkflowTest {
         assertFalse(local.nodes().isEmpty());
         assertTrue(local.nodes().stream().anyMatch(n -> "A.md".equals(n.id())));
     }
+
+    @Test
+    void forceLayoutScalesDeterministicallyAndKeepsLinkedNotesClose() {
+        for (int size : new int[] { 600, 20_000 }) {
+            List<Note> notes = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                // Rings of 12 notes, each note linking to the next one.
+                int next = (i / 12) * 12 + (i + 1) % 12;
+                Note note = new Note("n" + i, next < size ? "[[n" + next + "]]" : "");
+                note.setId("n" + i + ".md");
+                notes.add(note);
+            }
+            LinkIndexService links = new LinkIndexService();
+            links.rebuildIndex(notes);
+            GraphWorkflow workflow = new GraphWorkflow();
+            GraphWorkflow.GraphFilter filter = new GraphWorkflow.GraphFilter(Set.of(), Set.of(), false, 0);
+
+            GraphWorkflow.GraphData first = workflow.buildGlobalGraph(notes, links, filter);
+            GraphWorkflow.GraphData second = workflow.buildGlobalGraph(notes, links, filter);
+            assertEquals(size, first.nodes().size());
+            assertEquals(first.nodes(), second.nodes());
+
+            Map<String, GraphWorkflow.GraphNode> byId = new HashMap<>();
+            for (GraphWorkflow.GraphNode node : first.nodes()) {
+                assertTrue(Double.isFinite(node.x()) && Double.isFinite(node.y()));
+                byId.put(node.id(), node);
+            }
+            double linked = 0;
+            double unrelated = 0;
+            for (GraphWorkflow.GraphEdge edge : first.edges()) {
+                GraphWorkflow.GraphNode source = byId.get(edge.sourceId());
+                GraphWorkflow.GraphNode target = byId.get(edge.targetId());
+                GraphWorkflow.GraphNode far = byId.get("n" + ((Integer.parseInt(edge.sourceId().substring(1,
+                        edge.sourceId().indexOf('.'))) + size / 2) % size) + ".md");
+                linked += Math.hypot(source.x() - target.x(), source.y() - target.y());
+                unrelated += Math.hypot(source.x() - far.x(), source.y() - far.y());
+            }
+            assertTrue(linked * 3 < unrelated, "linked notes should be laid out close together at " + size);
+        }
+    }
+
+    @Test
+    void togglingUnresolvedWarmStartsFromThePreviousLayout() throws Exception {
+        List<Note> notes = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            Note note = new Note("n" + i, "[[n" + ((i + 1) % 300) + "]] [[missing" + (i % 40) + "]]");
+            note.setId("n" + i + ".md");
+            notes.add(note);
+        }
+        LinkIndexService links = new LinkIndexService();
+        links.rebuildIndex(notes);
+        GraphWorkflow workflow = new GraphWorkflow();
+
+        GraphWorkflow.GraphData resolvedOnly = workflow.buildGlobalGraph(notes, links,
+                new GraphWorkflow.GraphFilter(Set.of(), Set.of(), false, 0));
+        List<GraphWorkflow.GraphData> frames = new CopyOnWriteArrayList<>();
+        GraphWorkflow.GraphData withUnresolved = workflow.buildGlobalGraphAsync(notes, links,
+                new GraphWorkflow.GraphFilter(Set.of(), Set.of(), true, 0), Runnable::run, frames::add).get();
+
+        assertEquals(340, withUnresolved.nodes().size());
+        assertFalse(frames.isEmpty());
+        Map<String, GraphWorkflow.GraphNode> after = new HashMap<>();
+        withUnresolved.nodes().forEach(node -> after.put(node.id(), node));
+        for (GraphWorkflow.GraphNode before : resolvedOnly.nodes()) {
+            GraphWorkflow.GraphNode moved = after.get(before.id());
+            // A few low-temperature iterations only nudge the nodes already placed.
+            assertTrue(Math.abs(moved.x() - before.x()) <= 60.0 && Math.abs(moved.y() - before.y()) <= 60.0);
+        }
+    }
+
+    @Test
+    void newerAsyncBuildCancelsTheSupersededOne() {
+        Note a = new Note("A", "[[B]]");
+        a.setId("A.md");
+        Note b = new Note("B", "");
+        b.setId("B.md");
+        LinkIndexService links = new LinkIndexService();
+        links.rebuildIndex(List.of(a, b));
+        GraphWorkflow workflow = new GraphWorkflow();
+        GraphWorkflow.GraphFilter filter = new GraphWorkflow.GraphFilter(Set.of(), Set.of(), true, 0);
+        List<Runnable> queued = new ArrayList<>();
+        Executor executor = queued::add;
+
+        CompletableFuture<GraphWorkflow.GraphData> first = workflow.buildGlobalGraphAsync(List.of(a, b), links, filter,
+                executor, null);
+        CompletableFuture<GraphWorkflow.GraphData> second = workflow.buildLocalGraphAsync("A.md", 1, List.of(a, b),
+                links, filter, executor, null);
+        queued.forEach(Runnable::run);
+
+        assertTrue(first.isCancelled());
+        assertNotNull(second.join());
+        assertEquals(2, second.join().nodes().size());
+    }
+
+    @Test
+    void spatialIndexCullsToTheViewportAndFindsTheNearestNode() {
+        List<GraphWorkflow.GraphNode> nodes = new ArrayList<>();
+        List<GraphWorkflow.GraphEdge> edges = new ArrayList<>();
+        for (int row = 0; row < 100; row++) {
+            for (int col = 0; col < 100; col++) {
+                nodes.add(new GraphWorkflow.GraphNode(row + "/" + col, "n", false, col * 10.0, row * 10.0));
+                if (col > 0) {
+                    edges.add(new GraphWorkflow.GraphEdge(row + "/" + (col - 1), row + "/" + col, false, false));
+                }
+            }
+        }
+        edges.add(new GraphWorkflow.GraphEdge("0/0", "missing", true, false));
+        GraphSpatialIndex index = new GraphSpatialIndex(new GraphWorkflow.GraphData(nodes, edges));
+
+        List<Integer> visible = new ArrayList<>();
+        index.forEachNodeIn(95.0, 195.0, 205.0, 305.0, visible::add);
+        assertEquals(11 * 11, visible.size());
+        for (int i : visible) {
+            GraphWorkflow.GraphNode node = nodes.get(i);
+            assertTrue(node.x() >= 95.0 && node.x() <= 205.0 && node.y() >= 195.0 && node.y() <= 305.0);
+        }
+
+        assertEquals("42/17", nodes.get(index.nearest(171.0, 418.0, 6.0)).id());
+        assertEquals(-1, index.nearest(175.0, 415.0, 4.0));
+        assertEquals(-1, index.nearest(-50.0, -50.0, 6.0));
+
+        assertEquals(2, index.degree(105));
+        assertEquals(1, index.degree(0));
+        assertEquals(-1, index.edgeTarget(edges.size() - 1));
+    }
 }
@@ -4,11 +4,22 @@ import com.example.forevernote.data.models.Note;
 import com.example.forevernote.service.links.LinkIndexService;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class LinkResolutionTest {
@@ -44,4 +55,214 @@ class LinkResolutionTest {
         assertNotNull(service.getUnresolved());
         assertTrue(service.getUnresolved().stream().anyMatch(e -> "missing".equals(e.rawTarget())));
     }
+
+    @Test
+    void asyncRebuildLoadsContentInParallelAndSwapsAtomically() throws Exception {
+        LinkIndexService service = new LinkIndexService();
+        Note old = note("old.md", "[[gone]]");
+        service.rebuildIndex(List.of(old));
+
+        List<Note> shells = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            shells.add(note("n" + i + ".md", ""));
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            var pending = service.rebuildIndexAsync(shells, shell -> {
+                awaitQuietly(release);
+                int i = Integer.parseInt(shell.getId().substring(1, shell.getId().indexOf('.')));
+                return note(shell.getId(), "[[n" + ((i + 1) % 200) + "]]");
+            }, pool);
+
+            // Readers keep the previous snapshot until the rebuild is published.
+            assertEquals(1, service.getOutgoing("old.md").size());
+            assertTrue(service.getIncoming("n1.md").isEmpty());
+
+            release.countDown();
+            LinkIndexService.RebuildResult result = pending.get(10, TimeUnit.SECONDS);
+            assertTrue(result.published());
+            assertEquals(200, result.noteCount());
+            assertEquals(200, result.linkCount());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertTrue(service.getOutgoing("old.md").isEmpty());
+        assertEquals("n0.md", service.getIncoming("n1.md").get(0).sourceNoteId());
+        assertEquals("n199.md", service.getIncoming("n0.md").get(0).sourceNoteId());
+        assertTrue(service.getUnresolved().isEmpty());
+    }
+
+    @Test
+    void reindexDuringRebuildSurvivesAndSupersededRebuildIsDiscarded() throws Exception {
+        LinkIndexService service = new LinkIndexService();
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            var first = service.rebuildIndexAsync(List.of(note("a.md", "[[b]]"), note("b.md", "")), n -> {
+                awaitQuietly(release);
+                return n;
+            }, pool);
+            service.reindexNote(note("a.md", "[[c]]"));
+            var second = service.rebuildIndexAsync(
+                    List.of(note("a.md", "[[b]]"), note("b.md", ""), note("c.md", "")), n -> n, pool);
+
+            release.countDown();
+            assertFalse(first.get(10, TimeUnit.SECONDS).published());
+            assertTrue(second.get(10, TimeUnit.SECONDS).published());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        List<LinkIndexService.LinkEdge> outgoing = service.getOutgoing("a.md");
+        assertEquals(1, outgoing.size());
+        assertEquals("c.md", outgoing.get(0).targetNoteId());
+        assertTrue(service.getIncoming("b.md").isEmpty());
+    }
+
+    @Test
+    void resolvesExtensionVariantsThroughStemIndexAndReturnsCachedViews() {
+        LinkIndexService service = new LinkIndexService();
+        Note specA = new Note("a.md", "Spec.md", "", null, null);
+        specA.setId("a.md");
+        Note specB = new Note("b.md", "Spec.txt", "", null, null);
+        specB.setId("b.md");
+        Note source = note("docs/source.md", "[[Spec.markdown]] [[docs/source.txt]] [[a.txt]]");
+        service.rebuildIndex(List.of(specA, specB, source));
+
+        LinkIndexService.Resolution ambiguous = service.resolveTarget("spec.markdown", null);
+        assertTrue(ambiguous.ambiguous());
+        assertTrue(ambiguous.unresolved());
+        assertEquals("a.md", service.resolveTarget("A.txt", null).targetNoteId());
+        assertFalse(service.resolveTarget("nothing.md", null).ambiguous());
+
+        List<LinkIndexService.LinkEdge> outgoing = service.getOutgoing("docs/source.md");
+        assertEquals(3, outgoing.size());
+        assertSame(outgoing, service.getOutgoing("docs/source.md"));
+        assertThrows(UnsupportedOperationException.class, () -> outgoing.add(outgoing.get(0)));
+        assertThrows(UnsupportedOperationException.class, () -> service.getIncoming("a.md").clear());
+
+        // Reindexing adds names copy-on-write without touching the views handed out before.
+        service.reindexNote(note("c.md", "[[a]]"));
+        assertEquals("c.md", service.resolveTarget("c.markdown", null).targetNoteId());
+        assertEquals(3, outgoing.size());
+        assertEquals(2, service.getIncoming("a.md").size());
+    }
+
+    @Test
+    void renameCreateAndDeleteRelinkOnlyDependentNotes() {
+        LinkIndexService service = new LinkIndexService();
+        Note renamed = note("drafts/old.md", "");
+        renamed.setTitle("old");
+        service.rebuildIndex(List.of(note("a.md", "[[old]]"), note("b.md", "[[c]]"), note("c.md", ""), renamed));
+        assertEquals("drafts/old.md", service.getOutgoing("a.md").get(0).targetNoteId());
+        List<LinkIndexService.LinkEdge> unrelated = service.getOutgoing("b.md");
+
+        // Saving unchanged content publishes nothing.
+        List<LinkIndexService.LinkEdge> before = service.getOutgoing("a.md");
+        service.reindexNote(note("a.md", "[[old]]"));
+        assertSame(before, service.getOutgoing("a.md"));
+
+        // File-system rename: the id changes with the title.
+        renamed.setId("drafts/new.md");
+        renamed.setTitle("new");
+        service.renameNote("drafts/old.md", renamed);
+        assertTrue(service.getOutgoing("a.md").get(0).unresolved());
+        assertTrue(service.getIncoming("drafts/old.md").isEmpty());
+        assertTrue(service.resolveTarget("old", null).unresolved());
+        assertSame(unrelated, service.getOutgoing("b.md"));
+
+        // A new note with the old name resolves the dangling link.
+        service.reindexNote(note("old.md", ""));
+        assertEquals("old.md", service.getOutgoing("a.md").get(0).targetNoteId());
+        assertEquals(1, service.getIncoming("old.md").size());
+        assertTrue(service.getUnresolved().isEmpty());
+
+        service.removeNote("c.md");
+        assertTrue(service.getOutgoing("b.md").get(0).unresolved());
+        assertTrue(service.getUnresolved().stream().anyMatch(edge -> "b.md".equals(edge.sourceNoteId())));
+        assertTrue(service.getOutgoing("c.md").isEmpty());
+    }
+
+    @Test
+    void sharedNameIsHandedBackWhenItsOwnerIsRemoved() {
+        LinkIndexService service = new LinkIndexService();
+        Note first = new Note("x.md", "Shared", "", null, null);
+        first.setId("x.md");
+        Note second = new Note("y.md", "Shared", "", null, null);
+        second.setId("y.md");
+        service.rebuildIndex(List.of(first, second, note("s.md", "[[shared]]")));
+
+        String owner = service.getOutgoing("s.md").get(0).targetNoteId();
+        String other = "x.md".equals(owner) ? "y.md" : "x.md";
+        service.removeNote(owner);
+        assertEquals(other, service.getOutgoing("s.md").get(0).targetNoteId());
+        assertEquals(1, service.getIncoming(other).size());
+
+        service.removeNote(other);
+        assertTrue(service.getOutgoing("s.md").get(0).unresolved());
+        assertEquals(1, service.getUnresolved().size());
+    }
+
+    @Test
+    void incrementalEditsMatchAFullRebuild() {
+        Random random = new Random(7);
+        Map<String, Note> notes = new LinkedHashMap<>();
+        for (int i = 0; i < 2000; i++) {
+            notes.put("n" + i + ".md", note("n" + i + ".md", randomLinks(random)));
+        }
+        LinkIndexService service = new LinkIndexService();
+        service.rebuildIndex(notes.values());
+
+        for (int step = 0; step < 3000; step++) {
+            String id = "n" + random.nextInt(2400) + ".md";
+            int action = random.nextInt(4);
+            if (action == 0 && notes.containsKey(id)) {
+                notes.remove(id);
+                service.removeNote(id);
+            } else if (action == 1 && notes.containsKey(id)) {
+                String renamed = "m" + step + ".md";
+                Note note = notes.remove(id);
+                note.setId(renamed);
+                note.setTitle("m" + step);
+                notes.put(renamed, note);
+                service.renameNote(id, note);
+            } else {
+                Note note = note(id, randomLinks(random));
+                notes.put(id, note);
+                service.reindexNote(note);
+            }
+        }
+
+        LinkIndexService rebuilt = new LinkIndexService();
+        rebuilt.rebuildIndex(notes.values());
+        assertEquals(rebuilt.outgoingIndexSnapshot(), service.outgoingIndexSnapshot());
+        for (String id : notes.keySet()) {
+            assertEquals(Set.copyOf(rebuilt.getIncoming(id)), Set.copyOf(service.getIncoming(id)), id);
+        }
+        assertEquals(Set.copyOf(rebuilt.getUnresolved()), Set.copyOf(service.getUnresolved()));
+    }
+
+    private static String randomLinks(Random random) {
+        StringBuilder content = new StringBuilder();
+        for (int i = random.nextInt(4); i > 0; i--) {
+            content.append("[[n").append(random.nextInt(2400)).append("]] ");
+        }
+        return content.toString();
+    }
+
+    private static Note note(String id, String content) {
+        Note note = new Note(id, id.substring(0, id.lastIndexOf('.')), content, null, null);
+        note.setId(id);
+        return note;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
 }
@@ -0,0 +1,121 @@
+package com.example.forevernote.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Field;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.forevernote.data.dao.filesystem.LinkDAOFileSystem;
+import com.example.forevernote.data.dao.interfaces.LinkDAO;
+import com.example.forevernote.data.dao.sqlite.LinkDAOSQLite;
+import com.example.forevernote.data.dao.sqlite.NoteDAOSQLite;
+import com.example.forevernote.data.database.SQLiteDB;
+import com.example.forevernote.data.models.Note;
+import com.example.forevernote.service.links.LinkIndexService;
+
+class LinkStorePersistenceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void sqliteStoreServesBacklinksAndSkipsUnchangedNotes() throws Exception {
+        resetSQLiteDbSingleton();
+        SQLiteDB.configure(tempDir.resolve("links.db").toString());
+        SQLiteDB db = SQLiteDB.getInstance();
+        db.initDatabase();
+        Connection connection = db.openConnection();
+        try {
+            NoteDAOSQLite noteDAO = new NoteDAOSQLite(connection, db.getReadPool());
+            String a = noteDAO.createNote(new Note("A", "see [[B]]"));
+            String b = noteDAO.createNote(new Note("B", "plain"));
+            String c = noteDAO.createNote(new Note("C", "[[B]] and [[Missing]]"));
+            LinkDAO store = new LinkDAOSQLite(connection, db.getReadPool());
+
+            LinkIndexService first = new LinkIndexService();
+            first.attachStore(store, Runnable::run);
+            LinkIndexService.RebuildResult initial = rebuild(first, noteDAO.fetchAllNotes());
+            assertEquals(3, initial.parsedCount());
+            assertEquals(Set.of(a, c), sources(store.fetchIncoming(b)));
+            assertTrue(store.fetchOutgoing(c).stream().anyMatch(LinkDAO.StoredLink::unresolved));
+
+            // A new session answers backlinks from the store before its first rebuild.
+            LinkIndexService second = new LinkIndexService();
+            second.attachStore(store, Runnable::run);
+            assertEquals(Set.of(a, c), sources(second.getIncoming(b)));
+
+            Note edited = noteDAO.getNoteById(c);
+            edited.setContent("now [[A]]");
+            noteDAO.updateNote(edited);
+            LinkIndexService.RebuildResult incremental = rebuild(second, noteDAO.fetchAllNotes());
+            assertEquals(1, incremental.parsedCount());
+            assertEquals(Set.of(a), sources(store.fetchIncoming(b)));
+            assertEquals(Set.of(c), sources(store.fetchIncoming(a)));
+
+            // Notes missing from a rebuild are dropped from the store.
+            rebuild(second, List.of(noteDAO.getNoteById(a), noteDAO.getNoteById(b)));
+            assertFalse(store.fetchAllSources().containsKey(c));
+            assertTrue(store.fetchIncoming(a).isEmpty());
+        } finally {
+            db.closeConnection(connection);
+            db.closeReadPool();
+            resetSQLiteDbSingleton();
+        }
+    }
+
+    @Test
+    void fileSystemStoreRoundTripsThroughSidecarFile() {
+        Path file = LinkDAOFileSystem.defaultLocation(tempDir);
+        LinkDAOFileSystem store = new LinkDAOFileSystem(file);
+        LinkIndexService service = new LinkIndexService();
+        service.attachStore(store, Runnable::run);
+        rebuild(service, List.of(note("a.md", "[[b]] ![[img.png]]"), note("b.md", "[[a|Alias]]")));
+        store.flush();
+
+        LinkDAOFileSystem reopened = new LinkDAOFileSystem(file);
+        assertEquals(Set.of("a.md"), sources(reopened.fetchIncoming("b.md")));
+        LinkDAO.StoredLink back = reopened.fetchOutgoing("b.md").get(0);
+        assertEquals("a.md", back.targetNoteId());
+        assertEquals("Alias", back.alias());
+        assertTrue(reopened.fetchOutgoing("a.md").stream().anyMatch(link -> link.embed() && link.unresolved()));
+
+        LinkIndexService next = new LinkIndexService();
+        next.attachStore(reopened, Runnable::run);
+        LinkIndexService.RebuildResult result = rebuild(next,
+                List.of(note("a.md", "[[b]] ![[img.png]]"), note("b.md", "[[a|Alias]]")));
+        assertEquals(0, result.parsedCount());
+        assertEquals(3, result.linkCount());
+        assertEquals(Set.of("b.md"), sources(next.getIncoming("a.md")));
+    }
+
+    private static LinkIndexService.RebuildResult rebuild(LinkIndexService service, List<Note> notes) {
+        return service.rebuildIndexAsync(notes, UnaryOperator.identity(), Runnable::run).join();
+    }
+
+    private static Set<String> sources(List<?> links) {
+        return links.stream().map(link -> link instanceof LinkDAO.StoredLink stored ? stored.sourceNoteId()
+                : ((LinkIndexService.LinkEdge) link).sourceNoteId()).collect(Collectors.toSet());
+    }
+
+    private static Note note(String id, String content) {
+        Note note = new Note(id, id.substring(0, id.lastIndexOf('.')), content, null, null);
+        note.setId(id);
+        return note;
+    }
+
+    private void resetSQLiteDbSingleton() throws Exception {
+        Field instanceField = SQLiteDB.class.getDeclaredField("instance");
+        instanceField.setAccessible(true);
+        instanceField.set(null, null);
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.forevernote.tests;
 
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
@@ -28,4 +29,22 @@ class MainControllerPreviewLiveUpdateGuardTest {
         assertTrue(mainSource.contains("updatePreview();"),
                 "MainController note-modified handler must refresh preview live.");
     }
+
+    @Test
+    void previewShouldRenderOffTheFxThreadAndDropSupersededRenders() throws IOException {
+        String mainSource = Files.readString(MAIN_CONTROLLER, StandardCharsets.UTF_8);
+        int start = mainSource.indexOf("private void updatePreview()");
+        int end = mainSource.indexOf("private void showPreview(", start);
+        assertTrue(start >= 0 && end > start, "MainController must split preview rendering from showing it.");
+        String updatePreview = mainSource.substring(start, end);
+
+        assertTrue(updatePreview.contains("previewRenderExecutor.submit("),
+                "Preview HTML must be built on the preview render executor.");
+        assertTrue(updatePreview.contains("requestVersion != previewRenderVersion.get()"),
+                "Superseded preview renders must be dropped by version.");
+        assertFalse(updatePreview.contains("loadContent("),
+                "The WebView must only be updated with finished HTML.");
+        assertTrue(mainSource.contains("previewRenderExecutor.shutdownNow();"),
+                "The preview render executor must be shut down with the application.");
+    }
 }
@@ -0,0 +1,36 @@
+package com.example.forevernote.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.forevernote.util.MarkdownProcessor;
+
+class MarkdownProcessorCacheTest {
+
+    @Test
+    void sameTextSharesOneParseAndOneRender() {
+        String markdown = "# Cached " + System.nanoTime() + "\n\nBody";
+
+        String html = MarkdownProcessor.markdownToHtml(markdown);
+
+        assertSame(MarkdownProcessor.parse(markdown), MarkdownProcessor.parse(new String(markdown)));
+        assertSame(html, MarkdownProcessor.markdownToHtml(new String(markdown)));
+    }
+
+    @Test
+    void headingsWalkTheParseAndSkipCodeBlocks() {
+        String markdown = "# Title\n\n```\n# not a heading\n```\n\nSetext *part*\n---\n\n> ### `Quoted`\n";
+
+        List<MarkdownProcessor.HeadingEntry> headings = MarkdownProcessor.headings(markdown);
+
+        assertEquals(List.of(
+                new MarkdownProcessor.HeadingEntry(1, "Title", 0),
+                new MarkdownProcessor.HeadingEntry(2, "Setext part", markdown.indexOf("Setext")),
+                new MarkdownProcessor.HeadingEntry(3, "Quoted", markdown.indexOf("###"))),
+                headings);
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.forevernote.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.forevernote.metrics.MetricsRegistry;
+import com.example.forevernote.metrics.MetricsSnapshot;
+import com.example.forevernote.metrics.Timer;
+
+class MetricsRegistryTest {
+
+    interface Store {
+        String load(String id);
+    }
+
+    private static MetricsSnapshot.TimerValue timerValue(String name) {
+        return MetricsRegistry.getInstance().snapshot().timers().stream()
+                .filter(timer -> timer.name().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Test
+    void timerPercentilesStayWithinBucketPrecision() {
+        Timer timer = MetricsRegistry.getInstance().timer("test.percentiles");
+        for (long micros = 1; micros <= 10_000; micros++) {
+            timer.record(TimeUnit.MICROSECONDS.toNanos(micros));
+        }
+
+        MetricsSnapshot.TimerValue value = timerValue("test.percentiles");
+        assertEquals(10_000, value.count());
+        assertEquals(1_000, value.minNanos());
+        assertEquals(10_000_000, value.maxNanos());
+        assertEquals(5_000_500, value.meanNanos());
+        assertEquals(5_000_000, value.p50Nanos(), 5_000_000 * 0.04);
+        assertEquals(9_000_000, value.p90Nanos(), 9_000_000 * 0.04);
+        assertEquals(9_900_000, value.p99Nanos(), 9_900_000 * 0.04);
+        assertTrue(value.p999Nanos() <= value.maxNanos());
+    }
+
+    @Test
+    void snapshotExportsCountersTimersAndGaugesAsJson() {
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        registry.counter("test.json.counter").add(3);
+        registry.timer("test.json.timer").record(1_500_000);
+        registry.gauge("test.json.gauge", () -> 42);
+        registry.gauge("test.json.broken", () -> {
+            throw new IllegalStateException("closed");
+        });
+        registry.counter("test.json.\"quoted\"").increment();
+
+        MetricsSnapshot snapshot = registry.snapshot();
+        assertNull(snapshot.gauges().stream().filter(g -> g.name().equals("test.json.broken")).findFirst()
+                .orElseThrow().value());
+        String json = snapshot.toJson();
+        assertTrue(json.contains("\"test.json.counter\": 3"), json);
+        assertTrue(json.contains("\"test.json.timer\": {\"count\": 1, \"totalMs\": 1.500"), json);
+        assertTrue(json.contains("\"test.json.gauge\": 42"), json);
+        assertTrue(json.contains("\"test.json.broken\": null"), json);
+        assertTrue(json.contains("\"test.json.\\\"quoted\\\"\": 1"), json);
+        registry.removeGauge("test.json.gauge");
+        registry.removeGauge("test.json.broken");
+    }
+
+    @Test
+    void instrumentTimesEachInterfaceMethodAndRethrowsTargetExceptions() {
+        Store target = id -> {
+            if (id == null) {
+                throw new IllegalArgumentException("id");
+            }
+            return "note " + id;
+        };
+        Store timed = MetricsRegistry.getInstance().instrument(Store.class, target, "test.store");
+
+        assertEquals("note 1", timed.load("1"));
+        assertEquals("note 2", timed.load("2"));
+        assertThrows(IllegalArgumentException.class, () -> timed.load(null));
+        assertEquals(3, timerValue("test.store.load").count());
+        assertEquals(timed, timed);
+        assertNull(MetricsRegistry.getInstance().instrument(Store.class, null, "test.store"));
+    }
+
+    @Test
+    void resetZeroesCountersAndTimersButKeepsThem() {
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        Timer timer = registry.timer("test.reset.timer");
+        timer.record(10);
+        registry.counter("test.reset.counter").increment();
+
+        registry.reset();
+
+        assertSame(timer, registry.timer("test.reset.timer"));
+        assertEquals(0, timerValue("test.reset.timer").count());
+        assertEquals(0, registry.counter("test.reset.counter").getCount());
+    }
+}
@@ -2,16 +2,27 @@ package com.example.forevernote.tests;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
+import com.example.forevernote.data.dao.filesystem.NoteContentCache;
 import com.example.forevernote.data.dao.filesystem.NoteDAOFileSystem;
+import com.example.forevernote.data.dao.filesystem.VaultMetadataSnapshot;
 import com.example.forevernote.data.models.Note;
 import com.example.forevernote.data.models.Tag;
 
@@ -111,4 +122,69 @@ class NoteDAOFileSystemTest {
         Note updated = noteDAO.getNoteById(id);
         assertEquals(2, updated.getTags().size());
     }
+
+    @Test
+    public void testMetadataSnapshotSkipsUnchangedHeaders() throws IOException {
+        Path vault = tempDir.resolve("vault");
+        Files.createDirectories(vault.resolve("Work"));
+        writeAged(vault.resolve("Work").resolve("Plan.md"), "---\nfavorite: true\ntags: [alpha, beta]\n---\nbody");
+        writeAged(vault.resolve("Log.md"), "---\npinned: false\n---\nfirst");
+
+        NoteDAOFileSystem first = new NoteDAOFileSystem(vault.toString());
+        assertEquals(2, first.getLastRefreshParsedCount());
+        assertTrue(Files.exists(VaultMetadataSnapshot.defaultLocation(vault)));
+
+        writeAged(vault.resolve("Log.md"), "---\npinned: true\n---\nsecond entry");
+        NoteDAOFileSystem second = new NoteDAOFileSystem(vault.toString());
+
+        assertEquals(1, second.getLastRefreshParsedCount());
+        assertEquals(1, second.getLastRefreshReusedCount());
+        Note plan = second.fetchAllNotes().stream().filter(n -> n.getId().equals("Work/Plan.md")).findFirst()
+                .orElseThrow();
+        assertTrue(plan.isFavorite());
+        assertEquals(Set.of("alpha", "beta"), plan.getTags().stream().map(Tag::getTitle).collect(Collectors.toSet()));
+        assertTrue(second.fetchAllNotes().stream().filter(n -> n.getId().equals("Log.md")).findFirst()
+                .orElseThrow().isPinned());
+    }
+
+    @Test
+    public void testContentCacheServesRepeatedReadsAndFollowsWrites() throws IOException {
+        String id = noteDAO.createNote(new Note("Cached", "first body"));
+        NoteContentCache cache = noteDAO.getContentCache();
+
+        assertEquals("first body", noteDAO.getNoteById(id).getContent());
+        assertEquals("first body", noteDAO.getNoteById(id).getContent());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getHitCount());
+
+        Note note = noteDAO.getNoteById(id);
+        note.setContent("second body");
+        noteDAO.updateNote(note);
+        assertEquals("second body", noteDAO.getNoteById(id).getContent());
+
+        writeAged(tempDir.resolve("Cached.md"), "edited outside");
+        assertEquals("edited outside", noteDAO.getNoteById(id).getContent());
+    }
+
+    @Test
+    public void testContentCacheEvictsLeastRecentlyUsedBeyondBudget() {
+        NoteContentCache cache = new NoteContentCache(1024);
+        String text = "x".repeat(200);
+        cache.put(tempDir.resolve("a.md"), 1, 1, text);
+        cache.put(tempDir.resolve("b.md"), 1, 1, text);
+        assertEquals(text, cache.get(tempDir.resolve("a.md"), 1, 1));
+        cache.put(tempDir.resolve("c.md"), 1, 1, text);
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertNull(cache.get(tempDir.resolve("b.md"), 1, 1));
+        assertTrue(cache.getWeightBytes() <= cache.getMaxBytes());
+        assertNull(cache.get(tempDir.resolve("a.md"), 2, 1), "A different stamp must miss");
+    }
+
+    private static void writeAged(Path file, String content) throws IOException {
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        // Keep the file outside the snapshot's racy window.
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(1, ChronoUnit.HOURS)));
+    }
 }
@@ -16,6 +16,7 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import com.example.forevernote.data.dao.interfaces.NoteDAO;
 import com.example.forevernote.data.dao.sqlite.FolderDAOSQLite;
 import com.example.forevernote.data.dao.sqlite.NoteDAOSQLite;
 import com.example.forevernote.data.dao.sqlite.TagDAOSQLite;
@@ -273,4 +274,64 @@ class NoteDAOSQLiteTest {
         assertEquals(nestedNote.getId(), restored.get(0).getId());
         assertFalse(restored.get(0).isDeleted());
     }
+
+    @Test
+    public void testSearchNotesWithoutFullTextTableReturnsEmpty() {
+        noteDAO.createNote(new Note("Searchable", "Content"));
+
+        assertFalse(noteDAO.supportsFullTextSearch());
+        assertTrue(noteDAO.searchNotes("searchable", 10, 0).isEmpty());
+    }
+
+    @Test
+    public void testCreateNotesBatchWritesAllAndReportsFailures() {
+        Folder folder = new Folder("Imports");
+        folderDAO.createFolder(folder);
+
+        Note first = new Note("Batch 1", "one");
+        Note duplicate = new Note("Batch 1", "violates the unique title");
+        Note second = new Note("Batch 2", "two");
+        second.setParent(folder);
+
+        NoteDAO.BatchResult result = noteDAO.createNotes(List.of(first, duplicate, second));
+
+        assertEquals(List.of(first.getId(), second.getId()), result.succeededIds());
+        assertEquals(1, result.failedCount());
+        assertEquals(1, result.failures().size());
+        assertNull(noteDAO.getNoteById(duplicate.getId()));
+        assertEquals(2, noteDAO.fetchAllNotes().size());
+        assertEquals(List.of(second.getId()),
+                noteDAO.fetchNotesByFolderId(folder.getId()).stream().map(Note::getId).toList());
+    }
+
+    @Test
+    public void testUpdateNotesBatchReportsMissingNotes() {
+        Note note = new Note("Before", "old");
+        noteDAO.createNote(note);
+        Note missing = new Note("Ghost", "never stored");
+        missing.setId("missing-id");
+
+        note.setContent("new");
+        NoteDAO.BatchResult result = noteDAO.updateNotes(List.of(note, missing));
+
+        assertEquals(List.of(note.getId()), result.succeededIds());
+        assertEquals(1, result.failedCount());
+        assertEquals("new", noteDAO.getNoteById(note.getId()).getContent());
+    }
+
+    @Test
+    public void testAddTagsBatch() {
+        Note note = new Note("Tagged", "content");
+        noteDAO.createNote(note);
+        Tag work = new Tag("work");
+        Tag urgent = new Tag("urgent");
+        tagFAO.createTag(work);
+        tagFAO.createTag(urgent);
+
+        NoteDAO.BatchResult result = noteDAO.addTags(note, List.of(work, urgent));
+
+        assertEquals(2, result.succeededCount());
+        assertEquals(0, result.failedCount());
+        assertEquals(2, noteDAO.fetchTags(note.getId()).size());
+    }
 }
@@ -0,0 +1,167 @@
+package com.example.forevernote.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.forevernote.data.dao.filesystem.FolderDAOFileSystem;
+import com.example.forevernote.data.dao.filesystem.NoteDAOFileSystem;
+import com.example.forevernote.data.dao.filesystem.TagDAOFileSystem;
+import com.example.forevernote.data.models.Note;
+import com.example.forevernote.service.NoteService;
+import com.example.forevernote.service.search.NoteSearchIndex;
+
+class NoteSearchIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void matchesPrefixesAndPhrasesAndRanksTitleHitsFirst() {
+        NoteSearchIndex index = new NoteSearchIndex();
+        index.indexNote(note("a", "Grocery list", "milk eggs bread"), "1");
+        index.indexNote(note("b", "Weekly plan", "buy groceries and plan the quarterly review"), "1");
+        index.indexNote(note("c", "Review notes", "the quarterly review went well"), "1");
+
+        assertEquals(List.of("a", "b"), NoteSearchIndex.noteIds(index.search("groc")));
+        assertEquals(List.of("c", "b"), NoteSearchIndex.noteIds(index.search("review")));
+        assertEquals(List.of("b"), NoteSearchIndex.noteIds(index.search("\"plan the quarterly\"")));
+        assertTrue(index.search("\"review quarterly\"").isEmpty());
+        assertEquals(List.of("b"), NoteSearchIndex.noteIds(index.search("plan groceries")));
+    }
+
+    @Test
+    void foldsCaseAndAccents() {
+        NoteSearchIndex index = new NoteSearchIndex();
+        index.indexNote(note("es", "Canción", "Árbol de Navidad"), "1");
+
+        assertEquals(List.of("es"), NoteSearchIndex.noteIds(index.search("cancion arbol")));
+        assertEquals(List.of("es"), NoteSearchIndex.noteIds(index.search("ÁRBOL")));
+    }
+
+    @Test
+    void removeAndReindexReplacePreviousTerms() {
+        NoteSearchIndex index = new NoteSearchIndex();
+        index.indexNote(note("a", "Draft", "alpha"), "1");
+        index.indexNote(note("a", "Draft", "beta"), "2");
+
+        assertTrue(index.search("alpha").isEmpty());
+        assertEquals(List.of("a"), NoteSearchIndex.noteIds(index.search("beta")));
+
+        index.removeNote("a");
+        assertTrue(index.search("beta").isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void persistsAcrossInstances() {
+        Path file = tempDir.resolve("index").resolve("search-index.bin");
+        NoteSearchIndex first = new NoteSearchIndex(file);
+        first.indexNote(note("x/y.md", "Meeting", "discuss the roadmap with design"), "2026-01-01");
+        first.save();
+
+        NoteSearchIndex second = new NoteSearchIndex(file);
+        assertTrue(second.load());
+        assertEquals("2026-01-01", second.getSignature("x/y.md"));
+        assertEquals(List.of("x/y.md"), NoteSearchIndex.noteIds(second.search("\"the roadmap\"")));
+    }
+
+    @Test
+    void repeatedReindexingKeepsRankingAcrossCompactionAndReload() {
+        Path file = tempDir.resolve("churn-index.bin");
+        NoteSearchIndex index = new NoteSearchIndex(file);
+        for (int i = 0; i < 50; i++) {
+            index.indexNote(note("n" + i, "Note " + i, "shared words plus token" + i), "1");
+        }
+        // Autosave-style churn retires thousands of internal note numbers.
+        for (int i = 0; i < 3000; i++) {
+            index.indexNote(note("n7", "Note 7", "shared words plus revision" + i + " quick brown fox"), "r" + i);
+        }
+        index.removeNote("n3");
+
+        assertEquals(49, index.size());
+        assertEquals(List.of("n7"), NoteSearchIndex.noteIds(index.search("\"quick brown fox\"")));
+        assertEquals(List.of("n7"), NoteSearchIndex.noteIds(index.search("revision2999")));
+        assertTrue(index.search("revision2998").isEmpty());
+        assertEquals(10, index.search("token3").size()); // token30..token39, not the removed n3
+        assertTrue(index.search("\"plus token3\"").isEmpty());
+        List<NoteSearchIndex.SearchHit> before = index.search("shared");
+        assertEquals(49, before.size());
+
+        index.compact();
+        assertEquals(before, index.search("shared"));
+        index.save();
+        NoteSearchIndex reloaded = new NoteSearchIndex(file);
+        assertTrue(reloaded.load());
+        assertEquals(before, reloaded.search("shared"));
+        assertEquals("r2999", reloaded.getSignature("n7"));
+        assertEquals(List.of("n7"), NoteSearchIndex.noteIds(reloaded.search("\"brown fox\"")));
+    }
+
+    @Test
+    void noteServiceKeepsIndexInSyncWithFileSystemWrites() {
+        String root = tempDir.resolve("vault").toString();
+        NoteDAOFileSystem noteDAO = new NoteDAOFileSystem(root);
+        NoteService service = new NoteService(noteDAO, new FolderDAOFileSystem(root), new TagDAOFileSystem(noteDAO),
+                new NoteSearchIndex(tempDir.resolve("vault-index.bin")));
+
+        Note created = service.createNote("Trip", "pack passport and tickets");
+        assertEquals(1, service.searchNotes("passport").size());
+
+        created.setTitle("Trip Renamed");
+        created.setContent("pack sunscreen");
+        service.updateNote(created);
+        assertTrue(service.searchNotes("passport").isEmpty());
+        assertEquals(created.getId(), service.searchNotes("sunscreen").get(0).getId());
+
+        service.moveToTrash(created.getId());
+        assertTrue(service.searchNotes("sunscreen").isEmpty());
+    }
+
+    @Test
+    void noteServiceReindexesFilesEditedOutsideTheApp() throws Exception {
+        Path vault = tempDir.resolve("vault");
+        Path indexFile = tempDir.resolve("vault-index.bin");
+        NoteDAOFileSystem noteDAO = new NoteDAOFileSystem(vault.toString());
+        NoteService service = new NoteService(noteDAO, new FolderDAOFileSystem(vault.toString()),
+                new TagDAOFileSystem(noteDAO), new NoteSearchIndex(indexFile));
+        Note created = service.createNote("Fruit", "buy banana today");
+        assertEquals(1, service.searchNotes("banana").size());
+        service.saveSearchIndex();
+
+        Path file = vault.resolve(created.getId());
+        replaceInFile(file, "banana", "cherry");
+
+        // Next session: the persisted index must not win over the edited file.
+        NoteDAOFileSystem reopened = new NoteDAOFileSystem(vault.toString());
+        NoteService next = new NoteService(reopened, new FolderDAOFileSystem(vault.toString()),
+                new TagDAOFileSystem(reopened), new NoteSearchIndex(indexFile));
+        assertEquals(1, next.searchNotes("cherry").size());
+        assertTrue(next.searchNotes("banana").isEmpty());
+
+        // Same session: an invalidation re-checks the file.
+        replaceInFile(file, "cherry", "mango");
+        next.invalidateSearchIndex();
+        assertEquals(1, next.searchNotes("mango").size());
+        assertTrue(next.searchNotes("cherry").isEmpty());
+    }
+
+    private static void replaceInFile(Path file, String from, String to) throws Exception {
+        FileTime previous = Files.getLastModifiedTime(file);
+        Files.writeString(file, Files.readString(file).replace(from, to));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(previous.toMillis() + 5_000));
+    }
+
+    private Note note(String id, String title, String content) {
+        Note note = new Note(title, content);
+        note.setId(id);
+        return note;
+    }
+}
@@ -1,5 +1,9 @@
 package com.example.forevernote.tests;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.nio.file.Files;
@@ -11,6 +15,7 @@ import org.junit.jupiter.api.io.TempDir;
 
 import com.example.forevernote.plugin.PreviewEnhancer;
 import com.example.forevernote.ui.workflow.PreviewWorkflow;
+import com.example.forevernote.util.MarkdownProcessor;
 
 class PreviewWorkflowTest {
 
@@ -130,4 +135,74 @@ class PreviewWorkflowTest {
         assertTrue(html.contains("forevernote://note/"));
         assertTrue(html.contains("Abrir nota"));
     }
+
+    @Test
+    void renderBlocksMatchesWholeDocumentAndReusesUnchangedBlocks() {
+        String markdown = """
+                # Title
+                Intro with a [reference][ref] link.
+
+                - one
+                - two
+
+                  still two
+
+                ```java
+                int x = 1;
+
+                int y = 2;
+                ```
+
+                | a | b |
+                |---|---|
+                | 1 | 2 |
+
+                [ref]: https://example.com
+                > quote
+                """;
+        PreviewWorkflow workflow = new PreviewWorkflow();
+
+        List<String> blocks = workflow.renderBlocks(markdown, null);
+        assertEquals(5, blocks.size());
+        assertEquals(MarkdownProcessor.markdownToHtml(markdown), String.join("", blocks));
+
+        List<String> edited = workflow.renderBlocks(markdown.replace("- two", "- deux"), null);
+        assertEquals(5, edited.size());
+        assertTrue(edited.get(1).contains("deux"));
+        for (int i : new int[] { 0, 2, 3, 4 }) {
+            assertSame(blocks.get(i), edited.get(i));
+        }
+
+        for (String tricky : List.of(
+                "- a\n\n- b\n\n  b2\n\ntext",
+                "1. one\n\n2. two\n\n* x\n\n* y",
+                "```\nfirst\n\nsecond\n```\n\nafter",
+                "<!--\n\nhidden\n\n-->\n\nvisible",
+                "para\n\n    indented code\n\n    more\n\nend",
+                "> quote\n\n> again\n\nSetext\n===\n\n---\n\n[x]: /url\n\nsee [x]")) {
+            assertEquals(MarkdownProcessor.markdownToHtml(tricky), String.join("", workflow.renderBlocks(tricky, null)),
+                    tricky);
+        }
+    }
+
+    @Test
+    void buildPatchScriptReplacesOnlyTheChangedRun() {
+        List<String> previous = List.of("<p>a</p>", "<p>b</p>", "<p>c</p>");
+
+        assertNull(PreviewWorkflow.buildPatchScript(previous, List.of("<p>a</p>", "<p>b</p>", "<p>c</p>")));
+
+        String replace = PreviewWorkflow.buildPatchScript(previous,
+                List.of("<p>a</p>", "<p>\"x\"\n</p>", "<p>c</p>"));
+        assertEquals("window.fnPreviewPatch(1, 1, [\"<p>\\\"x\\\"\\n</p>\"]);", replace);
+
+        assertEquals("window.fnPreviewPatch(3, 0, [\"<p>d</p>\"]);",
+                PreviewWorkflow.buildPatchScript(previous, List.of("<p>a</p>", "<p>b</p>", "<p>c</p>", "<p>d</p>")));
+        assertEquals("window.fnPreviewPatch(0, 1, []);",
+                PreviewWorkflow.buildPatchScript(previous, List.of("<p>b</p>", "<p>c</p>")));
+
+        String page = new PreviewWorkflow().buildPreviewHtml("# A\n\nB", false, List.of());
+        assertTrue(page.contains("<div class=\"fn-block\"><h1>A</h1>"));
+        assertTrue(page.contains("window.fnPreviewPatch = function"));
+        assertFalse(page.contains("@@FN_"));
+    }
 }
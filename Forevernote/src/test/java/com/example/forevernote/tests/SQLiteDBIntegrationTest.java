@@ -2,18 +2,32 @@ package com.example.forevernote.tests;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.lang.reflect.Field;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
+import com.example.forevernote.data.dao.interfaces.NoteDAO;
+import com.example.forevernote.data.dao.sqlite.FolderDAOSQLite;
+import com.example.forevernote.data.dao.sqlite.NoteDAOSQLite;
+import com.example.forevernote.data.database.SQLiteConnectionPool;
 import com.example.forevernote.data.database.SQLiteDB;
+import com.example.forevernote.data.models.Folder;
+import com.example.forevernote.data.models.Note;
+import com.example.forevernote.data.models.interfaces.Component;
 
 class SQLiteDBIntegrationTest {
 
@@ -41,6 +55,256 @@ class SQLiteDBIntegrationTest {
         }
     }
 
+    @Test
+    void pooledReadsUseWalAndDoNotWaitForOpenWrites() throws Exception {
+        Path dbFile = tempDir.resolve("sqlite-pool-test.db");
+
+        resetSQLiteDbSingleton();
+        SQLiteDB.configure(dbFile.toString());
+        SQLiteDB db = SQLiteDB.getInstance();
+        db.initDatabase();
+
+        Connection writer = db.openConnection();
+        try {
+            try (Statement statement = writer.createStatement();
+                    ResultSet resultSet = statement.executeQuery("PRAGMA journal_mode")) {
+                assertEquals("wal", resultSet.getString(1));
+            }
+
+            NoteDAOSQLite noteDAO = new NoteDAOSQLite(writer, db.getReadPool());
+            Note committed = new Note("Committed", "visible");
+            noteDAO.createNote(committed);
+
+            // Leave a write transaction open on the writer connection.
+            try (Statement statement = writer.createStatement()) {
+                statement.executeUpdate("UPDATE notes SET title = 'Pending' WHERE note_id = '" + committed.getId() + "'");
+            }
+
+            long start = System.nanoTime();
+            Note read = noteDAO.getNoteById(committed.getId());
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000L;
+            assertEquals("Committed", read.getTitle());
+            assertTrue(elapsedMs < 1000, "read waited " + elapsedMs + " ms for the writer");
+            writer.rollback();
+
+            try (SQLiteConnectionPool.Lease lease = db.getReadPool().acquire();
+                    Statement statement = lease.connection().createStatement()) {
+                assertTrue(lease.isPooled());
+                assertThrows(SQLException.class, () -> statement.executeUpdate("DELETE FROM notes"));
+            }
+            assertEquals(0, db.getReadPool().getActiveCount());
+        } finally {
+            db.closeReadPool();
+            db.closeConnection(writer);
+            resetSQLiteDbSingleton();
+        }
+    }
+
+    @Test
+    void fullTextIndexFollowsNoteWritesThroughTriggers() throws Exception {
+        Path dbFile = tempDir.resolve("sqlite-fts-test.db");
+
+        resetSQLiteDbSingleton();
+        SQLiteDB.configure(dbFile.toString());
+        SQLiteDB db = SQLiteDB.getInstance();
+        db.initDatabase();
+
+        Connection connection = db.openConnection();
+        try {
+            NoteDAOSQLite noteDAO = new NoteDAOSQLite(connection);
+            assertTrue(noteDAO.supportsFullTextSearch());
+
+            Note inBody = new Note("Weekly plan", "buy groceries and plan the quarterly review");
+            Note inTitle = new Note("Review notes", "the quarterly review went well");
+            Note unrelated = new Note("Recipes", "Crème brûlée with caramel");
+            noteDAO.createNote(inBody);
+            noteDAO.createNote(inTitle);
+            noteDAO.createNote(unrelated);
+
+            assertEquals(List.of(inTitle.getId(), inBody.getId()), ids(noteDAO.searchNotes("review", 0, 0)));
+            assertEquals(List.of(inBody.getId()), ids(noteDAO.searchNotes("groc", 0, 0)));
+            assertEquals(List.of(inBody.getId()), ids(noteDAO.searchNotes("\"plan the quarterly\"", 0, 0)));
+            assertEquals(List.of(unrelated.getId()), ids(noteDAO.searchNotes("creme brulee", 0, 0)));
+            assertEquals(List.of(inBody.getId()), ids(noteDAO.searchNotes("review", 1, 1)));
+            // FTS5 operators and stray punctuation are treated as plain text.
+            assertTrue(noteDAO.searchNotes("review OR (zzz", 0, 0).isEmpty());
+
+            String snippet = noteDAO.searchNotes("caramel", 0, 0).get(0).snippet();
+            assertTrue(snippet.contains(NoteDAO.SNIPPET_MATCH_START + "caramel" + NoteDAO.SNIPPET_MATCH_END));
+
+            inBody.setContent("buy vegetables");
+            noteDAO.updateNote(inBody);
+            assertTrue(noteDAO.searchNotes("groceries", 0, 0).isEmpty());
+            assertEquals(List.of(inBody.getId()), ids(noteDAO.searchNotes("vegetables", 0, 0)));
+
+            noteDAO.deleteNote(inTitle.getId());
+            assertTrue(noteDAO.searchNotes("review", 0, 0).isEmpty());
+
+            noteDAO.permanentlyDeleteNote(unrelated.getId());
+            assertTrue(noteDAO.searchNotes("caramel", 0, 0).isEmpty());
+        } finally {
+            db.closeConnection(connection);
+            resetSQLiteDbSingleton();
+        }
+    }
+
+    @Test
+    void folderTreeAndNotesLoadWithRecursiveQueries() throws Exception {
+        Path dbFile = tempDir.resolve("sqlite-tree-test.db");
+
+        resetSQLiteDbSingleton();
+        SQLiteDB.configure(dbFile.toString());
+        SQLiteDB db = SQLiteDB.getInstance();
+        db.initDatabase();
+
+        Connection connection = db.openConnection();
+        try {
+            FolderDAOSQLite folderDAO = new FolderDAOSQLite(connection, db.getReadPool());
+            NoteDAOSQLite noteDAO = new NoteDAOSQLite(connection);
+
+            // A chain deeper than the old per-level recursion ever needed, plus a sibling.
+            Folder parent = null;
+            Folder deepest = null;
+            for (int depth = 0; depth < 40; depth++) {
+                Folder folder = new Folder("Level " + depth);
+                folder.setParent(parent);
+                folderDAO.createFolder(folder);
+                parent = folder;
+                deepest = folder;
+            }
+            Folder sibling = new Folder("Sibling");
+            folderDAO.createFolder(sibling);
+            Folder trashed = new Folder("Trashed");
+            trashed.setParent(sibling);
+            folderDAO.createFolder(trashed);
+            folderDAO.deleteFolder(trashed.getId());
+
+            Note rootNote = new Note("Loose", "no folder");
+            noteDAO.createNote(rootNote);
+            Note deepNote = new Note("Deep", "bottom of the chain");
+            noteDAO.createNote(deepNote);
+            folderDAO.addNote(deepest, deepNote);
+
+            Folder tree = folderDAO.fetchAllFoldersAsTree();
+            assertEquals(2, folders(tree).size());
+            Folder top = folders(tree).stream().filter(f -> "Level 0".equals(f.getTitle())).findFirst().orElseThrow();
+            Folder cursor = top;
+            for (int depth = 1; depth < 40; depth++) {
+                assertEquals(1, folders(cursor).size());
+                cursor = folders(cursor).get(0);
+                assertEquals("Level " + depth, cursor.getTitle());
+            }
+            assertEquals(deepest.getId(), cursor.getId());
+            assertTrue(folders(folders(tree).stream().filter(f -> "Sibling".equals(f.getTitle())).findFirst()
+                    .orElseThrow()).isEmpty());
+
+            folderDAO.loadNotes(tree);
+            assertEquals(List.of(deepNote.getId()), noteIds(cursor));
+            assertEquals(List.of(rootNote.getId()), noteIds(tree));
+            assertEquals(cursor, ((Note) cursor.getChildren().stream().filter(Note.class::isInstance).findFirst()
+                    .orElseThrow()).getParent());
+
+            Folder limited = folderDAO.getFolderById(top.getId());
+            folderDAO.loadSubFolders(limited, 1);
+            assertEquals(1, folders(folders(limited).get(0)).size());
+            assertTrue(folders(folders(folders(limited).get(0)).get(0)).isEmpty());
+
+            Folder leaf = folderDAO.getFolderById(deepest.getId());
+            folderDAO.loadParentFolders(leaf);
+            int ancestors = 0;
+            for (Component up = leaf.getParent(); up != null; up = up.getParent()) {
+                ancestors++;
+            }
+            assertEquals(39, ancestors);
+        } finally {
+            db.closeReadPool();
+            db.closeConnection(connection);
+            resetSQLiteDbSingleton();
+        }
+    }
+
+    @Test
+    void batchNoteWritesSurviveARejectedRow() throws Exception {
+        Path dbFile = tempDir.resolve("sqlite-batch-test.db");
+
+        resetSQLiteDbSingleton();
+        SQLiteDB.configure(dbFile.toString());
+        SQLiteDB db = SQLiteDB.getInstance();
+        db.initDatabase();
+
+        Connection connection = db.openConnection();
+        try {
+            NoteDAOSQLite noteDAO = new NoteDAOSQLite(connection);
+            Note existing = new Note("Existing", "already stored");
+            noteDAO.createNote(existing);
+
+            Note first = new Note("First", "one");
+            Note clash = new Note("Clash", "same primary key");
+            clash.setId(existing.getId());
+            Note last = new Note("Last", "three");
+
+            NoteDAO.BatchResult result = noteDAO.createNotes(List.of(first, clash, last));
+
+            assertEquals(List.of(first.getId(), last.getId()), result.succeededIds());
+            assertEquals(1, result.failedCount());
+            assertEquals(3, noteDAO.fetchAllNotes().size());
+            assertEquals("already stored", noteDAO.getNoteById(existing.getId()).getContent());
+        } finally {
+            db.closeConnection(connection);
+            resetSQLiteDbSingleton();
+        }
+    }
+
+    @Test
+    void folderNotesLoadTerminatesOnParentCycle() throws Exception {
+        Path dbFile = tempDir.resolve("sqlite-cycle-test.db");
+
+        resetSQLiteDbSingleton();
+        SQLiteDB.configure(dbFile.toString());
+        SQLiteDB db = SQLiteDB.getInstance();
+        db.initDatabase();
+
+        Connection connection = db.openConnection();
+        try {
+            FolderDAOSQLite folderDAO = new FolderDAOSQLite(connection, db.getReadPool());
+            NoteDAOSQLite noteDAO = new NoteDAOSQLite(connection);
+            Folder first = new Folder("First");
+            folderDAO.createFolder(first);
+            Folder second = new Folder("Second");
+            second.setParent(first);
+            folderDAO.createFolder(second);
+            Note note = new Note("Inside", "in a cycle");
+            noteDAO.createNote(note);
+            folderDAO.addNote(first, note);
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate("UPDATE folders SET parent_id = '" + second.getId() + "' WHERE folder_id = '"
+                        + first.getId() + "'");
+            }
+
+            Folder loaded = folderDAO.getFolderById(first.getId());
+            assertTimeoutPreemptively(Duration.ofSeconds(10), () -> folderDAO.loadNotes(loaded));
+            assertEquals(List.of(note.getId()), noteIds(loaded));
+        } finally {
+            db.closeReadPool();
+            db.closeConnection(connection);
+            resetSQLiteDbSingleton();
+        }
+    }
+
+    private List<Folder> folders(Folder folder) {
+        return folder.getChildren().stream().filter(Folder.class::isInstance).map(Folder.class::cast)
+                .collect(Collectors.toList());
+    }
+
+    private List<String> noteIds(Folder folder) {
+        return folder.getChildren().stream().filter(Note.class::isInstance).map(Component::getId)
+                .collect(Collectors.toList());
+    }
+
+    private List<String> ids(List<NoteDAO.NoteSearchResult> results) {
+        return results.stream().map(result -> result.note().getId()).collect(Collectors.toList());
+    }
+
     private void resetSQLiteDbSingleton() throws Exception {
         Field instanceField = SQLiteDB.class.getDeclaredField("instance");
         instanceField.setAccessible(true);
@@ -0,0 +1,111 @@
+package com.example.forevernote.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.forevernote.data.database.SQLiteStatementCache;
+
+class SQLiteStatementCacheTest {
+
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        SQLiteStatementCache.release(connection);
+        connection.close();
+    }
+
+    @Test
+    void closedStatementsAreReusedAndCounted() throws SQLException {
+        SQLiteStatementCache cache = SQLiteStatementCache.forConnection(connection);
+        assertSame(cache, SQLiteStatementCache.forConnection(connection));
+
+        for (int i = 1; i <= 3; i++) {
+            try (PreparedStatement statement = SQLiteStatementCache.prepare(connection, "SELECT ? + 1")) {
+                statement.setInt(1, i);
+                try (ResultSet rs = statement.executeQuery()) {
+                    assertTrue(rs.next());
+                    assertEquals(i + 1, rs.getInt(1));
+                }
+            }
+        }
+
+        assertEquals(1, cache.getMissCount());
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void statementInUseIsNotHandedOutTwice() throws SQLException {
+        SQLiteStatementCache cache = SQLiteStatementCache.forConnection(connection);
+
+        try (PreparedStatement outer = cache.prepare("SELECT 1");
+                ResultSet outerRows = outer.executeQuery()) {
+            try (PreparedStatement inner = cache.prepare("SELECT 1");
+                    ResultSet innerRows = inner.executeQuery()) {
+                assertNotSame(outer, inner);
+                assertTrue(innerRows.next());
+            }
+            assertTrue(outerRows.next());
+        }
+
+        assertEquals(2, cache.getMissCount());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void returnedStatementCannotBeUsedAgain() throws SQLException {
+        PreparedStatement statement = SQLiteStatementCache.prepare(connection, "SELECT 1");
+        statement.close();
+
+        assertTrue(statement.isClosed());
+        assertThrows(SQLException.class, statement::executeQuery);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedBeyondCapacity() throws SQLException {
+        SQLiteStatementCache cache = SQLiteStatementCache.forConnection(connection);
+        int extra = 6;
+
+        for (int i = 0; i < SQLiteStatementCache.DEFAULT_CAPACITY + extra; i++) {
+            cache.prepare("SELECT " + i).close();
+        }
+
+        assertEquals(SQLiteStatementCache.DEFAULT_CAPACITY, cache.size());
+        assertEquals(extra, cache.getEvictionCount());
+        // The oldest statement was evicted, the newest one is still cached.
+        cache.prepare("SELECT 0").close();
+        cache.prepare("SELECT " + (SQLiteStatementCache.DEFAULT_CAPACITY + extra - 1)).close();
+        assertEquals(SQLiteStatementCache.DEFAULT_CAPACITY + extra + 1, cache.getMissCount());
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    void releaseDropsTheConnectionCache() throws SQLException {
+        SQLiteStatementCache cache = SQLiteStatementCache.forConnection(connection);
+        cache.prepare("SELECT 1").close();
+
+        SQLiteStatementCache.release(connection);
+
+        assertEquals(0, cache.size());
+        assertNotSame(cache, SQLiteStatementCache.forConnection(connection));
+    }
+}
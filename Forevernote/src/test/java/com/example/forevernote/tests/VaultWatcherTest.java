@@ -0,0 +1,101 @@
+package com.example.forevernote.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.forevernote.data.dao.filesystem.FactoryDAOFileSystem;
+import com.example.forevernote.data.dao.filesystem.VaultWatcher;
+import com.example.forevernote.data.dao.interfaces.NoteDAO;
+import com.example.forevernote.data.models.Note;
+
+class VaultWatcherTest {
+
+    private static final long TIMEOUT_MS = 10_000L;
+
+    @TempDir
+    Path vault;
+
+    private FactoryDAOFileSystem factory;
+    private NoteDAO noteDAO;
+    private final List<VaultWatcher.Change> received = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        factory = new FactoryDAOFileSystem(vault.toString());
+        noteDAO = factory.getNoteDAO();
+        // Prime the cache before watching, like the application does at startup.
+        noteDAO.fetchAllNotes();
+        factory.addVaultListener(received::addAll);
+        assumeTrue(factory.startWatching(), "WatchService not available");
+    }
+
+    @AfterEach
+    void tearDown() {
+        factory.close();
+    }
+
+    @Test
+    void externalEditsAreAppliedIncrementally() throws Exception {
+        Files.createDirectories(vault.resolve("Projects"));
+        Path note = vault.resolve("Projects").resolve("Plan.md");
+        Files.writeString(note, "# Plan\n\nfirst draft", StandardCharsets.UTF_8);
+        awaitTrue(() -> noteDAO.fetchAllNotes().size() == 1);
+
+        Files.writeString(note, "---\nfavorite: true\n---\n# Plan\n\nsecond draft", StandardCharsets.UTF_8);
+        awaitTrue(() -> noteDAO.fetchAllNotes().get(0).isFavorite());
+
+        Files.move(note, vault.resolve("Projects").resolve("Roadmap.md"));
+        awaitTrue(() -> noteDAO.fetchAllNotes().stream().map(Note::getId).toList()
+                .equals(List.of("Projects/Roadmap.md")));
+
+        Files.delete(vault.resolve("Projects").resolve("Roadmap.md"));
+        awaitTrue(() -> noteDAO.fetchAllNotes().isEmpty());
+        // Listeners run after the cache is updated, so the report may trail it.
+        awaitTrue(() -> received.stream().anyMatch(change -> change.kind() == VaultWatcher.Kind.DELETED
+                && "Projects/Roadmap.md".equals(change.path())));
+    }
+
+    @Test
+    void ownWritesAreNotReportedAsExternal() throws Exception {
+        String createdId = noteDAO.createNote(new Note("Inside", "written by the app"));
+        Files.writeString(vault.resolve("Outside.md"), "written elsewhere", StandardCharsets.UTF_8);
+
+        awaitTrue(() -> received.stream().anyMatch(change -> "Outside.md".equals(change.path())));
+        assertTrue(received.stream().noneMatch(change -> createdId.equals(change.path())));
+        assertEquals(2, noteDAO.fetchAllNotes().size());
+    }
+
+    @Test
+    void hiddenDirectoriesAreIgnored() throws Exception {
+        Files.createDirectories(vault.resolve(".trash"));
+        Files.writeString(vault.resolve(".trash").resolve("Gone.md"), "x", StandardCharsets.UTF_8);
+        Files.writeString(vault.resolve("Visible.md"), "y", StandardCharsets.UTF_8);
+
+        awaitTrue(() -> noteDAO.fetchAllNotes().size() == 1);
+        assertEquals("Visible.md", noteDAO.fetchAllNotes().get(0).getId());
+        assertTrue(received.stream().noneMatch(change -> change.path() != null && change.path().startsWith(".")));
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("Condition not met within " + TIMEOUT_MS + " ms");
+            }
+            Thread.sleep(25);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.forevernote.benchmarks;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.forevernote.service.links.LinkIndexService;
+import com.example.forevernote.ui.workflow.graph.GraphWorkflow;
+
+/**
+ * Wikilink indexing with {@code LinkIndexService.rebuildIndex} and the global
+ * graph built from it by {@code GraphWorkflow.buildGlobalGraph}.
+ *
+ * <p>
+ * Cold variants start from new instances. Warm variants reuse one with the
+ * backend's link store attached, as the application does between rebuilds of
+ * an unchanged vault, so unchanged notes are not parsed again.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class LinkGraphBenchmark {
+
+    private static final GraphWorkflow.GraphFilter ALL = new GraphWorkflow.GraphFilter(Set.of(), Set.of(), true, 0);
+
+    private LinkIndexService warmIndex;
+    private GraphWorkflow warmGraph;
+
+    @Setup(Level.Trial)
+    public void setUp(VaultState state) {
+        warmIndex = new LinkIndexService();
+        warmIndex.attachStore(state.vault.linkDAO(), Runnable::run);
+        warmIndex.rebuildIndex(state.allNotes);
+        warmGraph = new GraphWorkflow();
+        warmGraph.buildGlobalGraph(state.allNotes, warmIndex, ALL);
+    }
+
+    @Benchmark
+    public LinkIndexService rebuildLinkIndexCold(VaultState state) {
+        LinkIndexService index = new LinkIndexService();
+        index.rebuildIndex(state.allNotes);
+        return index;
+    }
+
+    @Benchmark
+    public LinkIndexService rebuildLinkIndexWarm(VaultState state) {
+        warmIndex.rebuildIndex(state.allNotes);
+        return warmIndex;
+    }
+
+    @Benchmark
+    public GraphWorkflow.GraphData buildGlobalGraphCold(VaultState state) {
+        return new GraphWorkflow().buildGlobalGraph(state.allNotes, warmIndex, ALL);
+    }
+
+    @Benchmark
+    public GraphWorkflow.GraphData buildGlobalGraphWarm(VaultState state) {
+        return warmGraph.buildGlobalGraph(state.allNotes, warmIndex, ALL);
+    }
+}
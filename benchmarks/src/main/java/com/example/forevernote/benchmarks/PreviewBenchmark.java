@@ -0,0 +1,75 @@
+package com.example.forevernote.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.forevernote.benchmarks.vault.SyntheticVault;
+import com.example.forevernote.ui.workflow.PreviewWorkflow;
+
+/**
+ * {@code PreviewWorkflow.buildPreviewHtml} on a typical note and on a long
+ * document made of many notes.
+ *
+ * <p>
+ * {@code fullRender} makes every block new on each call, so nothing comes from
+ * the render caches; {@code editRender} changes one block in the middle, as
+ * typing does.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PreviewBenchmark {
+
+    @Param({ "note", "long" })
+    public String document;
+
+    private String markdown;
+    private int editOffset;
+    private PreviewWorkflow workflow;
+    private long revision;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<SyntheticVault.NoteSpec> notes = SyntheticVault.generate(SyntheticVault.Spec.realistic(400)).notes();
+        StringBuilder text = new StringBuilder();
+        if ("note".equals(document)) {
+            // A note of median length
+            notes.stream().map(SyntheticVault.NoteSpec::content).sorted((a, b) -> a.length() - b.length())
+                    .skip(notes.size() / 2).findFirst().ifPresent(text::append);
+        } else {
+            notes.forEach(note -> text.append(note.content()));
+        }
+        markdown = text.toString();
+        editOffset = markdown.indexOf(".\n\n", markdown.length() / 2);
+        workflow = new PreviewWorkflow();
+    }
+
+    @Benchmark
+    public String fullRender() {
+        String unique = markdown.replace(".\n\n", ". r" + revision++ + "\n\n");
+        return new PreviewWorkflow().buildPreviewHtml(unique, false, List.of());
+    }
+
+    @Benchmark
+    public String editRender() {
+        String edited = markdown.substring(0, editOffset) + " r" + revision++ + markdown.substring(editOffset);
+        return workflow.buildPreviewHtml(edited, false, List.of());
+    }
+}
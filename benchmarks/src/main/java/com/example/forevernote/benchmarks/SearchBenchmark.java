@@ -0,0 +1,62 @@
+package com.example.forevernote.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.forevernote.benchmarks.vault.SyntheticVault;
+import com.example.forevernote.data.dao.interfaces.NoteDAO;
+
+/**
+ * {@code NoteService.searchNotes} for one page of results: SQLite FTS5 on the
+ * SQLite backend, the in-memory index on the filesystem backend.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class SearchBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    /**
+     * Word ranks follow the generator's frequency order: rank 1 appears in
+     * most notes, rank 2000 in few.
+     */
+    @Param({ "common", "rare", "twoTerms", "phrase" })
+    public String query;
+
+    private String text;
+
+    @Setup(Level.Trial)
+    public void setUp(VaultState state) {
+        text = switch (query) {
+            case "common" -> SyntheticVault.word(1);
+            case "rare" -> SyntheticVault.word(2000);
+            case "twoTerms" -> SyntheticVault.word(3) + " " + SyntheticVault.word(40);
+            case "phrase" -> "\"" + SyntheticVault.word(0) + " " + SyntheticVault.word(1) + "\"";
+            default -> throw new IllegalArgumentException("Unknown query " + query);
+        };
+        // The filesystem backend builds its index on the first search.
+        state.vault.noteService().searchNotes(text, PAGE_SIZE, 0);
+    }
+
+    @Benchmark
+    public List<NoteDAO.NoteSearchResult> searchNotes(VaultState state) {
+        return state.vault.noteService().searchNotes(text, PAGE_SIZE, 0);
+    }
+}
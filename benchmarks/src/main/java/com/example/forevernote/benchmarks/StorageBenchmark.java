@@ -0,0 +1,81 @@
+package com.example.forevernote.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.forevernote.benchmarks.vault.BenchmarkVault;
+import com.example.forevernote.benchmarks.vault.SyntheticVault;
+import com.example.forevernote.data.dao.filesystem.NoteDAOFileSystem;
+import com.example.forevernote.data.models.Note;
+
+/**
+ * Loading notes from storage: {@code NoteDAO.fetchAllNotes} on both backends,
+ * and the filesystem vault scan behind {@code NoteDAOFileSystem.refreshCache}.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class StorageBenchmark {
+
+    /**
+     * A filesystem vault only, for the scan benchmarks.
+     */
+    @State(Scope.Benchmark)
+    public static class FileSystemVault {
+
+        @Param({ "1000", "10000", "100000" })
+        public int notes;
+
+        public BenchmarkVault vault;
+        public NoteDAOFileSystem noteDAO;
+
+        @Setup(Level.Trial)
+        public void open() {
+            vault = BenchmarkVault.open(BenchmarkVault.Backend.FILESYSTEM, SyntheticVault.Spec.realistic(notes));
+            noteDAO = (NoteDAOFileSystem) vault.noteDAO();
+        }
+
+        @TearDown(Level.Trial)
+        public void close() {
+            vault.close();
+        }
+    }
+
+    @Benchmark
+    public List<Note> fetchAllNotes(VaultState state) {
+        return state.vault.noteDAO().fetchAllNotes();
+    }
+
+    /**
+     * Rescan of an unchanged vault, as after a watcher overflow.
+     */
+    @Benchmark
+    public NoteDAOFileSystem refreshCache(FileSystemVault state) {
+        state.noteDAO.refreshCache();
+        return state.noteDAO;
+    }
+
+    /**
+     * Opening the vault from disk, as at startup.
+     */
+    @Benchmark
+    public NoteDAOFileSystem openVault(FileSystemVault state) {
+        return new NoteDAOFileSystem(state.vault.directory().toString());
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.forevernote.benchmarks;
+
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.example.forevernote.benchmarks.vault.BenchmarkVault;
+import com.example.forevernote.benchmarks.vault.SyntheticVault;
+import com.example.forevernote.data.dao.interfaces.NoteDAO;
+import com.example.forevernote.data.models.Note;
+
+/**
+ * A realistic synthetic vault per backend and size, shared by the threads of
+ * a trial. The first trial of a size writes the vault; later ones reuse it.
+ */
+@State(Scope.Benchmark)
+public class VaultState {
+
+    @Param({ "SQLITE", "FILESYSTEM" })
+    public BenchmarkVault.Backend backend;
+
+    @Param({ "1000", "10000", "100000" })
+    public int notes;
+
+    public BenchmarkVault vault;
+
+    /** Every note with its content, as the link index loads them. */
+    public List<Note> allNotes;
+
+    @Setup(Level.Trial)
+    public void open() {
+        vault = BenchmarkVault.open(backend, SyntheticVault.Spec.realistic(notes));
+        NoteDAO noteDAO = vault.noteDAO();
+        // The filesystem backend lists notes without content.
+        allNotes = noteDAO.fetchAllNotes().stream()
+                .map(note -> note.getContent() != null && !note.getContent().isBlank() ? note
+                        : noteDAO.getNoteById(note.getId()))
+                .toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        vault.close();
+    }
+}
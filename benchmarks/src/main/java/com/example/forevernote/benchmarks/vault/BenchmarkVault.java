@@ -0,0 +1,250 @@
+package com.example.forevernote.benchmarks.vault;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import com.example.forevernote.data.dao.filesystem.FactoryDAOFileSystem;
+import com.example.forevernote.data.dao.interfaces.FactoryDAO;
+import com.example.forevernote.data.dao.interfaces.FolderDAO;
+import com.example.forevernote.data.dao.interfaces.LinkDAO;
+import com.example.forevernote.data.dao.interfaces.NoteDAO;
+import com.example.forevernote.data.dao.interfaces.TagDAO;
+import com.example.forevernote.data.database.SQLiteDB;
+import com.example.forevernote.data.models.Folder;
+import com.example.forevernote.data.models.Note;
+import com.example.forevernote.data.models.Tag;
+import com.example.forevernote.service.NoteService;
+import com.example.forevernote.service.search.NoteSearchIndex;
+
+/**
+ * A {@link SyntheticVault} written to real storage, opened the way the
+ * application opens it.
+ *
+ * <p>
+ * Each vault is written once to {@code <root>/<backend>-<spec key>} and reused
+ * by later runs; a marker file is only written after the vault is complete.
+ * The root is {@code target/vaults} unless the
+ * {@code forevernote.bench.vaults} system property says otherwise.
+ * </p>
+ */
+public final class BenchmarkVault implements AutoCloseable {
+
+    private static final String COMPLETE_MARKER = ".synthetic-complete";
+    private static final String DATABASE_FILE = "forevernote.db";
+    private static final int BATCH_SIZE = 1000;
+    /** A 1x1 PNG, so embeds resolve to real images. */
+    private static final byte[] ATTACHMENT_BYTES = Base64.getDecoder()
+            .decode("iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAQAAAC1HAwCAAAAC0lEQVR42mNkYAAAAAYAAjCB0C8AAAAASUVORK5CYII=");
+
+    public enum Backend {
+        SQLITE, FILESYSTEM
+    }
+
+    private final Backend backend;
+    private final Path directory;
+    private final Connection connection;
+    private final FactoryDAO factory;
+    private final NoteService noteService;
+
+    private BenchmarkVault(Backend backend, Path directory, Connection connection, FactoryDAO factory) {
+        this.backend = backend;
+        this.directory = directory;
+        this.connection = connection;
+        this.factory = factory;
+        this.noteService = new NoteService(factory.getNoteDAO(), factory.getFolderDAO(), factory.getLabelDAO(),
+                new NoteSearchIndex());
+    }
+
+    /**
+     * Opens the vault in the default root, writing it first if needed.
+     */
+    public static BenchmarkVault open(Backend backend, SyntheticVault.Spec spec) {
+        Path root = Paths.get(System.getProperty("forevernote.bench.vaults", "target/vaults"));
+        return open(backend, spec, root.resolve(backend.name().toLowerCase() + "-" + spec.key()));
+    }
+
+    /**
+     * Opens the vault in {@code directory}, writing it first unless a complete
+     * copy is already there.
+     */
+    public static BenchmarkVault open(Backend backend, SyntheticVault.Spec spec, Path directory) {
+        boolean complete = Files.exists(directory.resolve(COMPLETE_MARKER));
+        try {
+            if (!complete) {
+                deleteRecursively(directory);
+            }
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not prepare vault directory " + directory, e);
+        }
+        BenchmarkVault vault = openStorage(backend, directory);
+        if (!complete) {
+            try {
+                vault.write(SyntheticVault.generate(spec));
+                Files.writeString(directory.resolve(COMPLETE_MARKER), spec.key());
+            } catch (IOException e) {
+                vault.close();
+                throw new UncheckedIOException("Could not write vault " + directory, e);
+            } catch (RuntimeException e) {
+                vault.close();
+                throw e;
+            }
+        }
+        return vault;
+    }
+
+    private static BenchmarkVault openStorage(Backend backend, Path directory) {
+        if (backend == Backend.FILESYSTEM) {
+            return new BenchmarkVault(backend, directory, null,
+                    FactoryDAO.getFactory(FactoryDAO.FILE_SYSTEM_FACTORY, directory.toString()));
+        }
+        resetSQLiteDb();
+        SQLiteDB.configure(directory.resolve(DATABASE_FILE).toString());
+        SQLiteDB db = SQLiteDB.getInstance();
+        db.initDatabase();
+        Connection connection = db.openConnection();
+        return new BenchmarkVault(backend, directory, connection,
+                FactoryDAO.getFactory(FactoryDAO.SQLITE_FACTORY, connection, db.getReadPool()));
+    }
+
+    private void write(SyntheticVault vault) throws IOException {
+        // Attachments live next to the notes in both backends, where the preview resolves embeds.
+        for (String attachment : vault.attachments()) {
+            Path file = directory.resolve(attachment);
+            Files.createDirectories(file.getParent());
+            Files.write(file, ATTACHMENT_BYTES);
+        }
+
+        FolderDAO folderDAO = factory.getFolderDAO();
+        TagDAO tagDAO = factory.getLabelDAO();
+        NoteDAO noteDAO = factory.getNoteDAO();
+
+        Map<String, Folder> folders = new HashMap<>();
+        for (SyntheticVault.FolderSpec spec : vault.folders()) {
+            Folder folder = new Folder(spec.title());
+            if (spec.parentPath() != null) {
+                folder.setParent(folders.get(spec.parentPath()));
+            }
+            folderDAO.createFolder(folder);
+            folders.put(spec.path(), folder);
+        }
+
+        Map<String, Tag> tags = new HashMap<>();
+        for (String title : vault.tags()) {
+            Tag tag = new Tag(title);
+            tagDAO.createTag(tag);
+            tags.put(title, tag);
+        }
+
+        List<SyntheticVault.NoteSpec> specs = vault.notes();
+        for (int start = 0; start < specs.size(); start += BATCH_SIZE) {
+            List<SyntheticVault.NoteSpec> chunk = specs.subList(start, Math.min(specs.size(), start + BATCH_SIZE));
+            List<Note> notes = new ArrayList<>(chunk.size());
+            for (SyntheticVault.NoteSpec spec : chunk) {
+                Note note = new Note(spec.title(), spec.content());
+                Folder folder = spec.folderPath() != null ? folders.get(spec.folderPath()) : null;
+                if (backend == Backend.FILESYSTEM) {
+                    // Paths are ids here; tags live in the frontmatter written on create.
+                    if (folder != null) {
+                        note.setId(folder.getId() + "/" + spec.title());
+                    }
+                    note.setTags(spec.tags().stream().map(tags::get).toList());
+                } else {
+                    note.setId(String.format("note-%06d", spec.index()));
+                    note.setParent(folder);
+                }
+                notes.add(note);
+            }
+            NoteDAO.BatchResult created = noteDAO.createNotes(notes);
+            if (created.failedCount() > 0) {
+                throw new IllegalStateException("Could not write synthetic notes: " + created.failures());
+            }
+            if (backend == Backend.SQLITE) {
+                for (int i = 0; i < notes.size(); i++) {
+                    List<String> noteTags = chunk.get(i).tags();
+                    if (!noteTags.isEmpty()) {
+                        noteDAO.addTags(notes.get(i), noteTags.stream().map(tags::get).toList());
+                    }
+                }
+            }
+        }
+    }
+
+    public Backend backend() {
+        return backend;
+    }
+
+    public Path directory() {
+        return directory;
+    }
+
+    public NoteDAO noteDAO() {
+        return factory.getNoteDAO();
+    }
+
+    public FolderDAO folderDAO() {
+        return factory.getFolderDAO();
+    }
+
+    public TagDAO tagDAO() {
+        return factory.getLabelDAO();
+    }
+
+    public LinkDAO linkDAO() {
+        return factory.getLinkDAO();
+    }
+
+    public NoteService noteService() {
+        return noteService;
+    }
+
+    @Override
+    public void close() {
+        if (factory instanceof FactoryDAOFileSystem fileSystemFactory) {
+            fileSystemFactory.close();
+        }
+        if (connection != null) {
+            SQLiteDB db = SQLiteDB.getInstance();
+            db.closeReadPool();
+            db.closeConnection(connection);
+            resetSQLiteDb();
+        }
+    }
+
+    /**
+     * SQLiteDB is a process-wide singleton bound to one file; forget it so the
+     * next vault can bind its own.
+     */
+    private static void resetSQLiteDb() {
+        try {
+            Field instance = SQLiteDB.class.getDeclaredField("instance");
+            instance.setAccessible(true);
+            instance.set(null, null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not reset SQLiteDB", e);
+        }
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
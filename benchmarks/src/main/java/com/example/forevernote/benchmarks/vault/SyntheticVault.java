@@ -0,0 +1,325 @@
+package com.example.forevernote.benchmarks.vault;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic in-memory description of a vault: folders, tags, attachments
+ * and notes with markdown bodies, wikilinks and attachment embeds.
+ *
+ * <p>
+ * The same {@link Spec} always yields the same vault, so benchmark runs and
+ * on-disk copies of it are comparable. Word, tag and link-target frequencies
+ * follow a Zipf-like 1/rank law, as in real note collections: a few words and
+ * hub notes are very common, most are rare.
+ * </p>
+ */
+public final class SyntheticVault {
+
+    /** Vault folder holding the embedded attachment files. */
+    public static final String ATTACHMENT_FOLDER = "attachments";
+
+    private static final int VOCABULARY_SIZE = 4096;
+    private static final String[] SYLLABLES = { "ka", "lo", "mi", "ne", "ru", "sa", "te", "vi", "zo", "pa", "qui",
+            "der", "fen", "gal", "hor", "jun", "mar", "nol", "pri", "sto", "tal", "ven", "wis", "yar" };
+    private static final List<String> VOCABULARY = buildVocabulary();
+
+    /**
+     * How note bodies are sized.
+     */
+    public enum BodySize {
+        /** Paragraph counts spread evenly between the bounds. */
+        UNIFORM,
+        /**
+         * Log-normal paragraph counts: mostly short notes and a few very long
+         * ones, as in real vaults.
+         */
+        LONG_TAIL
+    }
+
+    /**
+     * Shape of a generated vault.
+     *
+     * @param noteCount         Number of notes.
+     * @param folderDepth       Levels of folders below the root.
+     * @param foldersPerLevel   Subfolders of each folder.
+     * @param tagCount          Distinct tags.
+     * @param tagsPerNote       Average tags per note.
+     * @param linksPerNote      Average wikilinks per note.
+     * @param unresolvedPercent Share of wikilinks to notes that do not exist.
+     * @param attachmentCount   Distinct attachment files.
+     * @param embedPercent      Share of notes embedding attachments.
+     * @param bodySize          Distribution of body lengths.
+     * @param minParagraphs     Fewest body paragraphs of a note.
+     * @param maxParagraphs     Most body paragraphs of a note.
+     * @param seed              Random seed.
+     */
+    public record Spec(int noteCount, int folderDepth, int foldersPerLevel, int tagCount, int tagsPerNote,
+            int linksPerNote, int unresolvedPercent, int attachmentCount, int embedPercent, BodySize bodySize,
+            int minParagraphs, int maxParagraphs, long seed) {
+
+        /**
+         * A vault shaped like a personal knowledge base: three folder levels,
+         * about one tag per 50 notes, two tags and five links per note, an
+         * embed in one note out of ten and mostly short notes.
+         */
+        public static Spec realistic(int noteCount) {
+            return new Spec(noteCount, 3, 5, Math.max(20, noteCount / 50), 2, 5, 3, Math.max(10, noteCount / 100),
+                    10, BodySize.LONG_TAIL, 1, 40, 42L);
+        }
+
+        /**
+         * @return A short stable name, used for on-disk copies of the vault.
+         */
+        public String key() {
+            return noteCount + "n-" + folderDepth + "x" + foldersPerLevel + "f-" + tagCount + "t" + tagsPerNote
+                    + "-" + linksPerNote + "l" + unresolvedPercent + "-" + attachmentCount + "a" + embedPercent
+                    + "-" + bodySize.name().toLowerCase() + minParagraphs + "to" + maxParagraphs + "p-" + seed;
+        }
+    }
+
+    /**
+     * @param path       Slash-separated path from the vault root.
+     * @param title      Last path segment.
+     * @param parentPath Path of the parent folder, or null at the root.
+     */
+    public record FolderSpec(String path, String title, String parentPath) {
+    }
+
+    /**
+     * @param index      Position in {@link #notes()}.
+     * @param title      Unique note title, also the wikilink target.
+     * @param folderPath Path of the containing folder, or null at the root.
+     * @param content    Markdown body.
+     * @param tags       Tag titles.
+     */
+    public record NoteSpec(int index, String title, String folderPath, String content, List<String> tags) {
+    }
+
+    private final Spec spec;
+    private final List<FolderSpec> folders;
+    private final List<String> tags;
+    private final List<String> attachments;
+    private final List<NoteSpec> notes;
+
+    private SyntheticVault(Spec spec, List<FolderSpec> folders, List<String> tags, List<String> attachments,
+            List<NoteSpec> notes) {
+        this.spec = spec;
+        this.folders = folders;
+        this.tags = tags;
+        this.attachments = attachments;
+        this.notes = notes;
+    }
+
+    public static SyntheticVault generate(Spec spec) {
+        SplittableRandom random = new SplittableRandom(spec.seed());
+
+        List<FolderSpec> folders = new ArrayList<>();
+        List<String> level = new ArrayList<>();
+        level.add(null);
+        for (int depth = 0; depth < spec.folderDepth(); depth++) {
+            List<String> next = new ArrayList<>();
+            for (String parent : level) {
+                for (int i = 0; i < spec.foldersPerLevel(); i++) {
+                    String title = capitalize(word(random.nextInt(64))) + " " + (depth + 1) + "-" + (i + 1);
+                    String path = parent == null ? title : parent + "/" + title;
+                    folders.add(new FolderSpec(path, title, parent));
+                    next.add(path);
+                }
+            }
+            level = next;
+        }
+
+        List<String> tags = new ArrayList<>(spec.tagCount());
+        for (int i = 0; i < spec.tagCount(); i++) {
+            tags.add(word(i % VOCABULARY_SIZE) + (i >= VOCABULARY_SIZE ? Integer.toString(i / VOCABULARY_SIZE) : ""));
+        }
+
+        List<String> attachments = new ArrayList<>(spec.attachmentCount());
+        for (int i = 0; i < spec.attachmentCount(); i++) {
+            attachments.add(String.format("%s/%s-%05d.png", ATTACHMENT_FOLDER, word(i % 64), i));
+        }
+
+        String[] titles = new String[spec.noteCount()];
+        for (int i = 0; i < titles.length; i++) {
+            titles[i] = String.format("N%06d %s %s", i, capitalize(word(zipf(random, VOCABULARY_SIZE))),
+                    word(zipf(random, VOCABULARY_SIZE)));
+        }
+
+        List<NoteSpec> notes = new ArrayList<>(spec.noteCount());
+        for (int i = 0; i < titles.length; i++) {
+            // Root plus every folder, so deep folders hold notes too.
+            int slot = random.nextInt(folders.size() + 1);
+            String folderPath = slot == 0 ? null : folders.get(slot - 1).path();
+            notes.add(new NoteSpec(i, titles[i], folderPath, body(random, spec, titles, attachments, i),
+                    pickTags(random, spec, tags)));
+        }
+        return new SyntheticVault(spec, Collections.unmodifiableList(folders), Collections.unmodifiableList(tags),
+                Collections.unmodifiableList(attachments), Collections.unmodifiableList(notes));
+    }
+
+    public Spec spec() {
+        return spec;
+    }
+
+    /**
+     * @return Folders, parents before children.
+     */
+    public List<FolderSpec> folders() {
+        return folders;
+    }
+
+    public List<String> tags() {
+        return tags;
+    }
+
+    /**
+     * @return Attachment paths relative to the vault root, all under
+     *         {@value #ATTACHMENT_FOLDER}.
+     */
+    public List<String> attachments() {
+        return attachments;
+    }
+
+    public List<NoteSpec> notes() {
+        return notes;
+    }
+
+    /**
+     * @param rank 0 for the most frequent word of generated bodies.
+     * @return A word of the generated vocabulary.
+     */
+    public static String word(int rank) {
+        return VOCABULARY.get(rank);
+    }
+
+    private static String body(SplittableRandom random, Spec spec, String[] titles, List<String> attachments,
+            int self) {
+        StringBuilder text = new StringBuilder(1024);
+        text.append("# ").append(titles[self]).append("\n\n");
+        int paragraphs = paragraphs(random, spec);
+        int links = poisson(random, spec.linksPerNote());
+        int embeds = !attachments.isEmpty() && random.nextInt(100) < spec.embedPercent() ? 1 + poisson(random, 1)
+                : 0;
+        for (int p = 0; p < paragraphs; p++) {
+            int linksHere = p == paragraphs - 1 ? links : random.nextInt(links + 1);
+            links -= linksHere;
+            switch (random.nextInt(10)) {
+                case 0 -> text.append("## ").append(capitalize(sentence(random, 3))).append("\n\n");
+                case 1 -> {
+                    for (int item = 0; item < 2 + random.nextInt(4); item++) {
+                        text.append(random.nextInt(3) == 0 ? "- [ ] " : "- ").append(sentence(random, 6)).append('\n');
+                    }
+                    text.append('\n');
+                }
+                case 2 -> text.append("```java\nint ").append(word(random.nextInt(64))).append(" = ")
+                        .append(random.nextInt(1000)).append(";\n```\n\n");
+                default -> {
+                }
+            }
+            while (embeds > 0 && (p == paragraphs - 1 || random.nextInt(paragraphs) == 0)) {
+                text.append(embed(random, attachments)).append("\n\n");
+                embeds--;
+            }
+            text.append(capitalize(sentence(random, 20 + random.nextInt(40))));
+            for (int l = 0; l < linksHere; l++) {
+                text.append(' ').append(wikilink(random, spec, titles, self)).append(' ')
+                        .append(sentence(random, 4));
+            }
+            text.append(".\n\n");
+        }
+        return text.toString();
+    }
+
+    private static int paragraphs(SplittableRandom random, Spec spec) {
+        int span = spec.maxParagraphs() - spec.minParagraphs();
+        if (spec.bodySize() == BodySize.UNIFORM) {
+            return spec.minParagraphs() + random.nextInt(span + 1);
+        }
+        // Median of three extra paragraphs; about one note in a hundred is six times longer.
+        int extra = (int) (3 * Math.exp(0.8 * random.nextGaussian()));
+        return spec.minParagraphs() + Math.min(span, extra);
+    }
+
+    private static String embed(SplittableRandom random, List<String> attachments) {
+        String target = attachments.get(zipf(random, attachments.size()));
+        return random.nextInt(4) == 0 ? "![[" + target + "|" + (100 + random.nextInt(4) * 100) + "]]"
+                : "![[" + target + "]]";
+    }
+
+    private static String wikilink(SplittableRandom random, Spec spec, String[] titles, int self) {
+        if (random.nextInt(100) < spec.unresolvedPercent()) {
+            return "[[Missing " + word(zipf(random, VOCABULARY_SIZE)) + "]]";
+        }
+        int target = zipf(random, titles.length);
+        if (target == self) {
+            target = (target + 1) % titles.length;
+        }
+        return random.nextInt(8) == 0 ? "[[" + titles[target] + "|" + word(zipf(random, VOCABULARY_SIZE)) + "]]"
+                : "[[" + titles[target] + "]]";
+    }
+
+    private static List<String> pickTags(SplittableRandom random, Spec spec, List<String> tags) {
+        int count = Math.min(tags.size(), poisson(random, spec.tagsPerNote()));
+        Set<String> picked = new LinkedHashSet<>();
+        for (int attempt = 0; picked.size() < count && attempt < count * 4; attempt++) {
+            picked.add(tags.get(zipf(random, tags.size())));
+        }
+        return List.copyOf(picked);
+    }
+
+    private static String sentence(SplittableRandom random, int words) {
+        StringBuilder text = new StringBuilder(words * 7);
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(word(zipf(random, VOCABULARY_SIZE)));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Draws a rank in {@code [0, size)} with probability proportional to
+     * 1/(rank + 1).
+     */
+    private static int zipf(SplittableRandom random, int size) {
+        if (size <= 1) {
+            return 0;
+        }
+        int rank = (int) Math.exp(random.nextDouble() * Math.log(size + 1.0)) - 1;
+        return Math.min(size - 1, Math.max(0, rank));
+    }
+
+    private static int poisson(SplittableRandom random, int mean) {
+        double limit = Math.exp(-mean);
+        double product = random.nextDouble();
+        int count = 0;
+        while (product > limit) {
+            product *= random.nextDouble();
+            count++;
+        }
+        return count;
+    }
+
+    private static String capitalize(String text) {
+        return text.isEmpty() ? text : Character.toUpperCase(text.charAt(0)) + text.substring(1);
+    }
+
+    private static List<String> buildVocabulary() {
+        SplittableRandom random = new SplittableRandom(7L);
+        Set<String> words = new LinkedHashSet<>();
+        while (words.size() < VOCABULARY_SIZE) {
+            StringBuilder word = new StringBuilder();
+            for (int s = 0; s < 2 + random.nextInt(3); s++) {
+                word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            words.add(word.toString());
+        }
+        return List.copyOf(words);
+    }
+}
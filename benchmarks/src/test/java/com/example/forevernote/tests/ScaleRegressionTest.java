@@ -0,0 +1,198 @@
+package com.example.forevernote.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import com.example.forevernote.benchmarks.vault.BenchmarkVault;
+import com.example.forevernote.benchmarks.vault.SyntheticVault;
+import com.example.forevernote.data.models.Folder;
+import com.example.forevernote.data.models.Note;
+import com.example.forevernote.service.FolderService;
+import com.example.forevernote.service.links.LinkIndexService;
+import com.example.forevernote.ui.workflow.graph.GraphWorkflow;
+
+/**
+ * Time and memory budgets for the startup, folder tree, search and graph
+ * paths on large synthetic vaults.
+ *
+ * <p>
+ * Runs with {@code mvn -f benchmarks/pom.xml -Pscale test}. Sizes come from
+ * {@code forevernote.scale.notes} (default {@code 10000,100000}) and budgets
+ * can be scaled for slower machines with {@code forevernote.scale.budgetFactor}.
+ * Vaults are written once and reused, so generation is not measured.
+ * </p>
+ */
+class ScaleRegressionTest {
+
+    private static final Logger logger = Logger.getLogger(ScaleRegressionTest.class.getName());
+    private static final GraphWorkflow.GraphFilter ALL = new GraphWorkflow.GraphFilter(Set.of(), Set.of(), true, 0);
+    private static final List<String> WARM_QUERIES = List.of(SyntheticVault.word(0), SyntheticVault.word(3000),
+            SyntheticVault.word(1) + " " + SyntheticVault.word(2), "\"" + SyntheticVault.word(0) + " "
+                    + SyntheticVault.word(1) + "\"");
+
+    /**
+     * Budgets in milliseconds, and retained heap in megabytes. They sit at two
+     * to three times the times measured on a developer machine, so they catch
+     * regressions rather than noise. The file-system backend keeps its search
+     * index in memory and reads every file to build it, hence its larger
+     * first-search and heap budgets.
+     */
+    private record Budget(long startupMs, long folderTreeMs, long firstSearchMs, long warmSearchMs,
+            long linkIndexMs, long graphMs, long heapMb) {
+
+        static Budget forVault(BenchmarkVault.Backend backend, int notes) {
+            boolean small = notes <= 10_000;
+            Budget base = switch (backend) {
+                case SQLITE -> small ? new Budget(3_000, 2_000, 2_000, 500, 8_000, 12_000, 192)
+                        : new Budget(8_000, 10_000, 4_000, 2_000, 40_000, 150_000, 1_024);
+                case FILESYSTEM -> small ? new Budget(4_000, 1_000, 30_000, 500, 15_000, 12_000, 768)
+                        : new Budget(15_000, 5_000, 240_000, 2_000, 120_000, 150_000, 3_584);
+            };
+            double factor = Double.parseDouble(System.getProperty("forevernote.scale.budgetFactor", "1"));
+            return new Budget(scale(base.startupMs, factor), scale(base.folderTreeMs, factor),
+                    scale(base.firstSearchMs, factor), scale(base.warmSearchMs, factor), scale(base.linkIndexMs, factor),
+                    scale(base.graphMs, factor), base.heapMb);
+        }
+
+        private static long scale(long millis, double factor) {
+            return (long) Math.ceil(millis * factor);
+        }
+    }
+
+    static Stream<Arguments> vaults() {
+        String sizes = System.getProperty("forevernote.scale.notes", "10000,100000");
+        return Arrays.stream(sizes.split(","))
+                .map(String::trim)
+                .filter(size -> !size.isEmpty())
+                .map(Integer::parseInt)
+                .flatMap(notes -> Stream.of(BenchmarkVault.Backend.values())
+                        .map(backend -> Arguments.of(backend, notes)));
+    }
+
+    @ParameterizedTest(name = "{0} {1} notes")
+    @MethodSource("vaults")
+    void largeVaultStaysWithinBudgets(BenchmarkVault.Backend backend, int notes) {
+        SyntheticVault.Spec spec = SyntheticVault.Spec.realistic(notes);
+        Budget budget = Budget.forVault(backend, notes);
+        // Write the vault outside the measured window.
+        BenchmarkVault.open(backend, spec).close();
+        long baselineHeap = usedHeapAfterGc();
+
+        long start = System.nanoTime();
+        BenchmarkVault vault = BenchmarkVault.open(backend, spec);
+        try {
+            List<Note> allNotes = vault.noteService().getAllNotes();
+            long startupMs = elapsedMs(start);
+            assertEquals(notes, allNotes.size());
+
+            start = System.nanoTime();
+            FolderService folderService = new FolderService(vault.folderDAO(), vault.noteDAO());
+            FolderTree tree = loadFolderTree(folderService, vault.noteService().getAllNotes());
+            long folderTreeMs = elapsedMs(start);
+            assertFalse(tree.childrenByParent().isEmpty(), "folder tree is empty");
+            assertEquals(notes, tree.noteCounts().values().stream().mapToInt(Integer::intValue).sum());
+
+            start = System.nanoTime();
+            assertFalse(vault.noteService().searchNotes(SyntheticVault.word(0), 50, 0).isEmpty());
+            long firstSearchMs = elapsedMs(start);
+            long warmSearchMs = 0;
+            for (String query : WARM_QUERIES) {
+                start = System.nanoTime();
+                vault.noteService().searchNotes(query, 50, 0);
+                warmSearchMs = Math.max(warmSearchMs, elapsedMs(start));
+            }
+
+            start = System.nanoTime();
+            List<Note> withContent = new ArrayList<>(allNotes.size());
+            for (Note note : allNotes) {
+                withContent.add(note.getContent() != null && !note.getContent().isBlank() ? note
+                        : vault.noteService().getNoteById(note.getId()).orElse(note));
+            }
+            LinkIndexService linkIndex = new LinkIndexService();
+            linkIndex.rebuildIndex(withContent);
+            long linkIndexMs = elapsedMs(start);
+            start = System.nanoTime();
+            GraphWorkflow.GraphData graph = new GraphWorkflow().buildGlobalGraph(withContent, linkIndex, ALL);
+            long graphMs = elapsedMs(start);
+            assertFalse(linkIndex.getUnresolved().isEmpty(), "synthetic vault has unresolved links");
+
+            long heapMb = (usedHeapAfterGc() - baselineHeap) / (1024 * 1024);
+            logger.info(String.format(
+                    "Scale %s %d notes: startup=%dms folderTree=%dms firstSearch=%dms warmSearch=%dms linkIndex=%dms graph=%dms heap=%dMB",
+                    backend, notes, startupMs, folderTreeMs, firstSearchMs, warmSearchMs, linkIndexMs, graphMs,
+                    heapMb));
+
+            assertWithin("startup", startupMs, budget.startupMs());
+            assertWithin("folder tree", folderTreeMs, budget.folderTreeMs());
+            assertWithin("first search", firstSearchMs, budget.firstSearchMs());
+            assertWithin("warm search", warmSearchMs, budget.warmSearchMs());
+            assertWithin("link index", linkIndexMs, budget.linkIndexMs());
+            assertWithin("graph build", graphMs, budget.graphMs());
+            assertTrue(heapMb <= budget.heapMb(),
+                    "retained heap " + heapMb + "MB over budget " + budget.heapMb() + "MB");
+            // Keep everything measured above reachable until the heap is sampled.
+            assertTrue(graph != null && withContent.size() == notes);
+        } finally {
+            vault.close();
+        }
+    }
+
+    private record FolderTree(Map<String, List<Folder>> childrenByParent, Map<String, Integer> noteCounts) {
+    }
+
+    /**
+     * Does what the sidebar does off the FX thread: list folders, nest them and
+     * count the notes in each.
+     */
+    private static FolderTree loadFolderTree(FolderService folderService, List<Note> allNotes) {
+        List<Folder> folders = folderService.getAllFolders();
+        Map<String, List<Folder>> childrenByParent = new HashMap<>();
+        for (Folder folder : folders) {
+            String parentId = folder.getParent() != null ? folder.getParent().getId() : null;
+            if (parentId == null && folder.getId() != null && folder.getId().lastIndexOf('/') > 0) {
+                parentId = folder.getId().substring(0, folder.getId().lastIndexOf('/'));
+            }
+            childrenByParent.computeIfAbsent(parentId == null ? "ROOT" : parentId, k -> new ArrayList<>())
+                    .add(folder);
+        }
+        for (List<Folder> children : childrenByParent.values()) {
+            children.sort((a, b) -> a.getTitle().compareToIgnoreCase(b.getTitle()));
+        }
+        Map<String, Integer> noteCounts = new HashMap<>();
+        for (Note note : allNotes) {
+            String folderId = note.getParent() != null ? note.getParent().getId() : null;
+            noteCounts.merge(folderId == null ? "ROOT" : folderId, 1, Integer::sum);
+        }
+        return new FolderTree(childrenByParent, noteCounts);
+    }
+
+    private static void assertWithin(String phase, long measuredMs, long budgetMs) {
+        assertTrue(measuredMs <= budgetMs, phase + " took " + measuredMs + "ms, budget " + budgetMs + "ms");
+    }
+
+    private static long elapsedMs(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000L;
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
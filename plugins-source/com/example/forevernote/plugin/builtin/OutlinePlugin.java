@@ -2,14 +2,13 @@ package com.example.forevernote.plugin.builtin;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import com.example.forevernote.data.models.Note;
 import com.example.forevernote.event.EventBus;
 import com.example.forevernote.event.events.NoteEvents;
 import com.example.forevernote.plugin.Plugin;
 import com.example.forevernote.plugin.PluginContext;
+import com.example.forevernote.util.MarkdownProcessor;
 
 import javafx.application.Platform;
 import javafx.geometry.Insets;
@@ -41,7 +40,6 @@ public class OutlinePlugin implements Plugin {
     private static final String AUTHOR = "Forevernote Team";
     
     private static final String PANEL_ID = "outline-panel";
-    private static final Pattern HEADER_PATTERN = Pattern.compile("^(#{1,6})\\s+(.+)$", Pattern.MULTILINE);
     
     private PluginContext context;
     private VBox outlineContent;
@@ -185,13 +183,8 @@ public class OutlinePlugin implements Plugin {
      */
     private List<HeaderEntry> parseHeaders(String content) {
         List<HeaderEntry> headers = new ArrayList<>();
-        Matcher matcher = HEADER_PATTERN.matcher(content);
-        
-        while (matcher.find()) {
-            int level = matcher.group(1).length();
-            String text = matcher.group(2).trim();
-            int position = matcher.start();
-            headers.add(new HeaderEntry(level, text, position));
+        for (MarkdownProcessor.HeadingEntry heading : MarkdownProcessor.headings(content)) {
+            headers.add(new HeaderEntry(heading.level(), heading.text(), heading.offset()));
         }
         
         return headers;
@@ -3,12 +3,11 @@ package com.example.forevernote.plugin.builtin;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import com.example.forevernote.data.models.Note;
 import com.example.forevernote.plugin.Plugin;
 import com.example.forevernote.plugin.PluginContext;
+import com.example.forevernote.util.MarkdownProcessor;
 
 import javafx.application.Platform;
 import javafx.geometry.Insets;
@@ -47,8 +46,6 @@ public class TableOfContentsPlugin implements Plugin {
     private static final String DESCRIPTION = "Generate table of contents from Markdown headers";
     private static final String AUTHOR = "Forevernote Team";
     
-    private static final Pattern HEADER_PATTERN = Pattern.compile("^(#{1,6})\\s+(.+)$", Pattern.MULTILINE);
-    
     private PluginContext context;
     
     /**
@@ -319,15 +316,10 @@ public class TableOfContentsPlugin implements Plugin {
      */
     private List<TocEntry> extractHeaders(String content) {
         List<TocEntry> entries = new ArrayList<>();
-        Matcher matcher = HEADER_PATTERN.matcher(content);
-        
-        while (matcher.find()) {
-            int level = matcher.group(1).length();
-            String text = matcher.group(2).trim();
-            
+        for (MarkdownProcessor.HeadingEntry heading : MarkdownProcessor.headings(content)) {
             // Skip if it's the TOC header itself
-            if (!text.equalsIgnoreCase("Table of Contents")) {
-                entries.add(new TocEntry(level, text));
+            if (!heading.text().equalsIgnoreCase("Table of Contents")) {
+                entries.add(new TocEntry(heading.level(), heading.text()));
             }
         }
         
@@ -0,0 +1,22 @@
+#!/usr/bin/env bash
+set -euo pipefail
+
+ROOT_DIR="$(cd "$(dirname "$0")/.." && pwd)"
+
+echo "== Forevernote Benchmarks =="
+
+echo ""
+echo "[1/3] Installing application jar..."
+mvn -B -q -f "$ROOT_DIR/Forevernote/pom.xml" install -DskipTests
+
+echo ""
+echo "[2/3] Packaging benchmarks..."
+mvn -B -q -f "$ROOT_DIR/benchmarks/pom.xml" package
+
+echo ""
+echo "[3/3] Running JMH (extra arguments: $*)..."
+cd "$ROOT_DIR/benchmarks"
+java -jar target/benchmarks.jar -prof gc -rf json -rff target/jmh-result.json "$@"
+
+echo ""
+echo "Results written to benchmarks/target/jmh-result.json"